@@ -0,0 +1,45 @@
+package benchmark;
+
+import model.creator.StoryGenerator;
+import model.creator.StoryShape;
+import model.game.StoryGame;
+
+/**
+ * Creates the stories benchmarks are run against. Stories are generated from a fixed seed, so every
+ * run measures the same stories.
+ */
+public class BenchmarkStories {
+
+  private static final long SEED = 42;
+
+  /**
+   * Gets the number of choices in a story of the given size.
+   *
+   * @param size the size, small, medium or large
+   * @return the number of choices
+   * @throws IllegalArgumentException if the size is not one of the sizes
+   */
+  public static int choicesOf(String size) throws IllegalArgumentException {
+    switch (size) {
+      case "small":
+        return 100;
+      case "medium":
+        return 10_000;
+      case "large":
+        return 100_000;
+      default:
+        throw new IllegalArgumentException("No story size " + size);
+    }
+  }
+
+  /**
+   * Creates a story of the given number of choices and an otherwise typical {@link StoryShape}.
+   *
+   * @param numChoices the number of choices
+   * @return the story
+   */
+  public static StoryGame create(int numChoices) {
+    return new StoryGenerator(SEED).generate("Benchmark " + numChoices,
+        new StoryShape(numChoices));
+  }
+}
@@ -0,0 +1,62 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import model.game.SimpleStoryGame;
+import model.game.StoryGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks making decisions with {@link SimpleStoryGame#next}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameplayBenchmark {
+
+  /**
+   * A playthrough of the story of each thread, which starts over whenever it ends.
+   */
+  @State(Scope.Thread)
+  public static class Playthrough {
+
+    StoryGame game;
+    private StoryGame original;
+    private int step;
+
+    @Setup(Level.Iteration)
+    public void setUp(StoryState state) {
+      this.original = state.story;
+      this.game = new SimpleStoryGame(this.original);
+      this.step = 0;
+    }
+
+    /**
+     * Gets the next decision to make, starting the story over if it has ended.
+     *
+     * @return the index of the decision
+     */
+    int nextDecision() {
+      int numOptions = this.game.getCurrentChoice().getOptions().size();
+      if (numOptions == 0) {
+        this.game = new SimpleStoryGame(this.original);
+        numOptions = this.game.getCurrentChoice().getOptions().size();
+      }
+      this.step++;
+      return this.step % numOptions;
+    }
+  }
+
+  @Benchmark
+  public boolean next(Playthrough playthrough) {
+    return playthrough.game.next(playthrough.nextDecision());
+  }
+}
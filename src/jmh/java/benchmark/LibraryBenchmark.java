@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.SimpleStoryPlayerModel;
+import model.StoryRecord;
+import model.game.SimpleChoice;
+import model.game.SimpleStoryGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Library;
+
+/**
+ * Benchmarks a shared story library under requests from many threads at once. Run with
+ * different thread counts (ex. {@code -Djmh.args="-t 4"}) to see how throughput scales.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LibraryBenchmark {
+
+  private static final int NUM_STORIES = 1000;
+
+  /**
+   * A library of stories shared by every thread.
+   */
+  @State(Scope.Benchmark)
+  public static class SharedLibrary {
+
+    Library<StoryRecord> library;
+    List<String> names;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+      this.library = SimpleStoryPlayerModel.createLibrary();
+      for (int i = 0; i < NUM_STORIES; i++) {
+        this.library.add("Story " + i, new StoryRecord(
+            new SimpleStoryGame("Story " + i, SimpleChoice.endChoice(), new HashMap<>())));
+      }
+      this.names = this.library.getAllNames();
+    }
+
+    int nextThread() {
+      return this.threads.getAndIncrement();
+    }
+  }
+
+  /**
+   * The entries each thread works through, with a story of its own to change.
+   */
+  @State(Scope.Thread)
+  public static class Requests {
+
+    String own;
+    StoryRecord record;
+    private int next;
+
+    @Setup
+    public void setUp(SharedLibrary shared) {
+      this.own = "Thread " + shared.nextThread();
+      this.record = new StoryRecord(
+          new SimpleStoryGame(this.own, SimpleChoice.endChoice(), new HashMap<>()));
+      shared.library.add(this.own, this.record);
+    }
+
+    String nextName(SharedLibrary shared) {
+      this.next = (this.next + 1) % shared.names.size();
+      return shared.names.get(this.next);
+    }
+  }
+
+  @Benchmark
+  public StoryRecord retrieve(SharedLibrary shared, Requests requests) {
+    return shared.library.retrieve(requests.nextName(shared));
+  }
+
+  @Benchmark
+  public StoryRecord readMostly(SharedLibrary shared, Requests requests) {
+    // one change for every few reads, as a busy server would see
+    if (requests.next % 8 == 0) {
+      shared.library.update(requests.own, requests.record);
+    }
+    return shared.library.retrieve(requests.nextName(shared));
+  }
+}
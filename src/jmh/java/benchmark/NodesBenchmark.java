@@ -0,0 +1,34 @@
+package benchmark;
+
+import controller.service.response.StoryResponse;
+import io.StoryNodes;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks walking the graph of a story with {@link StoryNodes#createNodes} and building the
+ * {@link StoryResponse} sent for it.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodesBenchmark {
+
+  @Benchmark
+  public StoryNodes createNodes(StoryState state) {
+    return StoryNodes.createNodes(state.story);
+  }
+
+  @Benchmark
+  public StoryResponse storyResponse(StoryState state) {
+    // nodes are fresh each time, so nothing built on first request is reused
+    StoryNodes nodes = StoryNodes.createNodes(state.story);
+    return new StoryResponse(state.story.getName(), state.story.getStatuses(), nodes,
+        nodes.idOf(state.story.getCurrentChoice()));
+  }
+}
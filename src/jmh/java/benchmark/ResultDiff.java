@@ -0,0 +1,126 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Compares two JMH result files, such as a baseline kept from the last release and the results of
+ * the current build, printing how the score and the allocation per operation of each benchmark
+ * changed. Exits with status 1 if any score is worse than the baseline by more than the allowed
+ * percentage, 10% unless given.
+ *
+ * <p>Usage: {@code ResultDiff baseline.json current.json [allowed-percentage]}
+ */
+public class ResultDiff {
+
+  private static final String ALLOCATION = "·gc.alloc.rate.norm";
+
+  /**
+   * Compares the given result files.
+   *
+   * @param args the baseline, the current results and optionally the allowed percentage
+   * @throws IOException if either file can't be read
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: ResultDiff baseline.json current.json [allowed-percentage]");
+      System.exit(2);
+    }
+    double allowed = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+    Map<String, JsonNode> baseline = readResults(args[0]);
+    Map<String, JsonNode> current = readResults(args[1]);
+
+    int regressions = 0;
+    for (Entry<String, JsonNode> result : current.entrySet()) {
+      JsonNode before = baseline.get(result.getKey());
+      if (before == null) {
+        System.out.printf("%-70s new%n", result.getKey());
+        continue;
+      }
+      JsonNode after = result.getValue();
+      double change = percentChange(score(before), score(after));
+      // a higher throughput is better, but a higher time per operation is worse
+      boolean higherIsBetter = "thrpt".equals(after.get("mode").asText());
+      double worse = higherIsBetter ? -change : change;
+      boolean regressed = worse > allowed;
+      if (regressed) {
+        regressions++;
+      }
+      System.out.printf("%-70s %+8.1f%% score %+8.1f%% alloc/op%s%n", result.getKey(), change,
+          percentChange(allocation(before), allocation(after)), regressed ? "  REGRESSED" : "");
+    }
+    for (String removed : baseline.keySet()) {
+      if (!current.containsKey(removed)) {
+        System.out.printf("%-70s removed%n", removed);
+      }
+    }
+
+    System.out.println(regressions + " regression(s) beyond " + allowed + "%");
+    if (regressions > 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Reads the results in the given file by benchmark, mode and parameters.
+   *
+   * @param path the path of the file
+   * @return the results
+   * @throws IOException if the file can't be read
+   */
+  private static Map<String, JsonNode> readResults(String path) throws IOException {
+    Map<String, JsonNode> results = new LinkedHashMap<>();
+    for (JsonNode result : new ObjectMapper().readTree(new File(path))) {
+      StringBuilder key = new StringBuilder(result.get("benchmark").asText())
+          .append(" ").append(result.get("mode").asText());
+      JsonNode params = result.get("params");
+      if (params != null) {
+        Iterator<Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+          Entry<String, JsonNode> param = fields.next();
+          key.append(" ").append(param.getKey()).append("=").append(param.getValue().asText());
+        }
+      }
+      results.put(key.toString(), result);
+    }
+    return results;
+  }
+
+  /**
+   * Gets the score of the given result.
+   *
+   * @param result the result
+   * @return the score
+   */
+  private static double score(JsonNode result) {
+    return result.get("primaryMetric").get("score").asDouble();
+  }
+
+  /**
+   * Gets the bytes allocated per operation of the given result, NaN if it wasn't measured.
+   *
+   * @param result the result
+   * @return the bytes per operation
+   */
+  private static double allocation(JsonNode result) {
+    JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION);
+    return metric.isMissingNode() ? Double.NaN : metric.get("score").asDouble();
+  }
+
+  /**
+   * Gets the change from the given value to the other as a percentage of the first.
+   *
+   * @param before the first value
+   * @param after  the second value
+   * @return the change in percent
+   */
+  private static double percentChange(double before, double after) {
+    return before == 0 ? 0 : (after - before) / before * 100;
+  }
+}
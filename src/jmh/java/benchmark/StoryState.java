@@ -0,0 +1,43 @@
+package benchmark;
+
+import io.StoryNodes;
+import io.TextExporter;
+import java.io.File;
+import java.io.IOException;
+import model.game.StoryGame;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The story shared by the benchmarks of each size, along with its nodes and its exported text
+ * file.
+ */
+@State(Scope.Benchmark)
+public class StoryState {
+
+  @Param({"small", "medium", "large"})
+  public String size;
+
+  public StoryGame story;
+  public StoryNodes nodes;
+  public String textPath;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    this.story = BenchmarkStories.create(BenchmarkStories.choicesOf(this.size));
+    this.nodes = StoryNodes.createNodes(this.story);
+    File file = File.createTempFile("benchmark-" + this.size, ".txt");
+    file.deleteOnExit();
+    this.textPath = file.getPath();
+    new TextExporter().export(this.story, this.nodes, this.textPath);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    new File(this.textPath).delete();
+  }
+}
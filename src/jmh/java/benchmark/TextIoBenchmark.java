@@ -0,0 +1,35 @@
+package benchmark;
+
+import io.TextExporter;
+import io.TextImporter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import model.game.StoryGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks importing stories with {@link TextImporter}s and exporting them with {@link
+ * TextExporter}s.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextIoBenchmark {
+
+  @Benchmark
+  public StoryGame importStory(StoryState state) {
+    return new TextImporter().importStory(state.textPath);
+  }
+
+  @Benchmark
+  public void exportStory(StoryState state) throws IOException {
+    // measures producing the text rather than the disk it is written to
+    new TextExporter().export(state.story, state.nodes, Writer.nullWriter());
+  }
+}
@@ -1,16 +1,29 @@
 import controller.PlayerController;
 import controller.WriterController;
+import io.StoryFormats;
+import io.StoryNodes;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import model.SimpleStoryPlayerModel;
 import model.SimpleStoryWriterModel;
+import model.analysis.ExplorationResult;
+import model.analysis.ExploredState;
+import model.analysis.PlaythroughSimulator;
+import model.analysis.SimulationResult;
+import model.analysis.StateExplorer;
+import model.creator.StoryGenerator;
+import model.creator.StoryShape;
+import model.game.StoryGame;
 
 /**
  * A main class to use the story writer or player application.
  */
 public class StoryMain {
 
+  private static final int SIMULATION_MAX_STEPS = 10_000;
+  private static final int EXPLORATION_MAX_STATES = 1_000_000;
+
   /**
    * Main method to accept command line inputs and run the story writer application.
    *
@@ -29,6 +42,15 @@ public class StoryMain {
       case "-write":
         runWriter(args);
         break;
+      case "-generate":
+        runGenerator(args);
+        break;
+      case "-simulate":
+        runSimulator(args);
+        break;
+      case "-explore":
+        runExplorer(args);
+        break;
       default:
         printSupportedCommands();
     }
@@ -80,6 +102,119 @@ public class StoryMain {
     }
   }
 
+  /**
+   * Generates a story of the number of choices in the input and exports it to the file path in the
+   * input, from the seed in the input or 0 if none is given.
+   *
+   * @param args the command line arguments
+   */
+  private static void runGenerator(String[] args) {
+    if (args.length < 3) {
+      printSupportedCommands();
+      return;
+    }
+    StoryGame story;
+    try {
+      long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+      StoryShape shape = new StoryShape(Integer.parseInt(args[2]));
+      story = new StoryGenerator(seed).generate("Generated " + args[2], shape);
+    } catch (IllegalArgumentException e) {
+      System.out.println("Could not generate story: " + e.getMessage());
+      return;
+    }
+
+    try {
+      StoryFormats.exporterFor(args[1]).export(story, args[1]);
+    } catch (IllegalArgumentException | IOException e) {
+      System.out.println("Could not export story: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Plays the story at the file path in the input the number of times in the input, making random
+   * decisions from the seed in the input or 0 if none is given, and prints where the playthroughs
+   * ended and the values their statuses ended with.
+   *
+   * @param args the command line arguments
+   */
+  private static void runSimulator(String[] args) {
+    if (args.length < 3) {
+      printSupportedCommands();
+      return;
+    }
+    SimulationResult result;
+    StoryNodes nodes;
+    try {
+      StoryGame story = StoryFormats.importerFor(args[1]).importStory(args[1]);
+      nodes = StoryNodes.createNodes(story);
+      long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+      result = new PlaythroughSimulator(seed, SIMULATION_MAX_STEPS)
+          .simulate(story, nodes, Integer.parseInt(args[2]));
+    } catch (IllegalArgumentException e) {
+      System.out.println("Could not simulate story: " + e.getMessage());
+      return;
+    }
+
+    double playthroughs = result.getPlaythroughs();
+    System.out.printf("%d playthroughs, %.1f decisions on average, %d unfinished after %d%n",
+        result.getPlaythroughs(), result.getAverageSteps(), result.getUnfinished(),
+        result.getMaxSteps());
+    System.out.println("Endings:");
+    for (int i = 0; i < result.getChoiceCount(); i++) {
+      if (result.getEnds(i) > 0) {
+        System.out.printf("  Choice #%d: %d (%.2f%%) %s%n", i + 1, result.getEnds(i),
+            100 * result.getEnds(i) / playthroughs, nodes.getChoices().get(i));
+      }
+    }
+    for (String status : result.getStatusNames()) {
+      System.out.println("Status " + status + ":");
+      result.getStatusHistogram(status).forEach((value, count) -> System.out.printf(
+          "  %d: %d (%.2f%%)%n", value, count, 100 * count / playthroughs));
+    }
+  }
+
+  /**
+   * Explores the states of the story at the file path in the input, finding at most the number of
+   * states in the input or 1000000 if none is given, and prints the choices and decisions that
+   * can't be reached and the states that can't lead to an end.
+   *
+   * @param args the command line arguments
+   */
+  private static void runExplorer(String[] args) {
+    if (args.length < 2) {
+      printSupportedCommands();
+      return;
+    }
+    ExplorationResult result;
+    StoryNodes nodes;
+    try {
+      StoryGame story = StoryFormats.importerFor(args[1]).importStory(args[1]);
+      nodes = StoryNodes.createNodes(story);
+      int maxStates = args.length > 2 ? Integer.parseInt(args[2]) : EXPLORATION_MAX_STATES;
+      result = new StateExplorer(maxStates).explore(story, nodes);
+    } catch (IllegalArgumentException e) {
+      System.out.println("Could not explore story: " + e.getMessage());
+      return;
+    }
+
+    System.out.printf("%d states, %d of them endings%s%n", result.getStateCount(),
+        result.getEndingCount(), result.isComplete() ? ""
+            : ", stopped at the budget of " + result.getMaxStates());
+    System.out.println("Unreachable choices:");
+    for (int choice : result.getUnreachableChoices()) {
+      System.out.printf("  Choice #%d: %s%n", choice + 1, nodes.getChoices().get(choice));
+    }
+    System.out.println("Decisions never made:");
+    for (int decision : result.getUntakenDecisions()) {
+      System.out.printf("  Decision #%d: %s%n", decision + 1,
+          nodes.getDecisions().get(decision));
+    }
+    System.out.println("Dead ends:");
+    for (ExploredState state : result.getDeadEnds()) {
+      System.out.println("  " + state);
+    }
+  }
+
   /**
    * Prints supported commands to the console.
    */
@@ -93,5 +228,13 @@ public class StoryMain {
         "to write stories by executing a script at a known filePath`: -write -script filePath");
     System.out.println(
         "to write stories interactively via the console: -write -interactive");
+    System.out.println(
+        "to generate a story of some number of choices to a filePath: -generate filePath choices "
+            + "[seed]");
+    System.out.println(
+        "to play a story at a known filePath many times with random decisions: -simulate filePath "
+            + "playthroughs [seed]");
+    System.out.println(
+        "to find the states a story at a known filePath can reach: -explore filePath [maxStates]");
   }
 }
@@ -4,11 +4,13 @@ import controller.command.Command;
 import controller.command.ExportStory;
 import controller.command.IOCommand;
 import controller.command.ImportStory;
+import controller.command.LoadSave;
 import controller.command.Next;
 import controller.command.PlayStory;
 import controller.command.QuitStory;
 import controller.command.RemoveStory;
 import controller.command.Restart;
+import controller.command.SaveStory;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,7 +24,7 @@ import view.PlayerTextView;
 /**
  * Represents a controller for an application that allows users to play stories by controlling a
  * {@link StoryPlayerModel} and a {@link LibraryApplicationView}. Supports importing, exporting, and
- * playing through, restarting, quitting, and removing stories.
+ * playing through, restarting, quitting, and removing stories, and saving and loading progress.
  */
 public class PlayerController extends AbstractController {
 
@@ -122,5 +124,22 @@ public class PlayerController extends AbstractController {
             getNextInput("Enter name of story to export:", true),
             false
         ));
+    ioCommands.put("save", () ->
+        new SaveStory(
+            getNextInput("Enter path to save progress to:", true),
+            getNextInput("Enter name of story to save:", true),
+            false
+        ));
+    ioCommands.put("saveCheckpoint", () ->
+        new SaveStory(
+            getNextInput("Enter path to save progress to:", true),
+            getNextInput("Enter name of story to save:", true),
+            true
+        ));
+    ioCommands.put("loadSave", () ->
+        new LoadSave(
+            getNextInput("Enter path of save to load:", true),
+            getNextInput("Enter name of story to load save into:", true)
+        ));
   }
 }
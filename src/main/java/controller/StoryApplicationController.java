@@ -4,11 +4,16 @@ import controller.service.request.AddConsequentialDecisionRequest;
 import controller.service.request.AddConsequentialDependentRequest;
 import controller.service.request.AddSimpleDecisionRequest;
 import controller.service.request.AddSimpleDependentRequest;
+import controller.service.request.ChooseAllRequest;
+import controller.service.request.EditRequest;
 import controller.service.response.ChoiceResponse;
+import controller.service.response.ChooseAllResponse;
 import controller.service.response.DecisionResponse;
+import controller.service.response.EditResponse;
 import controller.service.response.StoryResponse;
 import controller.service.response.StoryStatusResponse;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 
@@ -22,27 +27,31 @@ public interface StoryApplicationController {
   // Player
 
   /**
-   * Gets the story currently being played.
+   * Gets the story currently being played in the given session.
    *
+   * @param session the id of the player's session
    * @return the current story, as a story response.
    */
-  StoryResponse getCurrentStory();
+  StoryResponse getCurrentStory(String session);
 
 
   /**
-   * Gets the name of the current story being played, or null if there is no current story.
+   * Gets the name of the current story being played in the given session, or null if there is no
+   * current story.
    *
+   * @param session the id of the player's session
    * @return the name of the current story
    */
-  String getCurrentStoryName();
+  String getCurrentStoryName(String session);
 
   /**
    * Gets the string representation of the current choice (next choice to be made) in the story
-   * being played, or null if there is no current story.
+   * being played in the given session, or null if there is no current story.
    *
+   * @param session the id of the player's session
    * @return the current choice
    */
-  String getCurrentChoice();
+  String getCurrentChoice(String session);
 
   /**
    * Gets the name of all stories in the user's player library.
@@ -62,14 +71,31 @@ public interface StoryApplicationController {
   void exportStory(String path, String name) throws IllegalArgumentException, IOException;
 
   /**
-   * Exports the named story as it is (in progress) to a file at the given path.
+   * Exports the named story as it is (in progress) in the given session to a file at the given
+   * path.
    *
-   * @param path the path to export to
-   * @param name the name of the story to export
+   * @param session the id of the player's session
+   * @param path    the path to export to
+   * @param name    the name of the story to export
    * @throws IllegalArgumentException if the given path can't be exported to
    * @throws IOException              if an IO process fails during export
    */
-  void exportStoryInProgress(String path, String name) throws IllegalArgumentException, IOException;
+  void exportStoryInProgress(String session, String path, String name)
+      throws IllegalArgumentException, IOException;
+
+  /**
+   * Writes the named story to the given stream in the format it would be exported to a file,
+   * either its un-started version or as it is in the given session.
+   *
+   * @param session  the id of the player's session
+   * @param name     the name of the story to write
+   * @param original true to write the un-started version, false to write it as it is in progress
+   * @param out      the stream to write to, which is flushed but not closed
+   * @throws IllegalArgumentException if there is no such story
+   * @throws IOException              if writing to the stream fails
+   */
+  void writeStory(String session, String name, boolean original, OutputStream out)
+      throws IllegalArgumentException, IOException;
 
   /**
    * Imports the story at the given path into the player.
@@ -81,42 +107,96 @@ public interface StoryApplicationController {
   void importStory(String path) throws IllegalArgumentException;
 
   /**
-   * Makes the given decision in the loaded story.
+   * Saves the progress through the named story in the given session to a save file at the given
+   * path, which refers to the story by the hash of its contents.
    *
+   * @param session    the id of the player's session
+   * @param path       the path to save to
+   * @param name       the name of the story to save the progress through
+   * @param checkpoint true to save the progress as a checkpoint, false to save it as decisions
+   *                   where possible
+   * @throws IllegalArgumentException if there is no such story or the given path can't be saved to
+   * @throws IOException              if an IO process fails during saving
+   */
+  void saveStory(String session, String path, String name, boolean checkpoint)
+      throws IllegalArgumentException, IOException;
+
+  /**
+   * Loads the save file at the given path into the named story in the given session, replacing
+   * the session's progress through the story.
+   *
+   * @param session the id of the player's session
+   * @param path    the path of the save file
+   * @param name    the name of the story the save was made in
+   * @throws IllegalArgumentException if there is no such story, no file at the path, or the file
+   *                                  is not a valid save of the story
+   */
+  void loadSave(String session, String path, String name) throws IllegalArgumentException;
+
+  /**
+   * Ends the given session, discarding its progress through every story. Does nothing if there is
+   * no such session.
+   *
+   * @param session the id of the player's session
+   */
+  void endSession(String session);
+
+  /**
+   * Makes the given decision in the story loaded in the given session.
+   *
+   * @param session  the id of the player's session
    * @param decision the index/id of the decision to be made, starting at 0
    * @throws IllegalArgumentException if the given decision does not exist
    * @throws IllegalStateException    if no story is loaded
    */
-  void choose(int decision) throws IllegalArgumentException, IllegalStateException;
+  void choose(String session, int decision) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Makes the given decisions in order in the story loaded in the given session, stopping at the
+   * first decision that does not exist or once the story is complete.
+   *
+   * @param session the id of the player's session
+   * @param request the request holding the indexes/ids of the decisions, each starting at 0
+   * @return how many decisions were made, and the choice and statuses of the story afterwards
+   * @throws IllegalArgumentException if the list of decisions is null
+   * @throws IllegalStateException    if no story is loaded
+   */
+  ChooseAllResponse chooseAll(String session, ChooseAllRequest request)
+      throws IllegalArgumentException, IllegalStateException;
 
   /**
-   * Loads the named story to be played.
+   * Loads the named story to be played in the given session.
    *
-   * @param name the name of the story to be played
+   * @param session the id of the player's session
+   * @param name    the name of the story to be played
    * @throws IllegalArgumentException if no story of the given name exists in the user's player
    *                                  library
    */
-  void loadStory(String name) throws IllegalArgumentException;
+  void loadStory(String session, String name) throws IllegalArgumentException;
 
   /**
-   * Restarts the current story.
+   * Restarts the current story of the given session.
    *
+   * @param session the id of the player's session
    * @throws IllegalStateException if no story is loaded
    */
-  void restartStory() throws IllegalStateException;
+  void restartStory(String session) throws IllegalStateException;
 
   /**
-   * Quits the current story.
+   * Quits the current story of the given session.
+   *
+   * @param session the id of the player's session
    */
-  void quitStory();
+  void quitStory(String session);
 
   /**
-   * Removes the named story from the player library.
+   * Removes the named story from the player library, which is shared by all sessions.
    *
-   * @param name the name of the story
+   * @param session the id of the player's session
+   * @param name    the name of the story
    * @throws IllegalArgumentException if no story of the given name exists
    */
-  void removeStory(String name) throws IllegalArgumentException;
+  void removeStory(String session, String name) throws IllegalArgumentException;
 
   // Writer
 
@@ -186,6 +266,16 @@ public interface StoryApplicationController {
    */
   void exportWork(String path) throws IllegalArgumentException, IOException;
 
+  /**
+   * Writes the work currently being edited to the given stream in the format it would be exported
+   * to a file.
+   *
+   * @param out the stream to write to, which is flushed but not closed
+   * @throws IllegalArgumentException if there is no work being edited
+   * @throws IOException              if writing to the stream fails
+   */
+  void writeWork(OutputStream out) throws IllegalArgumentException, IOException;
+
   /**
    * Exports the work currently being edited to a playable story in the player.
    */
@@ -344,4 +434,32 @@ public interface StoryApplicationController {
    * @throws IllegalStateException    if no work is loaded
    */
   void removeChoice(int choice) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Applies the given batch of edits to the current work's story in order, all or nothing. Choices
+   * added by the batch may be labelled, and later edits may refer to them by their labels.
+   *
+   * @param request the request holding the edits
+   * @return the id of each labelled choice, and the version of the story afterwards
+   * @throws IllegalArgumentException if the request is invalid or any edit fails, in which case the
+   *                                  story is left unchanged
+   * @throws IllegalStateException    if no work is loaded
+   */
+  EditResponse edit(EditRequest request) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Undoes the most recent edit of the current work's story, a batch of edits counting as one.
+   *
+   * @return the version of the story afterwards
+   * @throws IllegalStateException if no work is loaded or there is no edit to undo
+   */
+  long undo() throws IllegalStateException;
+
+  /**
+   * Redoes the most recently undone edit of the current work's story.
+   *
+   * @return the version of the story afterwards
+   * @throws IllegalStateException if no work is loaded or there is no edit to redo
+   */
+  long redo() throws IllegalStateException;
 }
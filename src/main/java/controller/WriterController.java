@@ -11,6 +11,7 @@ import controller.command.ExportWork;
 import controller.command.IOCommand;
 import controller.command.LoadWork;
 import controller.command.QuitWork;
+import controller.command.RedoWork;
 import controller.command.RemoveChoice;
 import controller.command.RemoveDecision;
 import controller.command.RemoveStatus;
@@ -19,6 +20,7 @@ import controller.command.RenameWork;
 import controller.command.SetInitialChoice;
 import controller.command.SetStoryName;
 import controller.command.StartWork;
+import controller.command.UndoWork;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -185,6 +187,8 @@ public class WriterController extends AbstractController {
         new RemoveChoice(
             getNextValidInput(true, "Enter choice number:", Utils::isPositiveStringNumber)
         ));
+    knownCommands.put("undo", UndoWork::new);
+    knownCommands.put("redo", RedoWork::new);
     // ------ IO Commands ------ //
     ioCommands.put("export", () ->
         new ExportWork(
@@ -1,14 +1,14 @@
 package controller.command;
 
-import io.TextExporter;
+import io.StoryFormats;
 import java.io.IOException;
 import model.StoryPlayerModel;
 import model.game.StoryGame;
 import utils.Utils;
 
 /**
- * A command object to export a story as a text file, either the in-progress or original version,
- * from the model's library.
+ * A command object to export a story as a text or binary file, either the in-progress or original
+ * version, from the model's library.
  */
 public class ExportStory implements IOCommand<StoryPlayerModel<StoryGame>> {
 
@@ -40,6 +40,7 @@ public class ExportStory implements IOCommand<StoryPlayerModel<StoryGame>> {
     if (this.original) {
       toExport = toExport.getOriginalStory();
     }
-    new TextExporter().export(toExport, this.filePath);
+    StoryFormats.exporterFor(this.filePath)
+        .export(toExport, model.getStoryNodes(this.storyName), this.filePath);
   }
 }
@@ -1,6 +1,6 @@
 package controller.command;
 
-import io.TextExporter;
+import io.StoryFormats;
 import java.io.IOException;
 import model.StoryWriterModel;
 import model.game.StoryGame;
@@ -26,6 +26,6 @@ public class ExportWork implements IOCommand<StoryWriterModel<StoryGame>> {
   public void execute(StoryWriterModel<StoryGame> model)
       throws IllegalArgumentException, IOException {
     Utils.ensureNotNull(model, "Model can't be null");
-    new TextExporter().export(model.create(), this.filePath);
+    StoryFormats.exporterFor(this.filePath).export(model.create(), this.filePath);
   }
 }
@@ -1,12 +1,13 @@
 package controller.command;
 
-import io.TextImporter;
+import io.StoryFormats;
 import model.StoryPlayerModel;
 import model.game.StoryGame;
 import utils.Utils;
 
 /**
- * A command object to import a story from a text file and add it to the model's library.
+ * A command object to import a story from a text or binary file and add it to the model's
+ * library.
  */
 public class ImportStory implements IOCommand<StoryPlayerModel<StoryGame>> {
 
@@ -25,6 +26,6 @@ public class ImportStory implements IOCommand<StoryPlayerModel<StoryGame>> {
   public void execute(StoryPlayerModel<StoryGame> model)
       throws IllegalArgumentException {
     Utils.ensureNotNull(model, "Model can't be null");
-    model.addStory(new TextImporter().importStory(this.filePath));
+    model.addStory(StoryFormats.importerFor(this.filePath).importStory(this.filePath));
   }
 }
@@ -1,12 +1,12 @@
 package controller.command;
 
-import io.TextImporter;
+import io.StoryFormats;
 import model.StoryWriterModel;
 import model.game.StoryGame;
 import utils.Utils;
 
 /**
- * A command object to import a story from a text file to the writer model's library;
+ * A command object to import a story from a text or binary file to the writer model's library;
  */
 public class ImportWork implements IOCommand<StoryWriterModel<StoryGame>> {
 
@@ -26,6 +26,6 @@ public class ImportWork implements IOCommand<StoryWriterModel<StoryGame>> {
   public void execute(StoryWriterModel<StoryGame> model)
       throws IllegalArgumentException {
     Utils.ensureNotNull(model, "Model can't be null");
-    model.add(new TextImporter().importStory(this.filePath));
+    model.add(StoryFormats.importerFor(this.filePath).importStory(this.filePath));
   }
 }
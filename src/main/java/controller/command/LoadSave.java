@@ -0,0 +1,46 @@
+package controller.command;
+
+import io.SaveGame;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import model.StoryPlayerModel;
+import model.game.StoryGame;
+import utils.Utils;
+
+/**
+ * A command object to load a save file into the model, replacing the progress through the story
+ * in the model's library the save was made in with the progress rebuilt from the save.
+ */
+public class LoadSave implements IOCommand<StoryPlayerModel<StoryGame>> {
+
+  private final String filePath;
+  private final String storyName;
+
+  /**
+   * Constructs the command object to load the save at the given path into the story of the given
+   * name in the model. Note the story name is allowed to be null (any errors will be caught by the
+   * model).
+   *
+   * @param filePath  the file path of the save
+   * @param storyName the name of the story the save was made in
+   */
+  public LoadSave(String filePath, String storyName) {
+    this.filePath = filePath;
+    this.storyName = storyName;
+  }
+
+  @Override
+  public void execute(StoryPlayerModel<StoryGame> model) throws IllegalArgumentException {
+    Utils.ensureNotNull(model, "Model can't be null");
+    Utils.ensureNotNull(this.filePath, "Filename can't be null");
+    byte[] save;
+    try {
+      save = Files.readAllBytes(Paths.get(this.filePath));
+    } catch (IOException | InvalidPathException e) {
+      throw new IllegalArgumentException("File not found");
+    }
+    model.loadSave(this.storyName, SaveGame.fromBytes(save));
+  }
+}
@@ -0,0 +1,53 @@
+package controller.command;
+
+import io.SaveGame;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import model.StoryPlayerModel;
+import model.game.StoryGame;
+import utils.IOUtils;
+import utils.Utils;
+
+/**
+ * A command object to save the progress through a story in the model's library to a save file,
+ * which refers to the story by the hash of its contents and holds the decisions made in it.
+ */
+public class SaveStory implements IOCommand<StoryPlayerModel<StoryGame>> {
+
+  private final String filePath;
+  private final String storyName;
+  private final boolean checkpoint;
+
+  /**
+   * Constructs the command object to save the progress through the story of the given name in the
+   * model to the given file path, or to a file named after the story in the working directory if
+   * the path is null. Note the story name is allowed to be null (any errors will be caught by the
+   * model).
+   *
+   * @param filePath   the file path to save to
+   * @param storyName  the name of the story to save the progress through
+   * @param checkpoint true to save the progress as a checkpoint, false to save it as decisions
+   *                   where possible
+   */
+  public SaveStory(String filePath, String storyName, boolean checkpoint) {
+    this.filePath = filePath;
+    this.storyName = storyName;
+    this.checkpoint = checkpoint;
+  }
+
+  @Override
+  public void execute(StoryPlayerModel<StoryGame> model)
+      throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(model, "Model can't be null");
+    byte[] save = model.getSave(this.storyName, this.checkpoint).toBytes();
+    String path = this.filePath != null ? this.filePath
+        : "." + IOUtils.pathSeparator() + this.storyName + SaveGame.EXTENSION;
+    try {
+      Files.write(Paths.get(path), save);
+    } catch (InvalidPathException e) {
+      throw new IllegalArgumentException("Can't write to path: " + path);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package controller.command;
+
+import model.StoryWriterModel;
+import utils.Utils;
+
+/**
+ * A command object to undo the last edit of the current work.
+ */
+public class UndoWork implements Command<StoryWriterModel<?>> {
+
+  @Override
+  public void execute(StoryWriterModel<?> model) throws IllegalArgumentException {
+    Utils.ensureNotNull(model, "Model can't be null");
+    model.undo();
+  }
+}
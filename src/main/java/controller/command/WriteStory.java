@@ -0,0 +1,47 @@
+package controller.command;
+
+import io.TextExporter;
+import java.io.IOException;
+import java.io.OutputStream;
+import model.StoryPlayerModel;
+import model.game.StoryGame;
+import utils.Utils;
+
+/**
+ * A command object to write a story from the model's library as text to a stream, either the
+ * in-progress or original version, in the same format it would be exported to a file.
+ */
+public class WriteStory implements IOCommand<StoryPlayerModel<StoryGame>> {
+
+  private final OutputStream out;
+  private final String storyName;
+  private final boolean original;
+
+  /**
+   * Constructs the command object to write the story of the given name from the model to the given
+   * stream, which is flushed but not closed. Note the story name is allowed to be null (any errors
+   * will be caught by the model).
+   *
+   * @param out       the stream to write the story to
+   * @param storyName the name of the story to write
+   * @param original  true to write the original version, false to write the in-progress version
+   * @throws IllegalArgumentException if the given stream is null
+   */
+  public WriteStory(OutputStream out, String storyName, boolean original)
+      throws IllegalArgumentException {
+    this.out = Utils.ensureNotNull(out, "Output can't be null");
+    this.storyName = storyName;
+    this.original = original;
+  }
+
+  @Override
+  public void execute(StoryPlayerModel<StoryGame> model)
+      throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(model, "Model can't be null");
+    StoryGame toWrite = model.getStory(this.storyName);
+    if (this.original) {
+      toWrite = toWrite.getOriginalStory();
+    }
+    new TextExporter().export(toWrite, model.getStoryNodes(this.storyName), this.out);
+  }
+}
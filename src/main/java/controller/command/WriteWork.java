@@ -0,0 +1,37 @@
+package controller.command;
+
+import io.StoryNodes;
+import io.TextExporter;
+import java.io.IOException;
+import java.io.OutputStream;
+import model.StoryWriterModel;
+import model.game.StoryGame;
+import utils.Utils;
+
+/**
+ * A command object to create the current work of the writer model and write it as text to a
+ * stream, in the same format it would be exported to a file.
+ */
+public class WriteWork implements IOCommand<StoryWriterModel<StoryGame>> {
+
+  private final OutputStream out;
+
+  /**
+   * Constructs the command object to create and write the work to the given stream, which is
+   * flushed but not closed.
+   *
+   * @param out the stream to write to
+   * @throws IllegalArgumentException if the given stream is null
+   */
+  public WriteWork(OutputStream out) throws IllegalArgumentException {
+    this.out = Utils.ensureNotNull(out, "Output can't be null");
+  }
+
+  @Override
+  public void execute(StoryWriterModel<StoryGame> model)
+      throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(model, "Model can't be null");
+    StoryGame work = model.create();
+    new TextExporter().export(work, StoryNodes.createNodes(work), this.out);
+  }
+}
@@ -1,28 +1,33 @@
 package controller.service;
 
 import java.io.IOException;
+import javax.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 /**
  * A class to handle exceptions thrown in the controllers by sending the appropriate response
- * statuses to the client.
+ * statuses to the client. Errors are always sent as JSON, even from handlers that produce another
+ * type.
  */
 public class ControllerExceptionHandler {
 
   @ExceptionHandler(RuntimeException.class)
   @ResponseStatus(value = HttpStatus.BAD_REQUEST)
   public @ResponseBody
-  ErrorResponse handleRuntimeException(RuntimeException e) {
+  ErrorResponse handleRuntimeException(RuntimeException e, HttpServletResponse response) {
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
     return new ErrorResponse(e.getMessage());
   }
 
   @ExceptionHandler(IOException.class)
   @ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
   public @ResponseBody
-  ErrorResponse handleIOException(IOException e) {
+  ErrorResponse handleIOException(IOException e, HttpServletResponse response) {
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
     return new ErrorResponse(e.getMessage());
   }
 
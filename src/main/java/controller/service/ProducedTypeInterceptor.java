@@ -0,0 +1,30 @@
+package controller.service;
+
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * A {@link HandlerInterceptor} that sets the content type of a response to the one type its
+ * handler declares it produces. Handlers that write to the response's stream themselves, such as
+ * the text of a story, would otherwise send no content type at all. Responses written through a
+ * message converter, including errors, still set their own content type.
+ */
+class ProducedTypeInterceptor implements HandlerInterceptor {
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    Object produced = request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+    if (produced instanceof Set && ((Set<?>) produced).size() == 1) {
+      Object type = ((Set<?>) produced).iterator().next();
+      if (type instanceof MediaType && ((MediaType) type).isConcrete()) {
+        response.setContentType(type.toString());
+      }
+    }
+    return true;
+  }
+}
@@ -1,115 +1,251 @@
 package controller.service;
 
 import controller.StoryApplicationController;
-import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Scanner;
-import model.game.decision.Decision;
-import model.game.decision.DecisionCreator;
 import controller.service.request.AddConsequentialDecisionRequest;
 import controller.service.request.AddConsequentialDependentRequest;
 import controller.service.request.AddSimpleDecisionRequest;
 import controller.service.request.AddSimpleDependentRequest;
+import controller.service.request.ChooseAllRequest;
+import controller.service.request.EditRequest;
 import controller.service.response.ChoiceResponse;
+import controller.service.response.ChooseAllResponse;
 import controller.service.response.DecisionResponse;
-import controller.service.response.OptionResponse;
+import controller.service.response.DecisionResponseBuilder;
+import controller.service.response.EditResponse;
+import controller.service.response.ExplorationResponse;
+import controller.service.response.NamePageResponse;
+import controller.service.response.SimulationResponse;
+import controller.service.response.StoreStatusResponse;
 import controller.service.response.StoryResponse;
+import controller.service.response.StructureResponse;
 import controller.command.ExportStory;
 import controller.command.ExportWork;
 import controller.command.ImportStory;
 import controller.command.ImportWork;
+import controller.command.LoadSave;
+import controller.command.SaveStory;
+import controller.command.WriteStory;
+import controller.command.WriteWork;
 import io.StoryNodes;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import model.SimpleStoryPlayerModel;
 import model.SimpleStoryWriterModel;
 import model.StoryPlayerModel;
+import model.StoryRecord;
 import model.StoryWriterModel;
+import model.analysis.PlaythroughSimulator;
+import model.analysis.StateExplorer;
+import model.analysis.StoryStructure;
+import model.creator.StoryEdit;
+import model.creator.StoryGameCreator;
 import model.game.Choice;
 import model.game.StoryGame;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import controller.service.response.StoryStatusResponse;
+import utils.Library;
+import utils.Utils;
 
 @RestController
 public class ServiceController extends ControllerExceptionHandler implements
     StoryApplicationController {
 
-  StoryPlayerModel<StoryGame> playerModel = new SimpleStoryPlayerModel();
-  StoryWriterModel<StoryGame> writerModel = new SimpleStoryWriterModel();
+  // the player library shared by all sessions, and a model used for library-wide requests, which
+  // never loads a story
+  final Library<StoryRecord> playerLibrary = SimpleStoryPlayerModel.createLibrary();
+  final StoryPlayerModel<StoryGame> playerModel = new SimpleStoryPlayerModel(playerLibrary);
+  // each session's own progress through stories in the shared library, by session id
+  final SessionStore<StoryPlayerModel<StoryGame>> sessions = new SessionStore<>(
+      () -> new SimpleStoryPlayerModel(playerLibrary), MAX_SESSIONS, SESSION_TIMEOUT,
+      System::currentTimeMillis);
+  // the works being written, journaled so edits survive restarts; held while using the loaded work
+  // so each change and its journal record happen together
+  final StoryWriterModel<StoryGame> writerModel;
+  // runs simulations and explorations, so they never take more than half the processors
+  private final ForkJoinPool analysisPool = createAnalysisPool();
+  // the background imports of the saved files in each store
+  private final StoreLoader playerStore;
+  private final StoreLoader writerStore;
+
+  static final String DEFAULT_SESSION = "default";
+  private static final String SESSION = "session";
+  private static final String DEFAULT_PAGE_LIMIT = "50";
+  private static final int MAX_SESSIONS = 10_000;
+  // the most decisions a simulation may make, counting every step of every playthrough
+  private static final long MAX_SIMULATED_STEPS = 100_000_000L;
+  // the most states an exploration may visit
+  private static final int MAX_EXPLORED_STATES = 1_000_000;
+  private static final long SESSION_TIMEOUT = 30 * 60 * 1000; // 30 minutes
 
   private static final String PLAYER_BASE = "/player";
   private static final String WRITER_BASE = "/writer";
+  private static final String TEXT_UTF_8 = MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8";
 
   private static final String PLAYER_STORE = "store/playStore";
   private static final String WRITER_STORE = "store/writeStore";
+  private static final String WRITER_JOURNAL = "store/writeJournal";
+  // marks a journal that the writer store has been imported into
+  private static final String STORE_IMPORTED = "store.imported";
 
   /**
-   * Imports any saved files in the store.
+   * Restores the works journaled in the writer journal and starts importing any saved files in the
+   * stores in the background. Stories become available as they are imported, and the status of
+   * each store tells when it is done.
    */
   public ServiceController() {
-    File[] allPlays = new File(PLAYER_STORE).listFiles();
-    File[] allWorks = new File(WRITER_STORE).listFiles();
-
-    if (allPlays != null) {
-      for (File file : allPlays) {
-        try {
-          new ImportStory(file.getPath()).execute(playerModel);
-        } catch (IllegalArgumentException e) {
-          // do nothing
-        }
-      }
+    this(PLAYER_STORE, WRITER_STORE, WRITER_JOURNAL);
+  }
+
+  /**
+   * Restores the works journaled in the given writer journal and starts importing any saved files
+   * in the given stores in the background. The writer store only seeds the journal: once its
+   * stories have been imported and journaled, the journal holds every work and the store isn't
+   * imported again.
+   *
+   * @param playerStore   the path of the directory of stories to play
+   * @param writerStore   the path of the directory of works to write
+   * @param writerJournal the path of the directory to journal works in
+   * @throws IllegalArgumentException if the journaled works can't be restored
+   */
+  ServiceController(String playerStore, String writerStore, String writerJournal)
+      throws IllegalArgumentException {
+    this.writerModel = new SimpleStoryWriterModel(SimpleStoryWriterModel.createLibrary(),
+        StoryGameCreator.DEFAULT_HISTORY_DEPTH, writerJournal);
+    ExecutorService executor = StoreLoader.createExecutor();
+    this.playerStore = new StoreLoader(playerStore, executor, playerModel::addStory);
+    File imported = new File(writerJournal, STORE_IMPORTED);
+    if (imported.exists()) {
+      this.writerStore = StoreLoader.loaded(writerStore);
+    } else {
+      this.writerStore = new StoreLoader(writerStore, executor, writerModel::add);
+      this.writerStore.whenReady().thenRun(() -> markImported(imported));
     }
+    CompletableFuture.allOf(this.playerStore.whenReady(), this.writerStore.whenReady())
+        .whenComplete((done, e) -> executor.shutdown());
+  }
 
-    if (allWorks != null) {
-      for (File file : allWorks) {
-        try {
-          new ImportWork(file.getPath()).execute(writerModel);
-        } catch (IllegalArgumentException e) {
-          // do nothing
-        }
-      }
+  /**
+   * Creates the pool that simulations and explorations run on, whose threads don't keep the
+   * application running.
+   *
+   * @return the pool
+   */
+  private static ForkJoinPool createAnalysisPool() {
+    int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    return new ForkJoinPool(parallelism, pool -> {
+      ForkJoinWorkerThread thread =
+          ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("analysis-" + thread.getPoolIndex());
+      thread.setDaemon(true);
+      return thread;
+    }, null, false);
+  }
+
+  /**
+   * Marks the writer journal as having had the writer store imported into it, by creating the
+   * given file. If the mark can't be made, the store is imported again on the next start.
+   *
+   * @param imported the file that marks the journal
+   */
+  private static void markImported(File imported) {
+    try {
+      Files.createDirectories(imported.toPath().getParent());
+      Files.write(imported.toPath(), new byte[0]);
+    } catch (IOException e) {
+      // the works are still journaled, only the store will be imported again
     }
   }
 
+  /**
+   * Waits until both stores are loaded.
+   */
+  void awaitStores() {
+    this.playerStore.awaitReady();
+    this.writerStore.awaitReady();
+  }
+
   // Player
 
-  @Override
+  /**
+   * Gets the loaded story of the given session, or nothing if the client's copy, tagged with the
+   * version of the session's progress, is still current.
+   *
+   * @param session the session id
+   * @param request the request, whose If-None-Match header is checked
+   * @return the story, or null if not modified or no story is loaded
+   */
   @GetMapping(PLAYER_BASE + "/current/story")
-  public StoryResponse getCurrentStory() {
-    String current = playerModel.getCurrentStoryName();
-    if (current == null) {
-      return null;
-    } else {
-      StoryGame story = playerModel.getStory(current);
-      StoryNodes nodes = StoryNodes.createNodes(story);
-      List<Choice> choices = nodes.getChoices();
-      return new StoryResponse(
-          current,
-          story.getStatuses(),
-          choices,
-          nodes.getDecisions(),
-          choices.indexOf(story.getCurrentChoice()));
+  public StoryResponse getCurrentStory(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      WebRequest request) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      if (notModified(request, playerModel.getVersion())) {
+        return null;
+      }
+      return getCurrentStory(session);
+    }
+  }
+
+  @Override
+  public StoryResponse getCurrentStory(String session) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      String current = playerModel.getCurrentStoryName();
+      if (current == null) {
+        return null;
+      } else {
+        StoryGame story = playerModel.getStory(current);
+        StoryNodes nodes = playerModel.getStoryNodes(current);
+        return new StoryResponse(
+            current,
+            story.getStatuses(),
+            nodes,
+            nodes.idOf(story.getCurrentChoice()));
+      }
     }
   }
 
   @Override
   @GetMapping(PLAYER_BASE + "/current/name")
-  public String getCurrentStoryName() {
-    return playerModel.getCurrentStoryName();
+  public String getCurrentStoryName(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      return playerModel.getCurrentStoryName();
+    }
   }
 
   @Override
   @GetMapping(PLAYER_BASE + "/current/choice")
-  public String getCurrentChoice() {
-    return playerModel.getCurrentChoice();
+  public String getCurrentChoice(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      return playerModel.getCurrentChoice();
+    }
+  }
+
+  @GetMapping(PLAYER_BASE + "/store")
+  public StoreStatusResponse getPlayerStoreStatus() {
+    return new StoreStatusResponse(this.playerStore);
   }
 
   @Override
@@ -118,6 +254,15 @@ public class ServiceController extends ControllerExceptionHandler implements
     return playerModel.getAllStoryNames();
   }
 
+  @GetMapping(PLAYER_BASE + "/stories/page")
+  public NamePageResponse getStoryNamePage(
+      @RequestParam(value = "prefix", defaultValue = "") String prefix,
+      @RequestParam(value = "offset", defaultValue = "0") int offset,
+      @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+    List<String> names = playerModel.getStoryNames(prefix, offset, limit);
+    return new NamePageResponse(prefix, offset, limit, playerModel.countStoryNames(prefix), names);
+  }
+
   @Override
   @PostMapping(PLAYER_BASE + "/export")
   public void exportStory(@RequestParam("path") String path, @RequestParam("name") String name)
@@ -127,10 +272,31 @@ public class ServiceController extends ControllerExceptionHandler implements
 
   @Override
   @PostMapping(PLAYER_BASE + "/export-in-progress")
-  public void exportStoryInProgress(@RequestParam("path") String path,
-      @RequestParam("name") String name)
+  public void exportStoryInProgress(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      @RequestParam("path") String path, @RequestParam("name") String name)
       throws IOException {
-    new ExportStory(path, name, false).execute(playerModel);
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      new ExportStory(path, name, false).execute(playerModel);
+    }
+  }
+
+  @Override
+  @GetMapping(value = PLAYER_BASE + "/text", produces = TEXT_UTF_8)
+  public void writeStory(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      @RequestParam("name") String name,
+      @RequestParam(value = "original", defaultValue = "true") boolean original,
+      OutputStream out) throws IOException {
+    if (original) {
+      new WriteStory(out, name, true).execute(playerModel);
+    } else {
+      StoryPlayerModel<StoryGame> playerModel = getSession(session);
+      synchronized (playerModel) {
+        new WriteStory(out, name, false).execute(playerModel);
+      }
+    }
   }
 
   @Override
@@ -139,56 +305,197 @@ public class ServiceController extends ControllerExceptionHandler implements
     new ImportStory(path).execute(playerModel);
   }
 
+  @Override
+  @PostMapping(PLAYER_BASE + "/save")
+  public void saveStory(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      @RequestParam("path") String path, @RequestParam("name") String name,
+      @RequestParam(value = "checkpoint", defaultValue = "false") boolean checkpoint)
+      throws IOException {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      new SaveStory(path, name, checkpoint).execute(playerModel);
+    }
+  }
+
+  @Override
+  @PostMapping(PLAYER_BASE + "/load-save")
+  public void loadSave(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      @RequestParam("path") String path, @RequestParam("name") String name) {
+    StoryPlayerModel<StoryGame> playerModel = startSession(session);
+    synchronized (playerModel) {
+      new LoadSave(path, name).execute(playerModel);
+    }
+  }
+
   @Override
   @PostMapping(PLAYER_BASE + "/choose")
-  public void choose(@RequestParam("decision") int decision) {
-    playerModel.next(decision);
+  public void choose(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      @RequestParam("decision") int decision) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      playerModel.next(decision);
+    }
+  }
+
+  @Override
+  @PostMapping(PLAYER_BASE + "/choose-all")
+  public ChooseAllResponse chooseAll(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      @RequestBody ChooseAllRequest request) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      int applied = playerModel.nextAll(request.getDecisions());
+      String current = playerModel.getCurrentStoryName();
+      StoryGame story = playerModel.getStory(current);
+      return new ChooseAllResponse(
+          applied,
+          playerModel.getStoryNodes(current).idOf(story.getCurrentChoice()),
+          story.getCurrentChoice().getOptions().isEmpty(),
+          story.getStatuses());
+    }
   }
 
   @Override
   @PostMapping(PLAYER_BASE + "/load")
-  public void loadStory(@RequestParam("name") String name) {
-    playerModel.playStory(name);
+  public void loadStory(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      @RequestParam("name") String name) {
+    StoryPlayerModel<StoryGame> playerModel = startSession(session);
+    synchronized (playerModel) {
+      playerModel.playStory(name);
+    }
   }
 
   @Override
   @PostMapping(PLAYER_BASE + "/restart")
-  public void restartStory() {
-    playerModel.restart();
+  public void restartStory(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      playerModel.restart();
+    }
   }
 
   @Override
   @PostMapping(PLAYER_BASE + "/quit")
-  public void quitStory() {
-    playerModel.quitStory();
+  public void quitStory(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      playerModel.quitStory();
+    }
   }
 
   @Override
   @DeleteMapping(PLAYER_BASE + "/remove")
-  public void removeStory(@RequestParam("name") String name) {
-    playerModel.removeStory(name);
+  public void removeStory(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session,
+      @RequestParam("name") String name) {
+    StoryPlayerModel<StoryGame> playerModel = getSession(session);
+    synchronized (playerModel) {
+      playerModel.removeStory(name);
+    }
+  }
+
+  @Override
+  @DeleteMapping(PLAYER_BASE + "/session")
+  public void endSession(
+      @RequestParam(value = SESSION, defaultValue = DEFAULT_SESSION) String session) {
+    this.sessions.end(session);
+  }
+
+  /**
+   * Gets the player model of the given session, starting the session if it isn't held. Only
+   * requests that load a story start sessions. Requests of a session must synchronize on its
+   * model, as it is not safe to use from multiple threads.
+   *
+   * @param session the id of the session
+   * @return the model of the session
+   * @throws IllegalArgumentException if the given session id is null
+   */
+  private StoryPlayerModel<StoryGame> startSession(String session)
+      throws IllegalArgumentException {
+    return this.sessions.open(session);
+  }
+
+  /**
+   * Gets the player model of the given session without starting it. A session that isn't held
+   * has no progress, so the library-wide model, which never loads a story, stands in for it.
+   * Requests of a session must synchronize on its model, as it is not safe to use from multiple
+   * threads.
+   *
+   * @param session the id of the session
+   * @return the model of the session, or the library-wide model if the session isn't held
+   * @throws IllegalArgumentException if the given session id is null
+   */
+  private StoryPlayerModel<StoryGame> getSession(String session)
+      throws IllegalArgumentException {
+    StoryPlayerModel<StoryGame> model = this.sessions.find(session);
+    return model != null ? model : this.playerModel;
+  }
+
+  /**
+   * Tags the response with a strong ETag of the given version, and determines whether the client
+   * already has that version, in which case the response is a 304 with no body. Nothing is tagged
+   * for version 0, which is never current.
+   *
+   * @param request the request, whose If-None-Match header is checked
+   * @param version the version of the requested resource
+   * @return true if the client's copy is current, false if a body should be sent
+   */
+  private static boolean notModified(WebRequest request, long version) {
+    return version != 0 && request.checkNotModified("\"" + version + "\"");
   }
 
   // Writer
 
+  @GetMapping(WRITER_BASE + "/store")
+  public StoreStatusResponse getWriterStoreStatus() {
+    return new StoreStatusResponse(this.writerStore);
+  }
+
   @Override
   @GetMapping(WRITER_BASE + "/stories")
   public List<String> getAllWorkNames() {
     return writerModel.getAllWorkNames();
   }
 
-  @Override
+  @GetMapping(WRITER_BASE + "/stories/page")
+  public NamePageResponse getWorkNamePage(
+      @RequestParam(value = "prefix", defaultValue = "") String prefix,
+      @RequestParam(value = "offset", defaultValue = "0") int offset,
+      @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+    List<String> names = writerModel.getWorkNames(prefix, offset, limit);
+    return new NamePageResponse(prefix, offset, limit, writerModel.countWorkNames(prefix), names);
+  }
+
+  /**
+   * Gets the loaded work, or nothing if the client's copy, tagged with the version of the work, is
+   * still current.
+   *
+   * @param request the request, whose If-None-Match header is checked
+   * @return the work, or null if not modified or no work is loaded
+   */
   @GetMapping(WRITER_BASE + "/current/story")
+  public StoryResponse getCurrentWork(WebRequest request) {
+    return notModified(request, writerModel.getVersion()) ? null : getCurrentWork();
+  }
+
+  @Override
   public StoryResponse getCurrentWork() {
-    if (writerModel.getCurrentWorkName() == null) {
-      return null;
+    synchronized (writerModel) {
+      if (writerModel.getCurrentWorkName() == null) {
+        return null;
+      }
+      return new StoryResponse(
+          writerModel.getStoryName(),
+          writerModel.getStatuses(),
+          writerModel.getNodes(),
+          writerModel.getInitialChoice());
     }
-    return new StoryResponse(
-        writerModel.getStoryName(),
-        writerModel.getStatuses(),
-        writerModel.getChoices(),
-        writerModel.getDecisions(),
-        writerModel.getInitialChoice());
   }
 
   @Override
@@ -223,167 +530,389 @@ public class ServiceController extends ControllerExceptionHandler implements
     return writerModel.getInitialChoice();
   }
 
-  @Override
+  /**
+   * Gets the choices of the loaded work, or nothing if the client's copy, tagged with the version
+   * of the work, is still current.
+   *
+   * @param request the request, whose If-None-Match header is checked
+   * @return the choices, or null if not modified or no work is loaded
+   */
   @GetMapping(WRITER_BASE + "/current/choices")
+  public List<ChoiceResponse> getCurrentWorkChoices(WebRequest request) {
+    return notModified(request, writerModel.getVersion()) ? null : getCurrentWorkChoices();
+  }
+
+  @Override
   public List<ChoiceResponse> getCurrentWorkChoices() {
-    List<Choice> choices = writerModel.getChoices();
-    if (choices == null) {
-      return null;
-    }
-    List<Decision> decisions = writerModel.getDecisions();
-    List<ChoiceResponse> choiceResponses = new ArrayList<>();
-    for (int i = 0; i < choices.size(); i++) {
-      List<Decision> options = choices.get(i).getOptions();
-      List<OptionResponse> optionResponses = new ArrayList<>();
-      for (int o = 0; o < options.size(); o++) {
-        optionResponses.add(new OptionResponse(o, decisions.indexOf(options.get(o))));
+    synchronized (writerModel) {
+      StoryNodes nodes = writerModel.getNodes();
+      if (nodes == null) {
+        return null;
       }
-      choiceResponses.add(new ChoiceResponse(i, optionResponses));
+      List<Choice> choices = nodes.getChoices();
+      List<ChoiceResponse> choiceResponses = new ArrayList<>();
+      for (int i = 0; i < choices.size(); i++) {
+        choiceResponses.add(StoryResponse.createChoiceResponse(i, choices.get(i), nodes));
+      }
+      return choiceResponses;
     }
-    return choiceResponses;
   }
 
-  @Override
+  /**
+   * Gets the decisions of the loaded work, or nothing if the client's copy, tagged with the version
+   * of the work, is still current.
+   *
+   * @param request the request, whose If-None-Match header is checked
+   * @return the decisions, or null if not modified or no work is loaded
+   */
   @GetMapping(WRITER_BASE + "/current/decisions")
+  public List<DecisionResponse> getCurrentWorkDecisions(WebRequest request) {
+    return notModified(request, writerModel.getVersion()) ? null : getCurrentWorkDecisions();
+  }
+
+  @Override
   public List<DecisionResponse> getCurrentWorkDecisions() {
-    List<Choice> choices = writerModel.getChoices();
-    if (choices == null) {
+    synchronized (writerModel) {
+      StoryNodes nodes = writerModel.getNodes();
+      if (nodes == null) {
+        return null;
+      }
+      return new DecisionResponseBuilder(nodes).buildAll();
+    }
+  }
+
+  /**
+   * Gets the structure of the loaded work, or nothing if the client's copy, tagged with the version
+   * of the work, is still current.
+   *
+   * @param request the request, whose If-None-Match header is checked
+   * @return the structure, or null if not modified or no work is loaded
+   */
+  @GetMapping(WRITER_BASE + "/current/analysis")
+  public StructureResponse analyzeCurrentWork(WebRequest request) {
+    if (notModified(request, writerModel.getVersion())) {
+      return null;
+    }
+    synchronized (writerModel) {
+      StoryStructure structure = writerModel.getStructure();
+      return structure == null ? null : new StructureResponse(structure);
+    }
+  }
+
+  @GetMapping(WRITER_BASE + "/current/simulation")
+  public SimulationResponse simulateCurrentWork(
+      @RequestParam(value = "playthroughs", defaultValue = "10000") int playthroughs,
+      @RequestParam(value = "seed", defaultValue = "0") long seed,
+      @RequestParam(value = "maxSteps", defaultValue = "1000") int maxSteps) {
+    if ((long) playthroughs * maxSteps > MAX_SIMULATED_STEPS) {
+      throw new IllegalArgumentException("A simulation can make at most " + MAX_SIMULATED_STEPS
+          + " decisions (playthroughs times max steps)");
+    }
+    StoryGameCreator work = copyPlayableWork();
+    if (work == null) {
       return null;
     }
-    List<Decision> decisions = writerModel.getDecisions();
-    Map<Choice, String> choiceRepresentation = new HashMap<>();
-    for (int i = 0; i < choices.size(); i++) {
-      choiceRepresentation.put(choices.get(i), "C" + i);
+    return new SimulationResponse(new PlaythroughSimulator(seed, maxSteps, this.analysisPool)
+        .simulate(work.create(), work.getNodes(), playthroughs));
+  }
+
+  @GetMapping(WRITER_BASE + "/current/exploration")
+  public ExplorationResponse exploreCurrentWork(
+      @RequestParam(value = "maxStates", defaultValue = "100000") int maxStates) {
+    StoryGameCreator work = copyPlayableWork();
+    if (work == null) {
+      return null;
     }
+    // the explorer reports when it stops at its budget, so larger budgets are clamped
+    return new ExplorationResponse(
+        new StateExplorer(Math.min(maxStates, MAX_EXPLORED_STATES), this.analysisPool)
+            .explore(work.create(), work.getNodes()));
+  }
 
-    List<DecisionResponse> decisionResponses = new ArrayList<>();
-    for (int i = 0; i < decisions.size(); i++) {
-      decisionResponses
-          .add(DecisionCreator
-              .createDecisionResponse(i, new Scanner(decisions.get(i).export(choiceRepresentation)),
-                  choices));
+  /**
+   * Copies the loaded work, so a long analysis can run on the copy while the work goes on being
+   * edited.
+   *
+   * @return the copy, or null if no work is loaded
+   * @throws IllegalStateException if the work has no initial choice
+   */
+  private StoryGameCreator copyPlayableWork() throws IllegalStateException {
+    synchronized (writerModel) {
+      if (writerModel.getCurrentWorkName() == null) {
+        return null;
+      } else if (writerModel.getInitialChoice() == -1) {
+        throw new IllegalStateException("The work has no initial choice");
+      }
+      return copyCurrentWork();
     }
-    return decisionResponses;
+  }
+
+  /**
+   * Copies the loaded work into a creator of its own, which shares nothing with the work. Must be
+   * called holding the writer model, with a work loaded.
+   *
+   * @return the copy
+   */
+  private StoryGameCreator copyCurrentWork() {
+    StoryGameCreator copy = new StoryGameCreator(writerModel.getStoryName());
+    copy.setHistoryDepth(0);
+    copy.edit(StoryEdit.recreate(writerModel));
+    return copy;
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/export")
   public void exportWork(@RequestParam("path") String path) throws IOException {
-    new ExportWork(path).execute(writerModel);
+    synchronized (writerModel) {
+      new ExportWork(path).execute(writerModel);
+    }
+  }
+
+  @Override
+  @GetMapping(value = WRITER_BASE + "/current/text", produces = TEXT_UTF_8)
+  public void writeWork(OutputStream out) throws IOException {
+    synchronized (writerModel) {
+      new WriteWork(out).execute(writerModel);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/export-to-player")
   public void exportToPlayer() {
-    playerModel.addStory(writerModel.create());
+    synchronized (writerModel) {
+      if (writerModel.getCurrentWorkName() == null) {
+        throw new IllegalStateException("No loaded story!");
+      }
+      // players get a copy, as a story created from the work changes along with it
+      playerModel.addStory(copyCurrentWork().create());
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/import")
   public void importToWriter(@RequestParam("path") String path) {
-    new ImportWork(path).execute(this.writerModel);
+    synchronized (writerModel) {
+      new ImportWork(path).execute(this.writerModel);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/load")
   public void loadWork(@RequestParam("name") String name) {
-    writerModel.load(name);
+    synchronized (writerModel) {
+      writerModel.load(name);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/quit")
   public void quitWork() {
-    writerModel.quit();
+    synchronized (writerModel) {
+      writerModel.quit();
+    }
   }
 
   @Override
   @DeleteMapping(WRITER_BASE + "/remove")
   public void removeWork(@RequestParam("name") String name) {
-    writerModel.remove(name);
+    synchronized (writerModel) {
+      writerModel.remove(name);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/rename")
   public void renameWork(@RequestParam("name") String name, @RequestParam("newName") String newName) {
-    writerModel.rename(name, newName);
+    synchronized (writerModel) {
+      writerModel.rename(name, newName);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/start")
   public void startNewWork(@RequestParam("name") String name) {
-    writerModel.start(name);
+    synchronized (writerModel) {
+      writerModel.start(name);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/set/name")
   public void setStoryName(@RequestParam("name") String name) {
-    writerModel.setStoryName(name);
+    synchronized (writerModel) {
+      writerModel.setStoryName(name);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/add/status")
   public void addStatus(@RequestParam("name") String name, @RequestParam("val") int val) {
-    writerModel.addStatus(name, val);
+    synchronized (writerModel) {
+      writerModel.addStatus(name, val);
+    }
   }
 
   @Override
   @DeleteMapping(WRITER_BASE + "/remove/status")
   public void removeStatus(@RequestParam("name") String name) {
-    writerModel.removeStatus(name);
+    synchronized (writerModel) {
+      writerModel.removeStatus(name);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/add/choice")
   public void addChoice() {
-    writerModel.addChoice();
+    synchronized (writerModel) {
+      writerModel.addChoice();
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/set/initial")
   public void setInitialChoice(@RequestParam("choice") int choice) {
-    writerModel.setInitialChoice(choice);
+    synchronized (writerModel) {
+      writerModel.setInitialChoice(choice);
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/add/simple-decision")
   public void addSimpleDecision(@RequestBody AddSimpleDecisionRequest request) {
-    writerModel.addSimpleDecision(
-        request.getDescription(), request.getChoiceId(), request.getOutcomeId());
+    synchronized (writerModel) {
+      writerModel.addSimpleDecision(
+          request.getDescription(), request.getChoiceId(), request.getOutcomeId());
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/add/consequential-decision")
   public void addConsequentialDecision(@RequestBody AddConsequentialDecisionRequest request) {
-    writerModel.addConsequentialDecision(request.getDescription(),
-        request.getChoiceId(), request.getOutcomeId(), request.getConsequences());
+    synchronized (writerModel) {
+      writerModel.addConsequentialDecision(request.getDescription(),
+          request.getChoiceId(), request.getOutcomeId(), request.getConsequences());
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/add/simple-dependent-decision")
   public void addSimpleDependentDecision(@RequestBody AddSimpleDependentRequest request) {
-    writerModel.addSimpleDependentThresholdDecision(request.getDescription(), request.getChoiceId(),
-        request.getDependency(), request.getThreshold(), request.getOutcomeBelowId(),
-        request.getOutcomeMeetsId());
+    synchronized (writerModel) {
+      writerModel.addSimpleDependentThresholdDecision(request.getDescription(), request.getChoiceId(),
+          request.getDependency(), request.getThreshold(), request.getOutcomeBelowId(),
+          request.getOutcomeMeetsId());
+    }
   }
 
   @Override
   @PostMapping(WRITER_BASE + "/add/consequential-dependent-decision")
   public void addConsequentialDependentDecision(
       @RequestBody AddConsequentialDependentRequest request) {
-    writerModel.addConsequentialThresholdDecision(request.getDescription(), request.getChoiceId(),
-        request.getDependency(), request.getThreshold(), request.getOutcomeBelowId(),
-        request.getOutcomeMeetsId(), request.getConsequences());
+    synchronized (writerModel) {
+      writerModel.addConsequentialThresholdDecision(request.getDescription(), request.getChoiceId(),
+          request.getDependency(), request.getThreshold(), request.getOutcomeBelowId(),
+          request.getOutcomeMeetsId(), request.getConsequences());
+    }
   }
 
   @Override
   @DeleteMapping(WRITER_BASE + "/remove/option")
   public void removeOption(@RequestParam("choice") int choice, @RequestParam("option") int option) {
-    writerModel.removeDecision(choice, option);
+    synchronized (writerModel) {
+      writerModel.removeDecision(choice, option);
+    }
   }
 
   @Override
   @DeleteMapping(WRITER_BASE + "/remove/choice")
   public void removeChoice(@RequestParam("choice") int choice) {
-    writerModel.removeChoice(choice);
+    synchronized (writerModel) {
+      writerModel.removeChoice(choice);
+    }
+  }
+
+  @Override
+  @PostMapping(WRITER_BASE + "/edit")
+  public EditResponse edit(@RequestBody EditRequest request) {
+    Utils.ensureNotNull(request.getEdits(), "Edits can't be null");
+    List<StoryEdit> edits = new ArrayList<>();
+    for (int i = 0; i < request.getEdits().size(); i++) {
+      try {
+        edits.add(toStoryEdit(request.getEdits().get(i)));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Edit " + (i + 1) + " failed: " + e.getMessage(), e);
+      }
+    }
+    synchronized (writerModel) {
+      Map<String, Integer> labels = writerModel.edit(edits);
+      return new EditResponse(labels, writerModel.getVersion());
+    }
+  }
+
+  @Override
+  @PostMapping(WRITER_BASE + "/undo")
+  public long undo() {
+    synchronized (writerModel) {
+      writerModel.undo();
+      return writerModel.getVersion();
+    }
+  }
+
+  @Override
+  @PostMapping(WRITER_BASE + "/redo")
+  public long redo() {
+    synchronized (writerModel) {
+      writerModel.redo();
+      return writerModel.getVersion();
+    }
+  }
+
+  /**
+   * Converts the given edit of a request to the edit it asks for.
+   *
+   * @param edit the edit of the request
+   * @return the edit
+   * @throws IllegalArgumentException if the edit or its type is null, or the type is unknown
+   */
+  private static StoryEdit toStoryEdit(EditRequest.Edit edit) throws IllegalArgumentException {
+    Utils.ensureNotNull(edit, "Edit can't be null");
+    Utils.ensureNotNull(edit.getType(), "Edit type can't be null");
+    StoryEdit.Type type;
+    try {
+      type = StoryEdit.Type.valueOf(edit.getType());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown edit type " + edit.getType());
+    }
+    switch (type) {
+      case SET_STORY_NAME:
+        return StoryEdit.setStoryName(edit.getName());
+      case ADD_STATUS:
+        return StoryEdit.addStatus(edit.getName(), edit.getValue());
+      case REMOVE_STATUS:
+        return StoryEdit.removeStatus(edit.getName());
+      case ADD_CHOICE:
+        return StoryEdit.addChoice(edit.getLabel());
+      case SET_INITIAL_CHOICE:
+        return StoryEdit.setInitialChoice(edit.getChoice());
+      case ADD_SIMPLE_DECISION:
+        return StoryEdit.addSimpleDecision(edit.getDescription(), edit.getChoice(),
+            edit.getOutcome());
+      case ADD_CONSEQUENTIAL_DECISION:
+        return StoryEdit.addConsequentialDecision(edit.getDescription(), edit.getChoice(),
+            edit.getOutcome(), edit.getConsequences());
+      case ADD_SIMPLE_THRESHOLD_DECISION:
+        return StoryEdit.addSimpleThresholdDecision(edit.getDescription(), edit.getChoice(),
+            edit.getDependency(), edit.getThreshold(), edit.getOutcome(), edit.getOutcomeMeets());
+      case ADD_CONSEQUENTIAL_THRESHOLD_DECISION:
+        return StoryEdit.addConsequentialThresholdDecision(edit.getDescription(),
+            edit.getChoice(), edit.getDependency(), edit.getThreshold(), edit.getOutcome(),
+            edit.getOutcomeMeets(), edit.getConsequences());
+      case REMOVE_DECISION:
+        return StoryEdit.removeDecision(edit.getChoice(), edit.getOption());
+      case REMOVE_CHOICE:
+        return StoryEdit.removeChoice(edit.getChoice());
+      default:
+        throw new IllegalArgumentException("Unknown edit type " + edit.getType());
+    }
   }
 }
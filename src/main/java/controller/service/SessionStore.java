@@ -0,0 +1,144 @@
+package controller.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import utils.Utils;
+
+/**
+ * Holds the player model of each session by session id. Sessions are only started by requests
+ * that load a story into them, end once they have been idle for longer than the timeout, and the
+ * least recently used session ends whenever starting another would go over the cap, so the number
+ * of sessions held is always bounded.
+ *
+ * @param <M> the type of model of each session
+ */
+class SessionStore<M> {
+
+  private final Supplier<M> factory;
+  private final int maxSessions;
+  private final long idleTimeout;
+  private final LongSupplier clock;
+  // sessions from least to most recently used
+  private final LinkedHashMap<String, Session<M>> sessions;
+
+  /**
+   * Constructs an empty {@code SessionStore} that starts sessions with models from the given
+   * factory.
+   *
+   * @param factory     the function object that makes the model of a new session
+   * @param maxSessions the most sessions held at once
+   * @param idleTimeout how long in milliseconds a session may go unused before it ends
+   * @param clock       the function object that gives the current time in milliseconds
+   * @throws IllegalArgumentException if any argument is null or the cap or timeout isn't positive
+   */
+  SessionStore(Supplier<M> factory, int maxSessions, long idleTimeout, LongSupplier clock)
+      throws IllegalArgumentException {
+    this.factory = Utils.ensureNotNull(factory, "Factory can't be null");
+    this.clock = Utils.ensureNotNull(clock, "Clock can't be null");
+    if (maxSessions <= 0 || idleTimeout <= 0) {
+      throw new IllegalArgumentException("Session cap and timeout must be positive");
+    }
+    this.maxSessions = maxSessions;
+    this.idleTimeout = idleTimeout;
+    this.sessions = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Gets the model of the given session, starting the session if it isn't held.
+   *
+   * @param id the id of the session
+   * @return the model of the session
+   * @throws IllegalArgumentException if the given id is null
+   */
+  synchronized M open(String id) throws IllegalArgumentException {
+    Utils.ensureNotNull(id, "Session can't be null");
+    long now = this.clock.getAsLong();
+    endIdle(now);
+    Session<M> session = this.sessions.get(id);
+    if (session == null) {
+      if (this.sessions.size() >= this.maxSessions) {
+        Iterator<Session<M>> leastRecent = this.sessions.values().iterator();
+        leastRecent.next();
+        leastRecent.remove();
+      }
+      session = new Session<>(this.factory.get());
+      this.sessions.put(id, session);
+    }
+    session.lastUsed = now;
+    return session.model;
+  }
+
+  /**
+   * Gets the model of the given session without starting it.
+   *
+   * @param id the id of the session
+   * @return the model of the session, or null if the session isn't held
+   * @throws IllegalArgumentException if the given id is null
+   */
+  synchronized M find(String id) throws IllegalArgumentException {
+    Utils.ensureNotNull(id, "Session can't be null");
+    long now = this.clock.getAsLong();
+    endIdle(now);
+    Session<M> session = this.sessions.get(id);
+    if (session == null) {
+      return null;
+    }
+    session.lastUsed = now;
+    return session.model;
+  }
+
+  /**
+   * Ends the given session, if it is held.
+   *
+   * @param id the id of the session
+   * @return true if the session was held, false otherwise
+   * @throws IllegalArgumentException if the given id is null
+   */
+  synchronized boolean end(String id) throws IllegalArgumentException {
+    Utils.ensureNotNull(id, "Session can't be null");
+    return this.sessions.remove(id) != null;
+  }
+
+  /**
+   * Counts the sessions held.
+   *
+   * @return the number of sessions
+   */
+  synchronized int size() {
+    return this.sessions.size();
+  }
+
+  /**
+   * Ends every session that has been idle for longer than the timeout. Sessions are kept in the
+   * order they were used, so only the idle sessions at the front are visited.
+   *
+   * @param now the current time
+   */
+  private void endIdle(long now) {
+    Iterator<Session<M>> leastRecent = this.sessions.values().iterator();
+    while (leastRecent.hasNext() && now - leastRecent.next().lastUsed > this.idleTimeout) {
+      leastRecent.remove();
+    }
+  }
+
+  /**
+   * Represents a session's model and when it was last used.
+   */
+  private static class Session<M> {
+
+    private final M model;
+    private long lastUsed;
+
+    /**
+     * Constructs a {@code Session} of the given model.
+     *
+     * @param model the model
+     */
+    private Session(M model) {
+      this.model = model;
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package controller.service;
+
+import io.StoryFormats;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import model.game.StoryGame;
+import utils.Utils;
+
+/**
+ * Imports every story file in a store directory in the background. Files are parsed in parallel,
+ * but each story is added in the order of its file name once every story before it has been added,
+ * so stories of the same name are always renamed the same way. Files that can't be imported or
+ * added are reported rather than stopping the rest from loading.
+ */
+public class StoreLoader {
+
+  private final String directory;
+  private final int numFiles;
+  private final AtomicInteger imported;
+  private final ConcurrentLinkedQueue<Failure> failures;
+  private final CompletableFuture<Void> done;
+
+  /**
+   * Constructs a {@code StoreLoader} that starts importing the files in the given directory on the
+   * given executor, giving each imported story to the given function. A missing directory is
+   * treated as empty.
+   *
+   * @param directory the path of the directory
+   * @param executor  the executor to parse files on
+   * @param add       the function to add each story, one at a time
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public StoreLoader(String directory, Executor executor, Consumer<StoryGame> add)
+      throws IllegalArgumentException {
+    this.directory = Utils.ensureNotNull(directory, "Directory can't be null");
+    Utils.ensureNotNull(executor, "Executor can't be null");
+    Utils.ensureNotNull(add, "Add function can't be null");
+    this.imported = new AtomicInteger();
+    this.failures = new ConcurrentLinkedQueue<>();
+
+    File[] files = new File(directory).listFiles();
+    if (files == null) {
+      files = new File[0];
+    }
+    Arrays.sort(files);
+    this.numFiles = files.length;
+
+    CompletableFuture<Void> added = CompletableFuture.completedFuture(null);
+    for (File file : files) {
+      String path = file.getPath();
+      CompletableFuture<StoryGame> parsed = CompletableFuture.supplyAsync(
+          () -> StoryFormats.importerFor(path).importStory(path), executor)
+          .exceptionally(e -> {
+            fail(path, e.getCause() == null ? e : e.getCause());
+            return null;
+          });
+      added = added.thenCombine(parsed, (previous, story) -> {
+        if (story != null) {
+          try {
+            add.accept(story);
+            this.imported.incrementAndGet();
+          } catch (RuntimeException e) {
+            fail(path, e);
+          }
+        }
+        return null;
+      });
+    }
+    this.done = added;
+  }
+
+  /**
+   * Constructs a {@code StoreLoader} of the given directory that has already loaded.
+   *
+   * @param directory the path of the directory
+   */
+  private StoreLoader(String directory) {
+    this.directory = directory;
+    this.numFiles = 0;
+    this.imported = new AtomicInteger();
+    this.failures = new ConcurrentLinkedQueue<>();
+    this.done = CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Creates a {@code StoreLoader} of the given directory that imports nothing, for a store whose
+   * stories are already loaded some other way.
+   *
+   * @param directory the path of the directory
+   * @return the loader, which is already done
+   * @throws IllegalArgumentException if the given directory is null
+   */
+  public static StoreLoader loaded(String directory) throws IllegalArgumentException {
+    return new StoreLoader(Utils.ensureNotNull(directory, "Directory can't be null"));
+  }
+
+  /**
+   * Creates a bounded executor suitable for loading stores, whose threads don't keep the
+   * application running. It should be shut down once the stores are loaded.
+   *
+   * @return the executor
+   */
+  public static ExecutorService createExecutor() {
+    int numThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    return Executors.newFixedThreadPool(numThreads, task -> {
+      Thread thread = new Thread(task, "store-loader");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Gets the path of the directory being loaded.
+   *
+   * @return the path
+   */
+  public String getDirectory() {
+    return this.directory;
+  }
+
+  /**
+   * Determines whether every file has been imported or has failed.
+   *
+   * @return true if loading is done, false otherwise
+   */
+  public boolean isReady() {
+    return this.done.isDone();
+  }
+
+  /**
+   * Gets the number of files in the directory.
+   *
+   * @return the number of files
+   */
+  public int getFileCount() {
+    return this.numFiles;
+  }
+
+  /**
+   * Gets the number of stories imported and added so far.
+   *
+   * @return the number of stories
+   */
+  public int getImportedCount() {
+    return this.imported.get();
+  }
+
+  /**
+   * Gets the files that have failed to import so far, in the order they failed.
+   *
+   * @return the list of failures
+   */
+  public List<Failure> getFailures() {
+    return Collections.unmodifiableList(new ArrayList<>(this.failures));
+  }
+
+  /**
+   * Gets a future that completes once loading is done.
+   *
+   * @return the future
+   */
+  public CompletableFuture<Void> whenReady() {
+    return this.done;
+  }
+
+  /**
+   * Waits until loading is done.
+   */
+  public void awaitReady() {
+    this.done.join();
+  }
+
+  /**
+   * Records that the file at the given path failed to import.
+   *
+   * @param path  the path of the file
+   * @param cause the reason the file failed
+   */
+  private void fail(String path, Throwable cause) {
+    this.failures.add(new Failure(path, cause.getMessage()));
+  }
+
+  /**
+   * Represents a file that failed to import and the reason why.
+   */
+  public static class Failure {
+
+    private final String path;
+    private final String message;
+
+    /**
+     * Constructs a {@code Failure} of the file at the given path.
+     *
+     * @param path    the path of the file
+     * @param message the message describing why the file failed, which may be null
+     */
+    public Failure(String path, String message) {
+      this.path = path;
+      this.message = message;
+    }
+
+    public String getPath() {
+      return this.path;
+    }
+
+    public String getMessage() {
+      return this.message;
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package controller.service.request;
+
+import java.util.List;
+
+/**
+ * Represents the body of a request to make a sequence of decisions in the story player.
+ */
+public class ChooseAllRequest {
+
+  private List<Integer> decisions;
+
+  public ChooseAllRequest() {
+    this.decisions = null;
+  }
+
+  public ChooseAllRequest(List<Integer> decisions) {
+    this.decisions = decisions;
+  }
+
+  public List<Integer> getDecisions() {
+    return decisions;
+  }
+
+  public void setDecisions(List<Integer> decisions) {
+    this.decisions = decisions;
+  }
+}
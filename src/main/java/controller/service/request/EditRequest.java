@@ -0,0 +1,153 @@
+package controller.service.request;
+
+import java.util.List;
+
+/**
+ * Represents the body of a request to apply a batch of edits to the current work in the story
+ * writer, all or nothing. Choices are referred to by their ids, or by the labels given to choices
+ * added earlier in the batch.
+ */
+public class EditRequest {
+
+  private List<Edit> edits;
+
+  public EditRequest() {
+    this.edits = null;
+  }
+
+  public EditRequest(List<Edit> edits) {
+    this.edits = edits;
+  }
+
+  public List<Edit> getEdits() {
+    return edits;
+  }
+
+  public void setEdits(List<Edit> edits) {
+    this.edits = edits;
+  }
+
+  /**
+   * Represents one edit of the batch. Its type is the name of a
+   * {@link model.creator.StoryEdit.Type}, and only the fields the type uses need be set.
+   */
+  public static class Edit {
+
+    private String type;
+    private String name;
+    private String label;
+    private int value;
+    private String description;
+    private String choice;
+    private String outcome;
+    private String outcomeMeets;
+    private String dependency;
+    private int threshold;
+    private int option;
+    private List<String> consequences;
+
+    public Edit() {
+
+    }
+
+    public Edit(String type) {
+      this.type = type;
+    }
+
+    public String getType() {
+      return type;
+    }
+
+    public void setType(String type) {
+      this.type = type;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+
+    public void setLabel(String label) {
+      this.label = label;
+    }
+
+    public int getValue() {
+      return value;
+    }
+
+    public void setValue(int value) {
+      this.value = value;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public void setDescription(String description) {
+      this.description = description;
+    }
+
+    public String getChoice() {
+      return choice;
+    }
+
+    public void setChoice(String choice) {
+      this.choice = choice;
+    }
+
+    public String getOutcome() {
+      return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+      this.outcome = outcome;
+    }
+
+    public String getOutcomeMeets() {
+      return outcomeMeets;
+    }
+
+    public void setOutcomeMeets(String outcomeMeets) {
+      this.outcomeMeets = outcomeMeets;
+    }
+
+    public String getDependency() {
+      return dependency;
+    }
+
+    public void setDependency(String dependency) {
+      this.dependency = dependency;
+    }
+
+    public int getThreshold() {
+      return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+      this.threshold = threshold;
+    }
+
+    public int getOption() {
+      return option;
+    }
+
+    public void setOption(int option) {
+      this.option = option;
+    }
+
+    public List<String> getConsequences() {
+      return consequences;
+    }
+
+    public void setConsequences(List<String> consequences) {
+      this.consequences = consequences;
+    }
+  }
+}
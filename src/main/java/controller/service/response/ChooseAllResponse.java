@@ -0,0 +1,78 @@
+package controller.service.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Represents the body of the response sent to the client after making a sequence of decisions: how
+ * many of the decisions were made, and the choice and statuses the story is at afterwards.
+ */
+public class ChooseAllResponse {
+
+  private int applied;
+  private int choice;
+  private boolean complete;
+  private List<StoryStatusResponse> statuses;
+
+  public ChooseAllResponse(int applied, int choice, boolean complete,
+      List<StoryStatusResponse> statuses) {
+    this.applied = applied;
+    this.choice = choice;
+    this.complete = complete;
+    this.statuses = statuses;
+  }
+
+  /**
+   * Constructs a response from the given information.
+   *
+   * @param applied  the number of decisions made
+   * @param choice   the id of the choice the story is at
+   * @param complete whether the story is complete
+   * @param statuses the statuses of the story
+   */
+  public ChooseAllResponse(int applied, int choice, boolean complete,
+      Map<String, Integer> statuses) {
+    List<StoryStatusResponse> statusResponse = new ArrayList<>();
+    for (Entry<String, Integer> status : statuses.entrySet()) {
+      statusResponse.add(new StoryStatusResponse(status));
+    }
+    this.applied = applied;
+    this.choice = choice;
+    this.complete = complete;
+    this.statuses = statusResponse;
+  }
+
+  public int getApplied() {
+    return applied;
+  }
+
+  public void setApplied(int applied) {
+    this.applied = applied;
+  }
+
+  public int getChoice() {
+    return choice;
+  }
+
+  public void setChoice(int choice) {
+    this.choice = choice;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public void setComplete(boolean complete) {
+    this.complete = complete;
+  }
+
+  public List<StoryStatusResponse> getStatuses() {
+    return statuses;
+  }
+
+  public void setStatuses(List<StoryStatusResponse> statuses) {
+    this.statuses = statuses;
+  }
+}
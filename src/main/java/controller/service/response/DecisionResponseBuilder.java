@@ -0,0 +1,143 @@
+package controller.service.response;
+
+import io.StoryNodes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import model.game.Choice;
+import model.game.decision.Decision;
+import model.game.decision.DecisionTypes;
+import model.game.decision.DecisionVisitor;
+import model.game.decision.OutcomeDeterminer;
+import model.game.decision.OutcomeDeterminerVisitor;
+import model.game.statusUpdate.StatusUpdate;
+import model.game.statusUpdate.StatusUpdateTypes;
+import model.game.statusUpdate.StatusUpdateVisitor;
+import utils.Utils;
+
+/**
+ * Builds the {@link DecisionResponse}s of the decisions of a story by visiting each decision,
+ * filling in the response fields directly from the decision and representing choices and
+ * decisions by the ids assigned by the story's nodes.
+ */
+public class DecisionResponseBuilder {
+
+  private final StoryNodes nodes;
+  private final ResponseVisitor visitor;
+
+  /**
+   * Constructs a {@code DecisionResponseBuilder} that builds responses of decisions in the story
+   * indexed by the given nodes.
+   *
+   * @param nodes the indexed choices and decisions of the story
+   * @throws IllegalArgumentException if the given nodes are null
+   */
+  public DecisionResponseBuilder(StoryNodes nodes) throws IllegalArgumentException {
+    this.nodes = Utils.ensureNotNull(nodes, "Nodes can't be null");
+    this.visitor = new ResponseVisitor();
+  }
+
+  /**
+   * Builds the responses of all decisions in the story, in order of their ids.
+   *
+   * @return the list of decision responses
+   * @throws IllegalArgumentException if any decision has an outcome that is not in the story
+   */
+  public List<DecisionResponse> buildAll() throws IllegalArgumentException {
+    List<Decision> decisions = this.nodes.getDecisions();
+    List<DecisionResponse> responses = new ArrayList<>(decisions.size());
+    for (int i = 0; i < decisions.size(); i++) {
+      responses.add(build(i, decisions.get(i)));
+    }
+    return responses;
+  }
+
+  /**
+   * Builds the response of the given decision with the given id.
+   *
+   * @param id       the id of the decision response
+   * @param decision the decision
+   * @return the decision response
+   * @throws IllegalArgumentException if the decision is null or has an outcome that is not in the
+   *                                  story
+   */
+  public DecisionResponse build(int id, Decision decision) throws IllegalArgumentException {
+    Utils.ensureNotNull(decision, "Decision can't be null");
+    this.visitor.id = id;
+    return decision.accept(this.visitor);
+  }
+
+  /**
+   * Gets the id of the given choice.
+   *
+   * @param choice the choice
+   * @return the id
+   * @throws IllegalArgumentException if the choice is not in the story
+   */
+  private int getChoiceId(Choice choice) throws IllegalArgumentException {
+    int choiceId = this.nodes.idOf(choice);
+    if (choiceId == -1) {
+      throw new IllegalArgumentException("Story doesn't contain outcome");
+    }
+    return choiceId;
+  }
+
+  /**
+   * Visits decisions, determiners, and status updates to build their responses.
+   */
+  private class ResponseVisitor implements DecisionVisitor<DecisionResponse>,
+      OutcomeDeterminerVisitor<DecisionResponse>, StatusUpdateVisitor<StatusUpdateResponse> {
+
+    private int id; // the id of the decision being built
+
+    @Override
+    public DecisionResponse visitSimple(String description, Choice outcome) {
+      return new DecisionResponse(this.id, DecisionTypes.SIMPLE, description,
+          getChoiceId(outcome));
+    }
+
+    @Override
+    public DecisionResponse visitConsequential(String description, Choice outcome,
+        Map<String, StatusUpdate> statusUpdates) {
+      List<StatusUpdateResponse> consequences = new ArrayList<>(statusUpdates.size());
+      for (Entry<String, StatusUpdate> update : statusUpdates.entrySet()) {
+        StatusUpdateResponse response = update.getValue().accept(this);
+        response.setStatus(update.getKey());
+        consequences.add(response);
+      }
+      return new DecisionResponse(this.id, DecisionTypes.CONSEQUENTIAL, description,
+          getChoiceId(outcome), consequences);
+    }
+
+    @Override
+    public DecisionResponse visitDependent(Decision delegate, OutcomeDeterminer determiner) {
+      DecisionResponse response = determiner.accept(this);
+      DecisionResponse delegateResponse = delegate.accept(this);
+      response.setDescription(delegateResponse.getDescription());
+      response.setConsequences(delegateResponse.getConsequences());
+      return response;
+    }
+
+    @Override
+    public DecisionResponse visitTwoThreshold(String dependency, int threshold, Choice below,
+        Choice meets) {
+      DecisionResponse response = new DecisionResponse(this.id, DecisionTypes.DEPENDENT);
+      response.setDependency(dependency);
+      response.setThreshold(threshold);
+      response.setOutcome1Id(getChoiceId(below));
+      response.setOutcome2Id(getChoiceId(meets));
+      return response;
+    }
+
+    @Override
+    public StatusUpdateResponse visitAdd(int increment) {
+      return new StatusUpdateResponse(StatusUpdateTypes.ADD, increment, null);
+    }
+
+    @Override
+    public StatusUpdateResponse visitSet(int setTo) {
+      return new StatusUpdateResponse(StatusUpdateTypes.SET, setTo, null);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package controller.service.response;
+
+import java.util.Map;
+
+/**
+ * Represents the body of the response sent to the client after applying a batch of edits: the id
+ * each labelled choice was given, and the version of the story afterwards.
+ */
+public class EditResponse {
+
+  private Map<String, Integer> labels;
+  private long version;
+
+  public EditResponse(Map<String, Integer> labels, long version) {
+    this.labels = labels;
+    this.version = version;
+  }
+
+  public Map<String, Integer> getLabels() {
+    return labels;
+  }
+
+  public void setLabels(Map<String, Integer> labels) {
+    this.labels = labels;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+}
@@ -0,0 +1,127 @@
+package controller.service.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import model.analysis.ExplorationResult;
+import model.analysis.ExploredState;
+
+/**
+ * Represents the body of the response sent to the client to describe the states a story can reach:
+ * how many there are at each choice, which choices and decisions can't be reached, and which
+ * states can't lead to an end.
+ */
+public class ExplorationResponse {
+
+  private int maxStates;
+  private boolean complete;
+  private int states;
+  private int endings;
+  private List<Integer> statesAt;
+  private List<Integer> unreachableChoices;
+  private List<Integer> untakenDecisions;
+  private List<DeadEnd> deadEnds;
+
+  public ExplorationResponse(ExplorationResult result) {
+    this.maxStates = result.getMaxStates();
+    this.complete = result.isComplete();
+    this.states = result.getStateCount();
+    this.endings = result.getEndingCount();
+    this.statesAt = new ArrayList<>();
+    for (int i = 0; i < result.getChoiceCount(); i++) {
+      this.statesAt.add(result.getStatesAt(i));
+    }
+    this.unreachableChoices = result.getUnreachableChoices();
+    this.untakenDecisions = result.getUntakenDecisions();
+    this.deadEnds = new ArrayList<>();
+    for (ExploredState state : result.getDeadEnds()) {
+      this.deadEnds.add(new DeadEnd(state.getChoice(), state.getStatuses()));
+    }
+  }
+
+  public int getMaxStates() {
+    return maxStates;
+  }
+
+  public void setMaxStates(int maxStates) {
+    this.maxStates = maxStates;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public void setComplete(boolean complete) {
+    this.complete = complete;
+  }
+
+  public int getStates() {
+    return states;
+  }
+
+  public void setStates(int states) {
+    this.states = states;
+  }
+
+  public int getEndings() {
+    return endings;
+  }
+
+  public void setEndings(int endings) {
+    this.endings = endings;
+  }
+
+  public List<Integer> getStatesAt() {
+    return statesAt;
+  }
+
+  public void setStatesAt(List<Integer> statesAt) {
+    this.statesAt = statesAt;
+  }
+
+  public List<Integer> getUnreachableChoices() {
+    return unreachableChoices;
+  }
+
+  public void setUnreachableChoices(List<Integer> unreachableChoices) {
+    this.unreachableChoices = unreachableChoices;
+  }
+
+  public List<Integer> getUntakenDecisions() {
+    return untakenDecisions;
+  }
+
+  public void setUntakenDecisions(List<Integer> untakenDecisions) {
+    this.untakenDecisions = untakenDecisions;
+  }
+
+  public List<DeadEnd> getDeadEnds() {
+    return deadEnds;
+  }
+
+  public void setDeadEnds(List<DeadEnd> deadEnds) {
+    this.deadEnds = deadEnds;
+  }
+
+  /**
+   * Represents a state that can't lead to an end: the choice it is at and its status values.
+   */
+  public static class DeadEnd {
+
+    private final int choice;
+    private final Map<String, Integer> statuses;
+
+    public DeadEnd(int choice, Map<String, Integer> statuses) {
+      this.choice = choice;
+      this.statuses = statuses;
+    }
+
+    public int getChoice() {
+      return this.choice;
+    }
+
+    public Map<String, Integer> getStatuses() {
+      return this.statuses;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package controller.service.response;
+
+import java.util.List;
+
+/**
+ * Represents the body of the response sent to the client to list a page of the names in a library:
+ * the names that start with a prefix, from an offset, and how many names start with the prefix in
+ * all.
+ */
+public class NamePageResponse {
+
+  private String prefix;
+  private int offset;
+  private int limit;
+  private int total;
+  private List<String> names;
+
+  public NamePageResponse(String prefix, int offset, int limit, int total, List<String> names) {
+    this.prefix = prefix;
+    this.offset = offset;
+    this.limit = limit;
+    this.total = total;
+    this.names = names;
+  }
+
+  public String getPrefix() {
+    return prefix;
+  }
+
+  public void setPrefix(String prefix) {
+    this.prefix = prefix;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public void setOffset(int offset) {
+    this.offset = offset;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
+
+  public int getTotal() {
+    return total;
+  }
+
+  public void setTotal(int total) {
+    this.total = total;
+  }
+
+  public List<String> getNames() {
+    return names;
+  }
+
+  public void setNames(List<String> names) {
+    this.names = names;
+  }
+}
@@ -0,0 +1,186 @@
+package controller.service.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import model.analysis.SimulationResult;
+
+/**
+ * Represents the body of the response sent to the client to describe random playthroughs of a
+ * story: how often each choice was reached and ended at, how often each decision was made, and how
+ * the values of each status were spread when the playthroughs stopped.
+ */
+public class SimulationResponse {
+
+  private int playthroughs;
+  private long seed;
+  private int maxSteps;
+  private long unfinished;
+  private double averageSteps;
+  private List<ChoiceTally> choices;
+  private List<DecisionTally> decisions;
+  private List<StatusHistogram> statuses;
+
+  public SimulationResponse(SimulationResult result) {
+    this.playthroughs = result.getPlaythroughs();
+    this.seed = result.getSeed();
+    this.maxSteps = result.getMaxSteps();
+    this.unfinished = result.getUnfinished();
+    this.averageSteps = result.getAverageSteps();
+    this.choices = new ArrayList<>();
+    for (int i = 0; i < result.getChoiceCount(); i++) {
+      this.choices.add(new ChoiceTally(i, result.getVisits(i), result.getEnds(i)));
+    }
+    this.decisions = new ArrayList<>();
+    for (int i = 0; i < result.getDecisionCount(); i++) {
+      this.decisions.add(new DecisionTally(i, result.getPicks(i), result.getPickRate(i)));
+    }
+    this.statuses = new ArrayList<>();
+    for (String status : result.getStatusNames()) {
+      this.statuses.add(new StatusHistogram(status, result.getStatusHistogram(status)));
+    }
+  }
+
+  public int getPlaythroughs() {
+    return playthroughs;
+  }
+
+  public void setPlaythroughs(int playthroughs) {
+    this.playthroughs = playthroughs;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  public int getMaxSteps() {
+    return maxSteps;
+  }
+
+  public void setMaxSteps(int maxSteps) {
+    this.maxSteps = maxSteps;
+  }
+
+  public long getUnfinished() {
+    return unfinished;
+  }
+
+  public void setUnfinished(long unfinished) {
+    this.unfinished = unfinished;
+  }
+
+  public double getAverageSteps() {
+    return averageSteps;
+  }
+
+  public void setAverageSteps(double averageSteps) {
+    this.averageSteps = averageSteps;
+  }
+
+  public List<ChoiceTally> getChoices() {
+    return choices;
+  }
+
+  public void setChoices(List<ChoiceTally> choices) {
+    this.choices = choices;
+  }
+
+  public List<DecisionTally> getDecisions() {
+    return decisions;
+  }
+
+  public void setDecisions(List<DecisionTally> decisions) {
+    this.decisions = decisions;
+  }
+
+  public List<StatusHistogram> getStatuses() {
+    return statuses;
+  }
+
+  public void setStatuses(List<StatusHistogram> statuses) {
+    this.statuses = statuses;
+  }
+
+  /**
+   * Represents how many times a choice was reached, and how many playthroughs ended there.
+   */
+  public static class ChoiceTally {
+
+    private final int id;
+    private final long visits;
+    private final long ends;
+
+    public ChoiceTally(int id, long visits, long ends) {
+      this.id = id;
+      this.visits = visits;
+      this.ends = ends;
+    }
+
+    public int getId() {
+      return this.id;
+    }
+
+    public long getVisits() {
+      return this.visits;
+    }
+
+    public long getEnds() {
+      return this.ends;
+    }
+  }
+
+  /**
+   * Represents how many times a decision was made, and its share of the decisions made at its
+   * choice.
+   */
+  public static class DecisionTally {
+
+    private final int id;
+    private final long picks;
+    private final double rate;
+
+    public DecisionTally(int id, long picks, double rate) {
+      this.id = id;
+      this.picks = picks;
+      this.rate = rate;
+    }
+
+    public int getId() {
+      return this.id;
+    }
+
+    public long getPicks() {
+      return this.picks;
+    }
+
+    public double getRate() {
+      return this.rate;
+    }
+  }
+
+  /**
+   * Represents how many playthroughs stopped with each value of a status.
+   */
+  public static class StatusHistogram {
+
+    private final String name;
+    private final Map<Integer, Long> counts;
+
+    public StatusHistogram(String name, Map<Integer, Long> counts) {
+      this.name = name;
+      this.counts = counts;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    public Map<Integer, Long> getCounts() {
+      return this.counts;
+    }
+  }
+}
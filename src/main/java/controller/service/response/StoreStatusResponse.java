@@ -0,0 +1,67 @@
+package controller.service.response;
+
+import controller.service.StoreLoader;
+import controller.service.StoreLoader.Failure;
+import java.util.List;
+
+/**
+ * Represents the body of the response sent to the client to describe the loading of a store:
+ * whether it is done, how many of its files have been imported, and which files failed to import.
+ */
+public class StoreStatusResponse {
+
+  private String directory;
+  private boolean ready;
+  private int files;
+  private int imported;
+  private List<Failure> failures;
+
+  public StoreStatusResponse(StoreLoader loader) {
+    // read readiness first, so a ready response includes every import and failure
+    this.ready = loader.isReady();
+    this.directory = loader.getDirectory();
+    this.files = loader.getFileCount();
+    this.imported = loader.getImportedCount();
+    this.failures = loader.getFailures();
+  }
+
+  public String getDirectory() {
+    return directory;
+  }
+
+  public void setDirectory(String directory) {
+    this.directory = directory;
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  public void setReady(boolean ready) {
+    this.ready = ready;
+  }
+
+  public int getFiles() {
+    return files;
+  }
+
+  public void setFiles(int files) {
+    this.files = files;
+  }
+
+  public int getImported() {
+    return imported;
+  }
+
+  public void setImported(int imported) {
+    this.imported = imported;
+  }
+
+  public List<Failure> getFailures() {
+    return failures;
+  }
+
+  public void setFailures(List<Failure> failures) {
+    this.failures = failures;
+  }
+}
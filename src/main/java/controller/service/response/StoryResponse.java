@@ -1,14 +1,12 @@
 package controller.service.response;
 
+import io.StoryNodes;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Scanner;
 import model.game.Choice;
 import model.game.decision.Decision;
-import model.game.decision.DecisionCreator;
 
 /**
  * Represents the body of the response sent to the client to represent a story.
@@ -44,37 +42,57 @@ public class StoryResponse {
   public StoryResponse(String name, Map<String, Integer> statuses,
       List<Choice> choices, List<Decision> decisions, int currentChoice)
       throws IllegalArgumentException {
+    this(name, statuses, StoryNodes.of(choices, decisions), currentChoice);
+  }
+
+  /**
+   * Constructs a story response from the given information, using the ids assigned by the given
+   * story nodes.
+   *
+   * @param name          the name of the story
+   * @param statuses      the story statuses
+   * @param nodes         the indexed choices and decisions of the story
+   * @param currentChoice the current choice in the story
+   * @throws IllegalArgumentException if the given information together does not make a valid story
+   *                                  (ex. choice option not in list of decisions)
+   */
+  public StoryResponse(String name, Map<String, Integer> statuses, StoryNodes nodes,
+      int currentChoice) throws IllegalArgumentException {
     List<StoryStatusResponse> statusResponse = new ArrayList<>();
     for (Entry<String, Integer> status : statuses.entrySet()) {
       statusResponse.add(new StoryStatusResponse(status));
     }
+    List<Choice> choices = nodes.getChoices();
     List<ChoiceResponse> choiceResponses = new ArrayList<>();
-    Map<Choice, String> choiceRepresentation = new HashMap<>();
     for (int i = 0; i < choices.size(); i++) {
-      List<Decision> options = choices.get(i).getOptions();
-      List<OptionResponse> optionResponses = new ArrayList<>();
-      for (int o = 0; o < options.size(); o++) {
-        optionResponses.add(new OptionResponse(o, decisions.indexOf(options.get(o))));
-      }
-      choiceResponses.add(new ChoiceResponse(i, optionResponses));
-      choiceRepresentation.put(choices.get(i), "C" + i);
-    }
-
-    List<DecisionResponse> decisionResponses = new ArrayList<>();
-    for (int i = 0; i < decisions.size(); i++) {
-      decisionResponses
-          .add(DecisionCreator
-              .createDecisionResponse(i, new Scanner(decisions.get(i).export(choiceRepresentation)),
-                  choices));
+      choiceResponses.add(createChoiceResponse(i, choices.get(i), nodes));
     }
 
     this.name = name;
     this.statuses = statusResponse;
     this.choices = choiceResponses;
-    this.decisions = decisionResponses;
+    this.decisions = new DecisionResponseBuilder(nodes).buildAll();
     this.choice = currentChoice;
   }
 
+  /**
+   * Creates the response representing the given choice, whose options are represented by their ids
+   * in the given story nodes.
+   *
+   * @param id     the id of the choice
+   * @param choice the choice
+   * @param nodes  the indexed choices and decisions of the story
+   * @return the choice response
+   */
+  public static ChoiceResponse createChoiceResponse(int id, Choice choice, StoryNodes nodes) {
+    List<Decision> options = choice.getOptions();
+    List<OptionResponse> optionResponses = new ArrayList<>();
+    for (int o = 0; o < options.size(); o++) {
+      optionResponses.add(new OptionResponse(o, nodes.idOf(options.get(o))));
+    }
+    return new ChoiceResponse(id, optionResponses);
+  }
+
   public String getName() {
     return name;
   }
@@ -0,0 +1,76 @@
+package controller.service.response;
+
+import java.util.List;
+import model.analysis.StoryStructure;
+
+/**
+ * Represents the body of the response sent to the client to describe the structure of a story's
+ * choices: the groups of choices that can loop, the choices where it ends, and the choices that
+ * can't be reached or can't reach an end.
+ */
+public class StructureResponse {
+
+  private int initialChoice;
+  private int components;
+  private List<List<Integer>> cycles;
+  private List<Integer> endings;
+  private List<Integer> unreachableChoices;
+  private List<Integer> choicesWithoutEnding;
+
+  public StructureResponse(StoryStructure structure) {
+    this.initialChoice = structure.getInitialChoice();
+    this.components = structure.getComponentCount();
+    this.cycles = structure.getCycles();
+    this.endings = structure.getEndings();
+    this.unreachableChoices = structure.getUnreachableChoices();
+    this.choicesWithoutEnding = structure.getChoicesWithoutEnding();
+  }
+
+  public int getInitialChoice() {
+    return initialChoice;
+  }
+
+  public void setInitialChoice(int initialChoice) {
+    this.initialChoice = initialChoice;
+  }
+
+  public int getComponents() {
+    return components;
+  }
+
+  public void setComponents(int components) {
+    this.components = components;
+  }
+
+  public List<List<Integer>> getCycles() {
+    return cycles;
+  }
+
+  public void setCycles(List<List<Integer>> cycles) {
+    this.cycles = cycles;
+  }
+
+  public List<Integer> getEndings() {
+    return endings;
+  }
+
+  public void setEndings(List<Integer> endings) {
+    this.endings = endings;
+  }
+
+  public List<Integer> getUnreachableChoices() {
+    return unreachableChoices;
+  }
+
+  public void setUnreachableChoices(List<Integer> unreachableChoices) {
+    this.unreachableChoices = unreachableChoices;
+  }
+
+  public List<Integer> getChoicesWithoutEnding() {
+    return choicesWithoutEnding;
+  }
+
+  public void setChoicesWithoutEnding(List<Integer> choicesWithoutEnding) {
+    this.choicesWithoutEnding = choicesWithoutEnding;
+  }
+}
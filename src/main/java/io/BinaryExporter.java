@@ -0,0 +1,369 @@
+package io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import model.game.Choice;
+import model.game.StoryGame;
+import model.game.decision.Decision;
+import model.game.decision.DecisionVisitor;
+import model.game.decision.OutcomeDeterminer;
+import model.game.decision.OutcomeDeterminerVisitor;
+import model.game.statusUpdate.StatusUpdate;
+import model.game.statusUpdate.StatusUpdateVisitor;
+import utils.IOUtils;
+import utils.Utils;
+
+/**
+ * A {@link StoryExporter} that exports stories as compact binary files that can be read by {@link
+ * BinaryImporter}s, laid out as described by {@link BinaryFormat}.
+ */
+public class BinaryExporter implements StoryExporter {
+
+  @Override
+  public File export(StoryGame story, String filePath)
+      throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(story, "Story can't be null.");
+    return export(story, StoryNodes.createNodes(story), filePath);
+  }
+
+  @Override
+  public File export(StoryGame story, StoryNodes nodes, String filePath)
+      throws IllegalArgumentException, IOException {
+    // lay out the whole story before opening the file, so a story that can't be exported leaves
+    // no file behind
+    Layout layout = layOut(story, nodes);
+    filePath = getFilePath(story, filePath);
+
+    // Set up to write to file
+    File storyFile = new File(filePath);
+    FileOutputStream fileOut;
+    try {
+      fileOut = new FileOutputStream(storyFile);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Can't write to path: " + filePath);
+    }
+
+    try (OutputStream out = new BufferedOutputStream(fileOut)) {
+      layout.writeTo(out);
+    }
+    return storyFile;
+  }
+
+  /**
+   * Writes the given story with the given nodes to the given stream in the layout of a story file.
+   * The same story always writes the same bytes.
+   *
+   * @param story the story
+   * @param nodes the choices and decisions of the story
+   * @param out   the stream to write to, which is not flushed or closed
+   * @throws IllegalArgumentException if any argument is null or the nodes don't contain all
+   *                                  choices and decisions of the story
+   * @throws IOException              if writing to the stream fails
+   */
+  static void write(StoryGame story, StoryNodes nodes, OutputStream out)
+      throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(out, "Stream can't be null.");
+    layOut(story, nodes).writeTo(out);
+  }
+
+  /**
+   * Lays out the given story with the given nodes.
+   *
+   * @param story the story
+   * @param nodes the choices and decisions of the story
+   * @return the layout
+   * @throws IllegalArgumentException if either argument is null or the nodes don't contain all
+   *                                  choices and decisions of the story
+   */
+  private static Layout layOut(StoryGame story, StoryNodes nodes)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(story, "Story can't be null.");
+    Utils.ensureNotNull(nodes, "Nodes can't be null.");
+    if (nodes.idOf(story.getCurrentChoice()) == -1) {
+      throw new IllegalArgumentException("Nodes don't contain the story's current choice.");
+    }
+    Layout layout = new Layout(nodes);
+    layout.addStory(story);
+    return layout;
+  }
+
+  /**
+   * Gets the file path to write the story to. Assumes the given story is not null.
+   *
+   * @param story    the story
+   * @param filePath the preferred story path
+   * @return the file path
+   */
+  private static String getFilePath(StoryGame story, String filePath) {
+    if (filePath != null) {
+      return filePath;
+    } else {
+      return "." + IOUtils.pathSeparator() + story.getName() + BinaryFormat.EXTENSION;
+    }
+  }
+
+  /**
+   * Represents the contents of a story file as they are laid out: its string table, and the
+   * records of its decisions, determiners and updates, which are numbered as they are added.
+   */
+  private static class Layout implements DecisionVisitor<Void>,
+      OutcomeDeterminerVisitor<Void>, StatusUpdateVisitor<Void> {
+
+    private final StoryNodes nodes;
+    private final ByteArrayOutputStream header;
+    private final List<String> strings;
+    private final Map<String, Integer> stringIds;
+    private final List<Decision> decisions;
+    private final Map<Decision, Integer> decisionIds;
+    private final ByteArrayOutputStream decisionRecords;
+    private final ByteArrayOutputStream determinerRecords;
+    private final ByteArrayOutputStream updateRecords;
+    private final ByteArrayOutputStream options; // the options of each choice, then the first
+    private int numDeterminers;
+    private int numUpdates;
+
+    /**
+     * Constructs a {@code Layout} of the story with the given nodes.
+     *
+     * @param nodes the nodes of the story
+     */
+    private Layout(StoryNodes nodes) {
+      this.nodes = nodes;
+      this.header = new ByteArrayOutputStream();
+      this.strings = new ArrayList<>();
+      this.stringIds = new HashMap<>();
+      this.decisions = new ArrayList<>();
+      this.decisionIds = new IdentityHashMap<>();
+      this.decisionRecords = new ByteArrayOutputStream();
+      this.determinerRecords = new ByteArrayOutputStream();
+      this.updateRecords = new ByteArrayOutputStream();
+      this.options = new ByteArrayOutputStream();
+      this.numDeterminers = 0;
+      this.numUpdates = 0;
+    }
+
+    /**
+     * Lays out the given story, whose choices and decisions are the nodes of this layout.
+     *
+     * @param story the story
+     * @throws IllegalArgumentException if the story reaches a choice or decision that isn't one of
+     *                                  the nodes
+     */
+    private void addStory(StoryGame story) throws IllegalArgumentException {
+      writeVarInt(this.header, stringId(story.getName()));
+      // statuses are sorted so the layout doesn't depend on the order of the story's map
+      Map<String, Integer> statuses = new TreeMap<>(story.getStatuses());
+      writeVarInt(this.header, statuses.size());
+      for (Entry<String, Integer> status : statuses.entrySet()) {
+        writeVarInt(this.header, stringId(status.getKey()));
+        writeInt(this.header, status.getValue());
+      }
+      writeVarInt(this.header, this.nodes.getChoices().size());
+
+      // the options come first so their ids are the same as in the nodes, and any delegates are
+      // added to the end as they are found
+      for (Decision decision : this.nodes.getDecisions()) {
+        decisionId(decision);
+      }
+      for (int i = 0; i < this.decisions.size(); i++) {
+        this.decisions.get(i).accept(this);
+      }
+      writeVarInt(this.header, this.decisions.size());
+      writeVarInt(this.header, this.numDeterminers);
+      writeVarInt(this.header, this.numUpdates);
+      writeVarInt(this.header, this.nodes.getDecisions().size());
+
+      for (Choice choice : this.nodes.getChoices()) {
+        List<Decision> options = choice.getOptions();
+        writeVarInt(this.options, options.size());
+        for (Decision option : options) {
+          Integer id = this.decisionIds.get(option);
+          if (id == null) {
+            throw new IllegalArgumentException("Nodes don't contain all decisions of the story.");
+          }
+          writeVarInt(this.options, id);
+        }
+      }
+      writeVarInt(this.options, this.nodes.idOf(story.getCurrentChoice()));
+    }
+
+    /**
+     * Writes the laid out story to the given stream.
+     *
+     * @param out the stream
+     * @throws IOException if writing to the stream fails
+     */
+    private void writeTo(OutputStream out) throws IOException {
+      ByteArrayOutputStream start = new ByteArrayOutputStream();
+      writeInt(start, BinaryFormat.MAGIC);
+      start.write(BinaryFormat.VERSION);
+      writeVarInt(start, this.strings.size());
+      for (String string : this.strings) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(start, bytes.length);
+        start.write(bytes, 0, bytes.length);
+      }
+      start.writeTo(out);
+      this.header.writeTo(out);
+      this.decisionRecords.writeTo(out);
+      this.determinerRecords.writeTo(out);
+      this.updateRecords.writeTo(out);
+      this.options.writeTo(out);
+    }
+
+    @Override
+    public Void visitSimple(String description, Choice outcome) {
+      writeDecision(BinaryFormat.SIMPLE, stringId(description), choiceId(outcome), 0, 0);
+      return null;
+    }
+
+    @Override
+    public Void visitConsequential(String description, Choice outcome,
+        Map<String, StatusUpdate> statusUpdates) {
+      writeDecision(BinaryFormat.CONSEQUENTIAL, stringId(description), choiceId(outcome),
+          this.numUpdates, statusUpdates.size());
+      // consequences are sorted so the layout doesn't depend on the order of the decision's map
+      for (Entry<String, StatusUpdate> update : new TreeMap<>(statusUpdates).entrySet()) {
+        update.getValue().accept(this);
+        writeInt(this.updateRecords, stringId(update.getKey()));
+        this.numUpdates++;
+      }
+      return null;
+    }
+
+    @Override
+    public Void visitDependent(Decision delegate, OutcomeDeterminer determiner) {
+      writeDecision(BinaryFormat.DEPENDENT, this.numDeterminers, decisionId(delegate), 0, 0);
+      determiner.accept(this);
+      this.numDeterminers++;
+      return null;
+    }
+
+    @Override
+    public Void visitTwoThreshold(String dependency, int threshold, Choice below, Choice meets) {
+      this.determinerRecords.write(BinaryFormat.TWO_THRESHOLD);
+      writeInt(this.determinerRecords, stringId(dependency));
+      writeInt(this.determinerRecords, threshold);
+      writeInt(this.determinerRecords, choiceId(below));
+      writeInt(this.determinerRecords, choiceId(meets));
+      return null;
+    }
+
+    @Override
+    public Void visitAdd(int increment) {
+      this.updateRecords.write(BinaryFormat.ADD);
+      writeInt(this.updateRecords, increment);
+      return null;
+    }
+
+    @Override
+    public Void visitSet(int setTo) {
+      this.updateRecords.write(BinaryFormat.SET);
+      writeInt(this.updateRecords, setTo);
+      return null;
+    }
+
+    /**
+     * Writes a decision record of the given kind and fields.
+     *
+     * @param kind the kind of decision
+     * @param a    the first field
+     * @param b    the second field
+     * @param c    the third field
+     * @param d    the fourth field
+     */
+    private void writeDecision(byte kind, int a, int b, int c, int d) {
+      this.decisionRecords.write(kind);
+      writeInt(this.decisionRecords, a);
+      writeInt(this.decisionRecords, b);
+      writeInt(this.decisionRecords, c);
+      writeInt(this.decisionRecords, d);
+    }
+
+    /**
+     * Gets the index of the given string in the string table, adding it if it isn't there.
+     *
+     * @param string the string
+     * @return the index of the string
+     */
+    private int stringId(String string) {
+      Integer id = this.stringIds.get(string);
+      if (id == null) {
+        id = this.strings.size();
+        this.strings.add(string);
+        this.stringIds.put(string, id);
+      }
+      return id;
+    }
+
+    /**
+     * Gets the index of the given decision, adding it to be laid out if it hasn't been.
+     *
+     * @param decision the decision
+     * @return the index of the decision
+     */
+    private int decisionId(Decision decision) {
+      Integer id = this.decisionIds.get(decision);
+      if (id == null) {
+        id = this.decisions.size();
+        this.decisions.add(decision);
+        this.decisionIds.put(decision, id);
+      }
+      return id;
+    }
+
+    /**
+     * Gets the id of the given choice in the nodes.
+     *
+     * @param choice the choice
+     * @return the id of the choice
+     * @throws IllegalArgumentException if the choice isn't one of the nodes
+     */
+    private int choiceId(Choice choice) throws IllegalArgumentException {
+      int id = this.nodes.idOf(choice);
+      if (id == -1) {
+        throw new IllegalArgumentException("Nodes don't contain all choices of the story.");
+      }
+      return id;
+    }
+  }
+
+  /**
+   * Writes the given number to the given stream as 4 big-endian bytes.
+   *
+   * @param out the stream
+   * @param n   the number
+   */
+  private static void writeInt(ByteArrayOutputStream out, int n) {
+    out.write(n >>> 24);
+    out.write(n >>> 16);
+    out.write(n >>> 8);
+    out.write(n);
+  }
+
+  /**
+   * Writes the given non-negative number to the given stream as a varint.
+   *
+   * @param out the stream
+   * @param n   the number
+   */
+  private static void writeVarInt(ByteArrayOutputStream out, int n) {
+    while ((n & ~0x7F) != 0) {
+      out.write((n & 0x7F) | 0x80);
+      n >>>= 7;
+    }
+    out.write(n);
+  }
+}
@@ -0,0 +1,50 @@
+package io;
+
+/**
+ * The layout of story files written by {@link BinaryExporter}s and read by {@link
+ * BinaryImporter}s. All fixed-width numbers are big-endian, and counts and indexes are written as
+ * unsigned varints, 7 bits to a byte with the high bit set on every byte but the last. A file is
+ * laid out as:
+ *
+ * <pre>
+ * magic (4 bytes) version (1 byte)
+ * string count, then each string as its UTF-8 byte length and bytes
+ * story name (string index)
+ * status count, then each status as its name (string index) and initial value (4 bytes)
+ * choice count
+ * decision count, determiner count, update count, then the count of decisions that are options
+ * decision records, determiner records, update records
+ * for each choice, its option count and then each option (decision index)
+ * first choice (choice index)
+ * </pre>
+ *
+ * <p>Decision, determiner and update records are each of a fixed width, a kind byte followed by
+ * 4-byte fields, so any record can be read straight from its offset. The decisions that are
+ * options of choices come first, in the order of their story's nodes, followed by any decisions
+ * that are only delegates of dependent decisions.
+ */
+final class BinaryFormat {
+
+  static final String EXTENSION = ".story";
+  static final int MAGIC = 0x53545259; // STRY
+  static final byte VERSION = 1;
+
+  // decision records: kind, then description and outcome, or determiner and delegate, then the
+  // first update and the number of updates of consequential decisions
+  static final int DECISION_RECORD_SIZE = 17;
+  static final byte SIMPLE = 0;
+  static final byte CONSEQUENTIAL = 1;
+  static final byte DEPENDENT = 2;
+
+  // determiner records: kind, dependency, threshold, below, meets
+  static final int DETERMINER_RECORD_SIZE = 17;
+  static final byte TWO_THRESHOLD = 0;
+
+  // update records: kind, value, status
+  static final int UPDATE_RECORD_SIZE = 9;
+  static final byte ADD = 0;
+  static final byte SET = 1;
+
+  private BinaryFormat() {
+  }
+}
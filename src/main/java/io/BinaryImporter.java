@@ -0,0 +1,340 @@
+package io;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.game.Choice;
+import model.game.SimpleChoice;
+import model.game.SimpleStoryGame;
+import model.game.StoryGame;
+import model.game.decision.ConsequentialDecision;
+import model.game.decision.Decision;
+import model.game.decision.DecisionCreator;
+import model.game.decision.OutcomeDeterminer;
+import model.game.decision.SimpleDecision;
+import model.game.decision.TwoThresholdDeterminer;
+import model.game.statusUpdate.StatusUpdate;
+import model.game.statusUpdate.StatusUpdateCreator;
+import model.game.statusUpdate.StatusUpdateTypes;
+import utils.Utils;
+
+/**
+ * A {@link StoryImporter} that imports binary files as stories, as exported by {@link
+ * BinaryExporter}s. Files are mapped into memory rather than read, and each record is read
+ * straight from its offset in the file as the story is built.
+ */
+public class BinaryImporter implements StoryImporter {
+
+  private static final String ILLEGAL_FORMAT_MESSAGE = "Illegal format - not a valid story file";
+
+  @Override
+  public StoryGame importStory(String filePath) throws IllegalArgumentException {
+    Utils.ensureNotNull(filePath, "Filename can't be null");
+
+    // the mapping stays valid once the channel is closed
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException | InvalidPathException e) {
+      throw new IllegalArgumentException("File not found");
+    }
+
+    try {
+      return new StoryReader(buffer).readStory();
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+    }
+  }
+
+  /**
+   * Reads a story from a buffer holding a story file, building each decision from its record the
+   * first time it is needed.
+   */
+  private static class StoryReader {
+
+    private final ByteBuffer buffer;
+    private String[] strings;
+    private List<Choice> choices;
+    private Decision[] decisions;
+    private boolean[] building; // whether each decision is being built, to find cycles
+    private int decisionOffset;
+    private int determinerOffset;
+    private int numDeterminers;
+    private int updateOffset;
+    private int numUpdates;
+
+    /**
+     * Constructs a {@code StoryReader} of the given buffer.
+     *
+     * @param buffer the buffer
+     */
+    private StoryReader(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    /**
+     * Reads the story.
+     *
+     * @return the story
+     * @throws IllegalArgumentException if the buffer does not hold a valid story
+     */
+    private StoryGame readStory() throws IllegalArgumentException {
+      if (this.buffer.getInt() != BinaryFormat.MAGIC
+          || this.buffer.get() != BinaryFormat.VERSION) {
+        throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+
+      // Read strings
+      this.strings = new String[readLength()];
+      for (int i = 0; i < this.strings.length; i++) {
+        int length = readLength();
+        ByteBuffer bytes = this.buffer.slice();
+        bytes.limit(length);
+        this.strings[i] = StandardCharsets.UTF_8.decode(bytes).toString();
+        this.buffer.position(this.buffer.position() + length);
+      }
+
+      // Read story name and statuses
+      String storyName = readString();
+      int numStatuses = readCount();
+      Map<String, Integer> statuses = new HashMap<>();
+      for (int i = 0; i < numStatuses; i++) {
+        String status = readString();
+        statuses.put(status, this.buffer.getInt());
+      }
+
+      // Initialize choices
+      int numChoices = readLength();
+      this.choices = new ArrayList<>(numChoices);
+      List<List<Decision>> choiceDecisions = new ArrayList<>(numChoices);
+      for (int i = 0; i < numChoices; i++) {
+        choiceDecisions.add(new ArrayList<>());
+        this.choices.add(new SimpleChoice(choiceDecisions.get(i)));
+      }
+
+      // Find the records
+      int numDecisions = readCount();
+      this.numDeterminers = readCount();
+      this.numUpdates = readCount();
+      readCount(); // options come first, so any decision can be an option
+      this.decisionOffset = this.buffer.position();
+      this.determinerOffset = skip(numDecisions, BinaryFormat.DECISION_RECORD_SIZE);
+      this.updateOffset = skip(this.numDeterminers, BinaryFormat.DETERMINER_RECORD_SIZE);
+      skip(this.numUpdates, BinaryFormat.UPDATE_RECORD_SIZE);
+      this.decisions = new Decision[numDecisions];
+      this.building = new boolean[numDecisions];
+
+      // Read choices, add options
+      for (List<Decision> options : choiceDecisions) {
+        int numOptions = readCount();
+        for (int i = 0; i < numOptions; i++) {
+          options.add(getDecision(readCount()));
+        }
+      }
+
+      return new SimpleStoryGame(storyName, getChoice(readCount()), statuses);
+    }
+
+    /**
+     * Gets the decision of the given index, building it from its record if it hasn't been.
+     *
+     * @param index the index of the decision
+     * @return the decision
+     * @throws IllegalArgumentException if there is no such decision or its record is invalid
+     */
+    private Decision getDecision(int index) throws IllegalArgumentException {
+      ensureIndex(index, this.decisions.length);
+      if (this.decisions[index] == null) {
+        if (this.building[index]) {
+          throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE); // a delegate of itself
+        }
+        this.building[index] = true;
+        this.decisions[index] = buildDecision(
+            this.decisionOffset + index * BinaryFormat.DECISION_RECORD_SIZE);
+      }
+      return this.decisions[index];
+    }
+
+    /**
+     * Builds the decision whose record is at the given offset.
+     *
+     * @param offset the offset of the record
+     * @return the decision
+     * @throws IllegalArgumentException if the record is invalid
+     */
+    private Decision buildDecision(int offset) throws IllegalArgumentException {
+      int a = this.buffer.getInt(offset + 1);
+      int b = this.buffer.getInt(offset + 5);
+      switch (this.buffer.get(offset)) {
+        case BinaryFormat.SIMPLE:
+          return new SimpleDecision(getString(a), getChoice(b));
+        case BinaryFormat.CONSEQUENTIAL:
+          int first = this.buffer.getInt(offset + 9);
+          int count = this.buffer.getInt(offset + 13);
+          if (count < 0 || first < 0 || first > this.numUpdates - count) {
+            throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+          }
+          Map<String, StatusUpdate> consequences = new HashMap<>();
+          for (int i = first; i < first + count; i++) {
+            int updateOffset = this.updateOffset + i * BinaryFormat.UPDATE_RECORD_SIZE;
+            consequences.put(getString(this.buffer.getInt(updateOffset + 5)),
+                buildUpdate(updateOffset));
+          }
+          return new ConsequentialDecision(getString(a), getChoice(b), consequences);
+        case BinaryFormat.DEPENDENT:
+          ensureIndex(a, this.numDeterminers);
+          OutcomeDeterminer determiner = buildDeterminer(
+              this.determinerOffset + a * BinaryFormat.DETERMINER_RECORD_SIZE);
+          return DecisionCreator.createDependent(getDecision(b), determiner);
+        default:
+          throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+    }
+
+    /**
+     * Builds the outcome determiner whose record is at the given offset.
+     *
+     * @param offset the offset of the record
+     * @return the outcome determiner
+     * @throws IllegalArgumentException if the record is invalid
+     */
+    private OutcomeDeterminer buildDeterminer(int offset) throws IllegalArgumentException {
+      if (this.buffer.get(offset) != BinaryFormat.TWO_THRESHOLD) {
+        throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+      return new TwoThresholdDeterminer(
+          getString(this.buffer.getInt(offset + 1)),
+          this.buffer.getInt(offset + 5),
+          getChoice(this.buffer.getInt(offset + 9)),
+          getChoice(this.buffer.getInt(offset + 13)));
+    }
+
+    /**
+     * Builds the status update whose record is at the given offset.
+     *
+     * @param offset the offset of the record
+     * @return the status update
+     * @throws IllegalArgumentException if the record is invalid
+     */
+    private StatusUpdate buildUpdate(int offset) throws IllegalArgumentException {
+      int value = this.buffer.getInt(offset + 1);
+      switch (this.buffer.get(offset)) {
+        case BinaryFormat.ADD:
+          return StatusUpdateCreator.createSimple(StatusUpdateTypes.ADD, value);
+        case BinaryFormat.SET:
+          return StatusUpdateCreator.createSimple(StatusUpdateTypes.SET, value);
+        default:
+          throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+    }
+
+    /**
+     * Gets the choice of the given index.
+     *
+     * @param index the index
+     * @return the choice
+     * @throws IllegalArgumentException if there is no such choice
+     */
+    private Choice getChoice(int index) throws IllegalArgumentException {
+      return this.choices.get(ensureIndex(index, this.choices.size()));
+    }
+
+    /**
+     * Gets the string of the given index in the string table.
+     *
+     * @param index the index
+     * @return the string
+     * @throws IllegalArgumentException if there is no such string
+     */
+    private String getString(int index) throws IllegalArgumentException {
+      return this.strings[ensureIndex(index, this.strings.length)];
+    }
+
+    /**
+     * Reads the string whose index is next in the buffer.
+     *
+     * @return the string
+     * @throws IllegalArgumentException if there is no such string
+     */
+    private String readString() throws IllegalArgumentException {
+      return getString(readCount());
+    }
+
+    /**
+     * Reads the varint next in the buffer.
+     *
+     * @return the number
+     * @throws IllegalArgumentException if the number is too long to be an int
+     */
+    private int readCount() throws IllegalArgumentException {
+      int n = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        byte b = this.buffer.get();
+        n |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          if (n < 0) {
+            throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+          }
+          return n;
+        }
+      }
+      throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+    }
+
+    /**
+     * Reads the varint next in the buffer as a number of bytes or of items that each take at least
+     * a byte, so it can be no more than the bytes left in the buffer.
+     *
+     * @return the number
+     * @throws IllegalArgumentException if the number is more than the bytes left in the buffer
+     */
+    private int readLength() throws IllegalArgumentException {
+      int length = readCount();
+      if (length > this.buffer.remaining()) {
+        throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+      return length;
+    }
+
+    /**
+     * Moves the buffer past the given number of records of the given size.
+     *
+     * @param count the number of records
+     * @param size  the size of each record
+     * @return the new position of the buffer
+     * @throws IllegalArgumentException if the buffer doesn't hold that many records
+     */
+    private int skip(int count, int size) throws IllegalArgumentException {
+      if (count > this.buffer.remaining() / size) {
+        throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+      this.buffer.position(this.buffer.position() + count * size);
+      return this.buffer.position();
+    }
+
+    /**
+     * Ensures the given index is from 0 up to the given size.
+     *
+     * @param index the index
+     * @param size  the size
+     * @return the index
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    private static int ensureIndex(int index, int size) throws IllegalArgumentException {
+      if (index < 0 || index >= size) {
+        throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+      return index;
+    }
+  }
+}
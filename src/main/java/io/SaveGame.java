@@ -0,0 +1,392 @@
+package io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import model.game.Choice;
+import model.game.PlayState;
+import model.game.SimpleStoryGame;
+import model.game.StoryGame;
+import utils.Utils;
+
+/**
+ * Represents the progress through a story as the decisions made in it, so it can be saved in a
+ * few bytes and restored by replaying the decisions from the start of the story. The story is
+ * referred to by a hash of its contents, so a save is only ever restored into the story it was
+ * made in. A save may instead start at a checkpoint, the choice and status values the progress
+ * had when the save was made, for progress that didn't start at the start of the story. A save
+ * is laid out as:
+ *
+ * <pre>
+ * magic (4 bytes) version (1 byte)
+ * story hash (32 bytes)
+ * flags (1 byte), which has its lowest bit set if the save has a checkpoint
+ * if it has a checkpoint, its choice (choice index), then the status count and the value of each
+ * status, in the order of the statuses' names
+ * decision count, then each decision (option index)
+ * </pre>
+ *
+ * <p>Counts and indexes are written as unsigned varints as in {@link BinaryFormat}, and status
+ * values as zigzag varints so small negative values stay small.
+ */
+public final class SaveGame {
+
+  public static final String EXTENSION = ".save";
+  private static final int MAGIC = 0x53415645; // SAVE
+  private static final byte VERSION = 1;
+  private static final int HASH_SIZE = 32;
+  private static final byte CHECKPOINT = 1;
+  private static final String ILLEGAL_FORMAT_MESSAGE = "Illegal format - not a valid save";
+
+  private final byte[] storyHash;
+  private final int checkpointChoice; // -1 if the save starts at the start of the story
+  private final int[] checkpointValues;
+  private final int[] decisions;
+
+  /**
+   * Constructs a {@code SaveGame} of the given decisions made from the given checkpoint in the
+   * story of the given hash. Assumes all inputs are valid.
+   *
+   * @param storyHash        the hash of the story
+   * @param checkpointChoice the id of the choice of the checkpoint, or -1 for no checkpoint
+   * @param checkpointValues the status values of the checkpoint in the order of their names, or
+   *                         null for no checkpoint
+   * @param decisions        the indexes of the decisions made, in order
+   */
+  private SaveGame(byte[] storyHash, int checkpointChoice, int[] checkpointValues,
+      int[] decisions) {
+    this.storyHash = storyHash;
+    this.checkpointChoice = checkpointChoice;
+    this.checkpointValues = checkpointValues;
+    this.decisions = decisions;
+  }
+
+  /**
+   * Hashes the contents of the given story, which are its choices and decisions as given by the
+   * nodes and its statuses. Stories with the same contents indexed the same way have the same hash.
+   *
+   * @param story the story
+   * @param nodes the choices and decisions of the story
+   * @return the hash of the story
+   * @throws IllegalArgumentException if either argument is null or the nodes don't contain all
+   *                                  choices and decisions of the story
+   */
+  public static byte[] hashStory(StoryGame story, StoryNodes nodes)
+      throws IllegalArgumentException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is unavailable", e);
+    }
+    try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+      BinaryExporter.write(story, nodes, out);
+    } catch (IOException e) {
+      throw new IllegalStateException("Can't hash story", e);
+    }
+    return digest.digest();
+  }
+
+  /**
+   * Saves the progress of the given game through the story of the given hash, which starts as the
+   * given original game and has the given nodes. The progress is saved as the decisions made since
+   * the start of the story where replaying them reproduces it, and as a checkpoint of the game as
+   * it is otherwise, or if a checkpoint is requested.
+   *
+   * @param original   the story as it starts
+   * @param nodes      the choices and decisions of the story
+   * @param storyHash  the hash of the story
+   * @param game       the game to save the progress of
+   * @param checkpoint true to save the game as a checkpoint, false to save it as decisions where
+   *                   possible
+   * @return the save
+   * @throws IllegalArgumentException if any argument is null, the hash is not a hash of a story, or
+   *                                  the game is at a choice that isn't one of the nodes
+   */
+  public static SaveGame capture(StoryGame original, StoryNodes nodes, byte[] storyHash,
+      StoryGame game, boolean checkpoint) throws IllegalArgumentException {
+    Utils.ensureNotNull(original, "Story can't be null");
+    Utils.ensureNotNull(nodes, "Nodes can't be null");
+    Utils.ensureNotNull(storyHash, "Hash can't be null");
+    Utils.ensureNotNull(game, "Game can't be null");
+    if (storyHash.length != HASH_SIZE) {
+      throw new IllegalArgumentException("Not a story hash");
+    }
+    byte[] hash = storyHash.clone();
+    if (!checkpoint && game instanceof SimpleStoryGame) {
+      int[] history = ((SimpleStoryGame) game).getPlayState().getHistory();
+      SaveGame save = new SaveGame(hash, -1, null, history);
+      // progress that didn't start at the start of the story can't be replayed from there
+      try {
+        StoryGame replayed = save.replay(original, nodes);
+        if (replayed.getCurrentChoice() == game.getCurrentChoice()
+            && replayed.getStatuses().equals(game.getStatuses())) {
+          return save;
+        }
+      } catch (IllegalArgumentException e) {
+        // so it is saved as a checkpoint
+      }
+    }
+
+    int choice = nodes.idOf(game.getCurrentChoice());
+    if (choice == -1) {
+      throw new IllegalArgumentException("Nodes don't contain the game's current choice");
+    }
+    Map<String, Integer> statuses = new TreeMap<>(game.getStatuses());
+    int[] values = new int[statuses.size()];
+    int slot = 0;
+    for (int value : statuses.values()) {
+      values[slot++] = value;
+    }
+    return new SaveGame(hash, choice, values, new int[0]);
+  }
+
+  /**
+   * Replays this save through the given story, which starts as the given original game and has the
+   * given nodes, resuming at the save's checkpoint if it has one and making each decision in turn.
+   * Doesn't check the story is the one this save was made in.
+   *
+   * @param original the story as it starts
+   * @param nodes    the choices and decisions of the story
+   * @return a game of the story with the progress of this save
+   * @throws IllegalArgumentException if either argument is null or the save doesn't fit the story
+   */
+  public StoryGame replay(StoryGame original, StoryNodes nodes) throws IllegalArgumentException {
+    Utils.ensureNotNull(original, "Story can't be null");
+    Utils.ensureNotNull(nodes, "Nodes can't be null");
+    PlayState state = new SimpleStoryGame(original).getPlayState();
+    if (this.checkpointChoice != -1) {
+      state = state.getStory().resume(checkpointChoice(nodes), checkpointStatuses(original));
+    }
+
+    SimpleStoryGame game = new SimpleStoryGame(state);
+    for (int decision : this.decisions) {
+      Choice current = game.getCurrentChoice();
+      if (decision < 0 || decision >= current.getOptions().size() || !game.next(decision)) {
+        throw new IllegalArgumentException("Save doesn't fit the story");
+      }
+    }
+    return game;
+  }
+
+  /**
+   * Gets the hash of the story this save was made in.
+   *
+   * @return the hash of the story
+   */
+  public byte[] getStoryHash() {
+    return this.storyHash.clone();
+  }
+
+  /**
+   * Gets whether this save starts at a checkpoint rather than the start of the story.
+   *
+   * @return true if the save has a checkpoint, false otherwise
+   */
+  public boolean hasCheckpoint() {
+    return this.checkpointChoice != -1;
+  }
+
+  /**
+   * Gets the indexes of the decisions made in this save, in the order they were made.
+   *
+   * @return the decisions
+   */
+  public int[] getDecisions() {
+    return this.decisions.clone();
+  }
+
+  /**
+   * Gets the contents of this save in the layout of a save file.
+   *
+   * @return the bytes of the save
+   */
+  public byte[] toBytes() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(
+        HASH_SIZE + 16 + this.decisions.length);
+    writeInt(out, MAGIC);
+    out.write(VERSION);
+    out.write(this.storyHash, 0, HASH_SIZE);
+    if (this.checkpointChoice != -1) {
+      out.write(CHECKPOINT);
+      writeVarInt(out, this.checkpointChoice);
+      writeVarInt(out, this.checkpointValues.length);
+      for (int value : this.checkpointValues) {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+      }
+    } else {
+      out.write(0);
+    }
+    writeVarInt(out, this.decisions.length);
+    for (int decision : this.decisions) {
+      writeVarInt(out, decision);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Reads a save from the given bytes in the layout of a save file.
+   *
+   * @param bytes the bytes of the save
+   * @return the save
+   * @throws IllegalArgumentException if the bytes are null or not a valid save
+   */
+  public static SaveGame fromBytes(byte[] bytes) throws IllegalArgumentException {
+    Utils.ensureNotNull(bytes, "Bytes can't be null");
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    try {
+      if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+        throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+      byte[] hash = new byte[HASH_SIZE];
+      buffer.get(hash);
+      byte flags = buffer.get();
+      int choice = -1;
+      int[] values = null;
+      if ((flags & CHECKPOINT) != 0) {
+        choice = readVarInt(buffer);
+        values = new int[readCount(buffer)];
+        for (int i = 0; i < values.length; i++) {
+          int zigzag = readVarInt(buffer);
+          values[i] = (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+      }
+      int[] decisions = new int[readCount(buffer)];
+      for (int i = 0; i < decisions.length; i++) {
+        decisions[i] = readVarInt(buffer);
+      }
+      if (buffer.hasRemaining()) {
+        throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+      }
+      return new SaveGame(hash, choice, values, decisions);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof SaveGame)) {
+      return false;
+    }
+    SaveGame other = (SaveGame) o;
+    return Arrays.equals(this.storyHash, other.storyHash)
+        && this.checkpointChoice == other.checkpointChoice
+        && Arrays.equals(this.checkpointValues, other.checkpointValues)
+        && Arrays.equals(this.decisions, other.decisions);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 31 * Arrays.hashCode(this.storyHash) + this.checkpointChoice;
+    hash = 31 * hash + Arrays.hashCode(this.checkpointValues);
+    return 31 * hash + Arrays.hashCode(this.decisions);
+  }
+
+  /**
+   * Gets the choice of this save's checkpoint in the story of the given nodes.
+   *
+   * @param nodes the choices and decisions of the story
+   * @return the choice
+   * @throws IllegalArgumentException if the story has no such choice
+   */
+  private Choice checkpointChoice(StoryNodes nodes) throws IllegalArgumentException {
+    List<Choice> choices = nodes.getChoices();
+    if (this.checkpointChoice < 0 || this.checkpointChoice >= choices.size()) {
+      throw new IllegalArgumentException("Save doesn't fit the story");
+    }
+    return choices.get(this.checkpointChoice);
+  }
+
+  /**
+   * Gets the statuses of this save's checkpoint in the given story by their names.
+   *
+   * @param original the story as it starts
+   * @return a map of status names to their values
+   * @throws IllegalArgumentException if the story doesn't have as many statuses as the checkpoint
+   */
+  private Map<String, Integer> checkpointStatuses(StoryGame original)
+      throws IllegalArgumentException {
+    List<String> names = new ArrayList<>(new TreeMap<>(original.getStatuses()).keySet());
+    if (names.size() != this.checkpointValues.length) {
+      throw new IllegalArgumentException("Save doesn't fit the story");
+    }
+    Map<String, Integer> statuses = new TreeMap<>();
+    for (int i = 0; i < names.size(); i++) {
+      statuses.put(names.get(i), this.checkpointValues[i]);
+    }
+    return statuses;
+  }
+
+  /**
+   * Writes the given number to the given stream as 4 big-endian bytes.
+   *
+   * @param out the stream
+   * @param n   the number
+   */
+  private static void writeInt(ByteArrayOutputStream out, int n) {
+    out.write(n >>> 24);
+    out.write(n >>> 16);
+    out.write(n >>> 8);
+    out.write(n);
+  }
+
+  /**
+   * Writes the given non-negative number to the given stream as a varint.
+   *
+   * @param out the stream
+   * @param n   the number
+   */
+  private static void writeVarInt(ByteArrayOutputStream out, int n) {
+    while ((n & ~0x7F) != 0) {
+      out.write((n & 0x7F) | 0x80);
+      n >>>= 7;
+    }
+    out.write(n);
+  }
+
+  /**
+   * Reads a varint from the given buffer.
+   *
+   * @param buffer the buffer
+   * @return the number
+   * @throws IllegalArgumentException if the varint is longer than 5 bytes
+   */
+  private static int readVarInt(ByteBuffer buffer) throws IllegalArgumentException {
+    int n = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get();
+      n |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return n;
+      }
+    }
+    throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+  }
+
+  /**
+   * Reads a count from the given buffer, which can't be more than the bytes left in the buffer as
+   * every counted item takes at least one byte.
+   *
+   * @param buffer the buffer
+   * @return the count
+   * @throws IllegalArgumentException if the count is negative or too large
+   */
+  private static int readCount(ByteBuffer buffer) throws IllegalArgumentException {
+    int count = readVarInt(buffer);
+    if (count < 0 || count > buffer.remaining()) {
+      throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
+    }
+    return count;
+  }
+}
@@ -20,4 +20,20 @@ public interface StoryExporter {
    * @throws IOException              if the file can not be written
    */
   File export(StoryGame story, String filePath) throws IllegalArgumentException, IOException;
+
+  /**
+   * Exports the given story to a file at the given file path, writing its choices and decisions
+   * with the ids assigned by the given nodes rather than walking the story again.
+   *
+   * @param story    the story to export
+   * @param nodes    the indexed choices and decisions of the story, which must contain every
+   *                 choice and decision reachable from the story's current choice
+   * @param filePath the path to export the file to
+   * @return the resulting file
+   * @throws IllegalArgumentException if the given story or nodes are null, or the story's current
+   *                                  choice is not one of the given nodes
+   * @throws IOException              if the file can not be written
+   */
+  File export(StoryGame story, StoryNodes nodes, String filePath)
+      throws IllegalArgumentException, IOException;
 }
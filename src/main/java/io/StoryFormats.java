@@ -0,0 +1,43 @@
+package io;
+
+import java.util.Locale;
+
+/**
+ * A utility class for choosing the format of a story file by its extension. Files ending in {@code
+ * .story} are binary, as written by {@link BinaryExporter}s, and any other file is text, as written
+ * by {@link TextExporter}s.
+ */
+public class StoryFormats {
+
+  /**
+   * Gets an importer for the format of the file at the given path.
+   *
+   * @param filePath the path of the file, which may be null
+   * @return the importer
+   */
+  public static StoryImporter importerFor(String filePath) {
+    return isBinary(filePath) ? new BinaryImporter() : new TextImporter();
+  }
+
+  /**
+   * Gets an exporter for the format of the file at the given path. Stories exported without a path
+   * are exported as text.
+   *
+   * @param filePath the path of the file, which may be null
+   * @return the exporter
+   */
+  public static StoryExporter exporterFor(String filePath) {
+    return isBinary(filePath) ? new BinaryExporter() : new TextExporter();
+  }
+
+  /**
+   * Determines whether the file at the given path is binary.
+   *
+   * @param filePath the path of the file, which may be null
+   * @return true if the file is binary, false otherwise
+   */
+  private static boolean isBinary(String filePath) {
+    return filePath != null
+        && filePath.toLowerCase(Locale.ROOT).endsWith(BinaryFormat.EXTENSION);
+  }
+}
@@ -1,56 +1,53 @@
 package io;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import model.game.Choice;
 import model.game.StoryGame;
 import model.game.decision.Decision;
 import utils.Utils;
 
 /**
- * Represents all choices and decisions in a story.
+ * Represents all choices and decisions in a story, each assigned a dense integer id that is its
+ * index in {@link StoryNodes#getChoices()} or {@link StoryNodes#getDecisions()}.
  */
 public class StoryNodes {
 
   private final List<Choice> choices;
-  private final Map<Choice, String> choiceOptions;
   private final List<Decision> decisions;
+  // Choices and decisions are keyed by identity, as neither overrides equals
+  private final Map<Choice, Integer> choiceIds;
+  private final Map<Decision, Integer> decisionIds;
+  // built on first request
+  private Map<Choice, String> choiceOptions;
+  private Map<Choice, String> choiceRepresentations;
 
   /**
-   * Constructs a {@code StoryNodes} given a map of choices and their options, an order to put the
-   * choices in, and all decisions in the story. Assumes all inputs are valid
+   * Constructs a {@code StoryNodes} of the given choices and decisions, where the id of each is its
+   * index in its list. Assumes all inputs are valid.
    *
-   * @param choiceOptionMap a map of choices to their list of options
-   * @param choiceOrder     a list of all the choices in the desired order
-   * @param decisions       a list of all decisions in the story
+   * @param choices     a list of all the choices in the desired order
+   * @param choiceIds   a map of each choice to its index in the list of choices
+   * @param decisions   a list of all decisions in the desired order
+   * @param decisionIds a map of each decision to its index in the list of decisions
    */
-  private StoryNodes(Map<Choice, List<String>> choiceOptionMap, List<Choice> choiceOrder,
-      List<Decision> decisions) throws IllegalArgumentException {
-    this.decisions = decisions;
-
-    List<Choice> choices = new ArrayList<>();
-    Map<Choice, String> choiceOptions = new HashMap<>();
-    for (Choice choice : choiceOrder) {
-      StringBuilder choiceId = new StringBuilder("C").append(choiceOrder.indexOf(choice))
-          .append(" [ ");
-      for (String decisionId : choiceOptionMap.get(choice)) {
-        choiceId.append(decisionId).append(" ");
-      }
-      choiceId.append("]");
-      choiceOptions.put(choice, choiceId.toString());
-      choices.add(choice);
-    }
-    this.choices = choices;
-    this.choiceOptions = choiceOptions;
+  private StoryNodes(List<Choice> choices, Map<Choice, Integer> choiceIds,
+      List<Decision> decisions, Map<Decision, Integer> decisionIds) {
+    this.choices = Collections.unmodifiableList(choices);
+    this.choiceIds = choiceIds;
+    this.decisions = Collections.unmodifiableList(decisions);
+    this.decisionIds = decisionIds;
   }
 
   /**
    * Gets all choices and decisions in the given story, returning them in the format of {@link
-   * StoryNodes}. Uses a breadth-first pattern to visit all choice nodes, which might be
-   * duplicated.
+   * StoryNodes}. Uses a breadth-first pattern to visit all choice nodes starting from the story's
+   * current choice, visiting each choice and decision once.
    *
    * @param story the story to go through
    * @return the choices and decisions of the story
@@ -58,42 +55,63 @@ public class StoryNodes {
    */
   public static StoryNodes createNodes(StoryGame story) throws IllegalArgumentException {
     Utils.ensureNotNull(story, "Story can't be null");
-    Map<Choice, List<String>> seenChoices = new HashMap<>();
-    List<Choice> choiceOrder = new ArrayList<>();
-    List<Decision> seenDecisions = new ArrayList<>();
-    List<Choice> worklist = new LinkedList<>();
+    List<Choice> choices = new ArrayList<>();
+    Map<Choice, Integer> choiceIds = new IdentityHashMap<>();
+    List<Decision> decisions = new ArrayList<>();
+    Map<Decision, Integer> decisionIds = new IdentityHashMap<>();
+    Queue<Choice> worklist = new ArrayDeque<>();
     worklist.add(story.getCurrentChoice()); // add the first choice to the worklist
 
-    // While some choices are unvisited,
-    while (worklist.size() > 0) {
-      List<Choice> tempWorklist = new LinkedList<>();
-      // visit each choice in the worklist
-      for (Choice next : worklist) {
-        // and if the choice is unseen, add it
-        if (!seenChoices.containsKey(next)) {
-          seenChoices.put(next, new ArrayList<>());
-          choiceOrder.add(next);
-          // and any unseen decisions
-          for (Decision decision : next.getOptions()) {
-            if (!seenDecisions.contains(decision)) {
-              seenDecisions.add(decision);
-            }
-            seenChoices.get(next).add("D" + seenDecisions.indexOf(decision));
+    // While some choices are unvisited, visit the next in the order they were found
+    while (!worklist.isEmpty()) {
+      Choice next = worklist.remove();
+      // and if the choice is unseen, add it
+      if (!choiceIds.containsKey(next)) {
+        choiceIds.put(next, choices.size());
+        choices.add(next);
+        // and any unseen decisions
+        for (Decision decision : next.getOptions()) {
+          if (!decisionIds.containsKey(decision)) {
+            decisionIds.put(decision, decisions.size());
+            decisions.add(decision);
+          }
 
-            List<Choice> outcomes = decision.getPossibleOutcomes();
-            for (Choice outcome : outcomes) {
-              if (!seenChoices.containsKey(outcome)) {
-                tempWorklist.add(outcome);
-              }
+          for (Choice outcome : decision.getPossibleOutcomes()) {
+            if (!choiceIds.containsKey(outcome)) {
+              worklist.add(outcome);
             }
           }
         }
       }
-      worklist.clear();
-      worklist.addAll(tempWorklist);
     }
 
-    return new StoryNodes(seenChoices, choiceOrder, seenDecisions);
+    return new StoryNodes(choices, choiceIds, decisions, decisionIds);
+  }
+
+  /**
+   * Indexes the given choices and decisions in the given order, returning them in the format of
+   * {@link StoryNodes}. Does not walk the story, so any choice or decision not in the given lists
+   * has no id.
+   *
+   * @param choices   the choices of a story, in the desired order
+   * @param decisions the decisions of a story, in the desired order
+   * @return the indexed choices and decisions
+   * @throws IllegalArgumentException if either list is null
+   */
+  public static StoryNodes of(List<Choice> choices, List<Decision> decisions)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(choices, "Choices can't be null");
+    Utils.ensureNotNull(decisions, "Decisions can't be null");
+    Map<Choice, Integer> choiceIds = new IdentityHashMap<>();
+    for (int i = 0; i < choices.size(); i++) {
+      choiceIds.put(choices.get(i), i);
+    }
+    Map<Decision, Integer> decisionIds = new IdentityHashMap<>();
+    for (int i = 0; i < decisions.size(); i++) {
+      decisionIds.put(decisions.get(i), i);
+    }
+    return new StoryNodes(new ArrayList<>(choices), choiceIds, new ArrayList<>(decisions),
+        decisionIds);
   }
 
   /**
@@ -111,7 +129,37 @@ public class StoryNodes {
    * @return the map
    */
   public Map<Choice, String> getChoiceOptions() {
-    return choiceOptions;
+    if (this.choiceOptions == null) {
+      Map<Choice, String> choiceOptions = new IdentityHashMap<>();
+      for (int i = 0; i < this.choices.size(); i++) {
+        Choice choice = this.choices.get(i);
+        StringBuilder choiceId = new StringBuilder("C").append(i).append(" [ ");
+        for (Decision decision : choice.getOptions()) {
+          choiceId.append("D").append(idOf(decision)).append(" ");
+        }
+        choiceId.append("]");
+        choiceOptions.put(choice, choiceId.toString());
+      }
+      this.choiceOptions = Collections.unmodifiableMap(choiceOptions);
+    }
+    return this.choiceOptions;
+  }
+
+  /**
+   * Returns a map of choices to their ids as they are represented in exported stories, in the
+   * format C#.
+   *
+   * @return the map
+   */
+  public Map<Choice, String> getChoiceRepresentations() {
+    if (this.choiceRepresentations == null) {
+      Map<Choice, String> choiceRepresentations = new IdentityHashMap<>();
+      for (int i = 0; i < this.choices.size(); i++) {
+        choiceRepresentations.put(this.choices.get(i), "C" + i);
+      }
+      this.choiceRepresentations = Collections.unmodifiableMap(choiceRepresentations);
+    }
+    return this.choiceRepresentations;
   }
 
   /**
@@ -122,4 +170,26 @@ public class StoryNodes {
   public List<Decision> getDecisions() {
     return decisions;
   }
+
+  /**
+   * Returns the id of the given choice, its index in {@link StoryNodes#getChoices()}.
+   *
+   * @param choice the choice
+   * @return the id of the choice, or -1 if the choice is not in the story
+   */
+  public int idOf(Choice choice) {
+    Integer id = this.choiceIds.get(choice);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the id of the given decision, its index in {@link StoryNodes#getDecisions()}.
+   *
+   * @param decision the decision
+   * @return the id of the decision, or -1 if the decision is not in the story
+   */
+  public int idOf(Decision decision) {
+    Integer id = this.decisionIds.get(decision);
+    return id == null ? -1 : id;
+  }
 }
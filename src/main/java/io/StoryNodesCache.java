@@ -0,0 +1,69 @@
+package io;
+
+import java.util.function.Supplier;
+import model.game.StructureVersion;
+import utils.Utils;
+
+/**
+ * Lazily builds and memoizes the {@link StoryNodes} of a story. Choices and decisions may be shared
+ * between stories and the creators that made them, so the memoized nodes are stamped with the
+ * {@link StructureVersion} of the story's graph they were built at and are only rebuilt once the
+ * structure of that graph has changed since.
+ */
+public class StoryNodesCache {
+
+  private final Supplier<StoryNodes> builder;
+  private final StructureVersion structureVersion;
+  private volatile Snapshot snapshot; // null until first requested
+
+  /**
+   * Constructs a {@code StoryNodesCache} that builds the nodes it memoizes with the given builder,
+   * rebuilding them whenever the given structure version changes.
+   *
+   * @param builder          the function object that indexes the choices and decisions of a story
+   * @param structureVersion the version of the structure of the story's graph
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public StoryNodesCache(Supplier<StoryNodes> builder, StructureVersion structureVersion)
+      throws IllegalArgumentException {
+    this.builder = Utils.ensureNotNull(builder, "Builder can't be null");
+    this.structureVersion = Utils.ensureNotNull(structureVersion, "Version can't be null");
+  }
+
+  /**
+   * Gets the memoized nodes, building them if they have not been built since the last change in
+   * structure.
+   *
+   * @return the indexed choices and decisions
+   */
+  public StoryNodes get() {
+    // Read the version before building so that a change during the build forces a rebuild
+    long version = this.structureVersion.get();
+    Snapshot current = this.snapshot;
+    if (current == null || current.version != version) {
+      current = new Snapshot(this.builder.get(), version);
+      this.snapshot = current;
+    }
+    return current.nodes;
+  }
+
+  /**
+   * Represents nodes built at some structure version.
+   */
+  private static class Snapshot {
+
+    private final StoryNodes nodes;
+    private final long version;
+
+    /**
+     * Constructs a {@code Snapshot} of the given nodes built at the given version.
+     *
+     * @param nodes   the nodes
+     * @param version the structure version the nodes were built at
+     */
+    private Snapshot(StoryNodes nodes, long version) {
+      this.nodes = nodes;
+      this.version = version;
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package io;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -14,8 +18,9 @@ import utils.IOUtils;
 import utils.Utils;
 
 /**
- * A {@link StoryExporter} that exports stories as text files that can be read by {@link
- * TextImporter}s.
+ * A {@link StoryExporter} that exports stories as UTF-8 text files that can be read by {@link
+ * TextImporter}s. Stories can also be written in the same format to any stream or {@link
+ * Appendable}, which is appended to piece by piece as the story is written.
  */
 public class TextExporter implements StoryExporter {
 
@@ -23,67 +28,125 @@ public class TextExporter implements StoryExporter {
   public File export(StoryGame story, String filePath)
       throws IllegalArgumentException, IOException {
     Utils.ensureNotNull(story, "Story can't be null.");
+    return export(story, StoryNodes.createNodes(story), filePath);
+  }
+
+  @Override
+  public File export(StoryGame story, StoryNodes nodes, String filePath)
+      throws IllegalArgumentException, IOException {
+    ensureExportable(story, nodes);
     filePath = getFilePath(story, filePath);
 
     // Set up to write to file
     File storyFile = new File(filePath);
-    FileWriter writer;
+    Writer fileWriter;
     try {
-      writer = new FileWriter(storyFile);
+      fileWriter = new OutputStreamWriter(new FileOutputStream(storyFile), StandardCharsets.UTF_8);
     } catch (IOException e) {
       throw new IllegalArgumentException("Can't write to path: " + filePath);
     }
 
+    try (Writer writer = new BufferedWriter(fileWriter)) {
+      export(story, nodes, writer);
+    }
+    return storyFile;
+  }
+
+  /**
+   * Exports the given story to the given output stream as UTF-8 text, such as standard output or
+   * the body of a response. The text is buffered and flushed once written, but the stream is not
+   * closed.
+   *
+   * @param story the story to export
+   * @param nodes the indexed choices and decisions of the story, which must contain every choice
+   *              and decision reachable from the story's current choice
+   * @param out   the stream to write to
+   * @throws IllegalArgumentException if any argument is null, or the story's current choice is not
+   *                                  one of the given nodes
+   * @throws IOException              if writing to the stream fails
+   */
+  public void export(StoryGame story, StoryNodes nodes, OutputStream out)
+      throws IllegalArgumentException, IOException {
+    ensureExportable(story, nodes);
+    Utils.ensureNotNull(out, "Output can't be null.");
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    export(story, nodes, writer);
+    writer.flush();
+  }
+
+  /**
+   * Appends the text of the given story to the given output, in the format written to files. The
+   * output is appended to as the story is written, so it is never held as a whole by the exporter.
+   *
+   * @param story the story to export
+   * @param nodes the indexed choices and decisions of the story, which must contain every choice
+   *              and decision reachable from the story's current choice
+   * @param out   the output to append to
+   * @throws IllegalArgumentException if any argument is null, or the story's current choice is not
+   *                                  one of the given nodes
+   * @throws IOException              if appending to the output fails
+   */
+  public void export(StoryGame story, StoryNodes nodes, Appendable out)
+      throws IllegalArgumentException, IOException {
+    ensureExportable(story, nodes);
+    Utils.ensureNotNull(out, "Output can't be null.");
+    Choice firstChoice = story.getCurrentChoice();
+
     // Write story title
-    String storyName = story.getName();
-    appendInQuotes(writer, storyName);
-    writer.append("\n");
+    appendInQuotes(out, story.getName());
+    out.append('\n');
 
     // Write statuses
-    Map<String, Integer> statuses = story.getStatuses();
-    writer.append("[ ");
-    for (Entry<String, Integer> status : statuses.entrySet()) {
-      appendInQuotes(writer, status.getKey());
-      writer.append(" ").append(status.getValue().toString()).append(" ");
+    out.append("[ ");
+    for (Entry<String, Integer> status : story.getStatuses().entrySet()) {
+      appendInQuotes(out, status.getKey());
+      out.append(' ').append(status.getValue().toString()).append(' ');
     }
-    writer.append("]\n");
+    out.append("]\n");
 
     // Get story information
-    Choice firstChoice = story.getCurrentChoice();
-    StoryNodes nodes = StoryNodes.createNodes(story);
     List<Choice> choices = nodes.getChoices();
     Map<Choice, String> choiceOptions = nodes.getChoiceOptions();
-    Map<Choice, String> choiceIds = new HashMap<>();
-    for (Choice choice : choiceOptions.keySet()) {
-      choiceIds.put(choice, choiceOptions.get(choice).substring(0, 2));
-    }
-    List<Decision> storyDecisions = nodes.getDecisions();
+    Map<Choice, String> choiceIds = nodes.getChoiceRepresentations();
 
     // Write number of choices
-    writer.append(Integer.toString(choices.size())).append("\n");
+    out.append(Integer.toString(choices.size())).append('\n');
 
     // Write decisions
-    writer.append("{\n");
-    for (Decision decision : storyDecisions) {
-      writer
-          .append("[ ")
-          .append(decision.export(choiceIds))
-          .append(" ]\n");
+    out.append("{\n");
+    for (Decision decision : nodes.getDecisions()) {
+      out.append("[ ");
+      decision.export(choiceIds, out);
+      out.append(" ]\n");
     }
-    writer.append("}\n");
+    out.append("}\n");
 
     // Write choices
-    writer.append("{\n");
+    out.append("{\n");
     for (Choice choice : choices) {
-      writer.append(choiceOptions.get(choice)).append("\n");
+      out.append(choiceOptions.get(choice)).append('\n');
     }
-    writer.append("}\n");
+    out.append("}\n");
+
     // Write first choice number
-    writer.append("C").append(Integer.toString(choices.indexOf(firstChoice)));
+    out.append('C').append(Integer.toString(nodes.idOf(firstChoice)));
+  }
 
-    // Close and return
-    writer.close();
-    return storyFile;
+  /**
+   * Ensures the given story can be exported with the given nodes.
+   *
+   * @param story the story
+   * @param nodes the nodes of the story
+   * @throws IllegalArgumentException if either argument is null, or the story's current choice is
+   *                                  not one of the given nodes
+   */
+  private static void ensureExportable(StoryGame story, StoryNodes nodes)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(story, "Story can't be null.");
+    Utils.ensureNotNull(nodes, "Nodes can't be null.");
+    if (nodes.idOf(story.getCurrentChoice()) == -1) {
+      throw new IllegalArgumentException("Nodes don't contain the story's current choice.");
+    }
   }
 
   /**
@@ -102,14 +165,14 @@ public class TextExporter implements StoryExporter {
   }
 
   /**
-   * Appends the given string to the given file writer surrounded by quotation marks. Assumes
-   * neither argument is null.
+   * Appends the given string to the given output surrounded by quotation marks. Assumes neither
+   * argument is null.
    *
-   * @param writer the file writer to append to
+   * @param out    the output to append to
    * @param string the string to append
-   * @throws IOException if writing to the file fails
+   * @throws IOException if appending to the output fails
    */
-  private static void appendInQuotes(FileWriter writer, String string) throws IOException {
-    writer.append("\"").append(string).append("\"");
+  private static void appendInQuotes(Appendable out, String string) throws IOException {
+    out.append('"').append(string).append('"');
   }
 }
@@ -2,12 +2,12 @@ package io;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
 import model.game.Choice;
 import model.game.SimpleChoice;
 import model.game.SimpleStoryGame;
@@ -15,11 +15,14 @@ import model.game.StoryGame;
 import model.game.decision.Decision;
 import model.game.decision.DecisionCreator;
 import utils.IOUtils;
+import utils.TextTokenReader;
+import utils.TokenReader;
 import utils.Utils;
 
 /**
- * A {@link StoryImporter} that imports text files as stories, as exported by {@link
- * TextExporter}s.
+ * A {@link StoryImporter} that imports UTF-8 text files as stories, as exported by {@link
+ * TextExporter}s. Files are read in a single pass by a {@link TextTokenReader}, and are closed once
+ * read.
  */
 public class TextImporter implements StoryImporter {
 
@@ -29,13 +32,27 @@ public class TextImporter implements StoryImporter {
   public StoryGame importStory(String filePath) throws IllegalArgumentException {
     Utils.ensureNotNull(filePath, "Filename can't be null");
 
-    Scanner sc;
+    TextTokenReader sc;
     try {
-      sc = new Scanner(new FileInputStream(filePath));
+      sc = new TextTokenReader(new InputStreamReader(new FileInputStream(filePath),
+          StandardCharsets.UTF_8));
     } catch (IOException e) {
       throw new IllegalArgumentException("File not found");
     }
 
+    try (sc) {
+      return readStory(sc);
+    }
+  }
+
+  /**
+   * Reads a story from the given token reader.
+   *
+   * @param sc the token reader
+   * @return the story
+   * @throws IllegalArgumentException if the tokens are of an illegal format
+   */
+  private static StoryGame readStory(TokenReader sc) throws IllegalArgumentException {
     // Read story name
     String storyName = tryNext(sc);
 
@@ -45,12 +62,7 @@ public class TextImporter implements StoryImporter {
     // Initialize choices
     List<Choice> choices = new ArrayList<>();
     List<List<Decision>> choiceDecisions = new ArrayList<>();
-    int numChoices;
-    try {
-      numChoices = sc.nextInt();
-    } catch (NoSuchElementException e) {
-      throw new IllegalArgumentException(ILLEGAL_FORMAT_MESSAGE);
-    }
+    int numChoices = sc.nextInt(ILLEGAL_FORMAT_MESSAGE);
     for (int i = 0; i < numChoices; i++) {
       choiceDecisions.add(new ArrayList<>());
       choices.add(new SimpleChoice(choiceDecisions.get(i)));
@@ -66,30 +78,30 @@ public class TextImporter implements StoryImporter {
   }
 
   /**
-   * Gets the next in the scanner, throwing an exception if there is none.
+   * Gets the next in the token reader, throwing an exception if there is none.
    *
-   * @param sc the scanner
-   * @return the next in the scanner
+   * @param sc the token reader
+   * @return the next in the token reader
    * @throws IllegalArgumentException if there is no next
    */
-  private static String tryNext(Scanner sc) throws IllegalArgumentException {
-    return IOUtils.tryNext(sc, ILLEGAL_FORMAT_MESSAGE);
+  private static String tryNext(TokenReader sc) throws IllegalArgumentException {
+    return sc.next(ILLEGAL_FORMAT_MESSAGE);
   }
 
   /**
    * Reads the statuses from the file, returning the map of statuses.
    *
-   * @param sc the scanner
+   * @param sc the token reader
    * @return the map of statuses described in the file
    * @throws IllegalArgumentException if the file is of an illegal format
    */
-  private static Map<String, Integer> readStatuses(Scanner sc)
+  private static Map<String, Integer> readStatuses(TokenReader sc)
       throws IllegalArgumentException {
     Map<String, Integer> statuses = new HashMap<>();
     tryNext(sc); // [
     String next = tryNext(sc);
     while (!next.equals("]")) {
-      statuses.put(next, IOUtils.tryNextInt(sc, ILLEGAL_FORMAT_MESSAGE));
+      statuses.put(next, sc.nextInt(ILLEGAL_FORMAT_MESSAGE));
       next = tryNext(sc);
     }
     return statuses;
@@ -98,19 +110,19 @@ public class TextImporter implements StoryImporter {
   /**
    * Reads the decisions from the file, returning the list of decisions.
    *
-   * @param sc      the scanner
+   * @param sc      the token reader
    * @param choices the list of choices in the story
    * @return the list of decisions described in the file
    * @throws IllegalArgumentException if the file is of an illegal format
    */
-  private static List<Decision> readDecisions(Scanner sc, List<Choice> choices)
+  private static List<Decision> readDecisions(TokenReader sc, List<Choice> choices)
       throws IllegalArgumentException {
     tryNext(sc); // {
     String next = tryNext(sc);
     List<Decision> decisions = new ArrayList<>();
     while (!next.equals("}")) {
       while (!next.equals("]")) {
-        decisions.add(DecisionCreator.importDecision(sc, choices));
+        decisions.add(DecisionCreator.readDecision(sc, choices));
         next = tryNext(sc);
       }
       next = tryNext(sc);
@@ -130,15 +142,15 @@ public class TextImporter implements StoryImporter {
   }
 
   /**
-   * Adds the next decision options described in the scanner to the given lists of given choice
+   * Adds the next decision options described by the token reader to the given lists of given choice
    * options, adding each decision to its respective choice's list of options.
    *
-   * @param sc              the scanner
+   * @param sc              the token reader
    * @param decisions       the list of decisions
    * @param choiceDecisions the list of list of decisions, representing a list of choice options
    * @throws IllegalArgumentException if the options are of an illegal format
    */
-  private static void addOptions(Scanner sc, List<Decision> decisions,
+  private static void addOptions(TokenReader sc, List<Decision> decisions,
       List<List<Decision>> choiceDecisions) throws IllegalArgumentException {
     tryNext(sc); // {
     String next = tryNext(sc); // C#
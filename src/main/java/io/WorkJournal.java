@@ -0,0 +1,809 @@
+package io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import model.creator.StoryEdit;
+import model.creator.StoryGameCreator;
+import utils.Utils;
+
+/**
+ * Keeps a work durable by appending every edit made to it to a journal, rather than exporting the
+ * whole story after every change. Each work has two files in the journal directory, named by an id
+ * that stays the same when the work is renamed:
+ *
+ * <pre>
+ * id.snapshot: magic (4 bytes) version (1 byte) generation (8 bytes) work name, then the edits
+ *              that recreate the work
+ * id.journal:  magic (4 bytes) version (1 byte) generation (8 bytes), then records, each its
+ *              payload length (4 bytes), the CRC-32 of its payload (4 bytes) and its payload
+ * </pre>
+ *
+ * <p>A payload is a kind byte followed by the edits of an edit or batch, a new work name, or
+ * nothing for an undo or redo. Restoring a work loads its snapshot and replays the journal after
+ * it. A record cut short by a crash fails its check, and the journal is truncated before it. A
+ * whole record that can't be applied means the journal no longer matches the work, so restoring
+ * fails and leaves both files as they are.
+ *
+ * <p>Appends are synced to disk before they return. Appends made while another is being synced
+ * are synced together, so concurrent edits share a sync. Once enough records have been appended,
+ * the work is compacted: a new snapshot of its current state replaces the old one and the journal
+ * starts again. Both files carry the generation of the snapshot, so a journal left behind by a
+ * crash during compaction is recognised as already part of the newer snapshot and ignored.
+ *
+ * <p>Undos and redos are journaled as such and replayed against the history rebuilt by replaying
+ * the journal. An undo or redo of an edit made before the snapshot can't be replayed that way, so
+ * it compacts the work instead.
+ */
+public class WorkJournal implements Closeable {
+
+  // the number of records appended before the work is compacted
+  public static final int COMPACT_AFTER = 1000;
+
+  static final String SNAPSHOT_EXTENSION = ".snapshot";
+  static final String JOURNAL_EXTENSION = ".journal";
+  private static final String TEMP_EXTENSION = ".tmp";
+  private static final int MAGIC = 0x574f524b; // WORK
+  private static final byte VERSION = 1;
+  private static final int HEADER_SIZE = 13;
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  // the kinds of records
+  private static final byte EDITS = 0;
+  private static final byte UNDO = 1;
+  private static final byte REDO = 2;
+  private static final byte RENAME = 3;
+
+  private final File snapshotFile;
+  private final File journalFile;
+  private final StoryGameCreator work;
+  private final int historyDepth;
+  private final Object syncLock; // held while syncing, and before this when both are needed
+  private String workName;
+  private FileChannel channel;
+  private long generation;
+  private long written; // the length of the journal
+  private long synced; // the length of the journal known to be on disk
+  private int records; // appended since the snapshot
+  private int undoable; // the edits since the snapshot the work can undo
+  private int redoable; // the edits since the snapshot the work can redo
+  private boolean broken; // an append failed, so the journal no longer matches the work
+
+  /**
+   * Constructs a {@code WorkJournal} of the work with the given files. The files are not opened.
+   *
+   * @param directory    the journal directory
+   * @param id           the id of the work
+   * @param workName     the name of the work
+   * @param work         the work
+   * @param historyDepth the number of edits the work can undo
+   */
+  private WorkJournal(File directory, String id, String workName, StoryGameCreator work,
+      int historyDepth) {
+    this.snapshotFile = new File(directory, id + SNAPSHOT_EXTENSION);
+    this.journalFile = new File(directory, id + JOURNAL_EXTENSION);
+    this.workName = workName;
+    this.work = work;
+    this.historyDepth = historyDepth;
+    this.syncLock = new Object();
+  }
+
+  /**
+   * Creates a journal in the given directory for the given new work, whose current state becomes
+   * its snapshot. The directory is created if it doesn't exist.
+   *
+   * @param directory    the path of the journal directory
+   * @param workName     the name of the work
+   * @param work         the work, which must have no edits to undo or redo
+   * @param historyDepth the number of edits the work can undo
+   * @return the journal
+   * @throws IllegalArgumentException if any argument is null or the depth is negative
+   * @throws IOException              if the files can't be written
+   */
+  public static WorkJournal create(String directory, String workName, StoryGameCreator work,
+      int historyDepth) throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(directory, "Directory can't be null");
+    Utils.ensureNotNull(workName, "Work name can't be null");
+    Utils.ensureNotNull(work, "Work can't be null");
+    ensureDepth(historyDepth);
+    File dir = new File(directory);
+    Files.createDirectories(dir.toPath());
+    WorkJournal journal = new WorkJournal(dir, UUID.randomUUID().toString(), workName, work,
+        historyDepth);
+    journal.writeSnapshot(0);
+    journal.startJournal(0);
+    return journal;
+  }
+
+  /**
+   * Restores every work journaled in the given directory, in the order of their ids. A missing
+   * directory has no works.
+   *
+   * @param directory    the path of the journal directory
+   * @param historyDepth the number of edits each work can undo
+   * @return the journals of the restored works
+   * @throws IllegalArgumentException if the directory is null, the depth is negative, or any
+   *                                  snapshot can't be read or journal can't be replayed
+   * @throws IOException              if a journal can't be read or repaired
+   */
+  public static List<WorkJournal> restoreAll(String directory, int historyDepth)
+      throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(directory, "Directory can't be null");
+    ensureDepth(historyDepth);
+    File dir = new File(directory);
+    File[] snapshots = dir.listFiles((d, name) -> name.endsWith(SNAPSHOT_EXTENSION));
+    List<WorkJournal> journals = new ArrayList<>();
+    if (snapshots == null) {
+      return journals;
+    }
+    Arrays.sort(snapshots);
+    try {
+      for (File snapshot : snapshots) {
+        String name = snapshot.getName();
+        journals.add(restore(dir, name.substring(0, name.length() - SNAPSHOT_EXTENSION.length()),
+            historyDepth));
+      }
+    } catch (IOException | RuntimeException e) {
+      // the works restored so far are given up with the rest
+      for (WorkJournal journal : journals) {
+        journal.close();
+      }
+      throw e;
+    }
+    return journals;
+  }
+
+  public String getWorkName() {
+    return this.workName;
+  }
+
+  public StoryGameCreator getWork() {
+    return this.work;
+  }
+
+  /**
+   * Journals an edit, or a batch of edits, that has been applied to the work. An empty batch
+   * changes nothing and can't be undone, so it isn't journaled.
+   *
+   * @param edits the edits, as they were applied
+   * @throws IllegalArgumentException if the edits are null
+   * @throws IOException              if the edit can't be saved
+   */
+  public void recordEdit(List<StoryEdit> edits) throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(edits, "Edits can't be null");
+    if (edits.isEmpty()) {
+      return;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(EDITS);
+    writeEdits(out, edits);
+    synchronized (this) {
+      edited();
+    }
+    append(bytes.toByteArray());
+  }
+
+  /**
+   * Journals that the work's latest edit has been undone.
+   *
+   * @throws IOException if the undo can't be saved
+   */
+  public void recordUndo() throws IOException {
+    boolean replayable;
+    synchronized (this) {
+      replayable = undone();
+    }
+    if (replayable) {
+      append(new byte[] {UNDO});
+    } else {
+      compact();
+    }
+  }
+
+  /**
+   * Journals that the work's latest undone edit has been redone.
+   *
+   * @throws IOException if the redo can't be saved
+   */
+  public void recordRedo() throws IOException {
+    boolean replayable;
+    synchronized (this) {
+      replayable = redone();
+    }
+    if (replayable) {
+      append(new byte[] {REDO});
+    } else {
+      compact();
+    }
+  }
+
+  /**
+   * Journals that the work has been renamed.
+   *
+   * @param workName the new name of the work
+   * @throws IllegalArgumentException if the name is null
+   * @throws IOException              if the name can't be saved
+   */
+  public void recordRename(String workName) throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(workName, "Work name can't be null");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(RENAME);
+    writeString(out, workName);
+    synchronized (this) {
+      this.workName = workName;
+    }
+    append(bytes.toByteArray());
+  }
+
+  /**
+   * Replaces the snapshot with one of the work's current state and starts the journal again.
+   *
+   * @throws IOException if the files can't be written
+   */
+  public void compact() throws IOException {
+    synchronized (this.syncLock) {
+      synchronized (this) {
+        try {
+          writeSnapshot(this.generation + 1);
+          startJournal(this.generation + 1);
+        } catch (IOException e) {
+          this.broken = true;
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Closes the journal and deletes the work's files, as the work has been removed.
+   *
+   * @throws IOException if the files can't be deleted
+   */
+  public void delete() throws IOException {
+    close();
+    // the journal goes first, so a snapshot is never left with a journal from before it
+    Files.deleteIfExists(this.journalFile.toPath());
+    Files.deleteIfExists(this.snapshotFile.toPath());
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (this.syncLock) {
+      synchronized (this) {
+        if (this.channel != null) {
+          this.channel.close();
+          this.channel = null;
+        }
+      }
+    }
+  }
+
+  /**
+   * Restores the work of the given id by loading its snapshot and replaying its journal.
+   *
+   * @param directory    the journal directory
+   * @param id           the id of the work
+   * @param historyDepth the number of edits the work can undo
+   * @return the journal of the work
+   * @throws IllegalArgumentException if the snapshot can't be read or the journal can't be
+   *                                  replayed
+   * @throws IOException              if the journal can't be read or repaired
+   */
+  private static WorkJournal restore(File directory, String id, int historyDepth)
+      throws IllegalArgumentException, IOException {
+    File snapshotFile = new File(directory, id + SNAPSHOT_EXTENSION);
+    long generation;
+    String workName;
+    List<StoryEdit> edits;
+    try (DataInputStream in = new DataInputStream(
+        new ByteArrayInputStream(Files.readAllBytes(snapshotFile.toPath())))) {
+      generation = readHeader(in);
+      workName = readString(in);
+      edits = readEdits(in);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Can't restore work from " + snapshotFile.getPath() + ": " + e.getMessage());
+    }
+
+    // the snapshot is a single batch, which is not an edit that can be undone
+    StoryGameCreator work = new StoryGameCreator(workName);
+    work.setHistoryDepth(0);
+    work.edit(edits);
+    work.setHistoryDepth(historyDepth);
+
+    WorkJournal journal = new WorkJournal(directory, id, workName, work, historyDepth);
+    journal.generation = generation;
+    journal.replay();
+    if (journal.records >= COMPACT_AFTER) {
+      journal.compact();
+    }
+    return journal;
+  }
+
+  /**
+   * Replays the records of the journal after the snapshot, truncates any after the last whole
+   * record, and opens the journal to append to it. A journal of another generation is started
+   * again.
+   *
+   * @throws IllegalArgumentException if a whole record can't be applied, in which case the journal
+   *                                  is left as it is
+   * @throws IOException              if the journal can't be read or written
+   */
+  private void replay() throws IllegalArgumentException, IOException {
+    byte[] bytes = this.journalFile.exists()
+        ? Files.readAllBytes(this.journalFile.toPath()) : new byte[0];
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    try {
+      if (readHeader(new DataInputStream(new ByteArrayInputStream(bytes)))
+          != this.generation) {
+        startJournal(this.generation);
+        return;
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      startJournal(this.generation);
+      return;
+    }
+
+    long end = HEADER_SIZE;
+    buffer.position(HEADER_SIZE);
+    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+      int length = buffer.getInt();
+      int checksum = buffer.getInt();
+      if (length <= 0 || length > buffer.remaining()) {
+        break;
+      }
+      byte[] payload = new byte[length];
+      buffer.get(payload);
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      try {
+        apply(payload);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Can't replay " + this.journalFile.getPath()
+            + " at byte " + end + ": " + e.getMessage());
+      }
+      end = buffer.position();
+      this.records++;
+    }
+
+    this.channel = FileChannel.open(this.journalFile.toPath(), StandardOpenOption.WRITE);
+    if (end < bytes.length) {
+      this.channel.truncate(end);
+      this.channel.force(false);
+    }
+    this.written = end;
+    this.synced = end;
+  }
+
+  /**
+   * Applies the given record to the work.
+   *
+   * @param payload the payload of the record
+   * @throws IllegalArgumentException if the record can't be read or applied
+   */
+  private void apply(byte[] payload) throws IllegalArgumentException {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+      switch (in.readByte()) {
+        case EDITS:
+          long version = this.work.getVersion();
+          this.work.edit(readEdits(in));
+          // the work only remembers batches that changed it
+          if (this.work.getVersion() != version) {
+            edited();
+          }
+          break;
+        case UNDO:
+          if (!undone()) {
+            throw new IllegalArgumentException("Undo of an edit before the snapshot");
+          }
+          this.work.undo();
+          break;
+        case REDO:
+          if (!redone()) {
+            throw new IllegalArgumentException("Redo of an edit before the snapshot");
+          }
+          this.work.redo();
+          break;
+        case RENAME:
+          this.workName = readString(in);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown record kind " + payload[0]);
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid record: " + e.getMessage());
+    } catch (IllegalStateException e) {
+      throw new IllegalArgumentException(e.getMessage());
+    }
+  }
+
+  /**
+   * Appends the given record and waits until it is synced to disk. Repairs a journal that no
+   * longer matches the work by compacting instead, as the work already holds the record's change.
+   *
+   * @param payload the payload of the record
+   * @throws IOException if the record can't be written or synced
+   */
+  private void append(byte[] payload) throws IOException {
+    long end;
+    synchronized (this) {
+      end = this.broken || this.channel == null ? -1 : write(payload);
+    }
+    if (end == -1) {
+      compact();
+      return;
+    }
+
+    sync(end);
+    boolean full;
+    synchronized (this) {
+      full = this.records >= COMPACT_AFTER;
+    }
+    if (full) {
+      compact();
+    }
+  }
+
+  /**
+   * Writes the given record at the end of the journal.
+   *
+   * @param payload the payload of the record
+   * @return the length of the journal afterwards
+   * @throws IOException if the record can't be written
+   */
+  private long write(byte[] payload) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+    record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+    try {
+      while (record.hasRemaining()) {
+        this.channel.write(record, this.written + record.position());
+      }
+    } catch (IOException e) {
+      this.broken = true;
+      throw e;
+    }
+    this.written += record.capacity();
+    this.records++;
+    return this.written;
+  }
+
+  /**
+   * Waits until the journal is synced to disk up to the given length. Whoever syncs first syncs
+   * everything written so far, so appends that waited for it have nothing left to sync.
+   *
+   * @param end the length of the journal to sync
+   * @throws IOException if the journal can't be synced
+   */
+  private void sync(long end) throws IOException {
+    synchronized (this.syncLock) {
+      if (this.synced >= end) {
+        return;
+      }
+      long target;
+      FileChannel channel;
+      synchronized (this) {
+        target = this.written;
+        channel = this.channel;
+      }
+      try {
+        channel.force(false);
+      } catch (IOException e) {
+        synchronized (this) {
+          this.broken = true;
+        }
+        throw e;
+      }
+      this.synced = target;
+    }
+  }
+
+  /**
+   * Writes a snapshot of the work's current state of the given generation, replacing the old one
+   * only once the new one is on disk.
+   *
+   * @param generation the generation
+   * @throws IOException if the snapshot can't be written
+   */
+  private void writeSnapshot(long generation) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    writeHeader(out, generation);
+    writeString(out, this.workName);
+    writeEdits(out, StoryEdit.recreate(this.work));
+
+    File temp = new File(this.snapshotFile.getPath() + TEMP_EXTENSION);
+    try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    Files.move(temp.toPath(), this.snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Empties the journal and starts it for the snapshot of the given generation.
+   *
+   * @param generation the generation of the snapshot
+   * @throws IOException if the journal can't be written
+   */
+  private void startJournal(long generation) throws IOException {
+    if (this.channel == null) {
+      this.channel = FileChannel.open(this.journalFile.toPath(), StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    writeHeader(new DataOutputStream(bytes), generation);
+    ByteBuffer header = ByteBuffer.wrap(bytes.toByteArray());
+    this.channel.truncate(0);
+    while (header.hasRemaining()) {
+      this.channel.write(header, header.position());
+    }
+    this.channel.force(false);
+    this.generation = generation;
+    this.written = HEADER_SIZE;
+    this.synced = HEADER_SIZE;
+    this.records = 0;
+    this.undoable = 0;
+    this.redoable = 0;
+    this.broken = false;
+  }
+
+  /**
+   * Keeps count of the journaled edits the work can undo and redo after an edit.
+   */
+  private void edited() {
+    this.undoable = Math.min(this.undoable + 1, this.historyDepth);
+    this.redoable = 0;
+  }
+
+  /**
+   * Keeps count of the journaled edits the work can undo and redo after an undo.
+   *
+   * @return true if the edit undone was journaled, false if it is part of the snapshot
+   */
+  private boolean undone() {
+    if (this.undoable == 0) {
+      return false;
+    }
+    this.undoable--;
+    this.redoable++;
+    return true;
+  }
+
+  /**
+   * Keeps count of the journaled edits the work can undo and redo after a redo.
+   *
+   * @return true if the edit redone was journaled, false if it was undone before the snapshot
+   */
+  private boolean redone() {
+    if (this.redoable == 0) {
+      return false;
+    }
+    this.redoable--;
+    this.undoable = Math.min(this.undoable + 1, this.historyDepth);
+    return true;
+  }
+
+  /**
+   * Ensures the given history depth is not negative.
+   *
+   * @param historyDepth the history depth
+   * @throws IllegalArgumentException if it is negative
+   */
+  private static void ensureDepth(int historyDepth) throws IllegalArgumentException {
+    if (historyDepth < 0) {
+      throw new IllegalArgumentException("History depth can't be negative");
+    }
+  }
+
+  /**
+   * Writes the header of a file of the given generation.
+   *
+   * @param out        the output
+   * @param generation the generation
+   * @throws IOException if writing fails
+   */
+  private static void writeHeader(DataOutputStream out, long generation) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeLong(generation);
+  }
+
+  /**
+   * Reads the header of a file.
+   *
+   * @param in the input
+   * @return the generation of the file
+   * @throws IOException              if reading fails
+   * @throws IllegalArgumentException if the file is not of this format
+   */
+  private static long readHeader(DataInputStream in) throws IOException, IllegalArgumentException {
+    if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+      throw new IllegalArgumentException("Not a work journal file");
+    }
+    return in.readLong();
+  }
+
+  /**
+   * Writes the given edits, each as its type and every part of it.
+   *
+   * @param out   the output
+   * @param edits the edits
+   * @throws IOException              if writing fails
+   * @throws IllegalArgumentException if any edit is null
+   */
+  private static void writeEdits(DataOutputStream out, List<StoryEdit> edits)
+      throws IOException, IllegalArgumentException {
+    out.writeInt(edits.size());
+    for (StoryEdit edit : edits) {
+      Utils.ensureNotNull(edit, "Edit can't be null");
+      out.writeByte(edit.getType().ordinal());
+      writeString(out, edit.getName());
+      out.writeInt(edit.getValue());
+      writeString(out, edit.getDescription());
+      writeString(out, edit.getChoice());
+      writeString(out, edit.getOutcome());
+      writeString(out, edit.getOutcomeMeets());
+      List<String> consequences = edit.getConsequences();
+      out.writeInt(consequences == null ? -1 : consequences.size());
+      if (consequences != null) {
+        for (String consequence : consequences) {
+          writeString(out, consequence);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads edits written by {@link WorkJournal#writeEdits(DataOutputStream, List)}.
+   *
+   * @param in the input
+   * @return the edits
+   * @throws IOException              if reading fails
+   * @throws IllegalArgumentException if an edit is of an unknown type
+   */
+  private static List<StoryEdit> readEdits(DataInputStream in)
+      throws IOException, IllegalArgumentException {
+    int count = in.readInt();
+    if (count < 0 || count > in.available()) {
+      throw new IllegalArgumentException("Invalid edit count " + count);
+    }
+    StoryEdit.Type[] types = StoryEdit.Type.values();
+    List<StoryEdit> edits = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int type = in.readByte();
+      if (type < 0 || type >= types.length) {
+        throw new IllegalArgumentException("Unknown edit type " + type);
+      }
+      String name = readString(in);
+      int value = in.readInt();
+      String description = readString(in);
+      String choice = readString(in);
+      String outcome = readString(in);
+      String outcomeMeets = readString(in);
+      int numConsequences = in.readInt();
+      List<String> consequences = null;
+      if (numConsequences >= 0) {
+        consequences = new ArrayList<>();
+        for (int j = 0; j < numConsequences; j++) {
+          consequences.add(readString(in));
+        }
+      }
+      edits.add(toEdit(types[type], name, value, description, choice, outcome, outcomeMeets,
+          consequences));
+    }
+    return edits;
+  }
+
+  /**
+   * Creates the edit of the given type from the parts that were written of it.
+   *
+   * @param type         the type of edit
+   * @param name         the name of the story or status, the status a decision depends on, or the
+   *                     label of a new choice
+   * @param value        the value of a status, the threshold of a decision, or the index of a
+   *                     decision
+   * @param description  the description of a decision
+   * @param choice       the reference of the choice edited
+   * @param outcome      the reference of the outcome of a decision, or its outcome below its
+   *                     threshold
+   * @param outcomeMeets the reference of the outcome of a decision that meets its threshold
+   * @param consequences the status updates of a decision, as they are exported
+   * @return the edit
+   */
+  private static StoryEdit toEdit(StoryEdit.Type type, String name, int value, String description,
+      String choice, String outcome, String outcomeMeets, List<String> consequences) {
+    switch (type) {
+      case SET_STORY_NAME:
+        return StoryEdit.setStoryName(name);
+      case ADD_STATUS:
+        return StoryEdit.addStatus(name, value);
+      case REMOVE_STATUS:
+        return StoryEdit.removeStatus(name);
+      case ADD_CHOICE:
+        return StoryEdit.addChoice(name);
+      case SET_INITIAL_CHOICE:
+        return StoryEdit.setInitialChoice(choice);
+      case ADD_SIMPLE_DECISION:
+        return StoryEdit.addSimpleDecision(description, choice, outcome);
+      case ADD_CONSEQUENTIAL_DECISION:
+        return StoryEdit.addConsequentialDecision(description, choice, outcome, consequences);
+      case ADD_SIMPLE_THRESHOLD_DECISION:
+        return StoryEdit.addSimpleThresholdDecision(description, choice, name, value, outcome,
+            outcomeMeets);
+      case ADD_CONSEQUENTIAL_THRESHOLD_DECISION:
+        return StoryEdit.addConsequentialThresholdDecision(description, choice, name, value,
+            outcome, outcomeMeets, consequences);
+      case REMOVE_DECISION:
+        return StoryEdit.removeDecision(choice, value);
+      case REMOVE_CHOICE:
+        return StoryEdit.removeChoice(choice);
+      default:
+        throw new IllegalArgumentException("Unknown edit type " + type);
+    }
+  }
+
+  /**
+   * Writes the given string, which may be null, as its UTF-8 byte length, or -1 if null, and its
+   * bytes.
+   *
+   * @param out the output
+   * @param str the string
+   * @throws IOException if writing fails
+   */
+  private static void writeString(DataOutputStream out, String str) throws IOException {
+    if (str == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * Reads a string written by {@link WorkJournal#writeString(DataOutputStream, String)}.
+   *
+   * @param in the input
+   * @return the string, or null
+   * @throws IOException if reading fails
+   */
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == -1) {
+      return null;
+    } else if (length < 0 || length > in.available()) {
+      throw new EOFException("Invalid string length " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
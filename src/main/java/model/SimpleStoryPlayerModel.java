@@ -1,34 +1,69 @@
 package model;
 
+import io.SaveGame;
+import io.StoryNodes;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import model.game.SimpleStoryGame;
 import model.game.StoryGame;
+import utils.ConcurrentMapLibrary;
 import utils.Library;
-import utils.MapLibrary;
+import utils.Utils;
 
 /**
  * Represents a model for a choose-your-own-adventure story application which keeps track of a
  * user's stories and allows them to select and play any story in their library and add stories to
- * or remove stories from their library.
+ * or remove stories from their library. The library may be shared between many models, each of
+ * which keeps its own progress through the stories, so that stories are never changed by playing
+ * them.
  */
 public class SimpleStoryPlayerModel implements StoryPlayerModel<StoryGame> {
 
   // the user's library
-  private final Library<StoryGame> storyLibrary;
+  private final Library<StoryRecord> storyLibrary;
+  // this model's progress through stories in the library, by story name
+  private final Map<String, Playthrough> playthroughs;
   private String currentStory; // name of the current loaded story from the library, null if none loaded
 
   /**
    * Constructs a {@code SimpleStoryPlayerModel} with an empty library.
    */
   public SimpleStoryPlayerModel() {
-    this.storyLibrary = new MapLibrary<>(s -> "Can't add null", s -> "No story \"" + s + "\" found",
-        s -> s + " already exists");
+    this(createLibrary());
+  }
+
+  /**
+   * Constructs a {@code SimpleStoryPlayerModel} that plays stories from the given library, which
+   * may be shared with other models. The library must be safe to use from every thread that uses
+   * the models sharing it.
+   *
+   * @param storyLibrary the library
+   * @throws IllegalArgumentException if the given library is null
+   */
+  public SimpleStoryPlayerModel(Library<StoryRecord> storyLibrary)
+      throws IllegalArgumentException {
+    this.storyLibrary = Utils.ensureNotNull(storyLibrary, "Library can't be null");
+    this.playthroughs = new HashMap<>();
     this.currentStory = null;
   }
 
+  /**
+   * Creates an empty library of stories, which can be shared between models on multiple threads.
+   *
+   * @return the library
+   */
+  public static Library<StoryRecord> createLibrary() {
+    return new ConcurrentMapLibrary<>(s -> "Can't add null", s -> "No story \"" + s + "\" found",
+        s -> s + " already exists");
+  }
+
   @Override
   public void addStory(StoryGame story) throws IllegalArgumentException {
-    this.storyLibrary.add(story.getName(), story);
+    Utils.ensureNotNull(story, "Can't add null");
+    this.storyLibrary.add(story.getName(), new StoryRecord(story));
   }
 
   @Override
@@ -37,6 +72,7 @@ public class SimpleStoryPlayerModel implements StoryPlayerModel<StoryGame> {
     if (this.currentStory != null && this.currentStory.equals(name)) {
       this.currentStory = null;
     }
+    this.playthroughs.remove(name);
     this.storyLibrary.remove(name);
   }
 
@@ -49,7 +85,33 @@ public class SimpleStoryPlayerModel implements StoryPlayerModel<StoryGame> {
   @Override
   public boolean next(int decision) throws IllegalArgumentException, IllegalStateException {
     ensureStoryLoaded();
-    return this.storyLibrary.retrieve(this.currentStory).next(decision);
+    Playthrough playthrough = getPlaythrough(this.currentStory);
+    boolean next = playthrough.game.next(decision);
+    playthrough.changed();
+    return next;
+  }
+
+  @Override
+  public int nextAll(List<Integer> decisions)
+      throws IllegalArgumentException, IllegalStateException {
+    Utils.ensureNotNull(decisions, "Decisions can't be null");
+    ensureStoryLoaded();
+    Playthrough playthrough = getPlaythrough(this.currentStory);
+    int made = 0;
+    try {
+      for (Integer decision : decisions) {
+        if (decision == null || !playthrough.game.next(decision)) {
+          break;
+        }
+        made++;
+      }
+    } catch (IllegalArgumentException e) {
+      // the decision doesn't exist, so the story stays at the choice it is at
+    }
+    if (made > 0) {
+      playthrough.changed();
+    }
+    return made;
   }
 
   @Override
@@ -60,8 +122,9 @@ public class SimpleStoryPlayerModel implements StoryPlayerModel<StoryGame> {
   @Override
   public void restart() {
     ensureStoryLoaded();
-    StoryGame original = this.storyLibrary.retrieve(this.currentStory).getOriginalStory();
-    this.storyLibrary.update(this.currentStory, original);
+    StoryRecord record = this.storyLibrary.retrieve(this.currentStory);
+    this.playthroughs.put(this.currentStory,
+        new Playthrough(record, record.getStory().getOriginalStory()));
   }
 
   @Override
@@ -72,7 +135,7 @@ public class SimpleStoryPlayerModel implements StoryPlayerModel<StoryGame> {
   @Override
   public String getCurrentChoice() {
     if (this.currentStory != null) {
-      return this.storyLibrary.retrieve(this.currentStory).getCurrentChoice().toString();
+      return getPlaythrough(this.currentStory).game.getCurrentChoice().toString();
     } else {
       return null;
     }
@@ -83,10 +146,61 @@ public class SimpleStoryPlayerModel implements StoryPlayerModel<StoryGame> {
     return this.storyLibrary.getAllNames();
   }
 
+  @Override
+  public List<String> getStoryNames(String prefix, int offset, int limit)
+      throws IllegalArgumentException {
+    return this.storyLibrary.getNames(prefix, offset, limit);
+  }
+
+  @Override
+  public int countStoryNames(String prefix) throws IllegalArgumentException {
+    return this.storyLibrary.countNames(prefix);
+  }
+
   @Override
   public StoryGame getStory(String name) throws IllegalArgumentException {
-    StoryGame original = this.storyLibrary.retrieve(name);
-    return new SimpleStoryGame(original);
+    StoryRecord record = this.storyLibrary.retrieve(name);
+    Playthrough playthrough = this.playthroughs.get(name);
+    if (playthrough != null && playthrough.record == record) {
+      return new SimpleStoryGame(playthrough.game);
+    } else {
+      return new SimpleStoryGame(record.getStory());
+    }
+  }
+
+  @Override
+  public StoryNodes getStoryNodes(String name) throws IllegalArgumentException {
+    return this.storyLibrary.retrieve(name).getNodes();
+  }
+
+  @Override
+  public SaveGame getSave(String name, boolean checkpoint) throws IllegalArgumentException {
+    StoryRecord record = this.storyLibrary.retrieve(name);
+    Playthrough playthrough = this.playthroughs.get(name);
+    StoryGame game = playthrough != null && playthrough.record == record
+        ? playthrough.game : new SimpleStoryGame(record.getStory());
+    return SaveGame.capture(record.getStory().getOriginalStory(), record.getNodes(),
+        record.getContentHash(), game, checkpoint);
+  }
+
+  @Override
+  public void loadSave(String name, SaveGame save) throws IllegalArgumentException {
+    StoryRecord record = this.storyLibrary.retrieve(name);
+    Utils.ensureNotNull(save, "Save can't be null");
+    if (!Arrays.equals(save.getStoryHash(), record.getContentHash())) {
+      throw new IllegalArgumentException("Save is not of story \"" + name + "\"");
+    }
+    StoryGame game = save.replay(record.getStory().getOriginalStory(), record.getNodes());
+    this.playthroughs.put(name, new Playthrough(record, game));
+  }
+
+  @Override
+  public long getVersion() {
+    if (this.currentStory != null) {
+      return getPlaythrough(this.currentStory).version;
+    } else {
+      return 0;
+    }
   }
 
   /**
@@ -99,4 +213,55 @@ public class SimpleStoryPlayerModel implements StoryPlayerModel<StoryGame> {
       throw new IllegalStateException("No loaded story!");
     }
   }
+
+  /**
+   * Gets this model's progress through the named story, starting it from where the story in the
+   * library is if this model hasn't played it, or if the story has been replaced since.
+   *
+   * @param name the name of the story
+   * @return the progress through the story
+   * @throws IllegalArgumentException if no story of the given name exists
+   */
+  private Playthrough getPlaythrough(String name) throws IllegalArgumentException {
+    StoryRecord record = this.storyLibrary.retrieve(name);
+    Playthrough playthrough = this.playthroughs.get(name);
+    if (playthrough == null || playthrough.record != record) {
+      playthrough = new Playthrough(record, new SimpleStoryGame(record.getStory()));
+      this.playthroughs.put(name, playthrough);
+    }
+    return playthrough;
+  }
+
+  /**
+   * Represents a model's own copy of a story from the library, which it plays, along with the
+   * library record the copy was made from. The copy shares the record's choices and decisions.
+   */
+  private static class Playthrough {
+
+    // the last version given to any playthrough
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final StoryRecord record;
+    private final StoryGame game;
+    private long version;
+
+    /**
+     * Constructs a {@code Playthrough} of the given game copied from the given record.
+     *
+     * @param record the record the game came from
+     * @param game   the game
+     */
+    private Playthrough(StoryRecord record, StoryGame game) {
+      this.record = record;
+      this.game = game;
+      changed();
+    }
+
+    /**
+     * Gives the playthrough a new version after its game has changed.
+     */
+    private void changed() {
+      this.version = VERSIONS.incrementAndGet();
+    }
+  }
 }
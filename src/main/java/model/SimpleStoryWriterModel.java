@@ -1,31 +1,108 @@
 package model;
 
+import io.StoryNodes;
+import io.WorkJournal;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import model.analysis.StoryStructure;
 import model.creator.StoryCreator;
+import model.creator.StoryEdit;
 import model.creator.StoryGameCreator;
 import model.game.Choice;
 import model.game.StoryGame;
 import model.game.decision.Decision;
+import utils.ConcurrentMapLibrary;
 import utils.Library;
-import utils.MapLibrary;
 import utils.Utils;
 
 /**
  * Represents a model for a story builder application that keeps track of a user's works and allows
  * them to select and edit any work in their library. Users can also start new works or remove works
  * from their library.
+ *
+ * <p>A model given a journal directory keeps its works durable: each work it adds is journaled,
+ * every edit is appended to the work's journal as it is made, and a model constructed on the same
+ * directory later restores the works from their snapshots and journals.
  */
 public class SimpleStoryWriterModel implements StoryWriterModel<StoryGame> {
 
   private final Library<StoryCreator<StoryGame>> workLibrary;
+  private final int historyDepth;
+  private final String journalDirectory; // null if works are not journaled
+  private final Map<StoryCreator<StoryGame>, WorkJournal> journals; // of each journaled work
   private String currentWork;
 
   /**
    * Constructs a {@code SimpleStoryWriterModel} with an empty library.
    */
   public SimpleStoryWriterModel() {
-    this.workLibrary = new MapLibrary<>(
+    this(createLibrary());
+  }
+
+  /**
+   * Constructs a {@code SimpleStoryWriterModel} that edits the works in the given library. The
+   * library must be safe to use from every thread that uses the model.
+   *
+   * @param workLibrary the library
+   * @throws IllegalArgumentException if the given library is null
+   */
+  public SimpleStoryWriterModel(Library<StoryCreator<StoryGame>> workLibrary)
+      throws IllegalArgumentException {
+    this(workLibrary, StoryGameCreator.DEFAULT_HISTORY_DEPTH);
+  }
+
+  /**
+   * Constructs a {@code SimpleStoryWriterModel} that edits the works in the given library, where
+   * the works it adds can undo up to the given number of edits. The library must be safe to use
+   * from every thread that uses the model.
+   *
+   * @param workLibrary  the library
+   * @param historyDepth the number of edits each added work can undo
+   * @throws IllegalArgumentException if the given library is null or the depth is negative
+   */
+  public SimpleStoryWriterModel(Library<StoryCreator<StoryGame>> workLibrary, int historyDepth)
+      throws IllegalArgumentException {
+    this(workLibrary, historyDepth, null);
+  }
+
+  /**
+   * Constructs a {@code SimpleStoryWriterModel} that edits the works in the given library and
+   * journals them in the given directory, first restoring every work journaled there. The works it
+   * adds can undo up to the given number of edits. The library must be safe to use from every
+   * thread that uses the model.
+   *
+   * @param workLibrary      the library
+   * @param historyDepth     the number of edits each added work can undo
+   * @param journalDirectory the path of the directory to journal works in, or null to not journal
+   *                         them
+   * @throws IllegalArgumentException if the given library is null, the depth is negative, or the
+   *                                  journaled works can't be restored
+   */
+  public SimpleStoryWriterModel(Library<StoryCreator<StoryGame>> workLibrary, int historyDepth,
+      String journalDirectory) throws IllegalArgumentException {
+    this.workLibrary = Utils.ensureNotNull(workLibrary, "Library can't be null");
+    if (historyDepth < 0) {
+      throw new IllegalArgumentException("History depth can't be negative");
+    }
+    this.historyDepth = historyDepth;
+    this.journalDirectory = journalDirectory;
+    this.journals = new ConcurrentHashMap<>();
+    this.currentWork = null;
+    if (journalDirectory != null) {
+      restore();
+    }
+  }
+
+  /**
+   * Creates an empty library of works, which is safe to use from multiple threads.
+   *
+   * @return the library
+   */
+  public static Library<StoryCreator<StoryGame>> createLibrary() {
+    return new ConcurrentMapLibrary<>(
         s -> "Can't add null",
         s -> "No work \"" + s + "\" found",
         s -> {
@@ -35,34 +112,47 @@ public class SimpleStoryWriterModel implements StoryWriterModel<StoryGame> {
             return s + " already exists";
           }
         });
-    this.currentWork = null;
   }
 
   @Override
   public void add(StoryGame story) throws IllegalArgumentException {
     Utils.ensureNotNull(story, "Story can't be null!");
-    this.workLibrary.add(story.getName(), new StoryGameCreator(story));
+    StoryGameCreator work = withHistory(new StoryGameCreator(story));
+    journal(this.workLibrary.add(story.getName(), work), work);
   }
 
   @Override
   public void start(String name) {
-    this.workLibrary.add(name, new StoryGameCreator(name));
+    StoryGameCreator work = withHistory(new StoryGameCreator(name));
+    journal(this.workLibrary.add(name, work), work);
   }
 
   @Override
   public void remove(String name) throws IllegalArgumentException {
+    StoryCreator<StoryGame> work = this.workLibrary.retrieve(name);
     this.workLibrary.remove(name);
     if (this.currentWork != null && this.currentWork.equals(name)) {
       this.currentWork = null;
     }
+    WorkJournal journal = this.journals.remove(work);
+    if (journal != null) {
+      try {
+        journal.delete();
+      } catch (IOException e) {
+        throw new IllegalStateException(
+            "Removed " + name + " but could not delete its journal: " + e.getMessage());
+      }
+    }
   }
 
   @Override
   public void rename(String name, String newName) throws IllegalArgumentException {
+    StoryCreator<StoryGame> work = this.workLibrary.retrieve(name);
     this.workLibrary.rename(name, newName);
     if (this.currentWork != null && this.currentWork.equals(name)) {
       this.currentWork = newName;
     }
+    save(work, journal -> journal.recordRename(newName));
   }
 
   @Override
@@ -83,69 +173,123 @@ public class SimpleStoryWriterModel implements StoryWriterModel<StoryGame> {
 
   @Override
   public void setStoryName(String name) throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded().setStoryName(name);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.setStoryName(name);
+    save(work, StoryEdit.setStoryName(name));
   }
 
   @Override
   public void addStatus(String name, int val)
       throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded().addStatus(name, val);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.addStatus(name, val);
+    save(work, StoryEdit.addStatus(name, val));
   }
 
   @Override
   public void removeStatus(String name) throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded().removeStatus(name);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.removeStatus(name);
+    save(work, StoryEdit.removeStatus(name));
   }
 
   @Override
   public int addChoice() throws IllegalStateException {
-    return ensureWorkLoaded().addChoice();
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    int idx = work.addChoice();
+    save(work, StoryEdit.addChoice(null));
+    return idx;
   }
 
   @Override
   public void setInitialChoice(int idx) throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded().setInitialChoice(idx);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.setInitialChoice(idx);
+    save(work, StoryEdit.setInitialChoice(Integer.toString(idx)));
   }
 
   @Override
   public void addSimpleDecision(String description, int choiceIdx, int outcomeIdx)
       throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded().addSimpleDecision(description, choiceIdx, outcomeIdx);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.addSimpleDecision(description, choiceIdx, outcomeIdx);
+    save(work, StoryEdit.addSimpleDecision(description, Integer.toString(choiceIdx),
+        Integer.toString(outcomeIdx)));
   }
 
   @Override
   public void addConsequentialDecision(String description, int choiceIdx, int outcomeIdx,
       List<String> consequences) throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded().addConsequentialDecision(description, choiceIdx, outcomeIdx, consequences);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.addConsequentialDecision(description, choiceIdx, outcomeIdx, consequences);
+    save(work, StoryEdit.addConsequentialDecision(description, Integer.toString(choiceIdx),
+        Integer.toString(outcomeIdx), consequences));
   }
 
   @Override
   public void addSimpleDependentThresholdDecision(String description, int choiceIdx,
       String dependency, int threshold, int outcomeBelowIdx, int outcomeMeetsIdx)
       throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded()
-        .addSimpleDependentThresholdDecision(description, choiceIdx, dependency, threshold,
-            outcomeBelowIdx, outcomeMeetsIdx);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.addSimpleDependentThresholdDecision(description, choiceIdx, dependency, threshold,
+        outcomeBelowIdx, outcomeMeetsIdx);
+    save(work, StoryEdit.addSimpleThresholdDecision(description, Integer.toString(choiceIdx),
+        dependency, threshold, Integer.toString(outcomeBelowIdx),
+        Integer.toString(outcomeMeetsIdx)));
   }
 
   @Override
   public void addConsequentialThresholdDecision(String description, int choiceIdx,
       String dependency, int threshold, int outcomeBelowIdx, int outcomeMeetsIdx,
       List<String> consequences) throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded()
-        .addConsequentialThresholdDecision(description, choiceIdx, dependency, threshold,
-            outcomeBelowIdx, outcomeMeetsIdx, consequences);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.addConsequentialThresholdDecision(description, choiceIdx, dependency, threshold,
+        outcomeBelowIdx, outcomeMeetsIdx, consequences);
+    save(work, StoryEdit.addConsequentialThresholdDecision(description,
+        Integer.toString(choiceIdx), dependency, threshold, Integer.toString(outcomeBelowIdx),
+        Integer.toString(outcomeMeetsIdx), consequences));
   }
 
   @Override
   public void removeDecision(int choiceIdx, int decisionIdx)
       throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded().removeDecision(choiceIdx, decisionIdx);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.removeDecision(choiceIdx, decisionIdx);
+    save(work, StoryEdit.removeDecision(Integer.toString(choiceIdx), decisionIdx));
   }
 
   @Override
   public void removeChoice(int choiceIdx) throws IllegalArgumentException, IllegalStateException {
-    ensureWorkLoaded().removeChoice(choiceIdx);
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.removeChoice(choiceIdx);
+    save(work, StoryEdit.removeChoice(Integer.toString(choiceIdx)));
+  }
+
+  @Override
+  public Map<String, Integer> edit(List<StoryEdit> edits)
+      throws IllegalArgumentException, IllegalStateException {
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    long version = work.getVersion();
+    Map<String, Integer> labels = work.edit(edits);
+    // a batch that changed nothing isn't an edit the work can undo, so it isn't journaled either
+    if (work.getVersion() != version) {
+      save(work, journal -> journal.recordEdit(edits));
+    }
+    return labels;
+  }
+
+  @Override
+  public void undo() throws IllegalStateException {
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.undo();
+    save(work, WorkJournal::recordUndo);
+  }
+
+  @Override
+  public void redo() throws IllegalStateException {
+    StoryCreator<StoryGame> work = ensureWorkLoaded();
+    work.redo();
+    save(work, WorkJournal::recordRedo);
   }
 
   @Override
@@ -193,6 +337,43 @@ public class SimpleStoryWriterModel implements StoryWriterModel<StoryGame> {
     }
   }
 
+  @Override
+  public StoryNodes getNodes() {
+    if (this.currentWork != null) {
+      return ensureWorkLoaded().getNodes();
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public StoryStructure getStructure() {
+    if (this.currentWork != null) {
+      return ensureWorkLoaded().getStructure();
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public long getVersion() {
+    if (this.currentWork != null) {
+      return ensureWorkLoaded().getVersion();
+    } else {
+      return 0;
+    }
+  }
+
+  @Override
+  public boolean canUndo() {
+    return this.currentWork != null && ensureWorkLoaded().canUndo();
+  }
+
+  @Override
+  public boolean canRedo() {
+    return this.currentWork != null && ensureWorkLoaded().canRedo();
+  }
+
   @Override
   public String getCurrentWorkName() {
     return this.currentWork;
@@ -203,6 +384,99 @@ public class SimpleStoryWriterModel implements StoryWriterModel<StoryGame> {
     return this.workLibrary.getAllNames();
   }
 
+  @Override
+  public List<String> getWorkNames(String prefix, int offset, int limit)
+      throws IllegalArgumentException {
+    return this.workLibrary.getNames(prefix, offset, limit);
+  }
+
+  @Override
+  public int countWorkNames(String prefix) throws IllegalArgumentException {
+    return this.workLibrary.countNames(prefix);
+  }
+
+  /**
+   * Restores every work journaled in the journal directory and adds it to the library.
+   *
+   * @throws IllegalArgumentException if the works can't be restored
+   */
+  private void restore() throws IllegalArgumentException {
+    try {
+      for (WorkJournal journal : WorkJournal.restoreAll(this.journalDirectory,
+          this.historyDepth)) {
+        String name = this.workLibrary.add(journal.getWorkName(), journal.getWork());
+        this.journals.put(journal.getWork(), journal);
+        if (!name.equals(journal.getWorkName())) {
+          journal.recordRename(name);
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException(
+          "Can't restore works from " + this.journalDirectory + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Starts journaling the given work, just added to the library under the given name, if the model
+   * journals works.
+   *
+   * @param name the name of the work
+   * @param work the work
+   * @throws IllegalStateException if the work can't be journaled, in which case it is not added
+   */
+  private void journal(String name, StoryGameCreator work) throws IllegalStateException {
+    if (this.journalDirectory != null) {
+      try {
+        this.journals.put(work, WorkJournal.create(this.journalDirectory, name, work,
+            this.historyDepth));
+      } catch (IOException e) {
+        this.workLibrary.remove(name);
+        throw new IllegalStateException("Could not save " + name + ": " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Journals the given edit, just made to the given work, if the work is journaled.
+   *
+   * @param work the work
+   * @param edit the edit
+   * @throws IllegalStateException if the edit can't be saved, though it has been made
+   */
+  private void save(StoryCreator<StoryGame> work, StoryEdit edit) throws IllegalStateException {
+    save(work, journal -> journal.recordEdit(Collections.singletonList(edit)));
+  }
+
+  /**
+   * Records the change just made to the given work in its journal, if the work is journaled.
+   *
+   * @param work   the work
+   * @param record the function that records the change
+   * @throws IllegalStateException if the change can't be saved, though it has been made
+   */
+  private void save(StoryCreator<StoryGame> work, JournalRecord record)
+      throws IllegalStateException {
+    WorkJournal journal = this.journals.get(work);
+    if (journal != null) {
+      try {
+        record.recordIn(journal);
+      } catch (IOException e) {
+        throw new IllegalStateException("Changed but could not save: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Gives the given work the history depth of the model.
+   *
+   * @param work the work
+   * @return the work
+   */
+  private StoryGameCreator withHistory(StoryGameCreator work) {
+    work.setHistoryDepth(this.historyDepth);
+    return work;
+  }
+
   /**
    * Ensures a work is currently loaded.
    *
@@ -216,4 +490,18 @@ public class SimpleStoryWriterModel implements StoryWriterModel<StoryGame> {
       return this.workLibrary.retrieve(this.currentWork);
     }
   }
+
+  /**
+   * A function object that records a change in a work's journal.
+   */
+  private interface JournalRecord {
+
+    /**
+     * Records the change in the given journal.
+     *
+     * @param journal the journal
+     * @throws IOException if the change can't be saved
+     */
+    void recordIn(WorkJournal journal) throws IOException;
+  }
 }
@@ -1,5 +1,8 @@
 package model;
 
+import io.SaveGame;
+import java.util.List;
+
 /**
  * An interface of a model for a choose-your-own-adventure story application in which a user can
  * load and play a story in their library.
@@ -46,6 +49,17 @@ public interface StoryPlayerModel<K> extends StoryPlayerModelState<K> {
    */
   boolean next(int decision) throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Makes the given decisions in the currently loaded story in order, stopping at the first
+   * decision that is invalid or once the story is complete.
+   *
+   * @param decisions the indexes of the decisions to make, as in {@link #next(int)}
+   * @return the number of decisions made
+   * @throws IllegalArgumentException if the given list is null
+   * @throws IllegalStateException    if no story is loaded
+   */
+  int nextAll(List<Integer> decisions) throws IllegalArgumentException, IllegalStateException;
+
   /**
    * Quits the given story, saving progress. Does nothing if no story is loaded.
    */
@@ -58,4 +72,15 @@ public interface StoryPlayerModel<K> extends StoryPlayerModelState<K> {
    * @throws IllegalStateException if no story is loaded
    */
   void restart() throws IllegalStateException;
+
+  /**
+   * Loads the given save of progress through the story of the given name in the library, replacing
+   * this model's progress through the story with the progress rebuilt by replaying the save.
+   *
+   * @param name the name of the story
+   * @param save the save to load
+   * @throws IllegalArgumentException if the named story does not exist in the library, the save is
+   *                                  null, or the save was not made in the named story
+   */
+  void loadSave(String name, SaveGame save) throws IllegalArgumentException;
 }
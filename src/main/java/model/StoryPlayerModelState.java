@@ -1,5 +1,7 @@
 package model;
 
+import io.SaveGame;
+import io.StoryNodes;
 import java.util.List;
 
 /**
@@ -31,6 +33,27 @@ public interface StoryPlayerModelState<K> {
    */
   List<String> getAllStoryNames();
 
+  /**
+   * Gets a page of the names of stories in the user's library that start with the given prefix, in
+   * alphabetical order.
+   *
+   * @param prefix the prefix of the names, or the empty string for all names
+   * @param offset the number of matching names to skip
+   * @param limit  the most names to get
+   * @return the page of story names
+   * @throws IllegalArgumentException if the prefix is null or the offset or limit is negative
+   */
+  List<String> getStoryNames(String prefix, int offset, int limit) throws IllegalArgumentException;
+
+  /**
+   * Counts the stories in the user's library whose names start with the given prefix.
+   *
+   * @param prefix the prefix of the names, or the empty string for all names
+   * @return the number of stories
+   * @throws IllegalArgumentException if the prefix is null
+   */
+  int countStoryNames(String prefix) throws IllegalArgumentException;
+
 
   /**
    * Gets a copy of the story of the given name in the library.
@@ -40,4 +63,39 @@ public interface StoryPlayerModelState<K> {
    * @throws IllegalArgumentException if the named story does not exist in the library
    */
   K getStory(String name) throws IllegalArgumentException;
+
+  /**
+   * Gets the version of the progress through the loaded story, which changes every time the
+   * progress does, including when the story is restarted or replaced in the library. Versions only
+   * ever increase, and no two versions of any progress are the same, so the loaded story with the
+   * version it had before is unchanged.
+   *
+   * @return the version of the progress, or 0 if no story is loaded
+   */
+  long getVersion();
+
+  /**
+   * Gets the choices and decisions of the story of the given name in the library, indexed from the
+   * story's initial choice. The index is memoized, so repeated requests do not walk the story
+   * again unless its structure has changed.
+   *
+   * @param name the name of the story
+   * @return the indexed choices and decisions of the story
+   * @throws IllegalArgumentException if the named story does not exist in the library
+   */
+  StoryNodes getStoryNodes(String name) throws IllegalArgumentException;
+
+  /**
+   * Saves this model's progress through the story of the given name in the library, referring to
+   * the story by the hash of its contents. The progress is saved as the decisions made since the
+   * start of the story where possible, or as a checkpoint of the story as it is otherwise or if
+   * requested.
+   *
+   * @param name       the name of the story
+   * @param checkpoint true to save the progress as a checkpoint, false to save it as decisions
+   *                   where possible
+   * @return the save
+   * @throws IllegalArgumentException if the named story does not exist in the library
+   */
+  SaveGame getSave(String name, boolean checkpoint) throws IllegalArgumentException;
 }
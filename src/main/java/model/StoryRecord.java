@@ -0,0 +1,103 @@
+package model;
+
+import io.SaveGame;
+import io.StoryNodes;
+import io.StoryNodesCache;
+import model.game.SimpleStoryGame;
+import model.game.StoryGame;
+import model.game.StructureVersion;
+import utils.Utils;
+
+/**
+ * Represents a story stored in a player's library along with the memoized index of its choices and
+ * decisions, which is built from the story's initial choice the first time it is needed, and the
+ * memoized hash of its contents, which is rebuilt along with the index.
+ */
+public class StoryRecord {
+
+  private final StoryGame story;
+  private final StoryNodesCache nodes;
+  private volatile HashedNodes hashed; // null until first requested
+
+  /**
+   * Constructs a {@code StoryRecord} of the given story.
+   *
+   * @param story the story
+   * @throws IllegalArgumentException if the given story is null
+   */
+  public StoryRecord(StoryGame story) throws IllegalArgumentException {
+    this.story = Utils.ensureNotNull(story, "Story can't be null");
+    this.nodes = new StoryNodesCache(
+        () -> StoryNodes.createNodes(this.story.getOriginalStory()), structureVersionOf(story));
+  }
+
+  /**
+   * Gets the story.
+   *
+   * @return the story
+   */
+  public StoryGame getStory() {
+    return this.story;
+  }
+
+  /**
+   * Gets the choices and decisions of the story, indexed from its initial choice.
+   *
+   * @return the indexed choices and decisions
+   */
+  public StoryNodes getNodes() {
+    return this.nodes.get();
+  }
+
+  /**
+   * Gets the hash of the contents of the story as it starts, which saves of progress through the
+   * story refer to it by.
+   *
+   * @return the hash of the story
+   */
+  public byte[] getContentHash() {
+    StoryNodes nodes = getNodes();
+    HashedNodes hashed = this.hashed;
+    if (hashed == null || hashed.nodes != nodes) {
+      hashed = new HashedNodes(nodes, SaveGame.hashStory(this.story.getOriginalStory(), nodes));
+      this.hashed = hashed;
+    }
+    return hashed.hash.clone();
+  }
+
+  /**
+   * Gets the version of the structure of the given story's graph, which only changes if the story
+   * shares its graph with a creator that edits it. Stories that don't say which graph they share
+   * are given a version of their own.
+   *
+   * @param story the story
+   * @return the structure version
+   */
+  private static StructureVersion structureVersionOf(StoryGame story) {
+    if (story instanceof SimpleStoryGame) {
+      return ((SimpleStoryGame) story).getPlayState().getStory().getStructureVersion();
+    } else {
+      return new StructureVersion();
+    }
+  }
+
+  /**
+   * Represents the hash of the story as it was when it had the given nodes.
+   */
+  private static class HashedNodes {
+
+    private final StoryNodes nodes;
+    private final byte[] hash;
+
+    /**
+     * Constructs a {@code HashedNodes} of the given hash of the story with the given nodes.
+     *
+     * @param nodes the nodes of the story
+     * @param hash  the hash of the story
+     */
+    private HashedNodes(StoryNodes nodes, byte[] hash) {
+      this.nodes = nodes;
+      this.hash = hash;
+    }
+  }
+}
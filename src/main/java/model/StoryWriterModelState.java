@@ -22,4 +22,25 @@ public interface StoryWriterModelState extends StoryCreatorState {
    * @return all work names in the library
    */
   List<String> getAllWorkNames();
+
+  /**
+   * Gets a page of the names of works in the user's library that start with the given prefix, in
+   * alphabetical order.
+   *
+   * @param prefix the prefix of the names, or the empty string for all names
+   * @param offset the number of matching names to skip
+   * @param limit  the most names to get
+   * @return the page of work names
+   * @throws IllegalArgumentException if the prefix is null or the offset or limit is negative
+   */
+  List<String> getWorkNames(String prefix, int offset, int limit) throws IllegalArgumentException;
+
+  /**
+   * Counts the works in the user's library whose names start with the given prefix.
+   *
+   * @param prefix the prefix of the names, or the empty string for all names
+   * @return the number of works
+   * @throws IllegalArgumentException if the prefix is null
+   */
+  int countWorkNames(String prefix) throws IllegalArgumentException;
 }
@@ -0,0 +1,156 @@
+package model.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the states of a story found by a {@link StateExplorer}, and what they show about the
+ * story: which choices can't be reached, which decisions can never be made, and which states can
+ * never lead to an end. Choices and decisions are identified by their ids in the story's nodes.
+ *
+ * <p>If the exploration was cut short by its budget, choices and decisions reported as never
+ * reached or made were only not reached or made within the budget.
+ */
+public final class ExplorationResult {
+
+  private final int maxStates;
+  private final boolean complete;
+  private final int numStates;
+  private final int[] statesAt;
+  private final boolean[] taken;
+  private final int numEndings;
+  private final List<ExploredState> deadEnds;
+
+  /**
+   * Constructs an {@code ExplorationResult} of the given findings, which it takes ownership of.
+   *
+   * @param maxStates  the most states the exploration could find
+   * @param complete   whether every reachable state was found
+   * @param numStates  the number of states found
+   * @param statesAt   the number of states found at each choice
+   * @param taken      whether each decision was made from a state found
+   * @param numEndings the number of states found at choices without options
+   * @param deadEnds   the states found that can't lead to an end
+   */
+  ExplorationResult(int maxStates, boolean complete, int numStates, int[] statesAt,
+      boolean[] taken, int numEndings, List<ExploredState> deadEnds) {
+    this.maxStates = maxStates;
+    this.complete = complete;
+    this.numStates = numStates;
+    this.statesAt = statesAt;
+    this.taken = taken;
+    this.numEndings = numEndings;
+    this.deadEnds = Collections.unmodifiableList(deadEnds);
+  }
+
+  /**
+   * Gets the most states the exploration could find.
+   *
+   * @return the budget of states
+   */
+  public int getMaxStates() {
+    return this.maxStates;
+  }
+
+  /**
+   * Determines whether every reachable state was found within the budget.
+   *
+   * @return true if the exploration is complete, false if it was cut short
+   */
+  public boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Gets the number of states found.
+   *
+   * @return the number of states
+   */
+  public int getStateCount() {
+    return this.numStates;
+  }
+
+  /**
+   * Gets the number of choices in the story.
+   *
+   * @return the number of choices
+   */
+  public int getChoiceCount() {
+    return this.statesAt.length;
+  }
+
+  /**
+   * Gets the number of decisions in the story.
+   *
+   * @return the number of decisions
+   */
+  public int getDecisionCount() {
+    return this.taken.length;
+  }
+
+  /**
+   * Gets the number of states found at the given choice, one for each set of status values the
+   * choice can be reached with.
+   *
+   * @param choice the id of the choice
+   * @return the number of states
+   * @throws IllegalArgumentException if there is no choice of the id
+   */
+  public int getStatesAt(int choice) throws IllegalArgumentException {
+    if (choice < 0 || choice >= this.statesAt.length) {
+      throw new IllegalArgumentException("No choice " + choice);
+    }
+    return this.statesAt[choice];
+  }
+
+  /**
+   * Gets the ids of the choices not reached by any state found, in order.
+   *
+   * @return the ids of the choices
+   */
+  public List<Integer> getUnreachableChoices() {
+    List<Integer> choices = new ArrayList<>();
+    for (int i = 0; i < this.statesAt.length; i++) {
+      if (this.statesAt[i] == 0) {
+        choices.add(i);
+      }
+    }
+    return choices;
+  }
+
+  /**
+   * Gets the ids of the decisions not made from any state found, in order, including those of
+   * choices that can't be reached and those that fail in every state they are offered in.
+   *
+   * @return the ids of the decisions
+   */
+  public List<Integer> getUntakenDecisions() {
+    List<Integer> decisions = new ArrayList<>();
+    for (int i = 0; i < this.taken.length; i++) {
+      if (!this.taken[i]) {
+        decisions.add(i);
+      }
+    }
+    return decisions;
+  }
+
+  /**
+   * Gets the number of states found at choices without options, where the story ends.
+   *
+   * @return the number of states
+   */
+  public int getEndingCount() {
+    return this.numEndings;
+  }
+
+  /**
+   * Gets the states found from which no decisions lead to an end, in the order they were found.
+   * States whose decisions led past the budget are assumed to lead to an end.
+   *
+   * @return an unmodifiable list of the states
+   */
+  public List<ExploredState> getDeadEnds() {
+    return this.deadEnds;
+  }
+}
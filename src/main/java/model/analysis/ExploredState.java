@@ -0,0 +1,49 @@
+package model.analysis;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents a state a story can be in, found by a {@link StateExplorer}: the choice it is at and
+ * the values of its statuses. The choice is identified by its id in the story's nodes.
+ */
+public final class ExploredState {
+
+  private final int choice;
+  private final Map<String, Integer> statuses;
+
+  /**
+   * Constructs an {@code ExploredState} at the given choice with the given statuses.
+   *
+   * @param choice   the id of the choice
+   * @param statuses the values of the statuses by name, in slot order
+   */
+  ExploredState(int choice, LinkedHashMap<String, Integer> statuses) {
+    this.choice = choice;
+    this.statuses = Collections.unmodifiableMap(statuses);
+  }
+
+  /**
+   * Gets the id of the choice the state is at.
+   *
+   * @return the id of the choice
+   */
+  public int getChoice() {
+    return this.choice;
+  }
+
+  /**
+   * Gets the values of the statuses in the state by name.
+   *
+   * @return an unmodifiable map of the statuses
+   */
+  public Map<String, Integer> getStatuses() {
+    return this.statuses;
+  }
+
+  @Override
+  public String toString() {
+    return "Choice #" + (this.choice + 1) + " " + this.statuses;
+  }
+}
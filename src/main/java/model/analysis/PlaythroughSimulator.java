@@ -0,0 +1,250 @@
+package model.analysis;
+
+import io.StoryNodes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.game.Choice;
+import model.game.CompiledStory;
+import model.game.PlayState;
+import model.game.StoryGame;
+import utils.Utils;
+
+/**
+ * Plays a story many times over from where it is, making a random decision at every choice, and
+ * tallies where the playthroughs went: how often each choice was reached, how often each decision
+ * was made, where playthroughs ended and what their statuses were at the end.
+ *
+ * <p>Playthroughs are split into blocks of a fixed size that are played in parallel on a fork/join
+ * pool, each with its own random numbers seeded from the simulator's seed and the block's place.
+ * The same seed therefore gives the same result however many threads play the blocks. Every
+ * playthrough shares one {@link CompiledStory}, so playing one only needs its own status values.
+ */
+public class PlaythroughSimulator {
+
+  // the number of playthroughs played by one task
+  static final int BLOCK_SIZE = 1024;
+
+  private final long seed;
+  private final int maxSteps;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a {@code PlaythroughSimulator} that plays on the common fork/join pool.
+   *
+   * @param seed     the seed of the random decisions
+   * @param maxSteps the most decisions to make in one playthrough before giving up on it, at
+   *                 least 1
+   * @throws IllegalArgumentException if the maximum number of steps is less than 1
+   */
+  public PlaythroughSimulator(long seed, int maxSteps) throws IllegalArgumentException {
+    this(seed, maxSteps, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a {@code PlaythroughSimulator} that plays on the given pool.
+   *
+   * @param seed     the seed of the random decisions
+   * @param maxSteps the most decisions to make in one playthrough before giving up on it, at
+   *                 least 1
+   * @param pool     the pool to play on
+   * @throws IllegalArgumentException if the maximum number of steps is less than 1 or the pool is
+   *                                  null
+   */
+  public PlaythroughSimulator(long seed, int maxSteps, ForkJoinPool pool)
+      throws IllegalArgumentException {
+    if (maxSteps < 1) {
+      throw new IllegalArgumentException("Playthroughs need at least 1 step");
+    }
+    this.seed = seed;
+    this.maxSteps = maxSteps;
+    this.pool = Utils.ensureNotNull(pool, "Pool can't be null");
+  }
+
+  /**
+   * Plays the given story the given number of times from its current choice and statuses.
+   * Choices and decisions are identified by their ids in the given story nodes.
+   *
+   * @param story        the story
+   * @param nodes        the indexed choices and decisions of the story, which must include every
+   *                     choice and decision that can be reached
+   * @param playthroughs the number of playthroughs, at least 1
+   * @return the tallies of the playthroughs
+   * @throws IllegalArgumentException if the story or nodes are null, the number of playthroughs is
+   *                                  less than 1, or a choice or decision that is reached is not
+   *                                  in the nodes
+   */
+  public SimulationResult simulate(StoryGame story, StoryNodes nodes, int playthroughs)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(story, "Story can't be null");
+    Utils.ensureNotNull(nodes, "Nodes can't be null");
+    if (playthroughs < 1) {
+      throw new IllegalArgumentException("Need at least 1 playthrough");
+    }
+
+    StoryGraph graph = new StoryGraph(story, nodes);
+    int numBlocks = (playthroughs - 1) / BLOCK_SIZE + 1;
+    Tally tally = this.pool.invoke(new BlockTask(graph, playthroughs, 0, numBlocks));
+
+    return new SimulationResult(playthroughs, this.seed, this.maxSteps, graph.choiceOf,
+        tally.visits, tally.decided, tally.picks, tally.ends, tally.unfinished, tally.steps,
+        graph.getStatusNames(), tally.histograms);
+  }
+
+  /**
+   * Gets the seed of the random decisions of the given block of playthroughs, which is spread out
+   * so that neighbouring blocks don't play alike.
+   *
+   * @param block the index of the block
+   * @return the seed
+   */
+  private long seedOf(int block) {
+    long z = this.seed + (block + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Tallies of a number of playthroughs, which can be added together.
+   */
+  private static class Tally {
+
+    private final long[] visits;
+    private final long[] decided;
+    private final long[] picks;
+    private final long[] ends;
+    private long unfinished;
+    private long steps;
+    private final List<Map<Integer, Long>> histograms;
+
+    /**
+     * Constructs an empty {@code Tally} of the given story.
+     *
+     * @param graph the story
+     */
+    private Tally(StoryGraph graph) {
+      this.visits = new long[graph.numChoices];
+      this.decided = new long[graph.numChoices];
+      this.picks = new long[graph.numDecisions];
+      this.ends = new long[graph.numChoices];
+      this.histograms = new ArrayList<>();
+      for (int slot = 0; slot < graph.story.getStatusCount(); slot++) {
+        this.histograms.add(new HashMap<>());
+      }
+    }
+
+    /**
+     * Adds the given tally to this one.
+     *
+     * @param other the other tally
+     * @return this tally
+     */
+    private Tally add(Tally other) {
+      for (int i = 0; i < this.visits.length; i++) {
+        this.visits[i] += other.visits[i];
+        this.decided[i] += other.decided[i];
+        this.ends[i] += other.ends[i];
+      }
+      for (int i = 0; i < this.picks.length; i++) {
+        this.picks[i] += other.picks[i];
+      }
+      this.unfinished += other.unfinished;
+      this.steps += other.steps;
+      for (int slot = 0; slot < this.histograms.size(); slot++) {
+        Map<Integer, Long> histogram = this.histograms.get(slot);
+        other.histograms.get(slot).forEach((value, count) -> histogram.merge(value, count,
+            Long::sum));
+      }
+      return this;
+    }
+  }
+
+  /**
+   * Plays a range of blocks of playthroughs, splitting it in two until it is one block. Tasks are
+   * never serialized.
+   */
+  @SuppressWarnings("serial")
+  private class BlockTask extends RecursiveTask<Tally> {
+
+    private final StoryGraph graph;
+    private final int playthroughs;
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructs a {@code BlockTask} that plays the given range of blocks.
+     *
+     * @param graph        the story
+     * @param playthroughs the number of playthroughs in all blocks
+     * @param from         the index of the first block, inclusive
+     * @param to           the index of the last block, exclusive
+     */
+    private BlockTask(StoryGraph graph, int playthroughs, int from, int to) {
+      this.graph = graph;
+      this.playthroughs = playthroughs;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Tally compute() {
+      if (this.to - this.from > 1) {
+        int middle = (this.from + this.to) >>> 1;
+        BlockTask left = new BlockTask(this.graph, this.playthroughs, this.from, middle);
+        left.fork();
+        Tally right = new BlockTask(this.graph, this.playthroughs, middle, this.to).compute();
+        return left.join().add(right);
+      }
+
+      Tally tally = new Tally(this.graph);
+      SplittableRandom random = new SplittableRandom(seedOf(this.from));
+      int first = this.from * BLOCK_SIZE;
+      int last = Math.min(this.playthroughs, first + BLOCK_SIZE);
+      for (int i = first; i < last; i++) {
+        play(tally, random);
+      }
+      return tally;
+    }
+
+    /**
+     * Plays the story once, adding the playthrough to the given tally.
+     *
+     * @param tally  the tally
+     * @param random the source of random decisions
+     */
+    private void play(Tally tally, SplittableRandom random) {
+      PlayState state = this.graph.story.start();
+      int choice = this.graph.start;
+      tally.visits[choice]++;
+      int steps = 0;
+      while (true) {
+        int[] options = this.graph.options[choice];
+        if (options.length == 0) {
+          tally.ends[choice]++;
+          break;
+        } else if (steps == maxSteps) {
+          tally.unfinished++;
+          break;
+        }
+        // decisions are compiled ahead and made without recording them in the state, which keeps
+        // no history
+        int pick = random.nextInt(options.length);
+        Choice next = this.graph.compiled[choice][pick].makeDecision(state);
+        tally.decided[choice]++;
+        tally.picks[options[pick]]++;
+        choice = this.graph.idOf(next);
+        tally.visits[choice]++;
+        steps++;
+      }
+      tally.steps += steps;
+      for (int slot = 0; slot < tally.histograms.size(); slot++) {
+        tally.histograms.get(slot).merge(state.getValue(slot), 1L, Long::sum);
+      }
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package model.analysis;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Represents the tallies of a number of random playthroughs of a story made by a {@link
+ * PlaythroughSimulator}. Choices and decisions are identified by their ids in the story's nodes.
+ */
+public final class SimulationResult {
+
+  private final int playthroughs;
+  private final long seed;
+  private final int maxSteps;
+  private final int[] choiceOf;
+  private final long[] visits;
+  private final long[] decided;
+  private final long[] picks;
+  private final long[] ends;
+  private final long unfinished;
+  private final long steps;
+  private final String[] statusNames;
+  private final List<Map<Integer, Long>> histograms;
+
+  /**
+   * Constructs a {@code SimulationResult} of the given tallies, which it takes ownership of.
+   *
+   * @param playthroughs the number of playthroughs
+   * @param seed         the seed of the random decisions
+   * @param maxSteps     the most decisions made in one playthrough
+   * @param choiceOf     the id of the choice offering each decision, or -1 if none does
+   * @param visits       the number of times each choice was reached
+   * @param decided      the number of decisions made at each choice
+   * @param picks        the number of times each decision was made
+   * @param ends         the number of playthroughs that ended at each choice
+   * @param unfinished   the number of playthroughs stopped after the most decisions
+   * @param steps        the number of decisions made in all playthroughs
+   * @param statusNames  the names of the statuses by slot
+   * @param histograms   the number of playthroughs that stopped with each value of each status, by
+   *                     slot
+   */
+  SimulationResult(int playthroughs, long seed, int maxSteps, int[] choiceOf, long[] visits,
+      long[] decided, long[] picks, long[] ends, long unfinished, long steps,
+      String[] statusNames, List<Map<Integer, Long>> histograms) {
+    this.playthroughs = playthroughs;
+    this.seed = seed;
+    this.maxSteps = maxSteps;
+    this.choiceOf = choiceOf;
+    this.visits = visits;
+    this.decided = decided;
+    this.picks = picks;
+    this.ends = ends;
+    this.unfinished = unfinished;
+    this.steps = steps;
+    this.statusNames = statusNames;
+    this.histograms = histograms;
+  }
+
+  /**
+   * Gets the number of playthroughs.
+   *
+   * @return the number of playthroughs
+   */
+  public int getPlaythroughs() {
+    return this.playthroughs;
+  }
+
+  /**
+   * Gets the seed of the random decisions.
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Gets the most decisions made in one playthrough before it was stopped.
+   *
+   * @return the most decisions
+   */
+  public int getMaxSteps() {
+    return this.maxSteps;
+  }
+
+  /**
+   * Gets the number of choices in the story's nodes.
+   *
+   * @return the number of choices
+   */
+  public int getChoiceCount() {
+    return this.visits.length;
+  }
+
+  /**
+   * Gets the number of decisions in the story's nodes.
+   *
+   * @return the number of decisions
+   */
+  public int getDecisionCount() {
+    return this.picks.length;
+  }
+
+  /**
+   * Gets the number of times the choice of the given id was reached, counting every time a
+   * playthrough came back to it.
+   *
+   * @param choice the id of the choice
+   * @return the number of visits
+   * @throws IllegalArgumentException if there is no such choice
+   */
+  public long getVisits(int choice) throws IllegalArgumentException {
+    return this.visits[ensureId(choice, this.visits.length, "choice")];
+  }
+
+  /**
+   * Gets the number of playthroughs that ended at the choice of the given id.
+   *
+   * @param choice the id of the choice
+   * @return the number of playthroughs
+   * @throws IllegalArgumentException if there is no such choice
+   */
+  public long getEnds(int choice) throws IllegalArgumentException {
+    return this.ends[ensureId(choice, this.ends.length, "choice")];
+  }
+
+  /**
+   * Gets the number of times the decision of the given id was made.
+   *
+   * @param decision the id of the decision
+   * @return the number of times
+   * @throws IllegalArgumentException if there is no such decision
+   */
+  public long getPicks(int decision) throws IllegalArgumentException {
+    return this.picks[ensureId(decision, this.picks.length, "decision")];
+  }
+
+  /**
+   * Gets the share of the decisions made at the choice offering the decision of the given id that
+   * were the decision.
+   *
+   * @param decision the id of the decision
+   * @return the share from 0 to 1, or 0 if no decision was made at the choice
+   * @throws IllegalArgumentException if there is no such decision
+   */
+  public double getPickRate(int decision) throws IllegalArgumentException {
+    long picks = getPicks(decision);
+    int choice = this.choiceOf[decision];
+    return picks == 0 ? 0 : (double) picks / this.decided[choice];
+  }
+
+  /**
+   * Gets the number of playthroughs stopped after the most decisions, before reaching an end.
+   *
+   * @return the number of playthroughs
+   */
+  public long getUnfinished() {
+    return this.unfinished;
+  }
+
+  /**
+   * Gets the average number of decisions made in a playthrough.
+   *
+   * @return the average number of decisions
+   */
+  public double getAverageSteps() {
+    return (double) this.steps / this.playthroughs;
+  }
+
+  /**
+   * Gets the names of the statuses of the story.
+   *
+   * @return the names of the statuses
+   */
+  public List<String> getStatusNames() {
+    return Collections.unmodifiableList(Arrays.asList(this.statusNames.clone()));
+  }
+
+  /**
+   * Gets the number of playthroughs that stopped with each value of the given status.
+   *
+   * @param status the name of the status
+   * @return the number of playthroughs by value, in order of value
+   * @throws IllegalArgumentException if there is no such status
+   */
+  public SortedMap<Integer, Long> getStatusHistogram(String status)
+      throws IllegalArgumentException {
+    for (int slot = 0; slot < this.statusNames.length; slot++) {
+      if (this.statusNames[slot].equals(status)) {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(this.histograms.get(slot)));
+      }
+    }
+    throw new IllegalArgumentException("No status " + status + " in the story");
+  }
+
+  /**
+   * Ensures the given id is the id of a node of the given kind.
+   *
+   * @param id    the id
+   * @param count the number of nodes of the kind
+   * @param kind  the kind of node
+   * @return the id
+   * @throws IllegalArgumentException if there is no node of the id
+   */
+  private static int ensureId(int id, int count, String kind) throws IllegalArgumentException {
+    if (id < 0 || id >= count) {
+      throw new IllegalArgumentException("No " + kind + " " + id);
+    }
+    return id;
+  }
+}
@@ -0,0 +1,311 @@
+package model.analysis;
+
+import io.StoryNodes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.game.Choice;
+import model.game.PlayState;
+import model.game.StoryGame;
+import utils.Utils;
+
+/**
+ * Finds every state a story can reach from where it is, where a state is the choice the story is
+ * at and the values of its statuses. Decisions that depend on statuses lead different ways from
+ * different states of the same choice, so only the states show which choices and decisions can
+ * really be reached.
+ *
+ * <p>States are found breadth first, one level of decisions at a time. The states of a level are
+ * split among fork/join tasks that make each of their decisions in parallel, and the states found
+ * are then added to a {@link StateSet} in order, so the same story is always explored the same way.
+ * Stories whose statuses can grow without end have endless states, so exploration stops adding
+ * states once it has found as many as its budget allows.
+ */
+public class StateExplorer {
+
+  // the number of states expanded by one task
+  static final int LEAF_SIZE = 256;
+
+  private final int maxStates;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a {@code StateExplorer} that explores on the common fork/join pool.
+   *
+   * @param maxStates the most states to find, at least 1
+   * @throws IllegalArgumentException if the budget is less than 1
+   */
+  public StateExplorer(int maxStates) throws IllegalArgumentException {
+    this(maxStates, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a {@code StateExplorer} that explores on the given pool.
+   *
+   * @param maxStates the most states to find, at least 1
+   * @param pool      the pool to explore on
+   * @throws IllegalArgumentException if the budget is less than 1 or the pool is null
+   */
+  public StateExplorer(int maxStates, ForkJoinPool pool) throws IllegalArgumentException {
+    if (maxStates < 1) {
+      throw new IllegalArgumentException("Exploration needs a budget of at least 1 state");
+    }
+    this.maxStates = maxStates;
+    this.pool = Utils.ensureNotNull(pool, "Pool can't be null");
+  }
+
+  /**
+   * Explores the states of the given story from its current choice and statuses. Choices and
+   * decisions are identified by their ids in the given story nodes. Decisions that fail in a state,
+   * such as those updating statuses the story doesn't have, are not made from that state.
+   *
+   * @param story the story
+   * @param nodes the indexed choices and decisions of the story, which must include every choice
+   *              and decision that can be reached
+   * @return the states found and what they show
+   * @throws IllegalArgumentException if the story or nodes are null, or a choice or decision that
+   *                                  is reached is not in the nodes
+   */
+  public ExplorationResult explore(StoryGame story, StoryNodes nodes)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(story, "Story can't be null");
+    Utils.ensureNotNull(nodes, "Nodes can't be null");
+    StoryGraph graph = new StoryGraph(story, nodes);
+    int width = 1 + graph.story.getStatusCount();
+
+    StateSet states = new StateSet(width);
+    int[] initial = new int[width];
+    initial[0] = graph.start;
+    for (int slot = 0; slot < width - 1; slot++) {
+      initial[slot + 1] = graph.story.getInitialValue(slot);
+    }
+    states.add(initial, 0);
+
+    boolean[] taken = new boolean[graph.numDecisions];
+    Successors edges = new Successors(0);
+    BitSet cutOff = new BitSet(); // states with a decision leading past the budget
+    boolean complete = true;
+    for (int from = 0; from < states.size(); ) {
+      int to = states.size();
+      Successors level = this.pool.invoke(new ExpandTask(graph, states, from, to));
+      for (int i = 0; i < level.size; i++) {
+        taken[level.decisions[i]] = true;
+        int target = states.indexOf(level.keys, i * width);
+        if (target == -1) {
+          if (states.size() == this.maxStates) {
+            complete = false;
+            cutOff.set(level.sources[i]);
+            continue;
+          }
+          target = states.add(level.keys, i * width);
+        }
+        edges.add(level.sources[i], target, null, 0);
+      }
+      from = to;
+    }
+
+    int[] statesAt = new int[graph.numChoices];
+    int numEndings = 0;
+    BitSet endable = new BitSet(states.size());
+    for (int state = 0; state < states.size(); state++) {
+      int choice = states.get(state, 0);
+      statesAt[choice]++;
+      if (graph.options[choice].length == 0) {
+        numEndings++;
+        endable.set(state);
+      }
+    }
+    endable.or(cutOff);
+    markEndable(endable, edges, states.size());
+
+    String[] statusNames = graph.getStatusNames();
+    List<ExploredState> deadEnds = new ArrayList<>();
+    for (int state = endable.nextClearBit(0); state < states.size();
+        state = endable.nextClearBit(state + 1)) {
+      LinkedHashMap<String, Integer> statuses = new LinkedHashMap<>();
+      for (int slot = 0; slot < statusNames.length; slot++) {
+        statuses.put(statusNames[slot], states.get(state, slot + 1));
+      }
+      deadEnds.add(new ExploredState(states.get(state, 0), statuses));
+    }
+    return new ExplorationResult(this.maxStates, complete, states.size(), statesAt, taken,
+        numEndings, deadEnds);
+  }
+
+  /**
+   * Marks every state that can lead to a marked state through the given edges, walking the edges
+   * backwards from the marked states.
+   *
+   * @param marked    the marked states, which is added to
+   * @param edges     the edges from each state to each state it leads to
+   * @param numStates the number of states
+   */
+  private static void markEndable(BitSet marked, Successors edges, int numStates) {
+    // group the sources of the edges by their targets
+    int[] starts = new int[numStates + 1];
+    for (int i = 0; i < edges.size; i++) {
+      starts[edges.decisions[i] + 1]++;
+    }
+    for (int state = 0; state < numStates; state++) {
+      starts[state + 1] += starts[state];
+    }
+    int[] sources = new int[edges.size];
+    int[] next = Arrays.copyOf(starts, numStates);
+    for (int i = 0; i < edges.size; i++) {
+      sources[next[edges.decisions[i]]++] = edges.sources[i];
+    }
+
+    int[] queue = new int[numStates];
+    int tail = 0;
+    for (int state = marked.nextSetBit(0); state >= 0; state = marked.nextSetBit(state + 1)) {
+      queue[tail++] = state;
+    }
+    for (int head = 0; head < tail; head++) {
+      int state = queue[head];
+      for (int i = starts[state]; i < starts[state + 1]; i++) {
+        if (!marked.get(sources[i])) {
+          marked.set(sources[i]);
+          queue[tail++] = sources[i];
+        }
+      }
+    }
+  }
+
+  /**
+   * A growing list of decisions made from states, each with the state it was made from, the id of
+   * the decision and the state it led to. The edges between states found reuse it, with the state
+   * led to in place of the decision and no keys.
+   */
+  private static class Successors {
+
+    private final int width;
+    private int size;
+    private int[] sources;
+    private int[] decisions;
+    private int[] keys;
+
+    /**
+     * Constructs an empty {@code Successors} of states of the given number of ints.
+     *
+     * @param width the number of ints in each state, or 0 to keep no states
+     */
+    private Successors(int width) {
+      this.width = width;
+      this.sources = new int[16];
+      this.decisions = new int[16];
+      this.keys = new int[16 * width];
+    }
+
+    /**
+     * Adds a decision made from the given state.
+     *
+     * @param source   the number of the state the decision was made from
+     * @param decision the id of the decision
+     * @param key      the array holding the state the decision led to, or null if no states are
+     *                 kept
+     * @param offset   the offset of the state in the array
+     */
+    private void add(int source, int decision, int[] key, int offset) {
+      if (this.size == this.sources.length) {
+        this.sources = Arrays.copyOf(this.sources, this.size * 2);
+        this.decisions = Arrays.copyOf(this.decisions, this.size * 2);
+        this.keys = Arrays.copyOf(this.keys, this.size * 2 * this.width);
+      }
+      this.sources[this.size] = source;
+      this.decisions[this.size] = decision;
+      if (key != null) {
+        System.arraycopy(key, offset, this.keys, this.size * this.width, this.width);
+      }
+      this.size++;
+    }
+
+    /**
+     * Adds every decision in the given list after the decisions in this one.
+     *
+     * @param other the other list
+     * @return this list
+     */
+    private Successors addAll(Successors other) {
+      int size = this.size + other.size;
+      if (size > this.sources.length) {
+        this.sources = Arrays.copyOf(this.sources, size);
+        this.decisions = Arrays.copyOf(this.decisions, size);
+        this.keys = Arrays.copyOf(this.keys, size * this.width);
+      }
+      System.arraycopy(other.sources, 0, this.sources, this.size, other.size);
+      System.arraycopy(other.decisions, 0, this.decisions, this.size, other.size);
+      System.arraycopy(other.keys, 0, this.keys, this.size * this.width,
+          other.size * this.width);
+      this.size = size;
+      return this;
+    }
+  }
+
+  /**
+   * Makes every decision of a range of states, splitting the range in two until it is small. Tasks
+   * are never serialized.
+   */
+  @SuppressWarnings("serial")
+  private static class ExpandTask extends RecursiveTask<Successors> {
+
+    private final StoryGraph graph;
+    private final StateSet states;
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructs an {@code ExpandTask} that expands the given range of states.
+     *
+     * @param graph  the story
+     * @param states the states found, which are not added to while the task runs
+     * @param from   the number of the first state, inclusive
+     * @param to     the number of the last state, exclusive
+     */
+    private ExpandTask(StoryGraph graph, StateSet states, int from, int to) {
+      this.graph = graph;
+      this.states = states;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Successors compute() {
+      if (this.to - this.from > LEAF_SIZE) {
+        int middle = (this.from + this.to) >>> 1;
+        ExpandTask left = new ExpandTask(this.graph, this.states, this.from, middle);
+        left.fork();
+        Successors right = new ExpandTask(this.graph, this.states, middle, this.to).compute();
+        return left.join().addAll(right);
+      }
+
+      int width = this.states.width();
+      Successors successors = new Successors(width);
+      PlayState state = this.graph.story.start();
+      int[] key = new int[width];
+      for (int source = this.from; source < this.to; source++) {
+        int choice = this.states.get(source, 0);
+        for (int o = 0; o < this.graph.options[choice].length; o++) {
+          for (int slot = 0; slot < width - 1; slot++) {
+            state.setValue(slot, this.states.get(source, slot + 1));
+          }
+          Choice outcome;
+          try {
+            outcome = this.graph.compiled[choice][o].makeDecision(state);
+          } catch (IllegalArgumentException e) {
+            continue;
+          }
+          key[0] = this.graph.idOf(outcome);
+          for (int slot = 0; slot < width - 1; slot++) {
+            key[slot + 1] = state.getValue(slot);
+          }
+          successors.add(source, this.graph.options[choice][o], key, 0);
+        }
+      }
+      return successors;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package model.analysis;
+
+import java.util.Arrays;
+
+/**
+ * A set of states of a story, each packed as a fixed number of ints: the id of its choice and the
+ * value of each status. States are numbered in the order they are added, and their keys are stored
+ * back to back in one array, indexed by an open-addressed table of state numbers, so a state costs
+ * a few ints rather than an object.
+ *
+ * <p>Reading states while no state is being added is safe from any number of threads.
+ */
+final class StateSet {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final int width;
+  private int[] keys;
+  private int[] hashes;
+  private int[] table; // the number of the state in each slot plus 1, or 0 if the slot is empty
+  private int size;
+
+  /**
+   * Constructs an empty {@code StateSet} of states of the given number of ints.
+   *
+   * @param width the number of ints in each state, at least 1
+   */
+  StateSet(int width) {
+    this.width = width;
+    this.keys = new int[INITIAL_CAPACITY * width];
+    this.hashes = new int[INITIAL_CAPACITY];
+    this.table = new int[INITIAL_CAPACITY * 2];
+  }
+
+  /**
+   * Gets the number of states in the set.
+   *
+   * @return the number of states
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the number of ints in each state.
+   *
+   * @return the number of ints
+   */
+  int width() {
+    return this.width;
+  }
+
+  /**
+   * Gets the int at the given place of the given state.
+   *
+   * @param state the number of the state
+   * @param place the place in the state
+   * @return the int
+   */
+  int get(int state, int place) {
+    return this.keys[state * this.width + place];
+  }
+
+  /**
+   * Gets the number of the state held in the given array at the given offset.
+   *
+   * @param key    the array holding the state
+   * @param offset the offset of the state in the array
+   * @return the number of the state, or -1 if it is not in the set
+   */
+  int indexOf(int[] key, int offset) {
+    int hash = hash(key, offset);
+    int mask = this.table.length - 1;
+    for (int slot = hash & mask; this.table[slot] != 0; slot = (slot + 1) & mask) {
+      int state = this.table[slot] - 1;
+      if (this.hashes[state] == hash && matches(state, key, offset)) {
+        return state;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Adds the state held in the given array at the given offset if it is not in the set.
+   *
+   * @param key    the array holding the state
+   * @param offset the offset of the state in the array
+   * @return the number of the state, which is the size of the set before adding if it was added
+   */
+  int add(int[] key, int offset) {
+    int hash = hash(key, offset);
+    int mask = this.table.length - 1;
+    int slot = hash & mask;
+    for (; this.table[slot] != 0; slot = (slot + 1) & mask) {
+      int state = this.table[slot] - 1;
+      if (this.hashes[state] == hash && matches(state, key, offset)) {
+        return state;
+      }
+    }
+
+    int state = this.size++;
+    if (state == this.hashes.length) {
+      this.keys = Arrays.copyOf(this.keys, this.keys.length * 2);
+      this.hashes = Arrays.copyOf(this.hashes, this.hashes.length * 2);
+    }
+    System.arraycopy(key, offset, this.keys, state * this.width, this.width);
+    this.hashes[state] = hash;
+    this.table[slot] = state + 1;
+    // keep the table at most half full, so probes stay short
+    if (this.size * 2 > this.table.length) {
+      rehash();
+    }
+    return state;
+  }
+
+  /**
+   * Doubles the table and puts every state back into it.
+   */
+  private void rehash() {
+    int[] table = new int[this.table.length * 2];
+    int mask = table.length - 1;
+    for (int state = 0; state < this.size; state++) {
+      int slot = this.hashes[state] & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = state + 1;
+    }
+    this.table = table;
+  }
+
+  /**
+   * Determines whether the given state is the state held in the given array at the given offset.
+   *
+   * @param state  the number of the state
+   * @param key    the array holding the other state
+   * @param offset the offset of the other state in the array
+   * @return true if the states are the same, false otherwise
+   */
+  private boolean matches(int state, int[] key, int offset) {
+    int start = state * this.width;
+    for (int i = 0; i < this.width; i++) {
+      if (this.keys[start + i] != key[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Hashes the state held in the given array at the given offset, mixing the bits so that states
+   * of nearby values spread over the table.
+   *
+   * @param key    the array holding the state
+   * @param offset the offset of the state in the array
+   * @return the hash
+   */
+  private int hash(int[] key, int offset) {
+    int hash = 1;
+    for (int i = 0; i < this.width; i++) {
+      hash = 31 * hash + key[offset + i];
+    }
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,105 @@
+package model.analysis;
+
+import io.StoryNodes;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import model.game.Choice;
+import model.game.CompiledStory;
+import model.game.StoryGame;
+import model.game.decision.CompiledDecision;
+import model.game.decision.Decision;
+
+/**
+ * A story being analysed from where it is, with its choices and decisions by their ids in the
+ * story's nodes and every decision compiled ahead. It is never changed once made, so it can be
+ * shared by every thread analysing the story.
+ */
+final class StoryGraph {
+
+  final CompiledStory story;
+  final int start; // the id of the choice the story is at
+  final int[][] options; // the ids of the options of each choice, by choice id
+  final CompiledDecision[][] compiled; // the options of each choice, by choice id
+  final int[] choiceOf; // the id of the first choice offering each decision, or -1
+  final int numChoices;
+  final int numDecisions;
+  private final Map<Choice, Integer> choiceIds;
+
+  /**
+   * Indexes the given story by the ids of the given nodes.
+   *
+   * @param story the story
+   * @param nodes the nodes
+   * @throws IllegalArgumentException if the current choice of the story or an option of a choice
+   *                                  is not in the nodes
+   */
+  StoryGraph(StoryGame story, StoryNodes nodes) throws IllegalArgumentException {
+    this.story = new CompiledStory(story.getName(), story.getCurrentChoice(),
+        story.getStatuses());
+    List<Choice> choices = nodes.getChoices();
+    this.numChoices = choices.size();
+    this.numDecisions = nodes.getDecisions().size();
+    this.choiceIds = new IdentityHashMap<>();
+    this.options = new int[this.numChoices][];
+    this.compiled = new CompiledDecision[this.numChoices][];
+    this.choiceOf = new int[this.numDecisions];
+    Arrays.fill(this.choiceOf, -1);
+    for (int id = 0; id < this.numChoices; id++) {
+      Choice choice = choices.get(id);
+      this.choiceIds.put(choice, id);
+      List<Decision> decisions = choice.getOptions();
+      this.options[id] = new int[decisions.size()];
+      this.compiled[id] = new CompiledDecision[decisions.size()];
+      for (int o = 0; o < decisions.size(); o++) {
+        int decision = ensureNode(nodes.idOf(decisions.get(o)));
+        this.options[id][o] = decision;
+        this.compiled[id][o] = this.story.compile(decisions.get(o));
+        if (this.choiceOf[decision] == -1) {
+          this.choiceOf[decision] = id;
+        }
+      }
+    }
+    this.start = idOf(story.getCurrentChoice());
+  }
+
+  /**
+   * Gets the names of the statuses of the story by slot.
+   *
+   * @return the names
+   */
+  String[] getStatusNames() {
+    String[] names = new String[this.story.getStatusCount()];
+    for (int slot = 0; slot < names.length; slot++) {
+      names[slot] = this.story.getStatusName(slot);
+    }
+    return names;
+  }
+
+  /**
+   * Gets the id of the given choice.
+   *
+   * @param choice the choice
+   * @return the id of the choice
+   * @throws IllegalArgumentException if the choice is not in the nodes
+   */
+  int idOf(Choice choice) throws IllegalArgumentException {
+    Integer id = this.choiceIds.get(choice);
+    return ensureNode(id == null ? -1 : id);
+  }
+
+  /**
+   * Ensures the given id is the id of a node.
+   *
+   * @param id the id
+   * @return the id
+   * @throws IllegalArgumentException if the id is -1, for a node missing from the nodes
+   */
+  private static int ensureNode(int id) throws IllegalArgumentException {
+    if (id == -1) {
+      throw new IllegalArgumentException("Every choice and decision reached must be indexed");
+    }
+    return id;
+  }
+}
@@ -0,0 +1,368 @@
+package model.analysis;
+
+import io.StoryNodes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import model.game.Choice;
+import model.game.decision.Decision;
+import utils.Utils;
+
+/**
+ * Represents the structure of the graph of a story's choices, where each choice leads to every
+ * possible outcome of its options whatever the statuses are: which choices can loop back to
+ * themselves, which can't be reached from the initial choice, and which can't reach an end.
+ * Choices are identified by their ids in the story's nodes.
+ *
+ * <p>Choices that loop are found as the strongly connected components of the graph, with an
+ * iterative form of Tarjan's algorithm, so the analysis takes time linear in the size of the story
+ * and never runs out of stack however long its paths are.
+ */
+public final class StoryStructure {
+
+  private final int initialChoice;
+  private final int[] componentOf;
+  private final int numComponents;
+  private final List<List<Integer>> cycles;
+  private final boolean[] reachable;
+  private final boolean[] endable;
+  private final boolean[] ending;
+
+  /**
+   * Constructs a {@code StoryStructure} of the given findings, which it takes ownership of.
+   *
+   * @param initialChoice the id of the initial choice, or -1 if there is none
+   * @param componentOf   the strongly connected component of each choice
+   * @param numComponents the number of strongly connected components
+   * @param cycles        the components that can loop, each sorted, in order of their first choice
+   * @param reachable     whether each choice can be reached from the initial choice
+   * @param endable       whether each choice can reach an end
+   * @param ending        whether each choice has no options
+   */
+  private StoryStructure(int initialChoice, int[] componentOf, int numComponents,
+      List<List<Integer>> cycles, boolean[] reachable, boolean[] endable, boolean[] ending) {
+    this.initialChoice = initialChoice;
+    this.componentOf = componentOf;
+    this.numComponents = numComponents;
+    this.cycles = Collections.unmodifiableList(cycles);
+    this.reachable = reachable;
+    this.endable = endable;
+    this.ending = ending;
+  }
+
+  /**
+   * Analyses the structure of the story of the given nodes starting at the given choice.
+   *
+   * @param nodes         the indexed choices and decisions of the story
+   * @param initialChoice the id of the initial choice, or -1 if the story has none
+   * @return the structure of the story
+   * @throws IllegalArgumentException if the nodes are null, the initial choice is not a choice in
+   *                                  the nodes, or an outcome of a decision is not in the nodes
+   */
+  public static StoryStructure analyze(StoryNodes nodes, int initialChoice)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(nodes, "Nodes can't be null");
+    List<Choice> choices = nodes.getChoices();
+    int numChoices = choices.size();
+    if (initialChoice < -1 || initialChoice >= numChoices) {
+      throw new IllegalArgumentException("No choice " + initialChoice);
+    }
+
+    // the outcomes of each choice's options, grouped by choice
+    int[] starts = new int[numChoices + 1];
+    int[] targets = new int[numChoices];
+    boolean[] ending = new boolean[numChoices];
+    for (int id = 0; id < numChoices; id++) {
+      List<Decision> options = choices.get(id).getOptions();
+      ending[id] = options.isEmpty();
+      for (Decision decision : options) {
+        for (Choice outcome : decision.getPossibleOutcomes()) {
+          int target = nodes.idOf(outcome);
+          if (target == -1) {
+            throw new IllegalArgumentException("Every outcome must be indexed");
+          }
+          if (starts[id + 1] == targets.length) {
+            targets = Arrays.copyOf(targets, targets.length * 2 + 1);
+          }
+          targets[starts[id + 1]++] = target;
+        }
+      }
+      if (id + 2 <= numChoices) {
+        starts[id + 2] = starts[id + 1];
+      }
+    }
+
+    Components components = new Components(starts, targets, ending);
+    boolean[] reachable = new boolean[numChoices];
+    if (initialChoice != -1) {
+      int[] queue = new int[numChoices];
+      int tail = 0;
+      queue[tail++] = initialChoice;
+      reachable[initialChoice] = true;
+      for (int head = 0; head < tail; head++) {
+        int choice = queue[head];
+        for (int i = starts[choice]; i < starts[choice + 1]; i++) {
+          if (!reachable[targets[i]]) {
+            reachable[targets[i]] = true;
+            queue[tail++] = targets[i];
+          }
+        }
+      }
+    }
+
+    boolean[] endable = new boolean[numChoices];
+    for (int id = 0; id < numChoices; id++) {
+      endable[id] = components.endable[components.componentOf[id]];
+    }
+    return new StoryStructure(initialChoice, components.componentOf, components.count,
+        components.cycles(), reachable, endable, ending);
+  }
+
+  /**
+   * Gets the number of choices in the story.
+   *
+   * @return the number of choices
+   */
+  public int getChoiceCount() {
+    return this.componentOf.length;
+  }
+
+  /**
+   * Gets the id of the initial choice of the story.
+   *
+   * @return the id of the initial choice, or -1 if there is none
+   */
+  public int getInitialChoice() {
+    return this.initialChoice;
+  }
+
+  /**
+   * Gets the number of strongly connected components of the story, groups of choices that can
+   * each lead to every other. A choice that can't lead back to itself is a component of its own.
+   *
+   * @return the number of components
+   */
+  public int getComponentCount() {
+    return this.numComponents;
+  }
+
+  /**
+   * Gets the strongly connected component of the given choice. Components are numbered so that a
+   * choice only leads to choices of its own component or of lower numbered ones.
+   *
+   * @param choice the id of the choice
+   * @return the number of the component
+   * @throws IllegalArgumentException if there is no choice of the id
+   */
+  public int getComponentOf(int choice) throws IllegalArgumentException {
+    return this.componentOf[ensureChoice(choice)];
+  }
+
+  /**
+   * Gets the strongly connected components whose choices can loop back to themselves, which may
+   * keep a player going in circles. Each is sorted, and they are in order of their first choice.
+   *
+   * @return an unmodifiable list of the ids of the choices of each component that can loop
+   */
+  public List<List<Integer>> getCycles() {
+    return this.cycles;
+  }
+
+  /**
+   * Gets the ids of the choices without options, where the story ends, in order.
+   *
+   * @return the ids of the choices
+   */
+  public List<Integer> getEndings() {
+    return select(this.ending, true);
+  }
+
+  /**
+   * Gets the ids of the choices that can't be reached from the initial choice, in order. Every
+   * choice is unreachable if there is no initial choice.
+   *
+   * @return the ids of the choices
+   */
+  public List<Integer> getUnreachableChoices() {
+    return select(this.reachable, false);
+  }
+
+  /**
+   * Gets the ids of the choices from which no end can be reached, in order.
+   *
+   * @return the ids of the choices
+   */
+  public List<Integer> getChoicesWithoutEnding() {
+    return select(this.endable, false);
+  }
+
+  /**
+   * Gets the ids of the choices whose flag is the given value, in order.
+   *
+   * @param flags the flag of each choice
+   * @param value the value
+   * @return the ids of the choices
+   */
+  private static List<Integer> select(boolean[] flags, boolean value) {
+    List<Integer> choices = new ArrayList<>();
+    for (int i = 0; i < flags.length; i++) {
+      if (flags[i] == value) {
+        choices.add(i);
+      }
+    }
+    return choices;
+  }
+
+  /**
+   * Ensures the given id is the id of a choice.
+   *
+   * @param choice the id
+   * @return the id
+   * @throws IllegalArgumentException if there is no choice of the id
+   */
+  private int ensureChoice(int choice) throws IllegalArgumentException {
+    if (choice < 0 || choice >= this.componentOf.length) {
+      throw new IllegalArgumentException("No choice " + choice);
+    }
+    return choice;
+  }
+
+  /**
+   * The strongly connected components of a graph of choices, found with Tarjan's algorithm using
+   * explicit stacks rather than recursion. A component is completed only after every component it
+   * leads to, so whether it can reach an end is known as soon as it is completed.
+   */
+  private static class Components {
+
+    private final int[] starts;
+    private final int[] targets;
+    private final int[] componentOf;
+    private final boolean[] loops; // whether each component can loop, by component
+    private final boolean[] endable; // whether each component can reach an end, by component
+    private int count;
+
+    /**
+     * Finds the components of the graph of the given edges.
+     *
+     * @param starts  the index of the first edge of each choice, followed by the number of edges
+     * @param targets the choice each edge leads to
+     * @param ending  whether each choice has no options
+     */
+    private Components(int[] starts, int[] targets, boolean[] ending) {
+      int numChoices = starts.length - 1;
+      this.starts = starts;
+      this.targets = targets;
+      this.componentOf = new int[numChoices];
+      this.loops = new boolean[numChoices];
+      this.endable = new boolean[numChoices];
+
+      int[] index = new int[numChoices];
+      Arrays.fill(index, -1);
+      int[] low = new int[numChoices];
+      int[] nextEdge = new int[numChoices];
+      boolean[] onStack = new boolean[numChoices];
+      int[] stack = new int[numChoices]; // choices of components not yet completed
+      int[] path = new int[numChoices]; // choices being visited, each led to by the one before
+      int stackSize = 0;
+      int visited = 0;
+
+      for (int root = 0; root < numChoices; root++) {
+        if (index[root] != -1) {
+          continue;
+        }
+        int depth = 0;
+        path[depth++] = root;
+        index[root] = low[root] = visited++;
+        nextEdge[root] = starts[root];
+        stack[stackSize++] = root;
+        onStack[root] = true;
+
+        while (depth > 0) {
+          int choice = path[depth - 1];
+          if (nextEdge[choice] < starts[choice + 1]) {
+            int target = targets[nextEdge[choice]++];
+            if (index[target] == -1) {
+              path[depth++] = target;
+              index[target] = low[target] = visited++;
+              nextEdge[target] = starts[target];
+              stack[stackSize++] = target;
+              onStack[target] = true;
+            } else if (onStack[target]) {
+              low[choice] = Math.min(low[choice], index[target]);
+            }
+            continue;
+          }
+
+          depth--;
+          if (depth > 0) {
+            int parent = path[depth - 1];
+            low[parent] = Math.min(low[parent], low[choice]);
+          }
+          if (low[choice] == index[choice]) {
+            int first = stackSize;
+            do {
+              first--;
+              onStack[stack[first]] = false;
+              this.componentOf[stack[first]] = this.count;
+            } while (stack[first] != choice);
+            complete(stack, first, stackSize, ending);
+            stackSize = first;
+          }
+        }
+      }
+    }
+
+    /**
+     * Completes the newest component, made of the given choices, finding whether it loops and
+     * whether it can reach an end.
+     *
+     * @param stack  the stack holding the choices
+     * @param from   the index of the first choice in the stack, inclusive
+     * @param to     the index of the last choice in the stack, exclusive
+     * @param ending whether each choice has no options
+     */
+    private void complete(int[] stack, int from, int to, boolean[] ending) {
+      int component = this.count++;
+      this.loops[component] = to - from > 1;
+      for (int i = from; i < to; i++) {
+        int choice = stack[i];
+        if (ending[choice]) {
+          this.endable[component] = true;
+        }
+        for (int e = this.starts[choice]; e < this.starts[choice + 1]; e++) {
+          int target = this.componentOf[this.targets[e]];
+          if (target == component) {
+            this.loops[component] = true;
+          } else if (this.endable[target]) {
+            this.endable[component] = true;
+          }
+        }
+      }
+    }
+
+    /**
+     * Gets the components that can loop, each sorted, in order of their first choice.
+     *
+     * @return the ids of the choices of each component that can loop
+     */
+    private List<List<Integer>> cycles() {
+      List<List<Integer>> byComponent = new ArrayList<>(Collections.nCopies(this.count, null));
+      List<List<Integer>> cycles = new ArrayList<>();
+      for (int choice = 0; choice < this.componentOf.length; choice++) {
+        int component = this.componentOf[choice];
+        if (this.loops[component]) {
+          if (byComponent.get(component) == null) {
+            byComponent.set(component, new ArrayList<>());
+            cycles.add(byComponent.get(component));
+          }
+          byComponent.get(component).add(choice);
+        }
+      }
+      for (int i = 0; i < cycles.size(); i++) {
+        cycles.set(i, Collections.unmodifiableList(cycles.get(i)));
+      }
+      return cycles;
+    }
+  }
+}
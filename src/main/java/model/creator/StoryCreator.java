@@ -1,6 +1,7 @@
 package model.creator;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * An interface for a model of a story creator application that allows users to easily create a
@@ -147,4 +148,30 @@ public interface StoryCreator<K> extends StoryCreatorState {
    *                                  the story
    */
   void removeChoice(int choiceIdx) throws IllegalArgumentException;
+
+  /**
+   * Applies the given edits in order, all or nothing: if any edit fails, none of them are applied.
+   * Edits refer to choices by index, starting at 0, or by the label a choice added earlier in the
+   * batch was given.
+   *
+   * @param edits the edits, in the order to apply them
+   * @return the index of each choice labelled by the edits, once every edit is applied
+   * @throws IllegalArgumentException if the list or any edit is null, or any edit fails
+   */
+  Map<String, Integer> edit(List<StoryEdit> edits) throws IllegalArgumentException;
+
+  /**
+   * Undoes the most recent edit that has not been undone. A batch of edits is undone as one.
+   *
+   * @throws IllegalStateException if there is no edit to undo
+   */
+  void undo() throws IllegalStateException;
+
+  /**
+   * Redoes the most recently undone edit. Making any other edit means undone edits can no longer
+   * be redone.
+   *
+   * @throws IllegalStateException if there is no edit to redo
+   */
+  void redo() throws IllegalStateException;
 }
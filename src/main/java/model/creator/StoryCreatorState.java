@@ -1,7 +1,9 @@
 package model.creator;
 
+import io.StoryNodes;
 import java.util.List;
 import java.util.Map;
+import model.analysis.StoryStructure;
 import model.game.Choice;
 import model.game.decision.Decision;
 
@@ -43,4 +45,45 @@ public interface StoryCreatorState {
    * @return the list of decisions (a shallow copy)
    */
   List<Decision> getDecisions();
+
+  /**
+   * Gets the choices and decisions of the story indexed in the order of {@link
+   * StoryCreatorState#getChoices()} and {@link StoryCreatorState#getDecisions()}. The index is
+   * memoized until a choice or decision is added or removed.
+   *
+   * @return the indexed choices and decisions
+   */
+  StoryNodes getNodes();
+
+  /**
+   * Gets the structure of the story's choices from its initial choice: which choices can loop,
+   * which can't be reached and which can't reach an end. The structure is memoized until a choice
+   * or decision is added or removed, or the initial choice changes.
+   *
+   * @return the structure of the story
+   */
+  StoryStructure getStructure();
+
+  /**
+   * Gets the version of the story, which changes every time the story does. Versions only ever
+   * increase, and no two versions of any stories are the same, so a story with the version it had
+   * before is unchanged.
+   *
+   * @return the version
+   */
+  long getVersion();
+
+  /**
+   * Checks if there is an edit to undo.
+   *
+   * @return true if an edit can be undone, false if otherwise
+   */
+  boolean canUndo();
+
+  /**
+   * Checks if there is an undone edit to redo.
+   *
+   * @return true if an edit can be redone, false if otherwise
+   */
+  boolean canRedo();
 }
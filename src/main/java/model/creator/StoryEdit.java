@@ -0,0 +1,482 @@
+package model.creator;
+
+import io.StoryNodes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import model.game.Choice;
+import model.game.decision.Decision;
+import model.game.decision.DecisionVisitor;
+import model.game.decision.OutcomeDeterminer;
+import model.game.decision.OutcomeDeterminerVisitor;
+import model.game.statusUpdate.StatusUpdate;
+import utils.Utils;
+
+/**
+ * Represents one edit to a story made with a {@link StoryCreator}, such as adding a choice or
+ * removing a decision, so that many edits can be sent and applied together.
+ *
+ * <p>Edits refer to choices by reference: either the index of a choice, starting at 0, or the label
+ * given to a choice added by an earlier edit of the same batch. Labels let a batch build a story
+ * without knowing the indexes its new choices will have.
+ */
+public final class StoryEdit {
+
+  /**
+   * An enumeration of the kinds of edits, each doing what the {@link StoryCreator} method of the
+   * same name does.
+   */
+  public enum Type {
+    SET_STORY_NAME, ADD_STATUS, REMOVE_STATUS, ADD_CHOICE, SET_INITIAL_CHOICE,
+    ADD_SIMPLE_DECISION, ADD_CONSEQUENTIAL_DECISION, ADD_SIMPLE_THRESHOLD_DECISION,
+    ADD_CONSEQUENTIAL_THRESHOLD_DECISION, REMOVE_DECISION, REMOVE_CHOICE
+  }
+
+  private final Type type;
+  private final String name;
+  private final int value;
+  private final String description;
+  private final String choice;
+  private final String outcome;
+  private final String outcomeMeets;
+  private final List<String> consequences;
+
+  /**
+   * Constructs a {@code StoryEdit} of the given parts, of which only those its type uses are set.
+   *
+   * @param type         the type of edit
+   * @param name         the name of the story or status, the status a decision depends on, or the
+   *                     label of a new choice
+   * @param value        the value of a status, the threshold of a decision, or the index of a
+   *                     decision
+   * @param description  the description of a decision
+   * @param choice       the reference of the choice edited
+   * @param outcome      the reference of the outcome of a decision, or its outcome below its
+   *                     threshold
+   * @param outcomeMeets the reference of the outcome of a decision that meets its threshold
+   * @param consequences the status updates of a decision, as they are exported
+   */
+  private StoryEdit(Type type, String name, int value, String description, String choice,
+      String outcome, String outcomeMeets, List<String> consequences) {
+    this.type = type;
+    this.name = name;
+    this.value = value;
+    this.description = description;
+    this.choice = choice;
+    this.outcome = outcome;
+    this.outcomeMeets = outcomeMeets;
+    this.consequences = consequences == null ? null
+        : Collections.unmodifiableList(new ArrayList<>(consequences));
+  }
+
+  /**
+   * Creates an edit that sets the name of the story.
+   *
+   * @param name the name
+   * @return the edit
+   */
+  public static StoryEdit setStoryName(String name) {
+    return new StoryEdit(Type.SET_STORY_NAME, name, 0, null, null, null, null, null);
+  }
+
+  /**
+   * Creates an edit that adds a status, or sets its initial value if it exists.
+   *
+   * @param name  the name of the status
+   * @param value the initial value of the status
+   * @return the edit
+   */
+  public static StoryEdit addStatus(String name, int value) {
+    return new StoryEdit(Type.ADD_STATUS, name, value, null, null, null, null, null);
+  }
+
+  /**
+   * Creates an edit that removes a status.
+   *
+   * @param name the name of the status
+   * @return the edit
+   */
+  public static StoryEdit removeStatus(String name) {
+    return new StoryEdit(Type.REMOVE_STATUS, name, 0, null, null, null, null, null);
+  }
+
+  /**
+   * Creates an edit that adds a choice, which later edits of the batch may refer to by the given
+   * label.
+   *
+   * @param label the label of the choice, which must not be a number, or null for none
+   * @return the edit
+   */
+  public static StoryEdit addChoice(String label) {
+    return new StoryEdit(Type.ADD_CHOICE, label, 0, null, null, null, null, null);
+  }
+
+  /**
+   * Creates an edit that sets the initial choice of the story.
+   *
+   * @param choice the reference of the choice
+   * @return the edit
+   */
+  public static StoryEdit setInitialChoice(String choice) {
+    return new StoryEdit(Type.SET_INITIAL_CHOICE, null, 0, null, choice, null, null, null);
+  }
+
+  /**
+   * Creates an edit that adds a simple decision as an option of a choice.
+   *
+   * @param description the description of the decision
+   * @param choice      the reference of the choice
+   * @param outcome     the reference of the outcome of the decision
+   * @return the edit
+   */
+  public static StoryEdit addSimpleDecision(String description, String choice, String outcome) {
+    return new StoryEdit(Type.ADD_SIMPLE_DECISION, null, 0, description, choice, outcome, null,
+        null);
+  }
+
+  /**
+   * Creates an edit that adds a decision with the given consequences as an option of a choice.
+   *
+   * @param description  the description of the decision
+   * @param choice       the reference of the choice
+   * @param outcome      the reference of the outcome of the decision
+   * @param consequences the status updates of the decision, as they are exported
+   * @return the edit
+   */
+  public static StoryEdit addConsequentialDecision(String description, String choice,
+      String outcome, List<String> consequences) {
+    return new StoryEdit(Type.ADD_CONSEQUENTIAL_DECISION, null, 0, description, choice, outcome,
+        null, consequences);
+  }
+
+  /**
+   * Creates an edit that adds a simple dependent decision as an option of a choice.
+   *
+   * @param description  the description of the decision
+   * @param choice       the reference of the choice
+   * @param dependency   the status the decision depends on
+   * @param threshold    the threshold of the status
+   * @param outcomeBelow the reference of the outcome if the status is below the threshold
+   * @param outcomeMeets the reference of the outcome if the status meets the threshold
+   * @return the edit
+   */
+  public static StoryEdit addSimpleThresholdDecision(String description, String choice,
+      String dependency, int threshold, String outcomeBelow, String outcomeMeets) {
+    return new StoryEdit(Type.ADD_SIMPLE_THRESHOLD_DECISION, dependency, threshold, description,
+        choice, outcomeBelow, outcomeMeets, null);
+  }
+
+  /**
+   * Creates an edit that adds a dependent decision with the given consequences as an option of a
+   * choice.
+   *
+   * @param description  the description of the decision
+   * @param choice       the reference of the choice
+   * @param dependency   the status the decision depends on
+   * @param threshold    the threshold of the status
+   * @param outcomeBelow the reference of the outcome if the status is below the threshold
+   * @param outcomeMeets the reference of the outcome if the status meets the threshold
+   * @param consequences the status updates of the decision, as they are exported
+   * @return the edit
+   */
+  public static StoryEdit addConsequentialThresholdDecision(String description, String choice,
+      String dependency, int threshold, String outcomeBelow, String outcomeMeets,
+      List<String> consequences) {
+    return new StoryEdit(Type.ADD_CONSEQUENTIAL_THRESHOLD_DECISION, dependency, threshold,
+        description, choice, outcomeBelow, outcomeMeets, consequences);
+  }
+
+  /**
+   * Creates an edit that removes a decision from the options of a choice.
+   *
+   * @param choice   the reference of the choice
+   * @param decision the index of the decision in the options of the choice, starting at 0
+   * @return the edit
+   */
+  public static StoryEdit removeDecision(String choice, int decision) {
+    return new StoryEdit(Type.REMOVE_DECISION, null, decision, null, choice, null, null, null);
+  }
+
+  /**
+   * Creates an edit that removes a choice.
+   *
+   * @param choice the reference of the choice
+   * @return the edit
+   */
+  public static StoryEdit removeChoice(String choice) {
+    return new StoryEdit(Type.REMOVE_CHOICE, null, 0, null, choice, null, null, null);
+  }
+
+  /**
+   * Creates the edits that make a new creator's story the same as the given one: the same name and
+   * statuses, the same choices at the same indexes, the same options in the same order, and the
+   * same initial choice. A decision that is an option of more than one choice, which only an
+   * imported story may have, is recreated as a separate decision for each. Decisions are added in
+   * the order of the story's nodes, except that each choice's options before a decision are added
+   * before it, so the story's decisions stay in the same order wherever that keeps the options of
+   * each choice in theirs.
+   *
+   * @param story the story
+   * @return the edits, in the order to apply them
+   * @throws IllegalArgumentException if the story is null
+   */
+  public static List<StoryEdit> recreate(StoryCreatorState story) throws IllegalArgumentException {
+    Utils.ensureNotNull(story, "Story can't be null");
+    StoryNodes nodes = story.getNodes();
+    List<StoryEdit> edits = new ArrayList<>();
+    edits.add(setStoryName(story.getStoryName()));
+    for (Entry<String, Integer> status : story.getStatuses().entrySet()) {
+      edits.add(addStatus(status.getKey(), status.getValue()));
+    }
+    List<Choice> choices = nodes.getChoices();
+    // the choice and index of every option each decision is
+    Map<Decision, List<int[]>> owners = new IdentityHashMap<>();
+    for (int i = 0; i < choices.size(); i++) {
+      edits.add(addChoice(null));
+      List<Decision> options = choices.get(i).getOptions();
+      for (int j = 0; j < options.size(); j++) {
+        owners.computeIfAbsent(options.get(j), d -> new ArrayList<>(1)).add(new int[] {i, j});
+      }
+    }
+    int[] added = new int[choices.size()]; // the number of options of each choice added
+    for (Decision decision : nodes.getDecisions()) {
+      for (int[] option : owners.getOrDefault(decision, Collections.emptyList())) {
+        addOptions(edits, choices, nodes, added, option[0], option[1] + 1);
+      }
+    }
+    for (int i = 0; i < choices.size(); i++) {
+      addOptions(edits, choices, nodes, added, i, choices.get(i).getOptions().size());
+    }
+    if (story.getInitialChoice() != -1) {
+      edits.add(setInitialChoice(Integer.toString(story.getInitialChoice())));
+    }
+    return edits;
+  }
+
+  public Type getType() {
+    return this.type;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public int getValue() {
+    return this.value;
+  }
+
+  public String getDescription() {
+    return this.description;
+  }
+
+  public String getChoice() {
+    return this.choice;
+  }
+
+  public String getOutcome() {
+    return this.outcome;
+  }
+
+  public String getOutcomeMeets() {
+    return this.outcomeMeets;
+  }
+
+  public List<String> getConsequences() {
+    return this.consequences;
+  }
+
+  /**
+   * Applies this edit to the given creator, resolving the references of choices with the given
+   * labels, and keeps the labels up to date with the choices added and removed.
+   *
+   * @param creator the creator
+   * @param labels  the index of each labelled choice
+   * @throws IllegalArgumentException if the edit is invalid, a reference names no choice, or the
+   *                                  label of a new choice is a number or already taken
+   */
+  void applyTo(StoryCreator<?> creator, Map<String, Integer> labels)
+      throws IllegalArgumentException {
+    switch (this.type) {
+      case SET_STORY_NAME:
+        creator.setStoryName(this.name);
+        break;
+      case ADD_STATUS:
+        creator.addStatus(this.name, this.value);
+        break;
+      case REMOVE_STATUS:
+        creator.removeStatus(this.name);
+        break;
+      case ADD_CHOICE:
+        if (this.name != null && labels.containsKey(this.name)) {
+          throw new IllegalArgumentException("Label " + this.name + " is already taken");
+        } else if (this.name != null && Utils.isStringNumber(this.name)) {
+          throw new IllegalArgumentException("Label " + this.name + " can't be a number");
+        }
+        int added = creator.addChoice();
+        if (this.name != null) {
+          labels.put(this.name, added);
+        }
+        break;
+      case SET_INITIAL_CHOICE:
+        creator.setInitialChoice(resolve(this.choice, labels));
+        break;
+      case ADD_SIMPLE_DECISION:
+        creator.addSimpleDecision(this.description, resolve(this.choice, labels),
+            resolve(this.outcome, labels));
+        break;
+      case ADD_CONSEQUENTIAL_DECISION:
+        creator.addConsequentialDecision(this.description, resolve(this.choice, labels),
+            resolve(this.outcome, labels), this.consequences);
+        break;
+      case ADD_SIMPLE_THRESHOLD_DECISION:
+        creator.addSimpleDependentThresholdDecision(this.description,
+            resolve(this.choice, labels), this.name, this.value, resolve(this.outcome, labels),
+            resolve(this.outcomeMeets, labels));
+        break;
+      case ADD_CONSEQUENTIAL_THRESHOLD_DECISION:
+        creator.addConsequentialThresholdDecision(this.description,
+            resolve(this.choice, labels), this.name, this.value, resolve(this.outcome, labels),
+            resolve(this.outcomeMeets, labels), this.consequences);
+        break;
+      case REMOVE_DECISION:
+        creator.removeDecision(resolve(this.choice, labels), this.value);
+        break;
+      case REMOVE_CHOICE:
+        int removed = resolve(this.choice, labels);
+        creator.removeChoice(removed);
+        // the choices after the removed one move down
+        Iterator<Entry<String, Integer>> entries = labels.entrySet().iterator();
+        while (entries.hasNext()) {
+          Entry<String, Integer> entry = entries.next();
+          if (entry.getValue() == removed) {
+            entries.remove();
+          } else if (entry.getValue() > removed) {
+            entry.setValue(entry.getValue() - 1);
+          }
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown edit " + this.type);
+    }
+  }
+
+  /**
+   * Resolves the given reference of a choice to the index of the choice.
+   *
+   * @param reference the label of a choice, or its index
+   * @param labels    the index of each labelled choice
+   * @return the index of the choice, which may not exist
+   * @throws IllegalArgumentException if the reference is null, or neither a label nor a number
+   */
+  private static int resolve(String reference, Map<String, Integer> labels)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(reference, "Choice reference can't be null");
+    Integer labelled = labels.get(reference);
+    if (labelled != null) {
+      return labelled;
+    } else if (!Utils.isStringNumber(reference)) {
+      throw new IllegalArgumentException("No choice labelled " + reference);
+    }
+    return Integer.parseInt(reference);
+  }
+
+  /**
+   * Adds the edits that add the options of the given choice, in order, until the given number of
+   * them have been added.
+   *
+   * @param edits   the edits to add to
+   * @param choices the choices of the story
+   * @param nodes   the nodes of the story
+   * @param added   the number of options of each choice added so far, which is updated
+   * @param choice  the index of the choice
+   * @param until   the number of its options to have added
+   */
+  private static void addOptions(List<StoryEdit> edits, List<Choice> choices, StoryNodes nodes,
+      int[] added, int choice, int until) {
+    List<Decision> options = choices.get(choice).getOptions();
+    for (; added[choice] < until; added[choice]++) {
+      edits.add(options.get(added[choice]).accept(
+          new Recreator(Integer.toString(choice), nodes)));
+    }
+  }
+
+  /**
+   * Creates the edit that adds a decision as an option of a choice, referring to its outcomes by
+   * their ids in the story's nodes.
+   */
+  private static class Recreator implements DecisionVisitor<StoryEdit> {
+
+    private final String choice;
+    private final StoryNodes nodes;
+
+    /**
+     * Constructs a {@code Recreator} for a decision that is an option of the given choice.
+     *
+     * @param choice the reference of the choice
+     * @param nodes  the nodes of the story, whose choice ids are the indexes of the choices
+     */
+    private Recreator(String choice, StoryNodes nodes) {
+      this.choice = choice;
+      this.nodes = nodes;
+    }
+
+    @Override
+    public StoryEdit visitSimple(String description, Choice outcome) {
+      return addSimpleDecision(description, this.choice, idOf(outcome));
+    }
+
+    @Override
+    public StoryEdit visitConsequential(String description, Choice outcome,
+        Map<String, StatusUpdate> statusUpdates) {
+      return addConsequentialDecision(description, this.choice, idOf(outcome),
+          consequences(statusUpdates));
+    }
+
+    @Override
+    public StoryEdit visitDependent(Decision delegate, OutcomeDeterminer determiner) {
+      // the delegate holds the description and any consequences
+      StoryEdit described = delegate.accept(this);
+      return determiner.accept(new OutcomeDeterminerVisitor<StoryEdit>() {
+        @Override
+        public StoryEdit visitTwoThreshold(String dependency, int threshold, Choice below,
+            Choice meets) {
+          if (described.getConsequences() == null) {
+            return addSimpleThresholdDecision(described.getDescription(), choice, dependency,
+                threshold, idOf(below), idOf(meets));
+          } else {
+            return addConsequentialThresholdDecision(described.getDescription(), choice,
+                dependency, threshold, idOf(below), idOf(meets), described.getConsequences());
+          }
+        }
+      });
+    }
+
+    /**
+     * Gets the reference of the given choice.
+     *
+     * @param choice the choice
+     * @return its index, as a reference
+     */
+    private String idOf(Choice choice) {
+      return Integer.toString(this.nodes.idOf(choice));
+    }
+
+    /**
+     * Writes the given status updates as consequences, as they are exported.
+     *
+     * @param statusUpdates the status updates by the name of the status each updates
+     * @return the consequences
+     */
+    private static List<String> consequences(Map<String, StatusUpdate> statusUpdates) {
+      List<String> consequences = new ArrayList<>();
+      for (Entry<String, StatusUpdate> update : statusUpdates.entrySet()) {
+        consequences.add(update.getValue().export() + " \"" + update.getKey() + "\"");
+      }
+      return consequences;
+    }
+  }
+}
@@ -1,16 +1,26 @@
 package model.creator;
 
 import io.StoryNodes;
+import io.StoryNodesCache;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Scanner;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import model.analysis.StoryStructure;
 import model.game.Choice;
+import model.game.CompiledStory;
 import model.game.SimpleChoice;
 import model.game.SimpleStoryGame;
 import model.game.StoryGame;
+import model.game.StructureVersion;
 import model.game.decision.ConsequentialDecision;
 import model.game.decision.Decision;
 import model.game.decision.DependentDecision;
@@ -18,21 +28,49 @@ import model.game.decision.SimpleDecision;
 import model.game.decision.TwoThresholdDeterminer;
 import model.game.statusUpdate.StatusUpdate;
 import model.game.statusUpdate.StatusUpdateCreator;
-import utils.IOUtils;
+import utils.TextTokenReader;
+import utils.TokenReader;
 import utils.Utils;
 
 /**
  * A class that allows users to easily create {@link StoryGame}s.
+ *
+ * <p>Edits made in a batch are applied all or nothing: while a batch is applied, each change
+ * records how to undo itself, and if an edit fails the recorded changes are undone newest first,
+ * leaving the story exactly as it was, version included.
+ *
+ * <p>Every change also records how to make itself again, so the creator keeps a bounded history of
+ * edits, a batch counting as one, that can be undone and redone. The history holds the changes
+ * themselves, not copies of the story, so undoing or redoing an edit costs as much as the edit.
  */
 public class StoryGameCreator implements StoryCreator<StoryGame> {
 
+  // the number of edits a creator can undo unless told otherwise
+  public static final int DEFAULT_HISTORY_DEPTH = 100;
+  // the last version given to any creator's story
+  private static final AtomicLong VERSIONS = new AtomicLong();
+
   private String storyName;
   private final Map<String, Integer> statuses;
   private final List<Choice> choices;
   private int firstChoice;
-  private final List<Decision> decisions;
+  private final TreeMap<Long, Decision> decisions; // by the order they were added
+  private final Map<Decision, Long> decisionKeys; // the key of each decision in the order
+  private long nextDecisionKey;
   private final Map<Decision, List<String>> dependencies;
   private final Map<Choice, List<Decision>> options;
+  private final Map<Choice, List<Decision>> incoming; // once for each outcome a decision has
+  private final Map<Decision, Integer> optionCounts; // the number of choices offering each
+  private final Map<String, Integer> statusUses; // the number of dependencies on each status
+  private final StructureVersion structureVersion; // shared with the stories created from this
+  private final StoryNodesCache nodes;
+  private StoryStructure structure; // null until first requested
+  private StoryNodes structureNodes; // the nodes the structure was analysed from
+  private long version;
+  private List<Change> batch; // the changes of the batch being applied, or null
+  private final Deque<List<Change>> undos; // the edits that can be undone, newest first
+  private final Deque<List<Change>> redos; // the edits that can be redone, newest undone first
+  private int historyDepth;
 
   /**
    * Constructs a {@code StoryGameCreator} that creates a story of the given name.
@@ -47,9 +85,21 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
     this.statuses = new HashMap<>();
     this.choices = new ArrayList<>();
     this.firstChoice = -1;
-    this.decisions = new ArrayList<>();
+    this.decisions = new TreeMap<>();
+    this.decisionKeys = new HashMap<>();
     this.dependencies = new HashMap<>();
     this.options = new HashMap<>();
+    this.incoming = new HashMap<>();
+    this.optionCounts = new HashMap<>();
+    this.statusUses = new HashMap<>();
+    this.structureVersion = new StructureVersion();
+    this.nodes = new StoryNodesCache(
+        () -> StoryNodes.of(this.choices, new ArrayList<>(this.decisions.values())),
+        this.structureVersion);
+    this.undos = new ArrayDeque<>();
+    this.redos = new ArrayDeque<>();
+    this.historyDepth = DEFAULT_HISTORY_DEPTH;
+    changed();
   }
 
   /**
@@ -61,24 +111,41 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
   public StoryGameCreator(StoryGame story) throws IllegalArgumentException {
     Utils.ensureNotNull(story, "Story can't be null");
     StoryNodes nodes = StoryNodes.createNodes(story);
-    List<Choice> choices = nodes.getChoices();
-    List<Decision> decisions = nodes.getDecisions();
     this.storyName = story.getName();
-    this.statuses = story.getStatuses();
-    this.choices = choices;
-    this.firstChoice = choices.indexOf(story.getCurrentChoice());
-    this.decisions = decisions;
-    Map<Decision, List<String>> dependencies = new HashMap<>();
-    for (Decision decision : decisions) {
-      dependencies.put(decision, decision.getDependencies());
+    this.statuses = new HashMap<>();
+    for (Entry<String, Integer> status : story.getStatuses().entrySet()) {
+      this.statuses.put(status.getKey(), status.getValue());
+    }
+    this.choices = new ArrayList<>(nodes.getChoices());
+    this.firstChoice = nodes.idOf(story.getCurrentChoice());
+    this.decisions = new TreeMap<>();
+    this.decisionKeys = new HashMap<>();
+    this.dependencies = new HashMap<>();
+    this.incoming = new HashMap<>();
+    this.statusUses = new HashMap<>();
+    for (Decision decision : nodes.getDecisions()) {
+      index(decision, decision.getDependencies(), this.nextDecisionKey++);
     }
-    this.dependencies = dependencies;
 
-    Map<Choice, List<Decision>> options = new HashMap<>();
-    for (Choice choice : choices) {
-      options.put(choice, choice.getOptions());
+    this.options = new HashMap<>();
+    this.optionCounts = new HashMap<>();
+    for (Choice choice : this.choices) {
+      this.options.put(choice, choice.getOptions());
+      for (Decision decision : choice.getOptions()) {
+        this.optionCounts.merge(decision, 1, Integer::sum);
+      }
     }
-    this.options = options;
+    // the creator edits the given story's graph, so any story sharing it sees the edits
+    this.structureVersion = story instanceof SimpleStoryGame
+        ? ((SimpleStoryGame) story).getPlayState().getStory().getStructureVersion()
+        : new StructureVersion();
+    this.nodes = new StoryNodesCache(
+        () -> StoryNodes.of(this.choices, new ArrayList<>(this.decisions.values())),
+        this.structureVersion);
+    this.undos = new ArrayDeque<>();
+    this.redos = new ArrayDeque<>();
+    this.historyDepth = DEFAULT_HISTORY_DEPTH;
+    changed();
   }
 
   @Override
@@ -93,24 +160,32 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
       throw new IllegalArgumentException("Name can't be empty");
     }
 
-    this.storyName = name;
+    String old = this.storyName;
+    apply(() -> this.storyName = name, () -> this.storyName = old);
+    changed();
   }
 
   @Override
   public void addStatus(String name, int val) throws IllegalArgumentException {
     Utils.ensureNotNull(name, "Status name can't be null");
-    if (this.statuses.containsKey(name)) {
-      this.statuses.replace(name, val);
-    } else {
-      this.statuses.put(name, val);
-    }
+    Integer old = this.statuses.get(name);
+    apply(() -> this.statuses.put(name, val), () -> {
+      if (old == null) {
+        this.statuses.remove(name);
+      } else {
+        this.statuses.put(name, old);
+      }
+    });
+    changed();
   }
 
   @Override
   public void removeStatus(String name) throws IllegalArgumentException {
     Utils.ensureNotNull(name, "Status name can't be null");
-    if (this.statuses.containsKey(name) && !isUsedStatus(name)) {
-      statuses.remove(name);
+    if (this.statuses.containsKey(name) && !this.statusUses.containsKey(name)) {
+      int old = this.statuses.get(name);
+      apply(() -> this.statuses.remove(name), () -> this.statuses.put(name, old));
+      changed();
     } else if (this.statuses.containsKey(name)) {
       throw new IllegalArgumentException(
           "At least one decision references this status.");
@@ -123,15 +198,24 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
   public int addChoice() {
     List<Decision> options = new ArrayList<>();
     Choice choice = new SimpleChoice(options);
-    this.choices.add(choice);
-    this.options.put(choice, options);
+    apply(() -> {
+      this.choices.add(choice);
+      this.options.put(choice, options);
+    }, () -> {
+      this.choices.remove(this.choices.size() - 1);
+      this.options.remove(choice);
+    });
+    this.structureVersion.changed();
+    changed();
     return this.choices.size() - 1;
   }
 
   @Override
   public void setInitialChoice(int idx) throws IllegalArgumentException {
     ensureChoiceExists(idx);
-    this.firstChoice = idx;
+    int old = this.firstChoice;
+    apply(() -> this.firstChoice = idx, () -> this.firstChoice = old);
+    changed();
   }
 
   @Override
@@ -139,7 +223,8 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
       throws IllegalArgumentException {
     Utils.ensureNotNull(description, "Description can't be null");
     Choice outcome = ensureChoiceExists(outcomeIdx);
-    addDecision(new SimpleDecision(description, outcome), choiceIdx);
+    addDecision(new SimpleDecision(description, outcome), choiceIdx,
+        Collections.emptyList());
   }
 
   @Override
@@ -149,11 +234,11 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
     Choice outcome = ensureChoiceExists(outcomeIdx);
     Map<String, StatusUpdate> statusUpdates = getUpdates(consequences);
     if (statusUpdates.size() == 0) {
-      addDecision(new SimpleDecision(description, outcome), choiceIdx);
+      addDecision(new SimpleDecision(description, outcome), choiceIdx,
+          Collections.emptyList());
     } else {
       Decision decision = new ConsequentialDecision(description, outcome, statusUpdates);
-      addDecision(decision, choiceIdx);
-      this.dependencies.get(decision).addAll(statusUpdates.keySet());
+      addDecision(decision, choiceIdx, statusUpdates.keySet());
     }
   }
 
@@ -166,8 +251,7 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
     Choice meets = ensureChoiceExists(outcomeMeetsIdx);
     Decision decision = new DependentDecision(description,
         new TwoThresholdDeterminer(dependency, threshold, below, meets));
-    addDecision(decision, choiceIdx);
-    this.dependencies.get(decision).add(dependency);
+    addDecision(decision, choiceIdx, Collections.singletonList(dependency));
   }
 
   @Override
@@ -180,13 +264,15 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
     Map<String, StatusUpdate> statusUpdates = getUpdates(consequences);
     if (statusUpdates.size() == 0) {
       addDecision(new DependentDecision(description,
-          new TwoThresholdDeterminer(dependency, threshold, below, meets)), choiceIdx);
+          new TwoThresholdDeterminer(dependency, threshold, below, meets)), choiceIdx,
+          Collections.singletonList(dependency));
     } else {
       Decision decision = new DependentDecision(description, statusUpdates,
           new TwoThresholdDeterminer(dependency, threshold, below, meets));
-      addDecision(decision, choiceIdx);
-      this.dependencies.get(decision).add(dependency);
-      this.dependencies.get(decision).addAll(statusUpdates.keySet());
+      List<String> dependencies = new ArrayList<>();
+      dependencies.add(dependency);
+      dependencies.addAll(statusUpdates.keySet());
+      addDecision(decision, choiceIdx, dependencies);
     }
   }
 
@@ -194,11 +280,25 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
   public void removeDecision(int choiceIdx, int decisionIdx) throws IllegalArgumentException {
     Choice choice = ensureChoiceExists(choiceIdx);
     if (decisionIdx >= 0 && decisionIdx < choice.getOptions().size()) {
-      Decision decision = choice.getOptions().remove(decisionIdx);
-      if (!isAnOption(decision)) { // sanity check but no decision should be used twice
-        this.decisions.remove(decision);
-        this.dependencies.remove(decision);
-      }
+      List<Decision> options = choice.getOptions();
+      Decision decision = options.get(decisionIdx);
+      long key = this.decisionKeys.get(decision);
+      List<String> dependencies = this.dependencies.get(decision);
+      apply(() -> {
+        options.remove(decisionIdx);
+        // no decision should be an option of two choices, but one of an imported story may be
+        if (this.optionCounts.merge(decision, -1, Integer::sum) == 0) {
+          this.optionCounts.remove(decision);
+          unindex(decision);
+        }
+      }, () -> {
+        options.add(decisionIdx, decision);
+        if (this.optionCounts.merge(decision, 1, Integer::sum) == 1) {
+          index(decision, dependencies, key);
+        }
+      });
+      this.structureVersion.changed();
+      changed();
     } else {
       throw new IllegalArgumentException("No decision at " + (decisionIdx + 1)); // user-friendly
     }
@@ -207,15 +307,98 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
   @Override
   public void removeChoice(int choiceIdx) throws IllegalArgumentException {
     Choice choice = ensureChoiceExists(choiceIdx);
-    if (!isAnOutcome(choice) && this.firstChoice != choiceIdx) {
-      this.choices.remove(choice);
-      this.options.remove(choice);
+    if (!this.incoming.containsKey(choice) && this.firstChoice != choiceIdx) {
+      List<Decision> options = this.options.get(choice);
+      apply(() -> {
+        this.choices.remove(choiceIdx);
+        this.options.remove(choice);
+      }, () -> {
+        this.choices.add(choiceIdx, choice);
+        this.options.put(choice, options);
+      });
+      this.structureVersion.changed();
+      changed();
     } else {
       throw new IllegalArgumentException(
           "Choice is an outcome of an option or is the first choice");
     }
   }
 
+  @Override
+  public Map<String, Integer> edit(List<StoryEdit> edits) throws IllegalArgumentException {
+    Utils.ensureNotNull(edits, "Edits can't be null");
+    Map<String, Integer> labels = new LinkedHashMap<>();
+    long version = this.version;
+    this.batch = new ArrayList<>();
+    try {
+      for (int i = 0; i < edits.size(); i++) {
+        try {
+          Utils.ensureNotNull(edits.get(i), "Edit can't be null").applyTo(this, labels);
+        } catch (RuntimeException e) {
+          rollBack(version);
+          if (e instanceof IllegalArgumentException) {
+            throw new IllegalArgumentException(
+                "Edit " + (i + 1) + " failed: " + e.getMessage(), e); // user-friendly
+          }
+          throw e;
+        }
+      }
+      if (!this.batch.isEmpty()) {
+        remember(this.batch);
+      }
+    } finally {
+      this.batch = null;
+    }
+    return labels;
+  }
+
+  @Override
+  public void undo() throws IllegalStateException {
+    if (this.undos.isEmpty()) {
+      throw new IllegalStateException("Nothing to undo");
+    }
+    List<Change> edit = this.undos.pop();
+    for (int i = edit.size() - 1; i >= 0; i--) {
+      edit.get(i).inverse.run();
+    }
+    this.redos.push(edit);
+    this.structureVersion.changed();
+    changed();
+  }
+
+  @Override
+  public void redo() throws IllegalStateException {
+    if (this.redos.isEmpty()) {
+      throw new IllegalStateException("Nothing to redo");
+    }
+    List<Change> edit = this.redos.pop();
+    for (Change change : edit) {
+      change.change.run();
+    }
+    this.undos.push(edit);
+    trimHistory();
+    this.structureVersion.changed();
+    changed();
+  }
+
+  /**
+   * Sets the number of edits that can be undone, forgetting the oldest edits beyond it. A batch of
+   * edits counts as one.
+   *
+   * @param depth the number of edits, or 0 to keep no history
+   * @throws IllegalArgumentException if the depth is negative
+   */
+  public void setHistoryDepth(int depth) throws IllegalArgumentException {
+    if (depth < 0) {
+      throw new IllegalArgumentException("History depth can't be negative");
+    }
+    this.historyDepth = depth;
+    trimHistory();
+    while (this.redos.size() > depth) {
+      this.redos.removeLast();
+    }
+  }
+
   @Override
   public String getStoryName() {
     return this.storyName;
@@ -238,7 +421,98 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
 
   @Override
   public List<Decision> getDecisions() {
-    return new ArrayList<>(this.decisions);
+    return new ArrayList<>(this.decisions.values());
+  }
+
+  @Override
+  public StoryNodes getNodes() {
+    return this.nodes.get();
+  }
+
+  @Override
+  public StoryStructure getStructure() {
+    StoryNodes nodes = getNodes();
+    if (this.structure == null || this.structureNodes != nodes
+        || this.structure.getInitialChoice() != this.firstChoice) {
+      this.structure = StoryStructure.analyze(nodes, this.firstChoice);
+      this.structureNodes = nodes;
+    }
+    return this.structure;
+  }
+
+  @Override
+  public long getVersion() {
+    return this.version;
+  }
+
+  @Override
+  public boolean canUndo() {
+    return !this.undos.isEmpty();
+  }
+
+  @Override
+  public boolean canRedo() {
+    return !this.redos.isEmpty();
+  }
+
+  /**
+   * Makes the given change and records it with its inverse, in the batch being applied or else as
+   * an edit of its own.
+   *
+   * @param change  what makes the change
+   * @param inverse what undoes the change, assuming every later change has been undone
+   */
+  private void apply(Runnable change, Runnable inverse) {
+    change.run();
+    Change made = new Change(change, inverse);
+    if (this.batch != null) {
+      this.batch.add(made);
+    } else {
+      remember(Collections.singletonList(made));
+    }
+  }
+
+  /**
+   * Adds the given edit to the history of edits that can be undone. Edits that were undone can no
+   * longer be redone.
+   *
+   * @param edit the changes of the edit, in the order they were made
+   */
+  private void remember(List<Change> edit) {
+    this.redos.clear();
+    this.undos.push(edit);
+    trimHistory();
+  }
+
+  /**
+   * Forgets the oldest edits that can be undone until there are no more than the history depth.
+   */
+  private void trimHistory() {
+    while (this.undos.size() > this.historyDepth) {
+      this.undos.removeLast();
+    }
+  }
+
+  /**
+   * Undoes every change recorded for the batch being applied, newest first, and gives the story
+   * back the given version, which it has again.
+   *
+   * @param version the version of the story before the batch
+   */
+  private void rollBack(long version) {
+    for (int i = this.batch.size() - 1; i >= 0; i--) {
+      this.batch.get(i).inverse.run();
+    }
+    this.batch.clear();
+    this.structureVersion.changed();
+    this.version = version;
+  }
+
+  /**
+   * Gives the story a new version after it has changed.
+   */
+  private void changed() {
+    this.version = VERSIONS.incrementAndGet();
   }
 
   /**
@@ -254,7 +528,8 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
       first = this.choices.get(this.firstChoice);
     }
 
-    return new SimpleStoryGame(this.storyName, first, copyStatuses());
+    return new SimpleStoryGame(
+        new CompiledStory(this.storyName, first, copyStatuses(), this.structureVersion).start());
   }
 
   /**
@@ -304,15 +579,28 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
   /**
    * Adds the given decision as an option of the choice at the given index.
    *
-   * @param decision  the decision, assumed not null
-   * @param choiceIdx the index of the choice, starting at 0
+   * @param decision     the decision, assumed not null
+   * @param choiceIdx    the index of the choice, starting at 0
+   * @param dependencies the names of the statuses the decision depends on or updates
    * @throws IllegalArgumentException if the given index is invalid
    */
-  private void addDecision(Decision decision, int choiceIdx) throws IllegalArgumentException {
+  private void addDecision(Decision decision, int choiceIdx, Collection<String> dependencies)
+      throws IllegalArgumentException {
     Choice choice = ensureChoiceExists(choiceIdx);
-    this.options.get(choice).add(decision);
-    this.decisions.add(decision);
-    this.dependencies.put(decision, new ArrayList<>());
+    List<Decision> options = this.options.get(choice);
+    List<String> uses = new ArrayList<>(dependencies);
+    long key = this.nextDecisionKey++;
+    apply(() -> {
+      options.add(decision);
+      this.optionCounts.put(decision, 1);
+      index(decision, uses, key);
+    }, () -> {
+      options.remove(options.size() - 1);
+      this.optionCounts.remove(decision);
+      unindex(decision);
+    });
+    this.structureVersion.changed();
+    changed();
   }
 
   /**
@@ -327,9 +615,9 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
   private Map<String, StatusUpdate> getUpdates(List<String> str) throws IllegalArgumentException {
     Map<String, StatusUpdate> statusUpdates = new HashMap<>();
     for (String strUpdate : Utils.removeNulls(str)) {
-      Scanner sc = new Scanner(strUpdate);
-      StatusUpdate update = StatusUpdateCreator.importSimple(sc);
-      String updateName = IOUtils.tryNext(sc, "Invalid status update format");
+      TokenReader sc = TextTokenReader.of(strUpdate);
+      StatusUpdate update = StatusUpdateCreator.readSimple(sc);
+      String updateName = sc.next("Invalid status update format");
       if (!statuses.containsKey(updateName)) {
         throw new IllegalArgumentException(updateName + " is not a story status");
       }
@@ -340,55 +628,66 @@ public class StoryGameCreator implements StoryCreator<StoryGame> {
   }
 
   /**
-   * Checks whether the given decision is an option of any of the choices.
+   * Adds the given decision to the decisions of the story and to the indexes of the choices it
+   * leads to and the statuses it uses.
    *
-   * @param decision the decision, assumed not null
-   * @return true if it is an option, false if otherwise
+   * @param decision     the decision, assumed not null and not in the story
+   * @param dependencies the names of the statuses the decision depends on or updates, which the
+   *                     creator takes ownership of
+   * @param key          the key placing the decision among the others, in the order they were
+   *                     added
    */
-  private boolean isAnOption(Decision decision) {
-    for (Choice choice : this.choices) {
-      for (Decision d : choice.getOptions()) {
-        if (d.equals(decision)) {
-          return true;
-        }
-      }
+  private void index(Decision decision, List<String> dependencies, long key) {
+    this.decisions.put(key, decision);
+    this.decisionKeys.put(decision, key);
+    this.dependencies.put(decision, dependencies);
+    for (String status : dependencies) {
+      this.statusUses.merge(status, 1, Integer::sum);
+    }
+    for (Choice outcome : decision.getPossibleOutcomes()) {
+      this.incoming.computeIfAbsent(outcome, c -> new ArrayList<>(1)).add(decision);
     }
-
-    return false;
   }
 
   /**
-   * Checks whether the given choice is an outcome of any of the decisions.
+   * Removes the given decision from the decisions of the story and from the indexes of the choices
+   * it leads to and the statuses it uses, in time proportional to its outcomes and dependencies.
    *
-   * @param choice the choice, assumed not null
-   * @return true if it is an outcome, false if otherwise
+   * @param decision the decision, assumed in the story
    */
-  private boolean isAnOutcome(Choice choice) {
-    for (Decision decision : this.decisions) {
-      for (Choice c : decision.getPossibleOutcomes()) {
-        if (c.equals(choice)) {
-          return true;
-        }
+  private void unindex(Decision decision) {
+    this.decisions.remove(this.decisionKeys.remove(decision));
+    for (String status : this.dependencies.remove(decision)) {
+      if (this.statusUses.merge(status, -1, Integer::sum) == 0) {
+        this.statusUses.remove(status);
+      }
+    }
+    for (Choice outcome : decision.getPossibleOutcomes()) {
+      List<Decision> decisions = this.incoming.get(outcome);
+      decisions.remove(decision);
+      if (decisions.isEmpty()) {
+        this.incoming.remove(outcome);
       }
     }
-
-    return false;
   }
 
   /**
-   * Checks whether the status of the given name is a dependency or is updated by one of the
-   * decisions.
-   *
-   * @param name the name of the status, assumed not null
-   * @return true if it is used, false if otherwise
+   * Represents one change made to the story, and how to undo it.
    */
-  private boolean isUsedStatus(String name) {
-    for (List<String> dependency : this.dependencies.values()) {
-      if (dependency.contains(name)) {
-        return true;
-      }
+  private static class Change {
+
+    private final Runnable change;
+    private final Runnable inverse;
+
+    /**
+     * Constructs a {@code Change} made by the given change and undone by the given inverse.
+     *
+     * @param change  what makes the change
+     * @param inverse what undoes the change
+     */
+    private Change(Runnable change, Runnable inverse) {
+      this.change = change;
+      this.inverse = inverse;
     }
-
-    return false;
   }
 }
@@ -0,0 +1,166 @@
+package model.creator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.game.StoryGame;
+import utils.Utils;
+
+/**
+ * Generates stories of a given {@link StoryShape} with a {@link StoryGameCreator}, for testing how
+ * the application handles large stories. Stories are generated from a seed, so a generator makes
+ * the same story every time it is given the same name and shape.
+ *
+ * <p>The first choice of a generated story is its first, and its last choice is its only end. The
+ * first option of every other choice leads to the next choice, so every choice can be reached, and
+ * its other options lead either back to a choice at or before it or ahead to any later choice.
+ */
+public class StoryGenerator {
+
+  private static final String[] WORDS = {"go", "left", "right", "ahead", "back", "open", "the",
+      "door", "take", "sword", "run", "hide", "wait", "climb", "tower", "ask", "old", "wizard",
+      "cross", "river", "rest", "fight", "dragon", "follow", "path"};
+  private static final int MAX_UPDATES = 3;
+  private static final int MAX_THRESHOLD = 5;
+
+  private final long seed;
+
+  /**
+   * Constructs a {@code StoryGenerator} that generates stories from the given seed.
+   *
+   * @param seed the seed
+   */
+  public StoryGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Generates a story of the given name and shape. All statuses start at 0.
+   *
+   * @param name  the name of the story
+   * @param shape the shape of the story
+   * @return the story
+   * @throws IllegalArgumentException if the shape is null
+   */
+  public StoryGame generate(String name, StoryShape shape) throws IllegalArgumentException {
+    Utils.ensureNotNull(shape, "Shape can't be null");
+    Random random = new Random(this.seed);
+    StoryGameCreator creator = new StoryGameCreator(name);
+
+    String[] statuses = new String[shape.getNumStatuses()];
+    for (int i = 0; i < statuses.length; i++) {
+      statuses[i] = "status" + i;
+      creator.addStatus(statuses[i], 0);
+    }
+    for (int i = 0; i < shape.getNumChoices(); i++) {
+      creator.addChoice();
+    }
+    creator.setInitialChoice(0);
+
+    for (int choice = 0; choice < shape.getNumChoices() - 1; choice++) {
+      for (int option = 0; option < shape.getBranching(); option++) {
+        int outcome = option == 0 ? choice + 1 : nextOutcome(random, shape, choice);
+        addDecision(creator, random, shape, statuses, choice, outcome);
+      }
+    }
+    return creator.create();
+  }
+
+  /**
+   * Adds a decision of a random kind to the given choice.
+   *
+   * @param creator  the creator of the story
+   * @param random   the source of randomness
+   * @param shape    the shape of the story
+   * @param statuses the statuses of the story
+   * @param choice   the index of the choice to add the decision to
+   * @param outcome  the index of the decision's outcome, or its outcome below the threshold if it
+   *                 depends on a status
+   */
+  private static void addDecision(StoryGameCreator creator, Random random, StoryShape shape,
+      String[] statuses, int choice, int outcome) {
+    String description = createDescription(random, shape.getDescriptionLength());
+    boolean threshold = statuses.length > 0 && random.nextDouble() < shape.getThresholdShare();
+    boolean consequential =
+        statuses.length > 0 && random.nextDouble() < shape.getConsequentialShare();
+    List<String> consequences = consequential ? createUpdates(random, statuses) : null;
+
+    if (threshold) {
+      String dependency = statuses[random.nextInt(statuses.length)];
+      int value = 1 + random.nextInt(MAX_THRESHOLD);
+      int meets = nextOutcome(random, shape, choice);
+      if (consequential) {
+        creator.addConsequentialThresholdDecision(description, choice, dependency, value, outcome,
+            meets, consequences);
+      } else {
+        creator.addSimpleDependentThresholdDecision(description, choice, dependency, value,
+            outcome, meets);
+      }
+    } else if (consequential) {
+      creator.addConsequentialDecision(description, choice, outcome, consequences);
+    } else {
+      creator.addSimpleDecision(description, choice, outcome);
+    }
+  }
+
+  /**
+   * Chooses the outcome of an option of the given choice, which is a choice at or before it as
+   * often as the shape's cycle density and otherwise any choice after it.
+   *
+   * @param random the source of randomness
+   * @param shape  the shape of the story
+   * @param choice the index of the choice, which is not the last
+   * @return the index of the outcome
+   */
+  private static int nextOutcome(Random random, StoryShape shape, int choice) {
+    if (random.nextDouble() < shape.getCycleDensity()) {
+      return random.nextInt(choice + 1);
+    } else {
+      return choice + 1 + random.nextInt(shape.getNumChoices() - choice - 1);
+    }
+  }
+
+  /**
+   * Creates between 1 and 3 status updates of the given statuses, as they are exported.
+   *
+   * @param random   the source of randomness
+   * @param statuses the statuses, of which there is at least 1
+   * @return the status updates
+   */
+  private static List<String> createUpdates(Random random, String[] statuses) {
+    int numUpdates = 1 + random.nextInt(Math.min(MAX_UPDATES, statuses.length));
+    List<String> updates = new ArrayList<>(numUpdates);
+    for (int i = 0; i < numUpdates; i++) {
+      String status = statuses[random.nextInt(statuses.length)];
+      if (random.nextInt(5) == 0) {
+        updates.add("SET 0 " + status);
+      } else {
+        updates.add("ADD " + (1 + random.nextInt(3)) + " " + status);
+      }
+    }
+    return updates;
+  }
+
+  /**
+   * Creates a description of random words that is exactly the given number of characters long and
+   * neither starts nor ends with a space.
+   *
+   * @param random the source of randomness
+   * @param length the number of characters, at least 1
+   * @return the description
+   */
+  private static String createDescription(Random random, int length) {
+    StringBuilder sb = new StringBuilder(length + 8);
+    while (sb.length() < length) {
+      if (sb.length() > 0) {
+        sb.append(' ');
+      }
+      sb.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    sb.setLength(length);
+    if (sb.charAt(length - 1) == ' ') {
+      sb.setCharAt(length - 1, 's');
+    }
+    return sb.toString();
+  }
+}
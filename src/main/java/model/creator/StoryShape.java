@@ -0,0 +1,146 @@
+package model.creator;
+
+/**
+ * Represents the shape of a story made by a {@link StoryGenerator}: how many choices it has, how
+ * many options each choice has and where they lead, how many statuses it has, what kinds of
+ * decisions it is made of, and how long their descriptions are.
+ */
+public final class StoryShape {
+
+  private final int numChoices;
+  private final int branching;
+  private final double cycleDensity;
+  private final int numStatuses;
+  private final double consequentialShare;
+  private final double thresholdShare;
+  private final int descriptionLength;
+
+  /**
+   * Constructs a {@code StoryShape} of the given measurements.
+   *
+   * @param numChoices         the number of choices in the story, at least 1
+   * @param branching          the number of options of each choice but the last, at least 1
+   * @param cycleDensity       the chance that an option other than a choice's first leads back to
+   *                           an earlier choice rather than ahead, from 0 to 1
+   * @param numStatuses        the number of statuses of the story, at least 0
+   * @param consequentialShare the chance that a decision updates statuses, from 0 to 1
+   * @param thresholdShare     the chance that the outcome of a decision depends on whether a status
+   *                           meets a threshold, from 0 to 1
+   * @param descriptionLength  the number of characters in each decision's description, at least 1
+   * @throws IllegalArgumentException if any measurement is out of range
+   */
+  public StoryShape(int numChoices, int branching, double cycleDensity, int numStatuses,
+      double consequentialShare, double thresholdShare, int descriptionLength)
+      throws IllegalArgumentException {
+    if (numChoices < 1) {
+      throw new IllegalArgumentException("A story needs at least 1 choice");
+    }
+    if (branching < 1) {
+      throw new IllegalArgumentException("Branching must be at least 1");
+    }
+    if (numStatuses < 0) {
+      throw new IllegalArgumentException("Number of statuses can't be negative");
+    }
+    if (descriptionLength < 1) {
+      throw new IllegalArgumentException("Descriptions must be at least 1 character");
+    }
+    this.numChoices = numChoices;
+    this.branching = branching;
+    this.cycleDensity = ensureChance(cycleDensity, "Cycle density");
+    this.numStatuses = numStatuses;
+    this.consequentialShare = ensureChance(consequentialShare, "Consequential share");
+    this.thresholdShare = ensureChance(thresholdShare, "Threshold share");
+    this.descriptionLength = descriptionLength;
+  }
+
+  /**
+   * Constructs a {@code StoryShape} of the given number of choices that is otherwise typical: each
+   * choice has 3 options, a fifth of which lead back, and of 4 statuses, a third of decisions update
+   * statuses and a third depend on them, with descriptions of 20 characters.
+   *
+   * @param numChoices the number of choices in the story, at least 1
+   * @throws IllegalArgumentException if the number of choices is less than 1
+   */
+  public StoryShape(int numChoices) throws IllegalArgumentException {
+    this(numChoices, 3, 0.2, 4, 1.0 / 3, 1.0 / 3, 20);
+  }
+
+  /**
+   * Gets the number of choices in the story.
+   *
+   * @return the number of choices
+   */
+  public int getNumChoices() {
+    return this.numChoices;
+  }
+
+  /**
+   * Gets the number of options of each choice but the last.
+   *
+   * @return the number of options
+   */
+  public int getBranching() {
+    return this.branching;
+  }
+
+  /**
+   * Gets the chance that an option other than a choice's first leads back to an earlier choice.
+   *
+   * @return the chance, from 0 to 1
+   */
+  public double getCycleDensity() {
+    return this.cycleDensity;
+  }
+
+  /**
+   * Gets the number of statuses of the story.
+   *
+   * @return the number of statuses
+   */
+  public int getNumStatuses() {
+    return this.numStatuses;
+  }
+
+  /**
+   * Gets the chance that a decision updates statuses.
+   *
+   * @return the chance, from 0 to 1
+   */
+  public double getConsequentialShare() {
+    return this.consequentialShare;
+  }
+
+  /**
+   * Gets the chance that the outcome of a decision depends on a status.
+   *
+   * @return the chance, from 0 to 1
+   */
+  public double getThresholdShare() {
+    return this.thresholdShare;
+  }
+
+  /**
+   * Gets the number of characters in each decision's description.
+   *
+   * @return the number of characters
+   */
+  public int getDescriptionLength() {
+    return this.descriptionLength;
+  }
+
+  /**
+   * Ensures the given number is a chance from 0 to 1.
+   *
+   * @param chance the number
+   * @param name   the name of the measurement
+   * @return the number
+   * @throws IllegalArgumentException if the number is not from 0 to 1
+   */
+  private static double ensureChance(double chance, String name)
+      throws IllegalArgumentException {
+    if (!(chance >= 0 && chance <= 1)) {
+      throw new IllegalArgumentException(name + " must be from 0 to 1");
+    }
+    return chance;
+  }
+}
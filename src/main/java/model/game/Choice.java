@@ -29,6 +29,20 @@ public interface Choice {
    */
   Choice choose(int decision, StoryGame story) throws IllegalArgumentException;
 
+  /**
+   * Chooses the given decision from the possible choices, updating the statuses of the given state
+   * by their slots. Has the same effect on the statuses as {@link Choice#choose(int, StoryGame)},
+   * but does not change the state's current choice.
+   *
+   * @param decision the index of the decision to make, corresponding to the list returned by {@link
+   *                 Choice#getOptions()}, starting at 0
+   * @param state    the state to make the decision in
+   * @return the choice outcome of the decision made
+   * @throws IllegalArgumentException if the given decision does not exist (invalid index) or the
+   *                                  state is null
+   */
+  Choice choose(int decision, PlayState state) throws IllegalArgumentException;
+
   /**
    * Returns a list of each decision option for the choice.
    *
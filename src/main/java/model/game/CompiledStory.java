@@ -0,0 +1,220 @@
+package model.game;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import model.game.decision.CompiledDecision;
+import model.game.decision.Decision;
+import utils.Utils;
+
+/**
+ * Represents the unchanging parts of a story: its name, its first choice, and its statuses with
+ * their initial values. Each status is given a slot, its index in the array of status values of a
+ * {@link PlayState}, so any number of playthroughs can share one {@code CompiledStory} and only
+ * keep their own status values. Decisions are compiled against the slots the first time they are
+ * made in the story, so making them never looks up a status by name.
+ */
+public final class CompiledStory {
+
+  private final String name;
+  private final Choice initialChoice;
+  private final String[] statusNames;
+  private final int[] initialValues;
+  private final Map<String, Integer> slots;
+  // decisions don't override equals, so each decision object is compiled once
+  private final Map<Decision, CompiledDecision> decisions;
+  private final Function<Decision, CompiledDecision> compiler;
+  private final StructureVersion structureVersion;
+
+  /**
+   * Constructs a {@code CompiledStory} of the given name that starts with the given choice and
+   * statuses. Ignores statuses whose initial values are null.
+   *
+   * @param name          the name of the story
+   * @param initialChoice the first choice of the story
+   * @param statuses      a map containing the names of all statuses of the story to the initial
+   *                      value of each status
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public CompiledStory(String name, Choice initialChoice, Map<String, Integer> statuses)
+      throws IllegalArgumentException {
+    this(name, initialChoice, statuses, new StructureVersion());
+  }
+
+  /**
+   * Constructs a {@code CompiledStory} of the given name that starts with the given choice and
+   * statuses, whose choices and decisions are a graph of the given structure version, such as the
+   * graph of the creator that made the story. Ignores statuses whose initial values are null.
+   *
+   * @param name             the name of the story
+   * @param initialChoice    the first choice of the story
+   * @param statuses         a map containing the names of all statuses of the story to the
+   *                         initial value of each status
+   * @param structureVersion the version of the structure of the story's graph
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public CompiledStory(String name, Choice initialChoice, Map<String, Integer> statuses,
+      StructureVersion structureVersion) throws IllegalArgumentException {
+    this.structureVersion = Utils.ensureNotNull(structureVersion, "Version can't be null!");
+    this.name = Utils.ensureNotNull(name, "Name can't be null!");
+    this.initialChoice = Utils.ensureNotNull(initialChoice, "Decision can't be null!");
+    Utils.ensureNotNull(statuses, "Statuses can't be null!");
+    // slots follow the order of a hash map of the statuses, the order statuses have always had
+    Map<String, Integer> initial = new HashMap<>();
+    for (Entry<String, Integer> status : statuses.entrySet()) {
+      if (status.getValue() != null) {
+        initial.put(status.getKey(), status.getValue());
+      }
+    }
+
+    this.statusNames = new String[initial.size()];
+    this.initialValues = new int[initial.size()];
+    Map<String, Integer> slots = new HashMap<>();
+    for (Entry<String, Integer> status : initial.entrySet()) {
+      int slot = slots.size();
+      this.statusNames[slot] = status.getKey();
+      this.initialValues[slot] = status.getValue();
+      slots.put(status.getKey(), slot);
+    }
+    this.slots = Collections.unmodifiableMap(slots);
+    this.decisions = new ConcurrentHashMap<>();
+    this.compiler = decision -> CompiledDecision.compile(decision, this);
+  }
+
+  /**
+   * Starts a new playthrough of this story at its first choice with the initial status values.
+   *
+   * @return the state of the new playthrough
+   */
+  public PlayState start() {
+    return new PlayState(this, this.initialChoice, this.initialValues.clone());
+  }
+
+  /**
+   * Resumes a playthrough of this story at the given choice with the given status values, such as a
+   * playthrough of a story that is not compiled. Statuses that aren't part of this story are
+   * ignored, and any status of this story that isn't given or is null keeps its initial value.
+   *
+   * @param choice   the choice to resume at
+   * @param statuses a map of status names to their values
+   * @return the state of the resumed playthrough
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public PlayState resume(Choice choice, Map<String, Integer> statuses)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(choice, "Choice can't be null");
+    Utils.ensureNotNull(statuses, "Statuses can't be null");
+    int[] values = this.initialValues.clone();
+    for (Entry<String, Integer> status : statuses.entrySet()) {
+      int slot = slotOf(status.getKey());
+      if (slot != -1 && status.getValue() != null) {
+        values[slot] = status.getValue();
+      }
+    }
+    return new PlayState(this, choice, values);
+  }
+
+  /**
+   * Gets the name of the story.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Gets the version of the structure of the story's graph of choices and decisions, which is
+   * shared with any creator that edits the graph.
+   *
+   * @return the structure version
+   */
+  public StructureVersion getStructureVersion() {
+    return this.structureVersion;
+  }
+
+  /**
+   * Gets the first choice of the story.
+   *
+   * @return the first choice
+   */
+  public Choice getInitialChoice() {
+    return this.initialChoice;
+  }
+
+  /**
+   * Gets the number of statuses in the story, each of which has a slot from 0 up to this number.
+   *
+   * @return the number of statuses
+   */
+  public int getStatusCount() {
+    return this.statusNames.length;
+  }
+
+  /**
+   * Gets the name of the status in the given slot.
+   *
+   * @param slot the slot of the status
+   * @return the name of the status
+   * @throws IllegalArgumentException if the slot is out of bounds
+   */
+  public String getStatusName(int slot) throws IllegalArgumentException {
+    return this.statusNames[ensureSlot(slot)];
+  }
+
+  /**
+   * Gets the initial value of the status in the given slot.
+   *
+   * @param slot the slot of the status
+   * @return the initial value of the status
+   * @throws IllegalArgumentException if the slot is out of bounds
+   */
+  public int getInitialValue(int slot) throws IllegalArgumentException {
+    return this.initialValues[ensureSlot(slot)];
+  }
+
+  /**
+   * Gets the slot of the named status.
+   *
+   * @param name the name of the status
+   * @return the slot of the status, or -1 if the story has no such status
+   */
+  public int slotOf(Object name) {
+    Integer slot = this.slots.get(name);
+    return slot == null ? -1 : slot;
+  }
+
+  /**
+   * Gets the given decision compiled against the statuses of this story, compiling it if it hasn't
+   * been already.
+   *
+   * @param decision the decision
+   * @return the compiled decision
+   * @throws IllegalArgumentException if the decision is null
+   */
+  public CompiledDecision compile(Decision decision) throws IllegalArgumentException {
+    Utils.ensureNotNull(decision, "Decision can't be null");
+    CompiledDecision compiled = this.decisions.get(decision);
+    if (compiled == null) {
+      compiled = this.decisions.computeIfAbsent(decision, this.compiler);
+    }
+    return compiled;
+  }
+
+  /**
+   * Ensures the given slot is the slot of a status in the story.
+   *
+   * @param slot the slot
+   * @return the slot
+   * @throws IllegalArgumentException if the slot is out of bounds
+   */
+  private int ensureSlot(int slot) throws IllegalArgumentException {
+    if (slot < 0 || slot >= this.statusNames.length) {
+      throw new IllegalArgumentException("No status slot " + slot);
+    }
+    return slot;
+  }
+}
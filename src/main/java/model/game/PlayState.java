@@ -0,0 +1,273 @@
+package model.game;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import utils.Utils;
+
+/**
+ * Represents the progress of one playthrough of a {@link CompiledStory}: the current choice, the
+ * value of each status by its slot, and the decisions made so far. Copying a state copies only its
+ * status values, as the story is shared and the history of decisions is shared until either state
+ * makes another decision.
+ */
+public class PlayState {
+
+  private static final int[] NO_HISTORY = new int[0];
+
+  private final CompiledStory story;
+  private Choice currentChoice;
+  private final int[] values;
+  private int[] history; // the decisions made, in order, followed by unused space
+  private int historySize;
+  private boolean ownsHistory; // whether no other state shares the history
+  private final Map<String, Integer> statuses;
+
+  /**
+   * Constructs a {@code PlayState} of the given story at the given choice with the given status
+   * values, which it takes ownership of. Assumes all inputs are valid.
+   *
+   * @param story         the story being played
+   * @param currentChoice the current choice
+   * @param values        the value of each status by slot
+   */
+  PlayState(CompiledStory story, Choice currentChoice, int[] values) {
+    this.story = story;
+    this.currentChoice = currentChoice;
+    this.values = values;
+    this.history = NO_HISTORY;
+    this.historySize = 0;
+    this.ownsHistory = false;
+    this.statuses = new StatusMap();
+  }
+
+  /**
+   * Constructs a copy {@code PlayState} of the given state.
+   *
+   * @param state the state to copy
+   */
+  private PlayState(PlayState state) {
+    this(state.story, state.currentChoice, state.values.clone());
+    // the copy only reads the decisions made so far, which the given state never changes, so
+    // the given state keeps appending to the history while the copy makes its own when it must
+    this.history = state.history;
+    this.historySize = state.historySize;
+  }
+
+  /**
+   * Returns a copy of this state, which may be played without affecting this state.
+   *
+   * @return the copy
+   */
+  public PlayState copy() {
+    return new PlayState(this);
+  }
+
+  /**
+   * Gets the story being played.
+   *
+   * @return the story
+   */
+  public CompiledStory getStory() {
+    return this.story;
+  }
+
+  /**
+   * Gets the current choice.
+   *
+   * @return the current choice
+   */
+  public Choice getCurrentChoice() {
+    return this.currentChoice;
+  }
+
+  /**
+   * Gets the value of the status in the given slot.
+   *
+   * @param slot the slot of the status
+   * @return the value of the status
+   * @throws IllegalArgumentException if the slot is out of bounds
+   */
+  public int getValue(int slot) throws IllegalArgumentException {
+    ensureSlot(slot);
+    return this.values[slot];
+  }
+
+  /**
+   * Sets the value of the status in the given slot.
+   *
+   * @param slot  the slot of the status
+   * @param value the new value
+   * @throws IllegalArgumentException if the slot is out of bounds
+   */
+  public void setValue(int slot, int value) throws IllegalArgumentException {
+    ensureSlot(slot);
+    this.values[slot] = value;
+  }
+
+  /**
+   * Records that the given decision was made at the current choice and moves on to the given
+   * outcome of the decision.
+   *
+   * @param decision the index of the decision made
+   * @param outcome  the choice the decision led to
+   * @throws IllegalArgumentException if the outcome is null
+   */
+  public void advance(int decision, Choice outcome) throws IllegalArgumentException {
+    this.currentChoice = Utils.ensureNotNull(outcome, "Outcome can't be null");
+    if (!this.ownsHistory || this.historySize == this.history.length) {
+      this.history = Arrays.copyOf(this.history, Math.max(8, this.historySize * 2));
+      this.ownsHistory = true;
+    }
+    this.history[this.historySize++] = decision;
+  }
+
+  /**
+   * Gets the indexes of the decisions made in this playthrough, in the order they were made.
+   *
+   * @return the decisions made
+   */
+  public int[] getHistory() {
+    return Arrays.copyOf(this.history, this.historySize);
+  }
+
+  /**
+   * Gets a view of the statuses as a map of status names to their values. Changing the value of a
+   * status in the map changes it in this state, but statuses can't be added or removed.
+   *
+   * @return the map of statuses
+   */
+  public Map<String, Integer> getStatuses() {
+    return this.statuses;
+  }
+
+  /**
+   * Ensures the given slot is the slot of a status in the story.
+   *
+   * @param slot the slot
+   * @throws IllegalArgumentException if the slot is out of bounds
+   */
+  private void ensureSlot(int slot) throws IllegalArgumentException {
+    if (slot < 0 || slot >= this.values.length) {
+      throw new IllegalArgumentException("No status slot " + slot);
+    }
+  }
+
+  /**
+   * Represents the statuses of the state as a map, reading and writing the state's status values.
+   */
+  private class StatusMap extends AbstractMap<String, Integer> {
+
+    private final Set<Entry<String, Integer>> entries = new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, Integer>> iterator() {
+        return new Iterator<>() {
+          private int slot = 0;
+
+          @Override
+          public boolean hasNext() {
+            return this.slot < values.length;
+          }
+
+          @Override
+          public Entry<String, Integer> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            return new StatusEntry(this.slot++);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return values.length;
+      }
+    };
+
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+      return this.entries;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return story.slotOf(key) != -1;
+    }
+
+    @Override
+    public Integer get(Object key) {
+      int slot = story.slotOf(key);
+      return slot == -1 ? null : values[slot];
+    }
+
+    @Override
+    public Integer put(String key, Integer value) {
+      int slot = story.slotOf(key);
+      if (slot == -1) {
+        throw new IllegalArgumentException("No status " + key);
+      }
+      int previous = values[slot];
+      values[slot] = Utils.ensureNotNull(value, "Status value can't be null");
+      return previous;
+    }
+  }
+
+  /**
+   * Represents a status of the state as a map entry, reading and writing the status's value.
+   */
+  private class StatusEntry implements Entry<String, Integer> {
+
+    private final int slot;
+
+    /**
+     * Constructs a {@code StatusEntry} of the status in the given slot.
+     *
+     * @param slot the slot of the status
+     */
+    private StatusEntry(int slot) {
+      this.slot = slot;
+    }
+
+    @Override
+    public String getKey() {
+      return story.getStatusName(this.slot);
+    }
+
+    @Override
+    public Integer getValue() {
+      return values[this.slot];
+    }
+
+    @Override
+    public Integer setValue(Integer value) {
+      int previous = values[this.slot];
+      values[this.slot] = Utils.ensureNotNull(value, "Status value can't be null");
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> other = (Entry<?, ?>) o;
+      return getKey().equals(other.getKey()) && getValue().equals(other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ getValue().hashCode();
+    }
+  }
+}
@@ -64,6 +64,15 @@ public class SimpleChoice implements Choice {
         .makeDecision(Utils.ensureNotNull(story, "Story can't be null!"));
   }
 
+  @Override
+  public Choice choose(int decision, PlayState state) throws IllegalArgumentException {
+    if (decision < 0 || decision > this.options.size() - 1) {
+      throw new IllegalArgumentException("No choice " + (decision + 1));
+    }
+    Utils.ensureNotNull(state, "State can't be null!");
+    return state.getStory().compile(this.options.get(decision)).makeDecision(state);
+  }
+
   @Override
   public List<Decision> getOptions() {
     return this.options;
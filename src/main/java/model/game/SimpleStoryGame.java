@@ -1,25 +1,18 @@
 package model.game;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import utils.Utils;
 
 /**
  * Represents a named choose-your-own story where outcomes may be dependent on the status(es) of the
- * story, which is/are updated as the user makes decisions.
+ * story, which is/are updated as the user makes decisions. The story itself is a {@link
+ * CompiledStory} shared with every copy of the game, and the progress through it is the game's own
+ * {@link PlayState}.
  */
 public class SimpleStoryGame implements StoryGame {
 
-  private final String name;
-  // a record of all choices made in the story, where the choice at the top of the list is the
-  // choice currently being made
-  private final List<Choice> choices;
-  private final Map<String, Integer> originalStatuses;
-  private final Map<String, Integer> statuses;
+  private final CompiledStory story;
+  private final PlayState state;
 
   /**
    * Constructs a {@code SimpleStoryGame} of the given name that starts with the given choice and
@@ -31,17 +24,19 @@ public class SimpleStoryGame implements StoryGame {
    *                 each status
    */
   public SimpleStoryGame(String name, Choice choice, Map<String, Integer> statuses) {
-    this.name = Utils.ensureNotNull(name, "Name can't be null!");
-    this.choices = new ArrayList<>(
-        Collections.singletonList(Utils.ensureNotNull(choice, "Decision can't be null!")));
-    this.originalStatuses = new HashMap<>();
-    this.statuses = new HashMap<>();
-    for (Entry<String, Integer> status : statuses.entrySet()) {
-      if (status.getValue() != null) {
-        this.originalStatuses.put(status.getKey(), status.getValue());
-        this.statuses.put(status.getKey(), status.getValue());
-      }
-    }
+    this(new CompiledStory(name, choice, statuses).start());
+  }
+
+  /**
+   * Constructs a {@code SimpleStoryGame} that plays from the given state, changing it as decisions
+   * are made.
+   *
+   * @param state the state to play from
+   * @throws IllegalArgumentException if the given state is null
+   */
+  public SimpleStoryGame(PlayState state) throws IllegalArgumentException {
+    this.state = Utils.ensureNotNull(state, "State can't be null");
+    this.story = state.getStory();
   }
 
   /**
@@ -51,55 +46,70 @@ public class SimpleStoryGame implements StoryGame {
    * @throws IllegalArgumentException the given story is null
    */
   public SimpleStoryGame(StoryGame story) throws IllegalArgumentException {
+    this(copyState(story));
+  }
+
+  /**
+   * Copies the state of the given story, sharing its compiled story if it has one.
+   *
+   * @param story the story to copy
+   * @return the copied state
+   * @throws IllegalArgumentException the given story is null
+   */
+  private static PlayState copyState(StoryGame story) throws IllegalArgumentException {
     Utils.ensureNotNull(story, "Story can't be null");
-    this.name = story.getName();
-    this.choices = Collections.singletonList(story.getCurrentChoice());
-    this.originalStatuses = new HashMap<>();
-    for (Entry<String, Integer> status : story.getOriginalStory().getStatuses().entrySet()) {
-      if (status.getValue() != null) {
-        this.originalStatuses.put(status.getKey(), status.getValue());
-      }
-    }
-    this.statuses = new HashMap<>();
-    for (Entry<String, Integer> status : story.getStatuses().entrySet()) {
-      if (status.getValue() != null) {
-        this.statuses.put(status.getKey(), status.getValue());
-      }
+    if (story instanceof SimpleStoryGame) {
+      return ((SimpleStoryGame) story).state.copy();
+    } else {
+      // compile from where the story started so the copy restarts from the same place
+      StoryGame original = story.getOriginalStory();
+      return new CompiledStory(story.getName(), original.getCurrentChoice(),
+          original.getStatuses()).resume(story.getCurrentChoice(), story.getStatuses());
     }
   }
 
   @Override
   public String toString() {
-    return this.name;
+    return this.story.getName();
   }
 
   @Override
   public boolean next(int decision) throws IllegalArgumentException, IllegalStateException {
-    if (getCurrentChoice().getOptions().size() == 0) {
+    Choice current = this.state.getCurrentChoice();
+    if (current.getOptions().size() == 0) {
       return false;
     } else {
-      this.choices.add(getCurrentChoice().choose(decision, this));
+      this.state.advance(decision, current.choose(decision, this.state));
       return true;
     }
   }
 
   @Override
   public String getName() {
-    return this.name;
+    return this.story.getName();
   }
 
   @Override
   public Choice getCurrentChoice() {
-    return this.choices.get(this.choices.size() - 1);
+    return this.state.getCurrentChoice();
   }
 
   @Override
   public Map<String, Integer> getStatuses() {
-    return this.statuses;
+    return this.state.getStatuses();
   }
 
   @Override
   public StoryGame getOriginalStory() {
-    return new SimpleStoryGame(this.name, this.choices.get(0), this.originalStatuses);
+    return new SimpleStoryGame(this.story.start());
+  }
+
+  /**
+   * Gets the state of this game's playthrough, which changes as decisions are made.
+   *
+   * @return the state
+   */
+  public PlayState getPlayState() {
+    return this.state;
   }
 }
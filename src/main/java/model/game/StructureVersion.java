@@ -0,0 +1,32 @@
+package model.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents the version of the structure of a graph of choices and decisions. Choices and
+ * decisions may be shared between stories and the creators that made them, so every story and
+ * creator that shares a graph shares its version, which changes whenever a choice or decision is
+ * added to or removed from the graph. The graphs of stories that nothing edits never change
+ * version.
+ */
+public final class StructureVersion {
+
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * Records that a choice or decision has been added to or removed from the graph.
+   */
+  public void changed() {
+    this.version.incrementAndGet();
+  }
+
+  /**
+   * Gets the current version of the structure, which changes whenever {@link
+   * StructureVersion#changed()} is called.
+   *
+   * @return the version
+   */
+  public long get() {
+    return this.version.get();
+  }
+}
@@ -0,0 +1,179 @@
+package model.game.decision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import model.game.Choice;
+import model.game.CompiledStory;
+import model.game.PlayState;
+import model.game.statusUpdate.StatusUpdate;
+import utils.Utils;
+
+/**
+ * Represents a {@link Decision} whose statuses have been resolved to the slots of a {@link
+ * CompiledStory}, so that it can be made in a {@link PlayState} of that story without looking up
+ * statuses by name. Making a compiled decision has the same effect, and fails in the same way, as
+ * making the decision in a story.
+ */
+public final class CompiledDecision {
+
+  private final int[] updateSlots;
+  private final StatusUpdate[] updates;
+  private final String updateError; // thrown after the updates are made, null if none
+  private final Choice outcome; // null if the outcome depends on a status
+  private final int dependencySlot; // -1 if the outcome doesn't depend on a status
+  private final int threshold;
+  private final Choice below;
+  private final Choice meets;
+  private final String outcomeError; // thrown instead of determining the outcome, null if none
+
+  /**
+   * Constructs a {@code CompiledDecision} from its parts. Assumes all inputs are valid.
+   *
+   * @param updates        the updates made by the decision, in order
+   * @param outcome        the fixed outcome of the decision
+   * @param dependencySlot the slot the outcome depends on
+   * @param threshold      the threshold the dependency must meet
+   * @param below          the outcome if the dependency is below the threshold
+   * @param meets          the outcome if the dependency meets the threshold
+   * @param outcomeError   the message to throw instead of determining the outcome
+   */
+  private CompiledDecision(Updates updates, Choice outcome, int dependencySlot, int threshold,
+      Choice below, Choice meets, String outcomeError) {
+    this.updateSlots = new int[updates.slots.size()];
+    this.updates = new StatusUpdate[updates.slots.size()];
+    for (int i = 0; i < this.updates.length; i++) {
+      this.updateSlots[i] = updates.slots.get(i);
+      this.updates[i] = updates.updates.get(i);
+    }
+    this.updateError = updates.error;
+    this.outcome = outcome;
+    this.dependencySlot = dependencySlot;
+    this.threshold = threshold;
+    this.below = below;
+    this.meets = meets;
+    this.outcomeError = outcomeError;
+  }
+
+  /**
+   * Compiles the given decision against the statuses of the given story.
+   *
+   * @param decision the decision to compile
+   * @param story    the story the decision will be made in
+   * @return the compiled decision
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public static CompiledDecision compile(Decision decision, CompiledStory story)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(decision, "Decision can't be null");
+    Utils.ensureNotNull(story, "Story can't be null");
+    return decision.accept(new Compiler(story));
+  }
+
+  /**
+   * Makes the decision in the given state, updating its statuses.
+   *
+   * @param state the state to make the decision in, which must be of the story this decision was
+   *              compiled for
+   * @return the outcome of the decision
+   * @throws IllegalArgumentException if the story is missing a status the decision needs
+   */
+  public Choice makeDecision(PlayState state) throws IllegalArgumentException {
+    for (int i = 0; i < this.updates.length; i++) {
+      int slot = this.updateSlots[i];
+      state.setValue(slot, this.updates[i].update(state.getValue(slot)));
+    }
+    if (this.updateError != null) {
+      throw new IllegalArgumentException(this.updateError);
+    }
+    if (this.outcomeError != null) {
+      throw new IllegalArgumentException(this.outcomeError);
+    }
+
+    if (this.dependencySlot == -1) {
+      return this.outcome;
+    } else if (state.getValue(this.dependencySlot) < this.threshold) {
+      return this.below;
+    } else {
+      return this.meets;
+    }
+  }
+
+  /**
+   * Represents the status updates of a decision as they are resolved to slots, stopping at the
+   * first status the story doesn't have.
+   */
+  private static class Updates {
+
+    private final List<Integer> slots = new ArrayList<>();
+    private final List<StatusUpdate> updates = new ArrayList<>();
+    private String error = null;
+  }
+
+  /**
+   * Compiles decisions and their outcome determiners against the statuses of a story.
+   */
+  private static class Compiler implements DecisionVisitor<CompiledDecision>,
+      OutcomeDeterminerVisitor<CompiledDecision> {
+
+    private final CompiledStory story;
+    private Updates updates; // the updates of the decision being compiled
+
+    /**
+     * Constructs a {@code Compiler} for the given story.
+     *
+     * @param story the story
+     */
+    private Compiler(CompiledStory story) {
+      this.story = story;
+      this.updates = new Updates();
+    }
+
+    @Override
+    public CompiledDecision visitSimple(String description, Choice outcome) {
+      return new CompiledDecision(this.updates, outcome, -1, 0, null, null, null);
+    }
+
+    @Override
+    public CompiledDecision visitConsequential(String description, Choice outcome,
+        Map<String, StatusUpdate> statusUpdates) {
+      for (Entry<String, StatusUpdate> update : statusUpdates.entrySet()) {
+        int slot = this.story.slotOf(update.getKey());
+        if (slot == -1) {
+          this.updates.error = "Can't make decision in given story: no status " + update.getKey();
+          break;
+        }
+        this.updates.slots.add(slot);
+        this.updates.updates.add(update.getValue());
+      }
+      return new CompiledDecision(this.updates, outcome, -1, 0, null, null, null);
+    }
+
+    @Override
+    public CompiledDecision visitDependent(Decision delegate, OutcomeDeterminer determiner) {
+      // the delegate's updates are made before the outcome is determined
+      this.updates = new Updates();
+      CompiledDecision delegated = delegate.accept(this);
+      this.updates = new Updates();
+      for (int i = 0; i < delegated.updates.length; i++) {
+        this.updates.slots.add(delegated.updateSlots[i]);
+        this.updates.updates.add(delegated.updates[i]);
+      }
+      this.updates.error =
+          delegated.updateError != null ? delegated.updateError : delegated.outcomeError;
+      return determiner.accept(this);
+    }
+
+    @Override
+    public CompiledDecision visitTwoThreshold(String dependency, int threshold, Choice below,
+        Choice meets) {
+      int slot = this.story.slotOf(dependency);
+      if (slot == -1) {
+        return new CompiledDecision(this.updates, null, -1, 0, null, null,
+            "Can't determine outcome of this story - missing status " + dependency);
+      }
+      return new CompiledDecision(this.updates, null, slot, threshold, below, meets, null);
+    }
+  }
+}
@@ -1,11 +1,12 @@
 package model.game.decision;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 import model.game.Choice;
 import model.game.StoryGame;
 import model.game.statusUpdate.StatusUpdate;
@@ -59,31 +60,37 @@ public class ConsequentialDecision extends SimpleDecision {
   }
 
   @Override
-  public String export(Map<Choice, String> choiceRepresentations) {
+  public void export(Map<Choice, String> choiceRepresentations, Appendable out)
+      throws IllegalArgumentException, IOException {
     Utils.ensureNotNull(choiceRepresentations, "Map can't be null");
+    Utils.ensureNotNull(out, "Output can't be null");
     if (!choiceRepresentations.containsKey(this.outcome)) {
       throw new IllegalArgumentException("Map doesn't contain outcome");
     }
 
-    StringBuilder sb = new StringBuilder(DecisionTypes.CONSEQUENTIAL.toString()).append(" \"")
-        .append(this.description)
+    out.append(DecisionTypes.CONSEQUENTIAL.toString()).append(" \"").append(this.description)
         .append("\" [ ");
-
     int i = 0;
-    Set<String> keys = this.statusUpdates.keySet();
-    for (String status : keys) {
-      sb.append(this.statusUpdates.get(status).export()).append(" \"").append(status).append("\" ");
-      if (keys.size() > 0 && i < keys.size() - 1) {
-        sb.append("| ");
+    int numUpdates = this.statusUpdates.size();
+    for (Entry<String, StatusUpdate> update : this.statusUpdates.entrySet()) {
+      update.getValue().export(out);
+      out.append(" \"").append(update.getKey()).append("\" ");
+      if (i < numUpdates - 1) {
+        out.append("| ");
       }
       i++;
     }
-    sb.append("] ").append(choiceRepresentations.get(this.outcome));
-    return sb.toString();
+    out.append("] ").append(choiceRepresentations.get(this.outcome));
   }
 
   @Override
   public List<String> getDependencies() {
     return new ArrayList<>(this.statusUpdates.keySet());
   }
+
+  @Override
+  public <R> R accept(DecisionVisitor<R> visitor) {
+    return visitor.visitConsequential(this.description, this.outcome,
+        Collections.unmodifiableMap(this.statusUpdates));
+  }
 }
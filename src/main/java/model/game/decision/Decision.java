@@ -1,5 +1,6 @@
 package model.game.decision;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import model.game.Choice;
@@ -36,7 +37,29 @@ public interface Decision {
    * @throws IllegalArgumentException if the map is null or does not contain all of the decision's
    *                                  outcomes
    */
-  String export(Map<Choice, String> choiceRepresentations) throws IllegalArgumentException;
+  default String export(Map<Choice, String> choiceRepresentations)
+      throws IllegalArgumentException {
+    StringBuilder sb = new StringBuilder();
+    try {
+      export(choiceRepresentations, sb);
+    } catch (IOException e) {
+      // appending to a string builder never fails
+      throw new IllegalStateException(e);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Appends the decision to the given output in the format of {@link Decision#export(Map)}.
+   *
+   * @param choiceRepresentations a map of choices to how those choices should be represented
+   * @param out                   the output to append to
+   * @throws IllegalArgumentException if either argument is null or the map does not contain all of
+   *                                  the decision's outcomes
+   * @throws IOException              if appending to the output fails
+   */
+  void export(Map<Choice, String> choiceRepresentations, Appendable out)
+      throws IllegalArgumentException, IOException;
 
   /**
    * Returns a list of all of the decision's possible outcomes.
@@ -51,4 +74,13 @@ public interface Decision {
    * @return the list of dependencies
    */
   List<String> getDependencies();
+
+  /**
+   * Accepts the given visitor, applying it to the type of this decision.
+   *
+   * @param visitor the visitor
+   * @param <R>     the type of the result of the visitor
+   * @return the result of visiting this decision
+   */
+  <R> R accept(DecisionVisitor<R> visitor);
 }
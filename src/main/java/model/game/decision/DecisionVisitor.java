@@ -0,0 +1,44 @@
+package model.game.decision;
+
+import java.util.Map;
+import model.game.Choice;
+import model.game.statusUpdate.StatusUpdate;
+
+/**
+ * An interface for function objects that act on a {@link Decision} according to its type, given
+ * the information that makes up the decision.
+ *
+ * @param <R> the type of the result of visiting a decision
+ */
+public interface DecisionVisitor<R> {
+
+  /**
+   * Visits a decision that has no consequences on the status of the story.
+   *
+   * @param description the description of the decision
+   * @param outcome     the choice outcome of the decision
+   * @return the result
+   */
+  R visitSimple(String description, Choice outcome);
+
+  /**
+   * Visits a decision that impacts at least one status of the story.
+   *
+   * @param description   the description of the decision
+   * @param outcome       the choice outcome of the decision
+   * @param statusUpdates the consequences of the decision as an unmodifiable status
+   *                      name-StatusUpdate map
+   * @return the result
+   */
+  R visitConsequential(String description, Choice outcome,
+      Map<String, StatusUpdate> statusUpdates);
+
+  /**
+   * Visits a decision whose outcome is dependent on the story statuses.
+   *
+   * @param delegate   the decision that describes the decision and its consequences
+   * @param determiner the function object that determines the outcome
+   * @return the result
+   */
+  R visitDependent(Decision delegate, OutcomeDeterminer determiner);
+}
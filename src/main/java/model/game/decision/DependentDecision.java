@@ -1,5 +1,6 @@
 package model.game.decision;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import model.game.Choice;
@@ -72,10 +73,15 @@ public class DependentDecision implements Decision {
   }
 
   @Override
-  public String export(Map<Choice, String> choiceRepresentations) {
+  public void export(Map<Choice, String> choiceRepresentations, Appendable out)
+      throws IllegalArgumentException, IOException {
     Utils.ensureNotNull(choiceRepresentations, "Map can't be null");
-    return DecisionTypes.DEPENDENT.toString() + " " + this.determiner.export(choiceRepresentations)
-        + " [ " + this.delegate.export(choiceRepresentations) + " ]";
+    Utils.ensureNotNull(out, "Output can't be null");
+    out.append(DecisionTypes.DEPENDENT.toString()).append(" ");
+    this.determiner.export(choiceRepresentations, out);
+    out.append(" [ ");
+    this.delegate.export(choiceRepresentations, out);
+    out.append(" ]");
   }
 
   @Override
@@ -89,4 +95,9 @@ public class DependentDecision implements Decision {
     dependencies.addAll(this.determiner.getDependency());
     return dependencies;
   }
+
+  @Override
+  public <R> R accept(DecisionVisitor<R> visitor) {
+    return visitor.visitDependent(this.delegate, this.determiner);
+  }
 }
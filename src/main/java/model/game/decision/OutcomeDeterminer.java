@@ -1,5 +1,6 @@
 package model.game.decision;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import model.game.Choice;
@@ -28,7 +29,30 @@ public interface OutcomeDeterminer {
    * @throws IllegalArgumentException if the map is null or does not contain all of the determiner's
    *                                  outcomes
    */
-  String export(Map<Choice, String> choiceRepresentations) throws IllegalArgumentException;
+  default String export(Map<Choice, String> choiceRepresentations)
+      throws IllegalArgumentException {
+    StringBuilder sb = new StringBuilder();
+    try {
+      export(choiceRepresentations, sb);
+    } catch (IOException e) {
+      // appending to a string builder never fails
+      throw new IllegalStateException(e);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Appends the determiner to the given output in the format of {@link
+   * OutcomeDeterminer#export(Map)}.
+   *
+   * @param choiceRepresentations a map of choices to how those choices should be represented
+   * @param out                   the output to append to
+   * @throws IllegalArgumentException if either argument is null or the map does not contain all of
+   *                                  the determiner's outcomes
+   * @throws IOException              if appending to the output fails
+   */
+  void export(Map<Choice, String> choiceRepresentations, Appendable out)
+      throws IllegalArgumentException, IOException;
 
   /**
    * Returns a list of all the outcomes the determiner chooses between.
@@ -43,4 +67,13 @@ public interface OutcomeDeterminer {
    * @return a list of the status names
    */
   List<String> getDependency();
+
+  /**
+   * Accepts the given visitor, applying it to the type of this determiner.
+   *
+   * @param visitor the visitor
+   * @param <R>     the type of the result of the visitor
+   * @return the result of visiting this determiner
+   */
+  <R> R accept(OutcomeDeterminerVisitor<R> visitor);
 }
@@ -0,0 +1,24 @@
+package model.game.decision;
+
+import model.game.Choice;
+
+/**
+ * An interface for function objects that act on an {@link OutcomeDeterminer} according to its
+ * type, given the information that makes up the determiner.
+ *
+ * @param <R> the type of the result of visiting a determiner
+ */
+public interface OutcomeDeterminerVisitor<R> {
+
+  /**
+   * Visits a determiner that results in one outcome if one story status is greater than or equal
+   * to some threshold, and another outcome if otherwise.
+   *
+   * @param dependency the status the determiner is based on
+   * @param threshold  the threshold to result in one outcome or another
+   * @param below      the outcome if the status does not meet the threshold
+   * @param meets      the outcome if the status meets the threshold
+   * @return the result
+   */
+  R visitTwoThreshold(String dependency, int threshold, Choice below, Choice meets);
+}
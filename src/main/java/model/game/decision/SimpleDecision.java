@@ -1,5 +1,6 @@
 package model.game.decision;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -40,14 +41,16 @@ public class SimpleDecision implements Decision {
   }
 
   @Override
-  public String export(Map<Choice, String> choiceRepresentations) throws IllegalArgumentException {
+  public void export(Map<Choice, String> choiceRepresentations, Appendable out)
+      throws IllegalArgumentException, IOException {
     Utils.ensureNotNull(choiceRepresentations, "Map can't be null");
+    Utils.ensureNotNull(out, "Output can't be null");
     if (!choiceRepresentations.containsKey(this.outcome)) {
       throw new IllegalArgumentException("Map doesn't contain outcome");
     }
 
-    return DecisionTypes.SIMPLE + " \"" + this.description + "\" " + choiceRepresentations
-        .get(this.outcome);
+    out.append(DecisionTypes.SIMPLE.toString()).append(" \"").append(this.description)
+        .append("\" ").append(choiceRepresentations.get(this.outcome));
   }
 
   @Override
@@ -59,5 +62,10 @@ public class SimpleDecision implements Decision {
   public List<String> getDependencies() {
     return new ArrayList<>();
   }
+
+  @Override
+  public <R> R accept(DecisionVisitor<R> visitor) {
+    return visitor.visitSimple(this.description, this.outcome);
+  }
 }
 
@@ -1,5 +1,6 @@
 package model.game.decision;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -55,15 +56,19 @@ public class TwoThresholdDeterminer implements OutcomeDeterminer {
   }
 
   @Override
-  public String export(Map<Choice, String> choiceRepresentations) {
+  public void export(Map<Choice, String> choiceRepresentations, Appendable out)
+      throws IllegalArgumentException, IOException {
     Utils.ensureNotNull(choiceRepresentations, "Choice representations can't be null");
+    Utils.ensureNotNull(out, "Output can't be null");
     if (!choiceRepresentations.containsKey(this.below) || !choiceRepresentations
         .containsKey(this.meets)) {
       throw new IllegalArgumentException("Map doesn't contain all outcomes");
     }
 
-    return "TWOTHRESHOLD \"" + this.dependency + "\" " + this.threshold + " " + choiceRepresentations
-        .get(this.below) + " " + choiceRepresentations.get(this.meets);
+    out.append("TWOTHRESHOLD \"").append(this.dependency).append("\" ")
+        .append(Integer.toString(this.threshold)).append(" ")
+        .append(choiceRepresentations.get(this.below)).append(" ")
+        .append(choiceRepresentations.get(this.meets));
   }
 
   @Override
@@ -75,4 +80,9 @@ public class TwoThresholdDeterminer implements OutcomeDeterminer {
   public List<String> getDependency() {
     return Collections.singletonList(this.dependency);
   }
+
+  @Override
+  public <R> R accept(OutcomeDeterminerVisitor<R> visitor) {
+    return visitor.visitTwoThreshold(this.dependency, this.threshold, this.below, this.meets);
+  }
 }
@@ -1,5 +1,8 @@
 package model.game.statusUpdate;
 
+import java.io.IOException;
+import utils.Utils;
+
 /**
  * Represents a {@link StatusUpdate} that adds to the status by some increment (may be negative).
  */
@@ -22,7 +25,13 @@ public class AddStatus implements StatusUpdate {
   }
 
   @Override
-  public String export() {
-    return "ADD " + this.increment;
+  public void export(Appendable out) throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(out, "Output can't be null");
+    out.append("ADD ").append(Integer.toString(this.increment));
+  }
+
+  @Override
+  public <R> R accept(StatusUpdateVisitor<R> visitor) {
+    return visitor.visitAdd(this.increment);
   }
 }
@@ -1,5 +1,8 @@
 package model.game.statusUpdate;
 
+import java.io.IOException;
+import utils.Utils;
+
 /**
  * Represents a {@link StatusUpdate} that sets the status to some number (may be negative).
  */
@@ -22,7 +25,13 @@ public class SetStatus implements StatusUpdate {
   }
 
   @Override
-  public String export() {
-    return "SET " + this.setTo;
+  public void export(Appendable out) throws IllegalArgumentException, IOException {
+    Utils.ensureNotNull(out, "Output can't be null");
+    out.append("SET ").append(Integer.toString(this.setTo));
+  }
+
+  @Override
+  public <R> R accept(StatusUpdateVisitor<R> visitor) {
+    return visitor.visitSet(this.setTo);
   }
 }
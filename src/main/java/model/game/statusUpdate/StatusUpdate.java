@@ -1,5 +1,7 @@
 package model.game.statusUpdate;
 
+import java.io.IOException;
+
 /**
  * An interface for a function object that returns the updated status value of a story given its
  * previous status value.
@@ -19,5 +21,32 @@ public interface StatusUpdate {
    *
    * @return the formatted string status update
    */
-  String export();
+  default String export() {
+    StringBuilder sb = new StringBuilder();
+    try {
+      export(sb);
+    } catch (IOException e) {
+      // appending to a string builder never fails
+      throw new IllegalStateException(e);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Appends the status update to the given output in the format of {@link StatusUpdate#export()}.
+   *
+   * @param out the output to append to
+   * @throws IllegalArgumentException if the output is null
+   * @throws IOException              if appending to the output fails
+   */
+  void export(Appendable out) throws IllegalArgumentException, IOException;
+
+  /**
+   * Accepts the given visitor, applying it to the type of this status update.
+   *
+   * @param visitor the visitor
+   * @param <R>     the type of the result of the visitor
+   * @return the result of visiting this status update
+   */
+  <R> R accept(StatusUpdateVisitor<R> visitor);
 }
@@ -1,8 +1,8 @@
 package model.game.statusUpdate;
 
-import controller.service.response.StatusUpdateResponse;
 import java.util.Scanner;
-import utils.IOUtils;
+import utils.ScannerTokenReader;
+import utils.TokenReader;
 import utils.Utils;
 
 /**
@@ -22,9 +22,22 @@ public class StatusUpdateCreator {
    */
   public static StatusUpdate importSimple(Scanner sc) throws IllegalArgumentException {
     Utils.ensureNotNull(sc, "Scanner can't be null");
+    return readSimple(new ScannerTokenReader(sc));
+  }
+
+  /**
+   * Creates a status update from the next tokens of the given token reader.
+   *
+   * @param sc the token reader
+   * @return the status update represented by the next tokens
+   * @throws IllegalArgumentException if the next tokens do not represent a status update or if the
+   *                                  token reader is null
+   */
+  public static StatusUpdate readSimple(TokenReader sc) throws IllegalArgumentException {
+    Utils.ensureNotNull(sc, "Reader can't be null");
     StatusUpdateTypes type = getType(sc);
 
-    return StatusUpdateCreator.createSimple(type, IOUtils.tryNextInt(sc, ILLEGAL_FORMAT_MESSAGE));
+    return StatusUpdateCreator.createSimple(type, sc.nextInt(ILLEGAL_FORMAT_MESSAGE));
   }
 
   /**
@@ -50,29 +63,14 @@ public class StatusUpdateCreator {
   }
 
   /**
-   * Creates a status update response from the next values in the given scanner.
-   *
-   * @param sc the scanner
-   * @return the status update response
-   * @throws IllegalArgumentException if the scanner is null or does not have next values, or the
-   *                                  next values do not represent a status update
-   */
-  public static StatusUpdateResponse createResponse(Scanner sc) throws IllegalArgumentException {
-    Utils.ensureNotNull(sc, "Scanner can't be null");
-    return new StatusUpdateResponse(getType(sc),
-        IOUtils.tryNextInt(sc, ILLEGAL_FORMAT_MESSAGE),
-        IOUtils.tryNext(sc, ILLEGAL_FORMAT_MESSAGE));
-  }
-
-  /**
-   * Gets the type of the status update represented by the scanner's next values.
+   * Gets the type of the status update represented by the token reader's next values.
    *
-   * @param sc the scanner, assumed not null
+   * @param sc the token reader, assumed not null
    * @return the status update type
    * @throws IllegalArgumentException if the next value is not a status update type
    */
-  private static StatusUpdateTypes getType(Scanner sc) throws IllegalArgumentException {
-    String stringType = IOUtils.tryNext(sc, ILLEGAL_FORMAT_MESSAGE);
+  private static StatusUpdateTypes getType(TokenReader sc) throws IllegalArgumentException {
+    String stringType = sc.next(ILLEGAL_FORMAT_MESSAGE);
     try {
       return StatusUpdateTypes.valueOf(stringType);
     } catch (IllegalArgumentException e) {
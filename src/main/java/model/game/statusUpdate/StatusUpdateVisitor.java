@@ -0,0 +1,26 @@
+package model.game.statusUpdate;
+
+/**
+ * An interface for function objects that act on a {@link StatusUpdate} according to its type,
+ * given the information that makes up the status update.
+ *
+ * @param <R> the type of the result of visiting a status update
+ */
+public interface StatusUpdateVisitor<R> {
+
+  /**
+   * Visits a status update that adds to the status by some increment.
+   *
+   * @param increment the number to increment by
+   * @return the result
+   */
+  R visitAdd(int increment);
+
+  /**
+   * Visits a status update that sets the status to some number.
+   *
+   * @param setTo the number to set the status to
+   * @return the result
+   */
+  R visitSet(int setTo);
+}
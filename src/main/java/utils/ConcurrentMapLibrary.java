@@ -0,0 +1,212 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Represents a {@link Library} that is safe to share between threads, keeping track of its records
+ * in a concurrent map and its names in a concurrent sorted index, so names never need sorting. Reads
+ * never block, and see every change that finished before they started. Each change is atomic:
+ * changes to an entry are made while holding one of a fixed set of locks chosen by its name, so
+ * changes to entries of different names rarely wait on each other.
+ *
+ * <p>While an entry is being added, removed or renamed, a read may briefly find it by name but not
+ * in the index, or the other way around, and may find a renamed entry under both names.
+ *
+ * @param <K> the type of record in the library
+ */
+public class ConcurrentMapLibrary<K> implements Library<K> {
+
+  private static final int NUM_STRIPES = 16;
+
+  private final ConcurrentMap<String, K> library;
+  private final ConcurrentSkipListSet<String> names;
+  private final NameSuffixes suffixes;
+  private final ReentrantLock[] stripes;
+  private final UnaryOperator<String> nullMsg;
+  private final UnaryOperator<String> missingMsg;
+  private final UnaryOperator<String> conflictMsg;
+
+  /**
+   * Constructs an empty {@code ConcurrentMapLibrary} that throws exceptions with the given messages.
+   * Uses default arguments for null operators.
+   *
+   * @param nullMsg     produces the message to throw when a required argument is null
+   * @param missingMsg  produces the message to throw when a queried record does not exist from the
+   *                    queried name
+   * @param conflictMsg produces the message to throw when a name is invalid from the name, i.e.
+   *                    conflicts with an existing name
+   */
+  public ConcurrentMapLibrary(UnaryOperator<String> nullMsg, UnaryOperator<String> missingMsg,
+      UnaryOperator<String> conflictMsg) {
+    UnaryOperator<String> defaultOp = s -> s;
+    this.library = new ConcurrentHashMap<>();
+    this.names = new ConcurrentSkipListSet<>();
+    this.suffixes = new NameSuffixes();
+    this.stripes = new ReentrantLock[NUM_STRIPES];
+    for (int i = 0; i < NUM_STRIPES; i++) {
+      this.stripes[i] = new ReentrantLock();
+    }
+    this.nullMsg = nullMsg == null ? defaultOp : nullMsg;
+    this.missingMsg = missingMsg == null ? defaultOp : missingMsg;
+    this.conflictMsg = conflictMsg == null ? defaultOp : conflictMsg;
+  }
+
+  @Override
+  public String add(String name, K record) throws IllegalArgumentException {
+    Utils.ensureNotNull(record, nullMsg.apply("Can't be null"));
+    if (name == null) {
+      name = "Untitled";
+    }
+
+    return this.suffixes.claim(name, validName -> claim(validName, record));
+  }
+
+  @Override
+  public void remove(String name) throws IllegalArgumentException {
+    ReentrantLock lock = stripeOf(ensureNameNotNull(name));
+    lock.lock();
+    try {
+      if (this.library.remove(name) == null) {
+        throw new IllegalArgumentException(this.missingMsg.apply(name));
+      }
+      this.names.remove(name);
+    } finally {
+      lock.unlock();
+    }
+    this.suffixes.free(name);
+  }
+
+  @Override
+  public K retrieve(String name) throws IllegalArgumentException {
+    K record = this.library.get(ensureNameNotNull(name));
+    if (record == null) {
+      throw new IllegalArgumentException(this.missingMsg.apply(name));
+    }
+    return record;
+  }
+
+  @Override
+  public void rename(String current, String newName) throws IllegalArgumentException {
+    ensureNameNotNull(current);
+    if (newName == null) {
+      retrieve(current);
+      throw new IllegalArgumentException(this.conflictMsg.apply(null));
+    }
+
+    // lock both names in a fixed order, so two renames can't wait on each other
+    int currentStripe = stripeIndex(current);
+    int newStripe = stripeIndex(newName);
+    ReentrantLock first = this.stripes[Math.min(currentStripe, newStripe)];
+    ReentrantLock second = this.stripes[Math.max(currentStripe, newStripe)];
+    first.lock();
+    second.lock();
+    try {
+      K record = retrieve(current);
+      if (!claim(newName, record)) {
+        throw new IllegalArgumentException(this.conflictMsg.apply(newName));
+      }
+      this.library.remove(current);
+      this.names.remove(current);
+    } finally {
+      second.unlock();
+      first.unlock();
+    }
+    this.suffixes.free(current);
+  }
+
+  @Override
+  public void update(String name, K record) throws IllegalArgumentException {
+    Utils.ensureNotNull(record, nullMsg.apply("Can't be null"));
+    ReentrantLock lock = stripeOf(ensureNameNotNull(name));
+    lock.lock();
+    try {
+      if (this.library.replace(name, record) == null) {
+        throw new IllegalArgumentException(this.missingMsg.apply(name));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<String> getAllNames() {
+    return new ArrayList<>(this.names);
+  }
+
+  @Override
+  public List<String> getNames(String prefix, int offset, int limit)
+      throws IllegalArgumentException {
+    return NamePages.page(this.names, prefix, offset, limit);
+  }
+
+  @Override
+  public int countNames(String prefix) throws IllegalArgumentException {
+    if ("".equals(prefix)) {
+      return this.library.size();
+    }
+    return NamePages.count(this.names, prefix);
+  }
+
+  /**
+   * Adds the given record under the given name and to the index if no entry has the name.
+   *
+   * @param name   the name
+   * @param record the record
+   * @return true if the record was added, false if the name is taken
+   */
+  private boolean claim(String name, K record) {
+    // hold the name's lock, so the name can't be removed before it is indexed
+    ReentrantLock lock = stripeOf(name);
+    lock.lock();
+    try {
+      if (this.library.putIfAbsent(name, record) != null) {
+        return false;
+      }
+      this.names.add(name);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Ensures the given name of a record is not null, which no record has.
+   *
+   * @param name the name
+   * @return the name
+   * @throws IllegalArgumentException if the name is null
+   */
+  private String ensureNameNotNull(String name) throws IllegalArgumentException {
+    if (name == null) {
+      throw new IllegalArgumentException(this.missingMsg.apply(null));
+    }
+    return name;
+  }
+
+  /**
+   * Gets the lock guarding changes to the entry of the given name.
+   *
+   * @param name the name
+   * @return the lock
+   */
+  private ReentrantLock stripeOf(String name) {
+    return this.stripes[stripeIndex(name)];
+  }
+
+  /**
+   * Gets the index of the lock guarding changes to the entry of the given name.
+   *
+   * @param name the name
+   * @return the index of the lock
+   */
+  private static int stripeIndex(String name) {
+    int hash = name.hashCode();
+    return (hash ^ (hash >>> 16)) & (NUM_STRIPES - 1);
+  }
+}
@@ -15,9 +15,10 @@ public interface Library<K> {
    *
    * @param name   the name of the record to be added
    * @param record the record to be added
+   * @return the name the record was added under
    * @throws IllegalArgumentException if the record is null
    */
-  void add(String name, K record) throws IllegalArgumentException;
+  String add(String name, K record) throws IllegalArgumentException;
 
   /**
    * Removes the entry of the given name from the library.
@@ -62,4 +63,25 @@ public interface Library<K> {
    * @return the list of all entry names
    */
   List<String> getAllNames();
+
+  /**
+   * Gets a page of the names in the library that start with the given prefix, in alphabetical
+   * order.
+   *
+   * @param prefix the prefix of the names, or the empty string for all names
+   * @param offset the number of matching names to skip
+   * @param limit  the most names to get
+   * @return the page of names
+   * @throws IllegalArgumentException if the prefix is null or the offset or limit is negative
+   */
+  List<String> getNames(String prefix, int offset, int limit) throws IllegalArgumentException;
+
+  /**
+   * Counts the names in the library that start with the given prefix.
+   *
+   * @param prefix the prefix of the names, or the empty string for all names
+   * @return the number of names
+   * @throws IllegalArgumentException if the prefix is null
+   */
+  int countNames(String prefix) throws IllegalArgumentException;
 }
@@ -1,20 +1,20 @@
 package utils;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.function.UnaryOperator;
 
 /**
- * Represents an {@link Library} that keeps track of its records in a map.
+ * Represents an {@link Library} that keeps track of its records in a map sorted by name.
  *
  * @param <K> the type of record in the library
  */
 public class MapLibrary<K> implements Library<K> {
 
-  private final Map<String, K> library;
+  private final NavigableMap<String, K> library;
+  private final NameSuffixes suffixes;
   private final UnaryOperator<String> nullMsg;
   private final UnaryOperator<String> missingMsg;
   private final UnaryOperator<String> conflictMsg;
@@ -42,22 +42,26 @@ public class MapLibrary<K> implements Library<K> {
       conflictMsg = defaultOp;
     }
 
-    this.library = new HashMap<>();
+    this.library = new TreeMap<>();
+    this.suffixes = new NameSuffixes();
     this.nullMsg = nullMsg;
     this.missingMsg = missingMsg;
     this.conflictMsg = conflictMsg;
   }
 
   @Override
-  public void add(String name, K record) throws IllegalArgumentException {
+  public String add(String name, K record) throws IllegalArgumentException {
     Utils.ensureNotNull(record, nullMsg.apply("Can't be null"));
-    this.library.put(createValidName(name), record);
+    String validName = createValidName(name);
+    this.library.put(validName, record);
+    return validName;
   }
 
   @Override
   public void remove(String name) throws IllegalArgumentException {
     ensureRecordExists(name);
     this.library.remove(name);
+    this.suffixes.free(name);
   }
 
   @Override
@@ -71,6 +75,7 @@ public class MapLibrary<K> implements Library<K> {
     if (newName != null && !this.library.containsKey(newName)) {
       K record = this.library.remove(current);
       this.library.put(newName, record);
+      this.suffixes.free(current);
     } else {
       throw new IllegalArgumentException(this.conflictMsg.apply(newName));
     }
@@ -85,13 +90,26 @@ public class MapLibrary<K> implements Library<K> {
 
   @Override
   public List<String> getAllNames() {
-    List<String> names = new ArrayList<>(this.library.keySet());
-    Collections.sort(names);
-    return names;
+    return new ArrayList<>(this.library.keySet());
+  }
+
+  @Override
+  public List<String> getNames(String prefix, int offset, int limit)
+      throws IllegalArgumentException {
+    return NamePages.page(this.library.navigableKeySet(), prefix, offset, limit);
+  }
+
+  @Override
+  public int countNames(String prefix) throws IllegalArgumentException {
+    if ("".equals(prefix)) {
+      return this.library.size();
+    }
+    return NamePages.count(this.library.navigableKeySet(), prefix);
   }
 
   /**
    * Creates a valid name (unique in the library) from the given name by adding a number after it.
+   * The name is taken once created, so the record must be added under it.
    *
    * @param preferredName the given name
    * @return the valid name
@@ -100,15 +118,7 @@ public class MapLibrary<K> implements Library<K> {
     if (preferredName == null) {
       preferredName = "Untitled";
     }
-
-    String validName = preferredName;
-    int increment = 0;
-    while (this.library.containsKey(validName)) {
-      increment++;
-      validName = preferredName + "(" + increment + ")";
-    }
-
-    return validName;
+    return this.suffixes.claim(preferredName, name -> !this.library.containsKey(name));
   }
 
   /**
@@ -0,0 +1,66 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+
+/**
+ * Finds pages of names that start with a prefix in a sorted set of names, for {@link Library}s
+ * that keep their names sorted. Names with a prefix are next to each other in the set, so finding
+ * them starts with a search for the prefix rather than a look at every name.
+ */
+final class NamePages {
+
+  private NamePages() {
+  }
+
+  /**
+   * Gets a page of the names in the given set that start with the given prefix.
+   *
+   * @param names  the sorted set of names
+   * @param prefix the prefix
+   * @param offset the number of matching names to skip
+   * @param limit  the most names to get
+   * @return the page of names
+   * @throws IllegalArgumentException if the prefix is null or the offset or limit is negative
+   */
+  static List<String> page(NavigableSet<String> names, String prefix, int offset, int limit)
+      throws IllegalArgumentException {
+    Utils.ensureNotNull(prefix, "Prefix can't be null");
+    if (offset < 0 || limit < 0) {
+      throw new IllegalArgumentException("Offset and limit can't be negative");
+    }
+    List<String> page = new ArrayList<>(Math.min(limit, 64));
+    int skipped = 0;
+    for (String name : names.tailSet(prefix, true)) {
+      if (page.size() == limit || !name.startsWith(prefix)) {
+        break;
+      } else if (skipped < offset) {
+        skipped++;
+      } else {
+        page.add(name);
+      }
+    }
+    return page;
+  }
+
+  /**
+   * Counts the names in the given set that start with the given prefix.
+   *
+   * @param names  the sorted set of names
+   * @param prefix the prefix
+   * @return the number of names
+   * @throws IllegalArgumentException if the prefix is null
+   */
+  static int count(NavigableSet<String> names, String prefix) throws IllegalArgumentException {
+    Utils.ensureNotNull(prefix, "Prefix can't be null");
+    int count = 0;
+    for (String name : names.tailSet(prefix, true)) {
+      if (!name.startsWith(prefix)) {
+        break;
+      }
+      count++;
+    }
+    return count;
+  }
+}
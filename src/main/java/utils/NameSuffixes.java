@@ -0,0 +1,115 @@
+package utils;
+
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Keeps track of the free numbered names of each name in a {@link Library}, so a unique name like
+ * {@code Title(n)} can be found without trying every number from 1. Each name has a run of numbers
+ * from 0 up to its next number, every one of which is taken unless it has been freed since, and
+ * the freed numbers of the run are kept in order, so the lowest free number is always the one used
+ * and finding it never walks over the taken names again. A name's run is forgotten once every
+ * number in it has been freed.
+ *
+ * <p>This is safe to use from multiple threads. Names of the same base are found one at a time,
+ * and a name freed while another is being found is still seen as free afterwards.
+ */
+final class NameSuffixes {
+
+  private final ConcurrentMap<String, Run> runs = new ConcurrentHashMap<>();
+
+  /**
+   * Finds the first name from the given base, the base itself or the base followed by a number in
+   * brackets, that the given function succeeds in claiming. The function is given each name in
+   * order until it claims one, and must return false only if the name is taken.
+   *
+   * @param base  the base name
+   * @param claim the function that claims a name, returning true if it was free
+   * @return the name claimed
+   */
+  String claim(String base, Predicate<String> claim) {
+    while (true) {
+      Run run = this.runs.computeIfAbsent(base, k -> new Run());
+      synchronized (run) {
+        if (run.forgotten) {
+          continue; // its last name was freed just now, so start a new run
+        }
+        // a freed number may have been taken since by a name that wasn't found here
+        while (!run.freed.isEmpty()) {
+          int number = run.freed.pollFirst();
+          if (claim.test(nameOf(base, number))) {
+            return nameOf(base, number);
+          }
+        }
+        int number = run.next;
+        while (!claim.test(nameOf(base, number))) {
+          number++;
+        }
+        run.next = number + 1;
+        return nameOf(base, number);
+      }
+    }
+  }
+
+  /**
+   * Records that the given name is no longer taken, so it can be found again. Must not be called
+   * while holding a lock that claiming a name needs.
+   *
+   * @param name the name
+   */
+  void free(String name) {
+    free(name, 0);
+    int open = name.lastIndexOf('(');
+    if (open > 0 && name.endsWith(")")) {
+      String digits = name.substring(open + 1, name.length() - 1);
+      if (Utils.isPositiveStringNumber(digits)) {
+        free(name.substring(0, open), Integer.parseInt(digits));
+      }
+    }
+  }
+
+  /**
+   * Records that the given number of the given base is free, if it is in the base's run, and
+   * forgets the run if that was the last number taken in it.
+   *
+   * @param base   the base name
+   * @param number the number
+   */
+  private void free(String base, int number) {
+    Run run = this.runs.get(base);
+    if (run != null) {
+      synchronized (run) {
+        if (!run.forgotten && number < run.next) {
+          run.freed.add(number);
+          if (run.freed.size() == run.next) {
+            run.forgotten = true;
+            this.runs.remove(base, run);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the name of the given number from the given base, which is the base itself for 0.
+   *
+   * @param base   the base name
+   * @param number the number
+   * @return the name
+   */
+  private static String nameOf(String base, int number) {
+    return number == 0 ? base : base + "(" + number + ")";
+  }
+
+  /**
+   * The numbers of a base name from 0 up to the next number, all taken but the freed ones.
+   */
+  private static class Run {
+
+    private int next;
+    private final TreeSet<Integer> freed = new TreeSet<>();
+    private boolean forgotten; // whether the run has been removed, so it can't be used
+  }
+}
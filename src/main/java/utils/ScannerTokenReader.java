@@ -0,0 +1,36 @@
+package utils;
+
+import java.util.Scanner;
+
+/**
+ * Represents a {@link TokenReader} that reads tokens from a {@link Scanner}.
+ */
+public class ScannerTokenReader implements TokenReader {
+
+  private final Scanner sc;
+
+  /**
+   * Constructs a {@code ScannerTokenReader} that reads from the given scanner.
+   *
+   * @param sc the scanner
+   * @throws IllegalArgumentException if the given scanner is null
+   */
+  public ScannerTokenReader(Scanner sc) throws IllegalArgumentException {
+    this.sc = Utils.ensureNotNull(sc, "Scanner can't be null");
+  }
+
+  @Override
+  public boolean hasNext() {
+    return this.sc.hasNext();
+  }
+
+  @Override
+  public String next(String msg) throws IllegalArgumentException {
+    return IOUtils.tryNext(this.sc, msg);
+  }
+
+  @Override
+  public int nextInt(String msg) throws IllegalArgumentException {
+    return IOUtils.tryNextInt(this.sc, msg);
+  }
+}
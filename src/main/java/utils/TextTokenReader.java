@@ -0,0 +1,275 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Represents a {@link TokenReader} that reads tokens from a {@link Reader} one character at a time
+ * through its own buffer, reading the same tokens as {@link IOUtils#tryNext} and {@link
+ * IOUtils#tryNextInt} would from a scanner of the same text. Errors give the line and column of
+ * the token that could not be read, except for token readers of a piece of text, which can't know
+ * where the text was in its input. Closing the token reader closes the reader.
+ */
+public class TextTokenReader implements TokenReader, AutoCloseable {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader reader;
+  private final char[] buffer;
+  private int position; // index of the next character in the buffer
+  private int limit; // number of characters in the buffer
+  private boolean endOfInput;
+  private int line; // line and column of the next character, starting at 1
+  private int column;
+  private int tokenLine; // line and column of the start of the last token read
+  private int tokenColumn;
+  private final StringBuilder token; // the last token read
+  private boolean pending; // whether the last token was read as an int but was not one
+  private final boolean positioned; // whether errors give the position of the token
+
+  /**
+   * Constructs a {@code TextTokenReader} that reads from the given reader.
+   *
+   * @param reader the reader
+   * @throws IllegalArgumentException if the given reader is null
+   */
+  public TextTokenReader(Reader reader) throws IllegalArgumentException {
+    this(Utils.ensureNotNull(reader, "Reader can't be null"), new char[BUFFER_SIZE], 0, true);
+  }
+
+  /**
+   * Constructs a {@code TextTokenReader} that reads from the given buffer, then the given reader.
+   *
+   * @param reader     the reader, assumed not null
+   * @param buffer     the buffer, assumed not null
+   * @param limit      the number of characters already in the buffer
+   * @param positioned whether errors give the position of the token
+   */
+  private TextTokenReader(Reader reader, char[] buffer, int limit, boolean positioned) {
+    this.reader = reader;
+    this.buffer = buffer;
+    this.position = 0;
+    this.limit = limit;
+    this.endOfInput = false;
+    this.line = 1;
+    this.column = 1;
+    this.tokenLine = 1;
+    this.tokenColumn = 1;
+    this.token = new StringBuilder();
+    this.pending = false;
+    this.positioned = positioned;
+  }
+
+  /**
+   * Creates a {@code TextTokenReader} that reads the tokens of the given text, which serves as its
+   * buffer, so that reading a short piece of text doesn't allocate a buffer for it. As the text is
+   * usually only part of some larger input, errors give no position.
+   *
+   * @param text the text
+   * @return the token reader
+   * @throws IllegalArgumentException if the given text is null
+   */
+  public static TextTokenReader of(String text) throws IllegalArgumentException {
+    char[] chars = Utils.ensureNotNull(text, "Text can't be null").toCharArray();
+    return new TextTokenReader(Reader.nullReader(), chars, chars.length, false);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return this.pending || skipWhitespace();
+  }
+
+  @Override
+  public String next(String msg) throws IllegalArgumentException {
+    if (!this.pending) {
+      readRawToken(msg);
+    }
+    this.pending = false;
+    if (this.token.charAt(0) == '"') {
+      readQuoted(this.token, msg);
+    }
+    return this.token.toString();
+  }
+
+  @Override
+  public int nextInt(String msg) throws IllegalArgumentException {
+    if (!this.pending) {
+      readRawToken(msg);
+      this.pending = true;
+    }
+
+    int length = this.token.length();
+    int start = this.token.charAt(0) == '-' || this.token.charAt(0) == '+' ? 1 : 0;
+    if (start == length) {
+      throw error(msg, this.tokenLine, this.tokenColumn);
+    }
+    for (int i = start; i < length; i++) {
+      char c = this.token.charAt(i);
+      if (c < '0' || c > '9') {
+        throw error(msg, this.tokenLine, this.tokenColumn);
+      }
+    }
+    try {
+      int value = Integer.parseInt(this.token, 0, length, 10);
+      this.pending = false;
+      return value;
+    } catch (NumberFormatException e) {
+      throw error(msg, this.tokenLine, this.tokenColumn);
+    }
+  }
+
+  /**
+   * Closes the reader, ignoring any failure to do so.
+   */
+  @Override
+  public void close() {
+    try {
+      this.reader.close();
+    } catch (IOException e) {
+      // nothing was written, so nothing is lost
+    }
+  }
+
+  /**
+   * Reads the next run of non-whitespace characters as the current token, recording where it
+   * starts.
+   *
+   * @param msg the message to throw if there is no next
+   * @throws IllegalArgumentException if there is no next token
+   */
+  private void readRawToken(String msg) throws IllegalArgumentException {
+    if (!skipWhitespace()) {
+      throw error(msg, this.line, this.column);
+    }
+    this.tokenLine = this.line;
+    this.tokenColumn = this.column;
+    this.token.setLength(0);
+    readRaw(this.token);
+  }
+
+  /**
+   * Reads the rest of a quoted token that begins with the given content, appending each following
+   * token after a single space until the content ends with {@code "}, then removes the surrounding
+   * quotes. A token that begins with {@code "} inside the quotes is read as a quoted token itself.
+   *
+   * @param quoted the content of the token so far, beginning with {@code "}
+   * @param msg    the message to throw if the quotes are never closed
+   * @throws IllegalArgumentException if the input ends before the quotes are closed
+   */
+  private void readQuoted(StringBuilder quoted, String msg) throws IllegalArgumentException {
+    int startLine = this.tokenLine;
+    int startColumn = this.tokenColumn;
+    while (quoted.charAt(quoted.length() - 1) != '"') {
+      if (!skipWhitespace()) {
+        throw error(msg, startLine, startColumn);
+      }
+      quoted.append(' ');
+      if (this.buffer[this.position] == '"') {
+        this.tokenLine = this.line;
+        this.tokenColumn = this.column;
+        StringBuilder nested = new StringBuilder();
+        readRaw(nested);
+        readQuoted(nested, msg);
+        quoted.append(nested);
+      } else {
+        readRaw(quoted);
+      }
+    }
+
+    // a lone " opens quotes but has nothing to close them
+    if (quoted.length() < 2) {
+      throw error(msg, startLine, startColumn);
+    }
+    quoted.deleteCharAt(0);
+    quoted.setLength(quoted.length() - 1);
+  }
+
+  /**
+   * Appends characters to the given builder until the next whitespace or the end of the input.
+   *
+   * @param sb the builder
+   */
+  private void readRaw(StringBuilder sb) {
+    while ((this.position < this.limit || fill())
+        && !Character.isWhitespace(this.buffer[this.position])) {
+      sb.append(consume());
+    }
+  }
+
+  /**
+   * Skips whitespace until the next character that is not whitespace.
+   *
+   * @return true if there is a character that is not whitespace, false if the input ended
+   */
+  private boolean skipWhitespace() {
+    while (this.position < this.limit || fill()) {
+      if (!Character.isWhitespace(this.buffer[this.position])) {
+        return true;
+      }
+      consume();
+    }
+    return false;
+  }
+
+  /**
+   * Consumes the next character in the buffer, assuming there is one.
+   *
+   * @return the character
+   */
+  private char consume() {
+    char c = this.buffer[this.position++];
+    if (c == '\n') {
+      this.line++;
+      this.column = 1;
+    } else {
+      this.column++;
+    }
+    return c;
+  }
+
+  /**
+   * Fills the buffer with the next characters of the input.
+   *
+   * @return true if characters were read, false if the input ended
+   * @throws IllegalArgumentException if the input can't be read
+   */
+  private boolean fill() throws IllegalArgumentException {
+    if (this.endOfInput) {
+      return false;
+    }
+    try {
+      int read;
+      do {
+        read = this.reader.read(this.buffer, 0, this.buffer.length);
+      } while (read == 0);
+      if (read == -1) {
+        this.endOfInput = true;
+        return false;
+      }
+      this.position = 0;
+      this.limit = read;
+      return true;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read input: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Creates an exception of the given message and position, leaving out the position if this
+   * doesn't give them.
+   *
+   * @param msg    the message, null if none
+   * @param line   the line of the error
+   * @param column the column of the error
+   * @return the exception
+   */
+  private IllegalArgumentException error(String msg, int line, int column) {
+    if (msg == null) {
+      return new IllegalArgumentException();
+    }
+    if (!this.positioned) {
+      return new IllegalArgumentException(msg);
+    }
+    return new IllegalArgumentException(msg + " at line " + line + ", column " + column);
+  }
+}
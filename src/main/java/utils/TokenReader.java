@@ -0,0 +1,35 @@
+package utils;
+
+/**
+ * An interface for a reader of whitespace-separated tokens, as in the text format of stories. A
+ * token that begins with {@code "} continues until a token that ends with {@code "}, and is read
+ * without the surrounding quotes and with each run of whitespace inside it read as a single space.
+ */
+public interface TokenReader {
+
+  /**
+   * Returns whether there is another token to read.
+   *
+   * @return true if there is another token, false if otherwise
+   */
+  boolean hasNext();
+
+  /**
+   * Reads the next token. If the token begins with {@code "}, returns all content, with whitespace
+   * as single spaces, between the first character and the next token that ends with {@code "}.
+   *
+   * @param msg the message to throw if there is no next
+   * @return the next token
+   * @throws IllegalArgumentException if there is no next token
+   */
+  String next(String msg) throws IllegalArgumentException;
+
+  /**
+   * Reads the next token as an int. The token is not read if it is not an int.
+   *
+   * @param msg the message to throw if there is no next int
+   * @return the next int
+   * @throws IllegalArgumentException if the next token is not an int or there is none
+   */
+  int nextInt(String msg) throws IllegalArgumentException;
+}
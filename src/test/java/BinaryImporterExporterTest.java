@@ -0,0 +1,129 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.BinaryExporter;
+import io.BinaryImporter;
+import io.StoryFormats;
+import io.StoryNodes;
+import io.TextExporter;
+import io.TextImporter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import model.game.StoryGame;
+import org.junit.Test;
+
+/**
+ * Tests for {@link BinaryImporter}, {@link BinaryExporter} and {@link StoryFormats}.
+ */
+public class BinaryImporterExporterTest {
+
+  /**
+   * Gets the text export of the given story.
+   *
+   * @param story the story
+   * @return the text of the story
+   * @throws IOException if the story can't be exported
+   */
+  private static String text(StoryGame story) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    new TextExporter().export(story, StoryNodes.createNodes(story), sb);
+    return sb.toString();
+  }
+
+  @Test
+  public void testImportExport() throws IOException {
+    String path = "./src/test/resources/ioTest/right.story";
+    StoryGame story = TestDataProvider.goRight();
+    new BinaryExporter().export(story, path);
+    StoryGame imported = new BinaryImporter().importStory(path);
+    assertEquals(text(story), text(imported));
+    assertTrue(imported.next(1));
+    assertEquals(1, (int) imported.getStatuses().get("numLefts"));
+  }
+
+  @Test
+  public void testImportExportDependent() throws IOException {
+    String path = "./src/test/resources/ioTest/strength.story";
+    new BinaryExporter().export(TestDataProvider.strengthStory(), path);
+    StoryGame storyGame = new BinaryImporter().importStory(path);
+    assertEquals(text(TestDataProvider.strengthStory()), text(storyGame));
+
+    storyGame.next(0);
+    assertEquals("win", storyGame.getCurrentChoice().toString());
+    storyGame = new BinaryImporter().importStory(path);
+    storyGame.next(1);
+    assertEquals("lose", storyGame.getCurrentChoice().toString());
+    storyGame = new BinaryImporter().importStory(path);
+    storyGame.next(3);
+    assertEquals("win", storyGame.getCurrentChoice().toString());
+  }
+
+  @Test
+  public void testFormatByExtension() throws IOException {
+    String binaryPath = "./src/test/resources/ioTest/formats.STORY";
+    String textPath = "./src/test/resources/ioTest/strength1.txt";
+    StoryGame story = TestDataProvider.strengthStory();
+    StoryFormats.exporterFor(binaryPath).export(story, binaryPath);
+    StoryFormats.exporterFor(textPath).export(story, textPath);
+
+    // a text importer can't read the binary file
+    String msg = "No exception";
+    try {
+      new TextImporter().importStory(binaryPath);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Illegal format", msg.substring(0, 14));
+    assertEquals(text(story), text(StoryFormats.importerFor(binaryPath).importStory(binaryPath)));
+    assertEquals(text(story), text(StoryFormats.importerFor(textPath).importStory(textPath)));
+  }
+
+  @Test
+  public void testNullExportPath() throws IOException {
+    File file = new BinaryExporter().export(TestDataProvider.goRight(), null);
+    assertEquals("Go Right!.story", file.getName());
+    assertTrue(file.delete());
+  }
+
+  @Test
+  public void testImportFileNotFound() {
+    String msg = "No exception";
+    try {
+      new BinaryImporter().importStory("./res/none.story");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("File not found", msg);
+  }
+
+  @Test
+  public void testImportInvalidFormats() throws IOException {
+    String path = "./src/test/resources/ioTest/strength.story";
+    new BinaryExporter().export(TestDataProvider.strengthStory(), path);
+    byte[] bytes = Files.readAllBytes(Paths.get(path));
+    String badPath = "./src/test/resources/ioTest/bad.story";
+
+    // every truncation of a valid file is invalid, as are the text files
+    for (int length = 0; length < bytes.length; length++) {
+      Files.write(Paths.get(badPath), Arrays.copyOf(bytes, length));
+      String msg = "No exception";
+      try {
+        new BinaryImporter().importStory(badPath);
+      } catch (IllegalArgumentException e) {
+        msg = e.getMessage();
+      }
+      assertEquals("Illegal format - not a valid story file", msg);
+    }
+    String msg = "No exception";
+    try {
+      new BinaryImporter().importStory("./src/test/resources/ioTest/right1.txt");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Illegal format - not a valid story file", msg);
+    assertTrue(new File(badPath).delete());
+  }
+}
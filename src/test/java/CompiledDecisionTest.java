@@ -0,0 +1,93 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import model.game.Choice;
+import model.game.CompiledStory;
+import model.game.PlayState;
+import model.game.SimpleChoice;
+import model.game.decision.CompiledDecision;
+import model.game.decision.ConsequentialDecision;
+import model.game.decision.Decision;
+import model.game.decision.DependentDecision;
+import model.game.decision.SimpleDecision;
+import model.game.statusUpdate.AddStatus;
+import model.game.statusUpdate.SetStatus;
+import model.game.statusUpdate.StatusUpdate;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CompiledDecision}s.
+ */
+public class CompiledDecisionTest {
+
+  private final Choice end = SimpleChoice.endChoice();
+  private final CompiledStory story = compileStory();
+
+  /**
+   * Compiles a story with the statuses "strength" (0) and "luck" (3).
+   *
+   * @return the compiled story
+   */
+  private CompiledStory compileStory() {
+    Map<String, Integer> statuses = new HashMap<>();
+    statuses.put("strength", 0);
+    statuses.put("luck", 3);
+    return new CompiledStory("Compiled", this.end, statuses);
+  }
+
+  @Test
+  public void simple() {
+    PlayState state = story.start();
+    assertSame(end, story.compile(new SimpleDecision("end", end)).makeDecision(state));
+    assertEquals(0, (int) state.getStatuses().get("strength"));
+  }
+
+  @Test
+  public void consequential() {
+    Map<String, StatusUpdate> updates = new HashMap<>();
+    updates.put("strength", new AddStatus(2));
+    updates.put("luck", new SetStatus(1));
+    PlayState state = story.start();
+    Decision decision = new ConsequentialDecision("train", end, updates);
+    assertSame(end, story.compile(decision).makeDecision(state));
+    assertEquals(2, (int) state.getStatuses().get("strength"));
+    assertEquals(1, (int) state.getStatuses().get("luck"));
+    assertSame(story.compile(decision), story.compile(decision));
+
+    updates.put("speed", new AddStatus(1));
+    String msg = "";
+    try {
+      story.compile(new ConsequentialDecision("run", end, updates)).makeDecision(state);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Can't make decision in given story: no status speed", msg);
+  }
+
+  @Test
+  public void dependent() {
+    Map<String, StatusUpdate> updates = new HashMap<>();
+    updates.put("strength", new AddStatus(1));
+    Decision decision = new DependentDecision("lift", updates, TestDataProvider.endDeterminer());
+    CompiledDecision compiled = story.compile(decision);
+
+    PlayState state = story.start();
+    assertEquals("win", compiled.makeDecision(state).toString());
+    assertEquals("lose", compiled.makeDecision(state).toString());
+    assertEquals(2, (int) state.getStatuses().get("strength"));
+
+    Map<String, Integer> statuses = new HashMap<>();
+    statuses.put("luck", 0);
+    CompiledStory weak = new CompiledStory("Weak", end, statuses);
+    String msg = "";
+    try {
+      weak.compile(new DependentDecision("wait", TestDataProvider.endDeterminer()))
+          .makeDecision(weak.start());
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Can't determine outcome of this story - missing status strength", msg);
+  }
+}
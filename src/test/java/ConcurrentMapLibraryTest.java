@@ -0,0 +1,143 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+import org.junit.Test;
+import utils.ConcurrentMapLibrary;
+import utils.Library;
+
+/**
+ * Tests for {@link ConcurrentMapLibrary}s, which must behave as {@link utils.MapLibrary}s do and
+ * stay consistent when changed from many threads at once.
+ */
+public class ConcurrentMapLibraryTest extends MapLibraryTest {
+
+  private static final int NUM_THREADS = 8;
+  private static final int NUM_CHANGES = 2000;
+
+  @Override
+  protected <K> Library<K> createLibrary(UnaryOperator<String> nullMsg,
+      UnaryOperator<String> missingMsg, UnaryOperator<String> conflictMsg) {
+    return new ConcurrentMapLibrary<>(nullMsg, missingMsg, conflictMsg);
+  }
+
+  /**
+   * Runs the given task on each of the stress test's threads at once.
+   *
+   * @param task the task, given the number of its thread
+   * @throws Exception if any task fails
+   */
+  private static void runOnThreads(ThreadTask task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < NUM_THREADS; i++) {
+        int thread = i;
+        futures.add(executor.submit((Callable<Void>) () -> {
+          task.run(thread);
+          return null;
+        }));
+      }
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          throw (Exception) e.getCause();
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * A task run on one of the stress test's threads.
+   */
+  private interface ThreadTask {
+
+    void run(int thread) throws Exception;
+  }
+
+  @Test
+  public void concurrentAdd() throws Exception {
+    Library<Integer> library = new ConcurrentMapLibrary<>(null, null, null);
+    runOnThreads(thread -> {
+      for (int i = 0; i < NUM_CHANGES / NUM_THREADS; i++) {
+        library.add("story", i);
+      }
+    });
+
+    // every record got its own name, and no numbers were skipped
+    List<String> names = library.getAllNames();
+    assertEquals(NUM_CHANGES, names.size());
+    assertTrue(names.contains("story"));
+    for (int i = 1; i < NUM_CHANGES; i++) {
+      assertTrue(names.contains("story(" + i + ")"));
+    }
+  }
+
+  @Test
+  public void concurrentRename() throws Exception {
+    Library<Integer> library = new ConcurrentMapLibrary<>(null, null, null);
+    for (int i = 0; i < NUM_CHANGES; i++) {
+      library.add("a" + i, i);
+    }
+
+    // every thread tries to rename every entry, and only one can succeed each time
+    List<Integer> renamed = new ArrayList<>();
+    runOnThreads(thread -> {
+      int count = 0;
+      for (int i = 0; i < NUM_CHANGES; i++) {
+        try {
+          library.rename("a" + i, "b" + i);
+          count++;
+        } catch (IllegalArgumentException e) {
+          // renamed by another thread
+        }
+      }
+      synchronized (renamed) {
+        renamed.add(count);
+      }
+    });
+
+    assertEquals(NUM_CHANGES, renamed.stream().mapToInt(Integer::intValue).sum());
+    assertEquals(NUM_CHANGES, library.getAllNames().size());
+    for (int i = 0; i < NUM_CHANGES; i++) {
+      assertEquals(i, (int) library.retrieve("b" + i));
+    }
+  }
+
+  @Test
+  public void concurrentChanges() throws Exception {
+    Library<Integer> library = new ConcurrentMapLibrary<>(null, null, null);
+    runOnThreads(thread -> {
+      // each thread works on its own entries while reading everyone's
+      for (int i = 0; i < NUM_CHANGES / NUM_THREADS; i++) {
+        String name = thread + "-" + i;
+        library.add(name, i);
+        library.update(name, i + 1);
+        library.rename(name, name + "!");
+        assertEquals(i + 1, (int) library.retrieve(name + "!"));
+        if (i % 2 == 0) {
+          library.remove(name + "!");
+        }
+        library.getAllNames();
+      }
+    });
+
+    List<String> names = library.getAllNames();
+    assertEquals(NUM_CHANGES / 2, names.size());
+    assertEquals(NUM_CHANGES / 2, new HashSet<>(names).size());
+    for (String name : names) {
+      assertTrue(name.endsWith("!"));
+    }
+  }
+}
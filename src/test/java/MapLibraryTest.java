@@ -3,6 +3,7 @@ import static org.junit.Assert.assertEquals;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.function.UnaryOperator;
 import org.junit.Before;
 import org.junit.Test;
 import utils.Library;
@@ -13,9 +14,24 @@ import utils.MapLibrary;
  */
 public class MapLibraryTest {
 
-  private final Library<Integer> intLib = new MapLibrary<>(s -> "Can't be null", s -> "No " + s,
+  private final Library<Integer> intLib = createLibrary(s -> "Can't be null", s -> "No " + s,
       s -> s + " exists");
 
+  /**
+   * Creates an empty library of the kind being tested that throws exceptions with the given
+   * messages.
+   *
+   * @param nullMsg     produces the message when a required argument is null
+   * @param missingMsg  produces the message when a record does not exist
+   * @param conflictMsg produces the message when a name conflicts
+   * @param <K>         the type of record in the library
+   * @return the library
+   */
+  protected <K> Library<K> createLibrary(UnaryOperator<String> nullMsg,
+      UnaryOperator<String> missingMsg, UnaryOperator<String> conflictMsg) {
+    return new MapLibrary<>(nullMsg, missingMsg, conflictMsg);
+  }
+
   @Before
   public void addData() {
     intLib.add("one", 1);
@@ -154,8 +170,123 @@ public class MapLibraryTest {
     assertEquals("Can't be null", msg);
   }
 
+  @Test
+  public void addManyCopies() {
+    // many copies of one name get consecutive numbers without trying each one from the start
+    for (int i = 2; i < 20000; i++) {
+      intLib.add("one", i);
+    }
+    assertEquals(20000, intLib.countNames("one"));
+    assertEquals(19999, (int) intLib.retrieve("one(19999)"));
+    intLib.add("one(19999)", 0);
+    assertEquals(0, (int) intLib.retrieve("one(19999)(1)"));
+  }
+
+  @Test
+  public void addReusesFreedNames() {
+    intLib.add("one", 2);
+    intLib.add("one", 3);
+    intLib.remove("one(2)");
+    intLib.rename("one", "two");
+    intLib.add("one", 4);
+    intLib.add("one", 5);
+    intLib.add("one", 6);
+    assertEquals(4, (int) intLib.retrieve("one"));
+    assertEquals(5, (int) intLib.retrieve("one(2)"));
+    assertEquals(6, (int) intLib.retrieve("one(4)"));
+
+    // names taken some other way are skipped
+    intLib.rename("two", "one(5)");
+    intLib.add("one", 7);
+    assertEquals(7, (int) intLib.retrieve("one(6)"));
+    intLib.remove("one(1)");
+    intLib.add("one", 8);
+    assertEquals(8, (int) intLib.retrieve("one(1)"));
+  }
+
+  @Test
+  public void addReusesLowestFreedName() {
+    for (int i = 2; i < 20000; i++) {
+      intLib.add("one", i);
+    }
+    // churning names in a long run takes the lowest freed one each time
+    for (int i = 0; i < 20000; i++) {
+      intLib.remove("one(" + (19999 - i % 3) + ")");
+      intLib.remove("one(" + (5 + i % 7) + ")");
+      intLib.add("one", -1);
+      intLib.add("one", i);
+      assertEquals(i, (int) intLib.retrieve("one(" + (19999 - i % 3) + ")"));
+      assertEquals(-1, (int) intLib.retrieve("one(" + (5 + i % 7) + ")"));
+    }
+    assertEquals(20000, intLib.countNames("one"));
+
+    // once every copy is removed the numbers start over
+    for (String name : intLib.getNames("one", 0, 20000)) {
+      intLib.remove(name);
+    }
+    intLib.add("one", 1);
+    intLib.add("one", 2);
+    assertEquals(1, (int) intLib.retrieve("one"));
+    assertEquals(2, (int) intLib.retrieve("one(1)"));
+  }
+
+  @Test
+  public void getNames() {
+    intLib.add("two", 2);
+    intLib.add("three", 3);
+    intLib.add("on", 0);
+    assertEquals(Arrays.asList("on", "one", "one(1)", "three", "two"),
+        intLib.getNames("", 0, 10));
+    assertEquals(Arrays.asList("one", "one(1)"), intLib.getNames("one", 0, 10));
+    assertEquals(Arrays.asList("on", "one"), intLib.getNames("on", 0, 2));
+    assertEquals(Collections.singletonList("one(1)"), intLib.getNames("on", 2, 2));
+    assertEquals(Arrays.asList("three", "two"), intLib.getNames("t", 0, 10));
+    assertEquals(new ArrayList<>(), intLib.getNames("t", 2, 10));
+    assertEquals(new ArrayList<>(), intLib.getNames("one", 0, 0));
+    assertEquals(new ArrayList<>(), intLib.getNames("z", 0, 10));
+    assertEquals(5, intLib.countNames(""));
+    assertEquals(3, intLib.countNames("on"));
+    assertEquals(1, intLib.countNames("one("));
+    assertEquals(0, intLib.countNames("one(1)!"));
+
+    intLib.rename("two", "a");
+    intLib.remove("one");
+    assertEquals(Arrays.asList("a", "on", "one(1)", "three"), intLib.getAllNames());
+    assertEquals(Collections.singletonList("three"), intLib.getNames("t", 0, 10));
+    assertEquals(2, intLib.countNames("on"));
+  }
+
+  @Test
+  public void getNamesInvalid() {
+    String msg = null;
+    try {
+      intLib.getNames(null, 0, 10);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Prefix can't be null", msg);
+    try {
+      intLib.getNames("", -1, 10);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Offset and limit can't be negative", msg);
+    try {
+      intLib.getNames("", 0, -1);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Offset and limit can't be negative", msg);
+    try {
+      intLib.countNames(null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Prefix can't be null", msg);
+  }
+
   @Test
   public void getAllNames() {
-    assertEquals(new ArrayList<>(), new MapLibrary<String>(null, null, null).getAllNames());
+    assertEquals(new ArrayList<>(), this.<String>createLibrary(null, null, null).getAllNames());
   }
 }
@@ -0,0 +1,105 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import model.game.CompiledStory;
+import model.game.PlayState;
+import model.game.SimpleStoryGame;
+import model.game.StoryGame;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CompiledStory}s and {@link PlayState}s.
+ */
+public class PlayStateTest {
+
+  private final StoryGame goRight = TestDataProvider.goRight();
+  private final CompiledStory compiled = ((SimpleStoryGame) goRight).getPlayState().getStory();
+
+  @Test
+  public void compiledStory() {
+    assertEquals("Go Right!", compiled.getName());
+    assertSame(goRight.getCurrentChoice(), compiled.getInitialChoice());
+    assertEquals(2, compiled.getStatusCount());
+    int lefts = compiled.slotOf("numLefts");
+    assertEquals("numLefts", compiled.getStatusName(lefts));
+    assertEquals(0, compiled.getInitialValue(lefts));
+    assertEquals(-1, compiled.slotOf("numRights"));
+
+    String msg = "";
+    try {
+      compiled.getStatusName(2);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No status slot 2", msg);
+  }
+
+  @Test
+  public void startAndCopy() {
+    int lefts = compiled.slotOf("numLefts");
+    goRight.next(1);
+    PlayState state = ((SimpleStoryGame) goRight).getPlayState();
+    assertEquals(1, state.getValue(lefts));
+
+    PlayState copy = state.copy();
+    assertSame(compiled, copy.getStory());
+    copy.setValue(lefts, 5);
+    assertEquals(1, state.getValue(lefts));
+    assertArrayEquals(new int[]{1}, copy.getHistory());
+
+    // Copies share earlier history but not later decisions
+    new SimpleStoryGame(copy).next(0);
+    assertArrayEquals(new int[]{1, 0}, copy.getHistory());
+    assertArrayEquals(new int[]{1}, state.getHistory());
+
+    PlayState restarted = compiled.start();
+    assertEquals(0, restarted.getValue(lefts));
+    assertSame(compiled.getInitialChoice(), restarted.getCurrentChoice());
+    assertEquals(0, restarted.getHistory().length);
+  }
+
+  @Test
+  public void resume() {
+    Map<String, Integer> statuses = new HashMap<>();
+    statuses.put("numLefts", 3);
+    statuses.put("numRights", 2);
+    statuses.put("numStraights", null);
+    PlayState state = compiled.resume(compiled.getInitialChoice(), statuses);
+    assertEquals(3, (int) state.getStatuses().get("numLefts"));
+    assertEquals(0, (int) state.getStatuses().get("numStraights"));
+    assertNull(state.getStatuses().get("numRights"));
+  }
+
+  @Test
+  public void statusView() {
+    Map<String, Integer> statuses = goRight.getStatuses();
+    Map<String, Integer> expected = new HashMap<>();
+    expected.put("numLefts", 0);
+    expected.put("numStraights", 0);
+    assertEquals(expected, statuses);
+    assertTrue(statuses.containsKey("numLefts"));
+    assertFalse(statuses.containsKey("numRights"));
+
+    statuses.replace("numLefts", 4);
+    assertEquals(4, ((SimpleStoryGame) goRight).getPlayState()
+        .getValue(compiled.slotOf("numLefts")));
+    for (Map.Entry<String, Integer> status : statuses.entrySet()) {
+      status.setValue(7);
+    }
+    assertEquals(7, (int) statuses.get("numStraights"));
+
+    String msg = "";
+    try {
+      statuses.put("numRights", 1);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No status numRights", msg);
+  }
+}
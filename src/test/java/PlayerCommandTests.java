@@ -4,13 +4,17 @@ import static org.junit.Assert.assertTrue;
 
 import controller.command.ExportStory;
 import controller.command.ImportStory;
+import controller.command.LoadSave;
 import controller.command.Next;
 import controller.command.PlayStory;
 import controller.command.QuitStory;
 import controller.command.RemoveStory;
 import controller.command.Restart;
+import controller.command.SaveStory;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -56,6 +60,25 @@ public class PlayerCommandTests {
     assertTrue(new File(defaultPath).delete());
   }
 
+  @Test
+  public void testSaveLoadSave() throws IOException {
+    Path savePath = Files.createTempFile("progress", ".save");
+    model.playStory("Go Right!");
+    model.next(1);
+    model.next(2);
+    new SaveStory(savePath.toString(), "Go Right!", false).execute(model);
+    model.restart();
+    new LoadSave(savePath.toString(), "Go Right!").execute(model);
+    assertEquals(1, (int) model.getStory("Go Right!").getStatuses().get("numLefts"));
+    assertEquals(1, (int) model.getStory("Go Right!").getStatuses().get("numStraights"));
+    Files.delete(savePath);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadSaveNoFile() {
+    new LoadSave("./src/test/resources/controllerTest/missing.save", "Go Right!").execute(model);
+  }
+
   @Test
   public void testNext() {
     model.playStory("Go Right!");
@@ -0,0 +1,140 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.StoryNodes;
+import java.util.concurrent.ForkJoinPool;
+import model.analysis.PlaythroughSimulator;
+import model.analysis.SimulationResult;
+import model.game.StoryGame;
+import org.junit.Test;
+
+/**
+ * Tests for {@link PlaythroughSimulator} and {@link SimulationResult}.
+ */
+public class PlaythroughSimulatorTest {
+
+  /**
+   * Simulates the given story with the given simulator.
+   *
+   * @param simulator    the simulator
+   * @param story        the story
+   * @param playthroughs the number of playthroughs
+   * @return the result
+   */
+  private static SimulationResult simulate(PlaythroughSimulator simulator, StoryGame story,
+      int playthroughs) {
+    return simulator.simulate(story, StoryNodes.createNodes(story), playthroughs);
+  }
+
+  @Test
+  public void simulateStrength() {
+    StoryGame story = TestDataProvider.strengthStory();
+    StoryNodes nodes = StoryNodes.createNodes(story);
+    SimulationResult result = new PlaythroughSimulator(1, 10).simulate(story, nodes, 4000);
+    int start = nodes.idOf(story.getCurrentChoice());
+
+    assertEquals(4000, result.getPlaythroughs());
+    assertEquals(nodes.getChoices().size(), result.getChoiceCount());
+    assertEquals(nodes.getDecisions().size(), result.getDecisionCount());
+    assertEquals(4000, result.getVisits(start));
+    assertEquals(0, result.getEnds(start));
+    assertEquals(0, result.getUnfinished());
+    assertEquals(2.0, result.getAverageSteps(), 0);
+
+    // every playthrough wins or loses after one decision, half of which are worth 2 strength
+    long ends = 0;
+    double rates = 0;
+    for (int choice = 0; choice < result.getChoiceCount(); choice++) {
+      ends += result.getEnds(choice);
+    }
+    for (int decision = 0; decision < result.getDecisionCount(); decision++) {
+      rates += result.getPickRate(decision);
+      assertTrue(result.getPicks(decision) > 800);
+    }
+    assertEquals(4000, ends);
+    // the pick rates of the options of each of the 3 choices with options add up to 1
+    assertEquals(3.0, rates, 1e-9);
+    assertEquals("[strength]", result.getStatusNames().toString());
+    long strong = result.getStatusHistogram("strength").get(2);
+    assertEquals(4000, strong + result.getStatusHistogram("strength").get(0)
+        + result.getStatusHistogram("strength").get(1));
+    assertTrue(strong > 1800 && strong < 2200);
+  }
+
+  @Test
+  public void simulateUnfinished() {
+    StoryGame story = TestDataProvider.goRight();
+    StoryNodes nodes = StoryNodes.createNodes(story);
+    SimulationResult result = new PlaythroughSimulator(3, 1).simulate(story, nodes, 3000);
+    int start = nodes.idOf(story.getCurrentChoice());
+
+    // going right ends the story at once, going any other way runs out of steps
+    long right = result.getPicks(nodes.idOf(story.getCurrentChoice().getOptions().get(0)));
+    assertEquals(3000 - right, result.getUnfinished());
+    assertEquals(6000 - right, result.getVisits(start));
+    assertEquals(3000, result.getPicks(0) + result.getPicks(1) + result.getPicks(2));
+    assertEquals(1.0, result.getAverageSteps(), 0);
+
+    long lefts = 0;
+    for (long count : result.getStatusHistogram("numLefts").values()) {
+      lefts += count;
+    }
+    assertEquals(3000, lefts);
+  }
+
+  @Test
+  public void simulateSameSeed() {
+    StoryGame story = TestDataProvider.goRight();
+    SimulationResult one = simulate(new PlaythroughSimulator(7, 100, new ForkJoinPool(1)), story,
+        5000);
+    SimulationResult four = simulate(new PlaythroughSimulator(7, 100, new ForkJoinPool(4)),
+        story, 5000);
+    SimulationResult other = simulate(new PlaythroughSimulator(8, 100), story, 5000);
+
+    // the same seed plays the same however many threads play it
+    for (int decision = 0; decision < one.getDecisionCount(); decision++) {
+      assertEquals(one.getPicks(decision), four.getPicks(decision));
+    }
+    assertEquals(one.getStatusHistogram("numLefts"), four.getStatusHistogram("numLefts"));
+    assertEquals(one.getAverageSteps(), four.getAverageSteps(), 0);
+    assertNotEquals(one.getStatusHistogram("numLefts"), other.getStatusHistogram("numLefts"));
+  }
+
+  @Test
+  public void simulateInvalid() {
+    String msg = "No exception";
+    try {
+      new PlaythroughSimulator(0, 0);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Playthroughs need at least 1 step", msg);
+
+    msg = "No exception";
+    try {
+      simulate(new PlaythroughSimulator(0, 1), TestDataProvider.goRight(), 0);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Need at least 1 playthrough", msg);
+
+    SimulationResult result = simulate(new PlaythroughSimulator(0, 1),
+        TestDataProvider.goRight(), 1);
+    msg = "No exception";
+    try {
+      result.getStatusHistogram("strength");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No status strength in the story", msg);
+
+    msg = "No exception";
+    try {
+      result.getPicks(result.getDecisionCount());
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No decision " + result.getDecisionCount(), msg);
+  }
+}
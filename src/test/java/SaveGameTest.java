@@ -0,0 +1,190 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.SaveGame;
+import io.StoryNodes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.SimpleStoryPlayerModel;
+import model.StoryPlayerModel;
+import model.game.Choice;
+import model.game.CompiledStory;
+import model.game.SimpleChoice;
+import model.game.SimpleStoryGame;
+import model.game.StoryGame;
+import model.game.decision.ConsequentialDecision;
+import model.game.decision.Decision;
+import model.game.statusUpdate.AddStatus;
+import model.game.statusUpdate.StatusUpdate;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SaveGame}s and saving and loading them in {@link SimpleStoryPlayerModel}s.
+ */
+public class SaveGameTest {
+
+  private final StoryPlayerModel<StoryGame> model = new SimpleStoryPlayerModel();
+
+  @Before
+  public void initData() {
+    model.addStory(TestDataProvider.goRight());
+    model.addStory(TestDataProvider.strengthStory());
+  }
+
+  @Test
+  public void replay() {
+    model.playStory("Go Right!");
+    model.next(1);
+    model.next(2);
+    model.next(1);
+    SaveGame save = model.getSave("Go Right!", false);
+    assertFalse(save.hasCheckpoint());
+    assertArrayEquals(new int[] {1, 2, 1}, save.getDecisions());
+    // header, hash, flags, count and a byte for each decision
+    assertEquals(5 + 32 + 1 + 1 + 3, save.toBytes().length);
+
+    // the story in another library is a different copy of the same contents
+    StoryPlayerModel<StoryGame> other = new SimpleStoryPlayerModel();
+    other.addStory(TestDataProvider.goRight());
+    other.loadSave("Go Right!", SaveGame.fromBytes(save.toBytes()));
+    assertEquals(model.getStory("Go Right!").getStatuses(),
+        other.getStory("Go Right!").getStatuses());
+    other.playStory("Go Right!");
+    assertEquals(model.getCurrentChoice(), other.getCurrentChoice());
+    other.next(0);
+    assertEquals("Game over, no choices left.", other.getCurrentChoice());
+  }
+
+  @Test
+  public void replayDependentDecisions() {
+    model.playStory("Strength!");
+    model.next(1);
+    String outcome = model.getCurrentChoice();
+    SaveGame save = model.getSave("Strength!", false);
+    model.restart();
+    model.loadSave("Strength!", save);
+    assertEquals(2, (int) model.getStory("Strength!").getStatuses().get("strength"));
+    assertEquals(outcome, model.getCurrentChoice());
+  }
+
+  @Test
+  public void checkpoint() {
+    model.playStory("Go Right!");
+    model.next(2);
+    SaveGame save = model.getSave("Go Right!", true);
+    assertTrue(save.hasCheckpoint());
+    assertEquals(0, save.getDecisions().length);
+    model.next(0);
+    model.loadSave("Go Right!", SaveGame.fromBytes(save.toBytes()));
+    assertEquals(1, (int) model.getStory("Go Right!").getStatuses().get("numStraights"));
+    model.next(1);
+    assertEquals(1, (int) model.getStory("Go Right!").getStatuses().get("numLefts"));
+  }
+
+  @Test
+  public void checkpointOfResumedStory() {
+    // a story that didn't start at its start can't be replayed from there
+    StoryGame goRight = TestDataProvider.goRight();
+    Map<String, Integer> statuses = new HashMap<>();
+    statuses.put("numLefts", -3);
+    model.addStory(new SimpleStoryGame(new CompiledStory("Resumed", goRight.getCurrentChoice(),
+        goRight.getStatuses()).resume(goRight.getCurrentChoice(), statuses)));
+    model.playStory("Resumed");
+    model.next(1);
+    SaveGame save = model.getSave("Resumed", false);
+    assertTrue(save.hasCheckpoint());
+    model.restart();
+    model.loadSave("Resumed", SaveGame.fromBytes(save.toBytes()));
+    assertEquals(-2, (int) model.getStory("Resumed").getStatuses().get("numLefts"));
+  }
+
+  @Test
+  public void hashStory() {
+    StoryGame goRight = TestDataProvider.goRight();
+    byte[] hash = SaveGame.hashStory(goRight, StoryNodes.createNodes(goRight));
+    StoryGame copy = TestDataProvider.goRight();
+    assertArrayEquals(hash, SaveGame.hashStory(copy, StoryNodes.createNodes(copy)));
+    StoryGame strength = TestDataProvider.strengthStory();
+    assertFalse(Arrays.equals(hash,
+        SaveGame.hashStory(strength, StoryNodes.createNodes(strength))));
+
+    Map<String, Integer> statuses = new HashMap<>(goRight.getStatuses());
+    statuses.put("numLefts", 1);
+    StoryGame changed = new SimpleStoryGame("Go Right!", goRight.getCurrentChoice(), statuses);
+    assertFalse(Arrays.equals(hash,
+        SaveGame.hashStory(changed, StoryNodes.createNodes(changed))));
+  }
+
+  @Test
+  public void hashStoryIgnoresConsequenceOrder() {
+    // "Aa" and "BB" have the same hash code, so a hash map keeps them in the order they were put
+    assertArrayEquals(hashOfConsequences("Aa", "BB"), hashOfConsequences("BB", "Aa"));
+  }
+
+  @Test
+  public void bytes() {
+    model.playStory("Go Right!");
+    for (int i = 0; i < 200; i++) {
+      model.next(1);
+    }
+    SaveGame save = model.getSave("Go Right!", false);
+    assertEquals(save, SaveGame.fromBytes(save.toBytes()));
+    SaveGame checkpoint = model.getSave("Go Right!", true);
+    assertEquals(checkpoint, SaveGame.fromBytes(checkpoint.toBytes()));
+    assertNotEquals(save, checkpoint);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void loadIntoOtherStory() {
+    model.loadSave("Strength!", model.getSave("Go Right!", false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void loadDecisionsThatDontFit() {
+    model.playStory("Go Right!");
+    model.next(1);
+    byte[] bytes = model.getSave("Go Right!", false).toBytes();
+    bytes[bytes.length - 1] = 3; // there are only three options
+    model.loadSave("Go Right!", SaveGame.fromBytes(bytes));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void truncatedSave() {
+    byte[] bytes = model.getSave("Go Right!", true).toBytes();
+    SaveGame.fromBytes(Arrays.copyOf(bytes, bytes.length - 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void notASave() {
+    SaveGame.fromBytes("not a save".getBytes());
+  }
+
+  /**
+   * Hashes a story with one decision whose consequences add to the given statuses, in the order
+   * they are given.
+   *
+   * @param first  the status the first consequence adds to
+   * @param second the status the second consequence adds to
+   * @return the hash of the story
+   */
+  private static byte[] hashOfConsequences(String first, String second) {
+    Map<String, StatusUpdate> updates = new HashMap<>();
+    updates.put(first, new AddStatus(1));
+    updates.put(second, new AddStatus(1));
+    List<Decision> options = new ArrayList<>();
+    Choice choice = new SimpleChoice(options);
+    options.add(new ConsequentialDecision("Count", choice, updates));
+    Map<String, Integer> statuses = new HashMap<>();
+    statuses.put(first, 0);
+    statuses.put(second, 0);
+    StoryGame story = new SimpleStoryGame("Counting", choice, statuses);
+    return SaveGame.hashStory(story, StoryNodes.createNodes(story));
+  }
+}
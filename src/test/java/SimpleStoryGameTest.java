@@ -43,6 +43,23 @@ public class SimpleStoryGameTest {
     assertNotSame(goRight.getStatuses(), copy.getStatuses());
   }
 
+  @Test
+  public void playCopy() {
+    StoryGame strength = TestDataProvider.strengthStory();
+    StoryGame copy = new SimpleStoryGame(strength);
+    copy.next(0);
+    assertEquals("win", copy.getCurrentChoice().toString());
+    assertEquals(1, (int) copy.getStatuses().get("strength"));
+    assertEquals(0, (int) strength.getStatuses().get("strength"));
+
+    // A copy of a story in progress restarts where the story started
+    StoryGame copyOfCopy = new SimpleStoryGame(copy);
+    assertEquals("win", copyOfCopy.getCurrentChoice().toString());
+    assertEquals(
+        "get 1 strength(1), get 2 strength(2), get 3 strength(3), or don't get strength(4)",
+        copyOfCopy.getOriginalStory().getCurrentChoice().toString());
+  }
+
   @Test
   public void testToString() {
     assertEquals("Go Right!", goRight.toString());
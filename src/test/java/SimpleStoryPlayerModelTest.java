@@ -1,17 +1,22 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import io.StoryNodes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import model.SimpleStoryPlayerModel;
 import model.StoryPlayerModel;
+import model.StoryRecord;
+import model.creator.StoryGameCreator;
 import model.game.Choice;
 import model.game.StoryGame;
 import org.junit.Before;
 import org.junit.Test;
+import utils.Library;
 
 /**
  * Tests for {@link SimpleStoryPlayerModel}s.
@@ -150,6 +155,43 @@ public class SimpleStoryPlayerModelTest {
     assertEquals("Game over, no choices left.", model.getCurrentChoice());
   }
 
+  @Test
+  public void nextAll() {
+    model.playStory("Go Right!");
+    assertEquals(3, model.nextAll(Arrays.asList(1, 1, 2)));
+    assertEquals(2, (int) model.getStory("Go Right!").getStatuses().get("numLefts"));
+    assertEquals(1, (int) model.getStory("Go Right!").getStatuses().get("numStraights"));
+
+    // stops at the first invalid decision
+    assertEquals(1, model.nextAll(Arrays.asList(1, 5, 1)));
+    assertEquals(3, (int) model.getStory("Go Right!").getStatuses().get("numLefts"));
+    assertEquals(0, model.nextAll(Arrays.asList(null, 1)));
+    assertEquals(0, model.nextAll(new ArrayList<>()));
+
+    // and once the story is complete
+    assertEquals(1, model.nextAll(Arrays.asList(0, 1, 1)));
+    assertEquals("Game over, no choices left.", model.getCurrentChoice());
+    assertEquals(3, (int) model.getStory("Go Right!").getStatuses().get("numLefts"));
+  }
+
+  @Test
+  public void nextAllInvalid() {
+    String msg = "noException";
+    try {
+      model.nextAll(Collections.singletonList(0));
+    } catch (IllegalStateException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No loaded story!", msg);
+    model.playStory("Go Right!");
+    try {
+      model.nextAll(null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Decisions can't be null", msg);
+  }
+
   @Test
   public void nextNoneLoaded() {
     String msg = "noException";
@@ -198,6 +240,46 @@ public class SimpleStoryPlayerModelTest {
     assertEquals("Game over, no choices left.", model.getCurrentChoice());
   }
 
+  @Test
+  public void sharedLibrary() {
+    Library<StoryRecord> library = SimpleStoryPlayerModel.createLibrary();
+    StoryPlayerModel<StoryGame> first = new SimpleStoryPlayerModel(library);
+    StoryPlayerModel<StoryGame> second = new SimpleStoryPlayerModel(library);
+    first.addStory(strength);
+    assertEquals(Collections.singletonList("Strength!"), second.getAllStoryNames());
+
+    // Each model plays its own copy of the story
+    first.playStory("Strength!");
+    second.playStory("Strength!");
+    first.next(0);
+    assertEquals("win", first.getCurrentChoice());
+    assertEquals(1, (int) first.getStory("Strength!").getStatuses().get("strength"));
+    assertEquals(
+        "get 1 strength(1), get 2 strength(2), get 3 strength(3), or don't get strength(4)",
+        second.getCurrentChoice());
+    assertEquals(0, (int) second.getStory("Strength!").getStatuses().get("strength"));
+    second.next(1);
+    assertEquals("lose", second.getCurrentChoice());
+    assertEquals("win", first.getCurrentChoice());
+    assertEquals(0, (int) strength.getStatuses().get("strength"));
+    assertSame(first.getStoryNodes("Strength!"), second.getStoryNodes("Strength!"));
+
+    // Progress is dropped if the story is replaced in the library
+    second.removeStory("Strength!");
+    second.addStory(TestDataProvider.strengthStory());
+    assertEquals(
+        "get 1 strength(1), get 2 strength(2), get 3 strength(3), or don't get strength(4)",
+        first.getCurrentChoice());
+
+    String msg = "";
+    try {
+      new SimpleStoryPlayerModel(null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Library can't be null", msg);
+  }
+
   @Test
   public void getStory() {
     StoryGame retrieved = model.getStory("Go Right!");
@@ -224,4 +306,45 @@ public class SimpleStoryPlayerModelTest {
   public void getCurrentChoiceNone() {
     assertNull(model.getCurrentChoice());
   }
+
+  @Test
+  public void getStoryNodes() {
+    StoryNodes nodes = model.getStoryNodes("Strength!");
+    assertSame(nodes, model.getStoryNodes("Strength!"));
+    assertEquals(5, nodes.getChoices().size());
+    assertEquals(0, nodes.idOf(strength.getCurrentChoice()));
+
+    // Indexed from the initial choice as the story is played and restarted
+    model.playStory("Strength!");
+    model.next(0);
+    assertSame(nodes, model.getStoryNodes("Strength!"));
+    assertEquals(1, nodes.idOf(model.getStory("Strength!").getCurrentChoice()));
+    model.restart();
+    assertSame(nodes, model.getStoryNodes("Strength!"));
+
+    String msg = "";
+    try {
+      model.getStoryNodes("None");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No story \"None\" found", msg);
+  }
+
+  @Test
+  public void getStoryNodesOfCreatedStory() {
+    StoryGameCreator creator = new StoryGameCreator(TestDataProvider.goRight());
+    model.addStory(creator.create());
+    StoryNodes created = model.getStoryNodes("Go Right!(1)");
+    StoryNodes unrelated = model.getStoryNodes("Strength!");
+
+    // the created story shares its choices with the creator, so it sees the creator's edits,
+    // while stories that don't share them keep their nodes
+    creator.addChoice();
+    creator.addSimpleDecision("Go back", 0, 2);
+    assertNotSame(created, model.getStoryNodes("Go Right!(1)"));
+    assertEquals(created.getChoices().size() + 1,
+        model.getStoryNodes("Go Right!(1)").getChoices().size());
+    assertSame(unrelated, model.getStoryNodes("Strength!"));
+  }
 }
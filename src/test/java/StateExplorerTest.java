@@ -0,0 +1,158 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.StoryNodes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import model.analysis.ExplorationResult;
+import model.analysis.ExploredState;
+import model.analysis.StateExplorer;
+import model.creator.StoryGameCreator;
+import model.creator.StoryGenerator;
+import model.creator.StoryShape;
+import model.game.StoryGame;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StateExplorer} and {@link ExplorationResult}.
+ */
+public class StateExplorerTest {
+
+  /**
+   * Creates a story whose door only opens with 2 keys though only 1 can be taken, so taking the key
+   * leads to a dead end, and whose last choice can't be reached.
+   *
+   * @return the creator of the story
+   */
+  private static StoryGameCreator lockedStory() {
+    StoryGameCreator creator = new StoryGameCreator("Locked");
+    creator.addStatus("keys", 0);
+    for (int i = 0; i < 5; i++) {
+      creator.addChoice();
+    }
+    creator.setInitialChoice(0);
+    creator.addConsequentialDecision("take key", 0, 1, Collections.singletonList("ADD 1 keys"));
+    creator.addSimpleDecision("wander", 0, 2);
+    creator.addSimpleDependentThresholdDecision("open door", 1, "keys", 2, 1, 3);
+    creator.addSimpleDecision("go back", 2, 0);
+    creator.addSimpleDecision("leave", 2, 3);
+    creator.addSimpleDecision("unused", 4, 3);
+    return creator;
+  }
+
+  @Test
+  public void exploreLocked() {
+    StoryGameCreator creator = lockedStory();
+    ExplorationResult result = new StateExplorer(100).explore(creator.create(),
+        creator.getNodes());
+
+    assertTrue(result.isComplete());
+    assertEquals(100, result.getMaxStates());
+    assertEquals(4, result.getStateCount());
+    assertEquals(1, result.getEndingCount());
+    assertEquals(Arrays.asList(1, 1, 1, 1, 0), Arrays.asList(result.getStatesAt(0),
+        result.getStatesAt(1), result.getStatesAt(2), result.getStatesAt(3),
+        result.getStatesAt(4)));
+    assertEquals(Collections.singletonList(4), result.getUnreachableChoices());
+    assertEquals(Collections.singletonList(creator.getNodes().getDecisions().size() - 1),
+        result.getUntakenDecisions());
+
+    assertEquals(1, result.getDeadEnds().size());
+    ExploredState deadEnd = result.getDeadEnds().get(0);
+    assertEquals(1, deadEnd.getChoice());
+    assertEquals(Collections.singletonMap("keys", 1), deadEnd.getStatuses());
+    assertEquals("Choice #2 {keys=1}", deadEnd.toString());
+  }
+
+  @Test
+  public void exploreStrength() {
+    StoryGame story = TestDataProvider.strengthStory();
+    StoryNodes nodes = StoryNodes.createNodes(story);
+    ExplorationResult result = new StateExplorer(100).explore(story, nodes);
+
+    // 1 start, win with 2 strength, lose with 0 or 1, and an end after each
+    assertTrue(result.isComplete());
+    assertEquals(7, result.getStateCount());
+    assertEquals(3, result.getEndingCount());
+    assertEquals(Collections.emptyList(), result.getUnreachableChoices());
+    assertEquals(Collections.emptyList(), result.getUntakenDecisions());
+    assertEquals(Collections.emptyList(), result.getDeadEnds());
+  }
+
+  @Test
+  public void exploreBudget() {
+    // every turn left or straight makes a new state
+    StoryGame story = TestDataProvider.goRight();
+    ExplorationResult result = new StateExplorer(50).explore(story,
+        StoryNodes.createNodes(story));
+    assertFalse(result.isComplete());
+    assertEquals(50, result.getStateCount());
+    assertEquals(Collections.emptyList(), result.getUnreachableChoices());
+    assertEquals(Collections.emptyList(), result.getDeadEnds());
+
+    result = new StateExplorer(1).explore(story, StoryNodes.createNodes(story));
+    assertFalse(result.isComplete());
+    assertEquals(1, result.getStateCount());
+    assertEquals(0, result.getEndingCount());
+    assertEquals(Collections.singletonList(1), result.getUnreachableChoices());
+    assertEquals(Collections.emptyList(), result.getDeadEnds());
+  }
+
+  @Test
+  public void exploreSamePools() {
+    StoryGame story = new StoryGenerator(5).generate("Generated", new StoryShape(300));
+    StoryNodes nodes = StoryNodes.createNodes(story);
+    ExplorationResult one = new StateExplorer(20000, new ForkJoinPool(1)).explore(story, nodes);
+    ExplorationResult four = new StateExplorer(20000, new ForkJoinPool(4)).explore(story, nodes);
+
+    // the same states are found however many threads explore
+    assertTrue(one.getStateCount() > 1000);
+    assertEquals(one.getStateCount(), four.getStateCount());
+    assertEquals(one.isComplete(), four.isComplete());
+    for (int choice = 0; choice < one.getChoiceCount(); choice++) {
+      assertEquals(one.getStatesAt(choice), four.getStatesAt(choice));
+    }
+    assertEquals(one.getUntakenDecisions(), four.getUntakenDecisions());
+    assertEquals(one.getDeadEnds().toString(), four.getDeadEnds().toString());
+  }
+
+  @Test
+  public void exploreInvalid() {
+    String msg = "No exception";
+    try {
+      new StateExplorer(0);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Exploration needs a budget of at least 1 state", msg);
+
+    msg = "No exception";
+    try {
+      new StateExplorer(1).explore(null, null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Story can't be null", msg);
+
+    StoryGame story = TestDataProvider.goRight();
+    msg = "No exception";
+    try {
+      new StateExplorer(1).explore(story, StoryNodes.createNodes(TestDataProvider.goRight()));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Every choice and decision reached must be indexed", msg);
+
+    ExplorationResult result = new StateExplorer(1).explore(story,
+        StoryNodes.createNodes(story));
+    msg = "No exception";
+    try {
+      result.getStatesAt(-1);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No choice -1", msg);
+  }
+}
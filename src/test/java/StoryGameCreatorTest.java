@@ -1,13 +1,17 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import io.StoryNodes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import model.creator.StoryCreator;
+import model.creator.StoryEdit;
 import model.creator.StoryGameCreator;
 import model.game.Choice;
 import model.game.StoryGame;
@@ -35,6 +39,30 @@ public class StoryGameCreatorTest {
         Collections.singletonList("ADD 1 numStraights"));
   }
 
+  @Test
+  public void versions() {
+    long version = goRightCreator.getVersion();
+    goRightCreator.getNodes();
+    goRightCreator.create();
+    assertEquals(version, goRightCreator.getVersion());
+    try {
+      goRightCreator.removeStatus("numLefts"); // used by a decision
+    } catch (IllegalArgumentException e) {
+      // the story is unchanged
+    }
+    assertEquals(version, goRightCreator.getVersion());
+
+    goRightCreator.addStatus("numLefts", 1);
+    assertTrue(goRightCreator.getVersion() > version);
+    version = goRightCreator.getVersion();
+    goRightCreator.removeDecision(0, 2);
+    assertTrue(goRightCreator.getVersion() > version);
+
+    // a new story never has a version another story had
+    StoryCreator<StoryGame> other = new StoryGameCreator("Other");
+    assertTrue(other.getVersion() > goRightCreator.getVersion());
+  }
+
   @Test
   public void testConstructor() {
     StoryCreator<StoryGame> creator = new StoryGameCreator((String) null);
@@ -175,6 +203,41 @@ public class StoryGameCreatorTest {
     goRightCreator.removeStatus("total");
   }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void removeStatusConsequentialDependentNoConsequences() {
+    try {
+      goRightCreator.addChoice();
+      goRightCreator.addStatus("total", 0);
+      goRightCreator.addConsequentialThresholdDecision("decide", 1, "total", 0, 0, 2,
+          Collections.emptyList());
+    } catch (IllegalArgumentException e) {
+      // To prove it doesn't happen here
+    }
+    goRightCreator.removeStatus("total");
+  }
+
+  @Test
+  public void removeStatusUsedTwice() {
+    goRightCreator.addChoice();
+    goRightCreator.addStatus("total", 0);
+    goRightCreator.addConsequentialThresholdDecision("decide", 1, "total", 0, 0, 2,
+        Collections.singletonList("ADD 1 total"));
+    goRightCreator.addSimpleDependentThresholdDecision("again", 1, "total", 3, 0, 2);
+
+    // the status is only free once every decision using it is gone
+    goRightCreator.removeDecision(1, 0);
+    String msg = "No exception";
+    try {
+      goRightCreator.removeStatus("total");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("At least one decision references this status.", msg);
+    goRightCreator.removeDecision(1, 0);
+    goRightCreator.removeStatus("total");
+    assertFalse(goRightCreator.getStatuses().containsKey("total"));
+  }
+
   @Test
   public void addChoice() {
     goRightCreator.addChoice();
@@ -581,6 +644,49 @@ public class StoryGameCreatorTest {
     goRightCreator.removeChoice(0);
   }
 
+  @Test
+  public void removeChoiceNoLongerAnOutcome() {
+    goRightCreator.addChoice();
+    goRightCreator.addSimpleDecision("up", 0, 2);
+    goRightCreator.addSimpleDependentThresholdDecision("down", 1, "numLefts", 1, 2, 2);
+    goRightCreator.removeDecision(0, 3);
+    String msg = "No exception";
+    try {
+      goRightCreator.removeChoice(2);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Choice is an outcome of an option or is the first choice", msg);
+
+    goRightCreator.removeDecision(1, 0);
+    goRightCreator.removeChoice(2);
+    assertEquals(2, goRightCreator.getChoices().size());
+    assertEquals(3, goRightCreator.getDecisions().size());
+  }
+
+  @Test
+  public void removeManyDecisions() {
+    // removing every decision of a large work one by one takes time linear in its size
+    int numChoices = 50_000;
+    for (int i = 0; i < numChoices; i++) {
+      goRightCreator.addChoice();
+    }
+    for (int i = 0; i < numChoices; i++) {
+      goRightCreator.addSimpleDependentThresholdDecision("on", i + 2, "numLefts", 1, i + 2,
+          i + 3 < numChoices + 2 ? i + 3 : 1);
+    }
+    for (int i = 0; i < numChoices; i++) {
+      goRightCreator.removeDecision(i + 2, 0);
+    }
+    assertEquals(3, goRightCreator.getDecisions().size());
+    for (int i = numChoices - 1; i >= 0; i--) {
+      goRightCreator.removeChoice(i + 2);
+    }
+    assertEquals(2, goRightCreator.getChoices().size());
+    goRightCreator.removeDecision(0, 1);
+    goRightCreator.removeStatus("numLefts");
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void removeChoiceIsFirst() {
     try {
@@ -622,4 +728,289 @@ public class StoryGameCreatorTest {
     assertEquals(3, goRightCreator.getDecisions().size());
     assertEquals("[Go right, Go left, Go straight]", goRightCreator.getDecisions().toString());
   }
+
+  @Test
+  public void getNodes() {
+    StoryNodes nodes = goRightCreator.getNodes();
+    assertSame(nodes, goRightCreator.getNodes());
+    assertEquals(goRightCreator.getChoices(), nodes.getChoices());
+    assertEquals(goRightCreator.getDecisions(), nodes.getDecisions());
+    assertEquals(2, nodes.idOf(goRightCreator.getDecisions().get(2)));
+
+    // Statuses are not part of the structure
+    goRightCreator.addStatus("numRights", 0);
+    assertSame(nodes, goRightCreator.getNodes());
+
+    goRightCreator.addChoice();
+    StoryNodes rebuilt = goRightCreator.getNodes();
+    assertNotSame(nodes, rebuilt);
+    assertEquals(3, rebuilt.getChoices().size());
+    goRightCreator.removeDecision(0, 0);
+    assertEquals(2, goRightCreator.getNodes().getDecisions().size());
+    assertEquals(-1, goRightCreator.getNodes().idOf(nodes.getDecisions().get(0)));
+  }
+
+  @Test
+  public void edit() {
+    Map<String, Integer> labels = goRightCreator.edit(Arrays.asList(
+        StoryEdit.setStoryName("Go Down!"),
+        StoryEdit.addStatus("numDowns", 0),
+        StoryEdit.addChoice("stairs"),
+        StoryEdit.addChoice("cellar"),
+        StoryEdit.addChoice(null),
+        StoryEdit.addConsequentialDecision("Go down", "0", "stairs",
+            Collections.singletonList("ADD 1 numDowns")),
+        StoryEdit.addSimpleThresholdDecision("Keep going", "stairs", "numDowns", 1, "0",
+            "cellar"),
+        StoryEdit.addSimpleDecision("Climb", "cellar", "stairs"),
+        StoryEdit.removeDecision("0", 1),
+        StoryEdit.removeChoice("4")));
+
+    Map<String, Integer> expected = new HashMap<>();
+    expected.put("stairs", 2);
+    expected.put("cellar", 3);
+    assertEquals(expected, labels);
+    assertEquals("Go Down!", goRightCreator.getStoryName());
+    assertEquals(4, goRightCreator.getChoices().size());
+    assertEquals("[Go right, Go straight, Go down, Keep going, Climb]",
+        goRightCreator.getDecisions().toString());
+    assertEquals("[Go right, Go straight, Go down]",
+        goRightCreator.getChoices().get(0).getOptions().toString());
+  }
+
+  @Test
+  public void editLabelsFollowRemovedChoices() {
+    Map<String, Integer> labels = goRightCreator.edit(Arrays.asList(
+        StoryEdit.addChoice("first"),
+        StoryEdit.addChoice("second"),
+        StoryEdit.removeChoice("first"),
+        StoryEdit.addSimpleDecision("Go on", "second", "1")));
+    assertEquals(Collections.singletonMap("second", 2), labels);
+    assertEquals("[Go on]", goRightCreator.getChoices().get(2).getOptions().toString());
+  }
+
+  @Test
+  public void editRollsBack() {
+    goRightCreator.addChoice(); // removable
+    StoryNodes nodes = goRightCreator.getNodes();
+    String choices = goRightCreator.getChoices().toString();
+    Map<String, Integer> statuses = goRightCreator.getStatuses();
+    long version = goRightCreator.getVersion();
+
+    String msg = "No exception";
+    try {
+      goRightCreator.edit(Arrays.asList(
+          StoryEdit.setStoryName("Go Down!"),
+          StoryEdit.addStatus("numLefts", 5),
+          StoryEdit.addStatus("numDowns", 0),
+          StoryEdit.addChoice("stairs"),
+          StoryEdit.setInitialChoice("stairs"),
+          StoryEdit.addConsequentialDecision("Go down", "0", "stairs",
+              Collections.singletonList("ADD 1 numDowns")),
+          StoryEdit.removeDecision("0", 1),
+          StoryEdit.removeDecision("0", 0),
+          StoryEdit.removeChoice("2"),
+          StoryEdit.removeStatus("numDowns")));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Edit 10 failed: At least one decision references this status.", msg);
+
+    assertEquals("Go Right!", goRightCreator.getStoryName());
+    assertEquals(statuses, goRightCreator.getStatuses());
+    assertEquals(choices, goRightCreator.getChoices().toString());
+    assertEquals(0, goRightCreator.getInitialChoice());
+    assertEquals("[Go right, Go left, Go straight]", goRightCreator.getDecisions().toString());
+    assertEquals(version, goRightCreator.getVersion());
+    assertEquals(nodes.getChoices(), goRightCreator.getNodes().getChoices());
+    assertEquals(nodes.getDecisions(), goRightCreator.getNodes().getDecisions());
+
+    // the indexes are restored too
+    msg = "No exception";
+    try {
+      goRightCreator.removeStatus("numDowns");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No status numDowns in the story", msg);
+    goRightCreator.removeChoice(2);
+    msg = "No exception";
+    try {
+      goRightCreator.removeStatus("numLefts");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("At least one decision references this status.", msg);
+  }
+
+  @Test
+  public void editInvalid() {
+    long version = goRightCreator.getVersion();
+    String msg = "No exception";
+    try {
+      goRightCreator.edit(null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Edits can't be null", msg);
+
+    msg = "No exception";
+    try {
+      goRightCreator.edit(Arrays.asList(StoryEdit.addChoice("new"), null));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Edit 2 failed: Edit can't be null", msg);
+
+    msg = "No exception";
+    try {
+      goRightCreator.edit(Arrays.asList(StoryEdit.addChoice("new"), StoryEdit.addChoice("new")));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Edit 2 failed: Label new is already taken", msg);
+
+    msg = "No exception";
+    try {
+      goRightCreator.edit(Collections.singletonList(StoryEdit.addChoice("3")));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Edit 1 failed: Label 3 can't be a number", msg);
+
+    msg = "No exception";
+    try {
+      goRightCreator.edit(Collections.singletonList(StoryEdit.setInitialChoice("nowhere")));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Edit 1 failed: No choice labelled nowhere", msg);
+
+    msg = "No exception";
+    try {
+      goRightCreator.edit(Collections.singletonList(StoryEdit.setInitialChoice("5")));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Edit 1 failed: No choice at 6", msg);
+    assertEquals(2, goRightCreator.getChoices().size());
+    assertEquals(version, goRightCreator.getVersion());
+  }
+
+  @Test
+  public void undoRedo() {
+    assertTrue(goRightCreator.canUndo());
+    assertFalse(goRightCreator.canRedo());
+    String choices = goRightCreator.getChoices().toString();
+    Choice first = goRightCreator.getChoices().get(0);
+
+    goRightCreator.removeDecision(0, 1);
+    goRightCreator.setStoryName("Go Down!");
+    goRightCreator.undo();
+    assertEquals("Go Right!", goRightCreator.getStoryName());
+    assertEquals("[Go right, Go straight]", first.getOptions().toString());
+    goRightCreator.undo();
+    assertEquals("[Go right, Go left, Go straight]", first.getOptions().toString());
+    assertEquals("[Go right, Go left, Go straight]", goRightCreator.getDecisions().toString());
+    assertTrue(goRightCreator.canRedo());
+
+    long version = goRightCreator.getVersion();
+    goRightCreator.redo();
+    assertTrue(goRightCreator.getVersion() > version);
+    assertEquals("[Go right, Go straight]", first.getOptions().toString());
+    assertEquals(2, goRightCreator.getNodes().getDecisions().size());
+    goRightCreator.redo();
+    assertEquals("Go Down!", goRightCreator.getStoryName());
+    assertFalse(goRightCreator.canRedo());
+
+    // the story's own objects come back, so undoing restores the indexes too
+    goRightCreator.undo();
+    goRightCreator.undo();
+    String msg = "No exception";
+    try {
+      goRightCreator.removeStatus("numLefts");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("At least one decision references this status.", msg);
+    assertEquals(choices, goRightCreator.getChoices().toString());
+    assertSame(first, goRightCreator.getChoices().get(0));
+
+    // a new edit can't be redone over
+    goRightCreator.addChoice();
+    assertFalse(goRightCreator.canRedo());
+  }
+
+  @Test
+  public void undoRedoBatch() {
+    goRightCreator.edit(Arrays.asList(
+        StoryEdit.addStatus("numDowns", 0),
+        StoryEdit.addChoice("stairs"),
+        StoryEdit.addConsequentialDecision("Go down", "0", "stairs",
+            Collections.singletonList("ADD 1 numDowns"))));
+    goRightCreator.undo();
+    assertEquals(2, goRightCreator.getChoices().size());
+    assertEquals(2, goRightCreator.getStatuses().size());
+    assertEquals("[Go right, Go left, Go straight]", goRightCreator.getDecisions().toString());
+
+    goRightCreator.redo();
+    assertEquals(3, goRightCreator.getChoices().size());
+    assertEquals("[Go right, Go left, Go straight, Go down]",
+        goRightCreator.getDecisions().toString());
+    goRightCreator.removeDecision(0, 3);
+    goRightCreator.removeStatus("numDowns");
+
+    // a batch that fails leaves nothing to undo
+    goRightCreator.edit(Collections.emptyList());
+    try {
+      goRightCreator.edit(Arrays.asList(StoryEdit.addChoice(null), StoryEdit.removeChoice("0")));
+    } catch (IllegalArgumentException e) {
+      // rolled back
+    }
+    goRightCreator.undo();
+    assertEquals(Integer.valueOf(0), goRightCreator.getStatuses().get("numDowns"));
+  }
+
+  @Test
+  public void undoRedoNothing() {
+    StoryCreator<StoryGame> creator = new StoryGameCreator("Empty");
+    String msg = "No exception";
+    try {
+      creator.undo();
+    } catch (IllegalStateException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Nothing to undo", msg);
+
+    msg = "No exception";
+    try {
+      creator.redo();
+    } catch (IllegalStateException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Nothing to redo", msg);
+  }
+
+  @Test
+  public void historyDepth() {
+    StoryGameCreator creator = new StoryGameCreator("Bounded");
+    creator.setHistoryDepth(2);
+    creator.addChoice();
+    creator.addChoice();
+    creator.addChoice();
+    creator.undo();
+    creator.undo();
+    assertFalse(creator.canUndo());
+    assertEquals(1, creator.getChoices().size());
+
+    creator.setHistoryDepth(0);
+    assertFalse(creator.canRedo());
+    creator.addChoice();
+    assertFalse(creator.canUndo());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void historyDepthNegative() {
+    new StoryGameCreator("Bounded").setHistoryDepth(-1);
+  }
 }
@@ -0,0 +1,130 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.StoryNodes;
+import io.TextExporter;
+import io.TextImporter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import model.creator.StoryGenerator;
+import model.creator.StoryShape;
+import model.game.Choice;
+import model.game.StoryGame;
+import model.game.decision.Decision;
+import model.game.decision.DependentDecision;
+import model.game.decision.SimpleDecision;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StoryGenerator}s and {@link StoryShape}s.
+ */
+public class StoryGeneratorTest {
+
+  /**
+   * Gets the text export of the given story.
+   *
+   * @param story the story
+   * @return the text of the story
+   * @throws IOException if the story can't be exported
+   */
+  private static String text(StoryGame story) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    new TextExporter().export(story, StoryNodes.createNodes(story), sb);
+    return sb.toString();
+  }
+
+  @Test
+  public void sameSeedSameStory() throws IOException {
+    StoryShape shape = new StoryShape(500);
+    String story = text(new StoryGenerator(7).generate("Seeded", shape));
+    assertEquals(story, text(new StoryGenerator(7).generate("Seeded", shape)));
+    assertNotEquals(story, text(new StoryGenerator(8).generate("Seeded", shape)));
+  }
+
+  @Test
+  public void shape() {
+    StoryShape shape = new StoryShape(1000, 4, 0.5, 6, 0.5, 0.25, 30);
+    StoryGame story = new StoryGenerator(1).generate("Shaped", shape);
+    StoryNodes nodes = StoryNodes.createNodes(story);
+
+    // every choice is reachable, and only the last ends the story
+    assertEquals(1000, nodes.getChoices().size());
+    assertEquals(999 * 4, nodes.getDecisions().size());
+    assertEquals(6, story.getStatuses().size());
+    int ends = 0;
+    int dependent = 0;
+    int consequential = 0;
+    for (Choice choice : nodes.getChoices()) {
+      if (choice.getOptions().isEmpty()) {
+        ends++;
+      }
+    }
+    for (Decision decision : nodes.getDecisions()) {
+      assertEquals(30, decision.toString().length());
+      if (decision instanceof DependentDecision) {
+        dependent++;
+      }
+      if (!decision.getDependencies().isEmpty() && !(decision instanceof DependentDecision)) {
+        consequential++;
+      }
+    }
+    assertEquals(1, ends);
+    // about a quarter depend on a status, and about half of the rest update statuses
+    assertTrue(dependent > 800 && dependent < 1200);
+    assertTrue(consequential > 1200 && consequential < 1800);
+  }
+
+  @Test
+  public void simpleShape() {
+    StoryShape shape = new StoryShape(50, 1, 0, 0, 1, 1, 5);
+    StoryGame story = new StoryGenerator(3).generate("Chain", shape);
+    int steps = 0;
+    while (story.next(0)) {
+      steps++;
+    }
+    assertEquals(49, steps);
+    for (Decision decision : StoryNodes.createNodes(story).getDecisions()) {
+      assertEquals(SimpleDecision.class, decision.getClass());
+    }
+  }
+
+  @Test
+  public void exportImport() throws IOException {
+    Path path = Files.createTempFile("generated", ".txt");
+    StoryGame story = new StoryGenerator(11).generate("Generated", new StoryShape(2000));
+    new TextExporter().export(story, path.toString());
+    assertEquals(text(story), text(new TextImporter().importStory(path.toString())));
+    Files.delete(path);
+  }
+
+  @Test
+  public void invalidShapes() {
+    String msg = "No exception";
+    try {
+      new StoryShape(0);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("A story needs at least 1 choice", msg);
+    try {
+      new StoryShape(10, 3, 1.5, 4, 0, 0, 10);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Cycle density must be from 0 to 1", msg);
+    try {
+      new StoryShape(10, 0, 0, 4, 0, 0, 10);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Branching must be at least 1", msg);
+    try {
+      new StoryGenerator(0).generate("None", null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Shape can't be null", msg);
+  }
+}
@@ -3,7 +3,12 @@ import static org.junit.Assert.assertTrue;
 
 import io.StoryNodes;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import model.game.Choice;
+import model.game.SimpleChoice;
+import model.game.decision.Decision;
+import model.game.decision.SimpleDecision;
 import org.junit.Test;
 
 /**
@@ -25,4 +30,33 @@ public class StoryNodesTest {
     assertEquals(2, nodes.getChoiceOptions().size());
     assertEquals("[Go right, Go left, Go straight]", nodes.getDecisions().toString());
   }
+
+  @Test
+  public void testIdOf() {
+    StoryNodes nodes = StoryNodes.createNodes(TestDataProvider.strengthStory());
+    List<Choice> choices = nodes.getChoices();
+    for (int i = 0; i < choices.size(); i++) {
+      assertEquals(i, nodes.idOf(choices.get(i)));
+    }
+    List<Decision> decisions = nodes.getDecisions();
+    for (int i = 0; i < decisions.size(); i++) {
+      assertEquals(i, nodes.idOf(decisions.get(i)));
+    }
+    assertEquals(5, choices.size());
+    assertEquals(6, decisions.size());
+    assertEquals(-1, nodes.idOf(SimpleChoice.endChoice()));
+    assertEquals(-1, nodes.idOf(new SimpleDecision("none", SimpleChoice.endChoice())));
+  }
+
+  @Test
+  public void testOf() {
+    StoryNodes story = StoryNodes.createNodes(TestDataProvider.goRight());
+    List<Choice> choices = new ArrayList<>(story.getChoices());
+    Collections.reverse(choices);
+    StoryNodes nodes = StoryNodes.of(choices, story.getDecisions());
+    assertEquals(0, nodes.idOf(story.getChoices().get(1)));
+    assertEquals(1, nodes.idOf(story.getChoices().get(0)));
+    assertEquals("C1 [ D0 D1 D2 ]", nodes.getChoiceOptions().get(choices.get(1)));
+    assertEquals("C0 [ ]", nodes.getChoiceOptions().get(choices.get(0)));
+  }
 }
@@ -0,0 +1,155 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.StoryNodes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import model.analysis.StoryStructure;
+import model.creator.StoryGameCreator;
+import model.creator.StoryGenerator;
+import model.creator.StoryShape;
+import model.game.StoryGame;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StoryStructure}.
+ */
+public class StoryStructureTest {
+
+  /**
+   * Creates a story of 7 choices: the first leads to a loop of 3 choices that can leave for an
+   * end, and to a choice that only leads to itself. The last 2 choices can't be reached, and one
+   * of them leads to the other, which is an end.
+   *
+   * @return the creator of the story
+   */
+  private static StoryGameCreator loopStory() {
+    StoryGameCreator creator = new StoryGameCreator("Loops");
+    creator.addStatus("keys", 0);
+    for (int i = 0; i < 7; i++) {
+      creator.addChoice();
+    }
+    creator.setInitialChoice(0);
+    creator.addSimpleDecision("enter", 0, 1);
+    creator.addSimpleDecision("fall", 0, 4);
+    creator.addSimpleDecision("on", 1, 2);
+    creator.addSimpleDecision("on", 2, 3);
+    creator.addSimpleDependentThresholdDecision("back or out", 3, "keys", 1, 1, 5);
+    creator.addSimpleDecision("again", 4, 4);
+    creator.addSimpleDecision("unused", 6, 5);
+    return creator;
+  }
+
+  @Test
+  public void analyzeLoops() {
+    StoryGameCreator creator = loopStory();
+    StoryStructure structure = StoryStructure.analyze(creator.getNodes(), 0);
+
+    assertEquals(7, structure.getChoiceCount());
+    assertEquals(0, structure.getInitialChoice());
+    assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Collections.singletonList(4)),
+        structure.getCycles());
+    assertEquals(5, structure.getComponentCount());
+    assertEquals(structure.getComponentOf(1), structure.getComponentOf(3));
+    assertEquals(Collections.singletonList(5), structure.getEndings());
+    assertEquals(Collections.singletonList(6), structure.getUnreachableChoices());
+    assertEquals(Collections.singletonList(4), structure.getChoicesWithoutEnding());
+
+    // choices only lead to their own or lower numbered components
+    assertTrue(structure.getComponentOf(0) > structure.getComponentOf(1));
+    assertTrue(structure.getComponentOf(3) > structure.getComponentOf(5));
+    assertTrue(structure.getComponentOf(6) > structure.getComponentOf(5));
+  }
+
+  @Test
+  public void analyzeNoInitialChoice() {
+    StoryGameCreator creator = loopStory();
+    StoryStructure structure = StoryStructure.analyze(creator.getNodes(), -1);
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), structure.getUnreachableChoices());
+    assertEquals(Collections.singletonList(4), structure.getChoicesWithoutEnding());
+  }
+
+  @Test
+  public void analyzeLongPath() {
+    // a path far longer than the call stack could follow, back to the start
+    int numChoices = 200_000;
+    StoryGameCreator creator = new StoryGameCreator("Long");
+    for (int i = 0; i < numChoices; i++) {
+      creator.addChoice();
+    }
+    creator.setInitialChoice(0);
+    for (int i = 0; i < numChoices - 1; i++) {
+      creator.addSimpleDecision("on", i, i + 1);
+    }
+    creator.addSimpleDecision("back", numChoices - 1, 0);
+
+    StoryStructure structure = creator.getStructure();
+    assertEquals(1, structure.getComponentCount());
+    assertEquals(numChoices, structure.getCycles().get(0).size());
+    assertEquals(numChoices, structure.getChoicesWithoutEnding().size());
+    assertEquals(Collections.emptyList(), structure.getUnreachableChoices());
+  }
+
+  @Test
+  public void analyzeGenerated() {
+    // every choice of a generated story leads to the next, and the last is its only end
+    StoryGame story = new StoryGenerator(9).generate("Generated", new StoryShape(5000));
+    StoryNodes nodes = StoryNodes.createNodes(story);
+    StoryStructure structure = StoryStructure.analyze(nodes, nodes.idOf(story.getCurrentChoice()));
+    assertEquals(1, structure.getEndings().size());
+    assertEquals(Collections.emptyList(), structure.getChoicesWithoutEnding());
+    assertEquals(Collections.emptyList(), structure.getUnreachableChoices());
+    int inCycles = 0;
+    for (List<Integer> cycle : structure.getCycles()) {
+      inCycles += cycle.size();
+    }
+    assertEquals(5000 - inCycles + structure.getCycles().size(), structure.getComponentCount());
+  }
+
+  @Test
+  public void creatorStructure() {
+    StoryGameCreator creator = loopStory();
+    StoryStructure structure = creator.getStructure();
+    assertSame(structure, creator.getStructure());
+
+    // the structure is analysed again once the initial choice or options change
+    creator.setInitialChoice(6);
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4), creator.getStructure().getUnreachableChoices());
+    structure = creator.getStructure();
+    creator.removeDecision(4, 0);
+    assertEquals(Collections.emptyList(), creator.getStructure().getChoicesWithoutEnding());
+    assertEquals(Collections.singletonList(Arrays.asList(1, 2, 3)),
+        creator.getStructure().getCycles());
+    assertTrue(structure != creator.getStructure());
+  }
+
+  @Test
+  public void analyzeInvalid() {
+    String msg = "No exception";
+    try {
+      StoryStructure.analyze(null, 0);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Nodes can't be null", msg);
+
+    StoryNodes nodes = loopStory().getNodes();
+    msg = "No exception";
+    try {
+      StoryStructure.analyze(nodes, 7);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No choice 7", msg);
+
+    msg = "No exception";
+    try {
+      StoryStructure.analyze(nodes, 0).getComponentOf(-1);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("No choice -1", msg);
+  }
+}
@@ -1,16 +1,28 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import io.StoryNodes;
 import io.TextExporter;
 import io.TextImporter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import model.game.SimpleChoice;
+import model.game.SimpleStoryGame;
 import model.game.StoryGame;
+import model.game.decision.Decision;
+import model.game.decision.SimpleDecision;
 import org.junit.Test;
 import utils.IOUtils;
 
@@ -70,6 +82,60 @@ public class TextImporterExporterTest {
     assertEquals("win", storyGame.getCurrentChoice().toString());
   }
 
+  @Test
+  public void testExportToSinks() throws IOException {
+    String exportedPath = "./src/test/resources/ioTest/strength3.txt";
+    StoryGame story = TestDataProvider.strengthStory();
+    StoryNodes nodes = StoryNodes.createNodes(story);
+    new TextExporter().export(story, nodes, exportedPath);
+    String fileText = new String(Files.readAllBytes(Paths.get(exportedPath)),
+        StandardCharsets.UTF_8);
+
+    StringBuilder sb = new StringBuilder();
+    new TextExporter().export(story, nodes, sb);
+    assertEquals(fileText, sb.toString());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new TextExporter().export(story, nodes, out);
+    assertEquals(fileText, out.toString(StandardCharsets.UTF_8.name()));
+
+    // the appended text can be imported again
+    StoryGame imported = new TextImporter().importStory(exportedPath);
+    sb.setLength(0);
+    new TextExporter().export(imported, StoryNodes.createNodes(imported), sb);
+    assertEquals(fileText, sb.toString());
+
+    String msg = "No exception";
+    try {
+      new TextExporter().export(story, nodes, (Appendable) null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Output can't be null.", msg);
+  }
+
+  @Test
+  public void testExportUtf8() throws IOException {
+    // the file is UTF-8 whatever the platform's default charset is
+    Path path = Files.createTempFile("unicode", ".txt");
+    try {
+      List<Decision> options = new ArrayList<>();
+      options.add(new SimpleDecision("Gå til höger →", SimpleChoice.endChoice()));
+      Map<String, Integer> statuses = new HashMap<>();
+      statuses.put("mod", 0);
+      StoryGame story = new SimpleStoryGame("Åt höger!", new SimpleChoice(options), statuses);
+      new TextExporter().export(story, path.toString());
+      String fileText = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+      assertTrue(fileText.startsWith("\"Åt höger!\""));
+
+      StoryGame imported = new TextImporter().importStory(path.toString());
+      assertEquals("Åt höger!", imported.getName());
+      assertEquals("Gå til höger →", imported.getCurrentChoice().toString());
+    } finally {
+      Files.delete(path);
+    }
+  }
+
   @Test
   public void testIllegalExportPath() throws IOException {
     String msg = "No exception";
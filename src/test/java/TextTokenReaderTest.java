@@ -0,0 +1,160 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Scanner;
+import org.junit.Test;
+import utils.IOUtils;
+import utils.TextTokenReader;
+import utils.TokenReader;
+
+/**
+ * Tests for {@link TextTokenReader}s.
+ */
+public class TextTokenReaderTest {
+
+  @Test
+  public void next() {
+    TokenReader tokens = new TextTokenReader(
+        new StringReader("hi world \"it's me\" \"\"friend\"\""));
+    assertEquals("hi", tokens.next("bad"));
+    assertEquals("world", tokens.next("bad"));
+    assertEquals("it's me", tokens.next("bad"));
+    assertEquals("\"friend\"", tokens.next("bad"));
+    assertFalse(tokens.hasNext());
+    String msg = "";
+    try {
+      tokens.next("bad");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("bad at line 1, column 30", msg);
+    try {
+      tokens.next(null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertNull(msg);
+  }
+
+  @Test
+  public void nextSameAsScanner() {
+    String text = "  \"a   long\n\tdescription\"  \"nested \"quoted words\" inside\" "
+        + "\"\" \"ends \"\"\" C10 \"x\"y\" z\"\n";
+    Scanner sc = new Scanner(new StringReader(text));
+    TokenReader tokens = new TextTokenReader(new StringReader(text));
+    while (sc.hasNext()) {
+      assertTrue(tokens.hasNext());
+      assertEquals(IOUtils.tryNext(sc, "bad"), tokens.next("bad"));
+    }
+    assertFalse(tokens.hasNext());
+  }
+
+  @Test
+  public void nextInt() {
+    TokenReader tokens = new TextTokenReader(
+        new StringReader("2 21 00 -10 -010 +7 nope 99999999999 -"));
+    assertEquals(2, tokens.nextInt("bad"));
+    assertEquals(21, tokens.nextInt("bad"));
+    assertEquals(0, tokens.nextInt("bad"));
+    assertEquals(-10, tokens.nextInt("bad"));
+    assertEquals(-10, tokens.nextInt("bad"));
+    assertEquals(7, tokens.nextInt("bad"));
+    String msg = "";
+    try {
+      tokens.nextInt("bad");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("bad at line 1, column 21", msg);
+
+    // The token is still next if it isn't an int
+    assertEquals("nope", tokens.next("bad"));
+    try {
+      tokens.nextInt("too big");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("too big at line 1, column 26", msg);
+    assertEquals("99999999999", tokens.next("bad"));
+    try {
+      tokens.nextInt("sign");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("sign at line 1, column 38", msg);
+  }
+
+  @Test
+  public void unclosedQuotes() {
+    TokenReader tokens = new TextTokenReader(new StringReader("first\n  \"never\nclosed"));
+    assertEquals("first", tokens.next("bad"));
+    String msg = "";
+    try {
+      tokens.next("unclosed");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("unclosed at line 2, column 3", msg);
+
+    tokens = new TextTokenReader(new StringReader("\" alone"));
+    try {
+      tokens.next("alone");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("alone at line 1, column 1", msg);
+  }
+
+  @Test
+  public void longInput() {
+    // Tokens span many fills of the buffer
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      text.append("\"word ").append(i).append("\" ").append(i).append('\n');
+    }
+    TokenReader tokens = new TextTokenReader(new StringReader(text.toString()));
+    for (int i = 0; i < 5000; i++) {
+      assertEquals("word " + i, tokens.next("bad"));
+      assertEquals(i, tokens.nextInt("bad"));
+    }
+    assertFalse(tokens.hasNext());
+  }
+
+  @Test
+  public void ofText() {
+    TokenReader tokens = TextTokenReader.of(" + 3 \"two words\" ");
+    assertEquals("+", tokens.next("bad"));
+    assertEquals(3, tokens.nextInt("bad"));
+    assertEquals("two words", tokens.next("bad"));
+    assertFalse(tokens.hasNext());
+
+    // the text is only part of some input, so errors don't give a position in it
+    String msg = "";
+    try {
+      TextTokenReader.of("+ x").nextInt("not a number");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("not a number", msg);
+    try {
+      tokens.next("no more");
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("no more", msg);
+  }
+
+  @Test
+  public void nullReader() {
+    String msg = "";
+    try {
+      new TextTokenReader(null);
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals("Reader can't be null", msg);
+  }
+}
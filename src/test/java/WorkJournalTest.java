@@ -0,0 +1,307 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.StoryNodes;
+import io.WorkJournal;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import model.SimpleStoryWriterModel;
+import model.StoryWriterModel;
+import model.creator.StoryCreatorState;
+import model.creator.StoryEdit;
+import model.creator.StoryGameCreator;
+import model.game.Choice;
+import model.game.SimpleChoice;
+import model.game.SimpleStoryGame;
+import model.game.StoryGame;
+import model.game.decision.Decision;
+import model.game.decision.SimpleDecision;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link WorkJournal}s and the {@link SimpleStoryWriterModel}s that journal their works.
+ */
+public class WorkJournalTest {
+
+  private Path directory;
+  private StoryWriterModel<StoryGame> model;
+
+  @Before
+  public void createGoRight() throws IOException {
+    directory = Files.createTempDirectory("journal");
+    model = journaledModel();
+    model.start("Go Right!");
+    model.load("Go Right!");
+    model.addStatus("numLefts", 0);
+    model.addStatus("numStraights", 0);
+    model.addChoice(); // right/left/straight
+    model.addChoice(); // end
+    model.setInitialChoice(0);
+    model.addSimpleDecision("Go right", 0, 1);
+    model.addConsequentialDecision("Go left", 0, 0,
+        Collections.singletonList("ADD 1 numLefts"));
+    model.addSimpleDependentThresholdDecision("Go straight", 0, "numLefts", 2, 0, 1);
+  }
+
+  @After
+  public void deleteDirectory() throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> assertTrue(path.toFile().delete()));
+    }
+  }
+
+  @Test
+  public void restore() {
+    model.edit(Arrays.asList(
+        StoryEdit.addChoice("hall"),
+        StoryEdit.addConsequentialThresholdDecision("Wait", "hall", "numStraights", 1, "0", "1",
+            Collections.singletonList("SET 3 numLefts")),
+        StoryEdit.addSimpleDecision("Enter", "0", "hall")));
+    model.removeDecision(0, 1);
+    model.setStoryName("Go Down!");
+    String expected = describe(model);
+
+    StoryWriterModel<StoryGame> restored = journaledModel();
+    assertEquals(Collections.singletonList("Go Right!"), restored.getAllWorkNames());
+    restored.load("Go Right!");
+    assertEquals(expected, describe(restored));
+  }
+
+  @Test
+  public void restoreHistory() {
+    model.addChoice();
+    model.removeChoice(2);
+    model.undo();
+    model.undo();
+    model.redo();
+
+    StoryWriterModel<StoryGame> restored = journaledModel();
+    restored.load("Go Right!");
+    assertEquals(describe(model), describe(restored));
+    assertTrue(restored.canRedo());
+    restored.redo();
+    assertEquals(2, restored.getChoices().size());
+    restored.undo();
+    restored.undo();
+    assertEquals(2, restored.getChoices().size());
+    // edits from before the model was restored can be undone too
+    restored.undo();
+    assertEquals("[Go right, Go left]", restored.getChoices().get(0).getOptions().toString());
+  }
+
+  @Test
+  public void renameAndRemove() {
+    model.start("Other");
+    model.rename("Go Right!", "Go Down!");
+    StoryWriterModel<StoryGame> restored = journaledModel();
+    assertEquals(Arrays.asList("Go Down!", "Other"), restored.getAllWorkNames());
+
+    restored.remove("Other");
+    assertEquals(Collections.singletonList("Go Down!"), journaledModel().getAllWorkNames());
+    assertEquals(2, directory.toFile().listFiles().length);
+  }
+
+  @Test
+  public void tornRecord() throws IOException {
+    String expected = describe(model);
+    File journal = directory.toFile().listFiles((d, name) -> name.endsWith(".journal"))[0];
+    long length = journal.length();
+    // a record cut short
+    Files.write(journal.toPath(), new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+    StoryWriterModel<StoryGame> restored = journaledModel();
+    restored.load("Go Right!");
+    assertEquals(expected, describe(restored));
+    assertEquals(length, journal.length());
+
+    // and appends continue after the last whole record
+    restored.addChoice();
+    StoryWriterModel<StoryGame> again = journaledModel();
+    again.load("Go Right!");
+    assertEquals(3, again.getChoices().size());
+  }
+
+  @Test
+  public void recordThatDoesNotApply() throws IOException {
+    File journal = directory.toFile().listFiles((d, name) -> name.endsWith(".journal"))[0];
+    // a whole redo record, though there is nothing to redo
+    CRC32 crc = new CRC32();
+    crc.update(2);
+    Files.write(journal.toPath(), ByteBuffer.allocate(9).putInt(1).putInt((int) crc.getValue())
+        .put((byte) 2).array(), StandardOpenOption.APPEND);
+    long length = journal.length();
+
+    String msg = "No exception";
+    try {
+      journaledModel();
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertTrue(msg, msg.contains("Redo of an edit before the snapshot"));
+    // the journal is kept as it is rather than cut short
+    assertEquals(length, journal.length());
+  }
+
+  @Test
+  public void compact() throws IOException {
+    String dir = directory.resolve("compact").toString();
+    StoryGameCreator work = new StoryGameCreator("Go Right!");
+    WorkJournal journal = WorkJournal.create(dir, "work", work, 10);
+    work.addStatus("numLefts", 0);
+    journal.recordEdit(Collections.singletonList(StoryEdit.addStatus("numLefts", 0)));
+    work.addChoice();
+    journal.recordEdit(Collections.singletonList(StoryEdit.addChoice(null)));
+    work.addChoice();
+    journal.recordEdit(Collections.singletonList(StoryEdit.addChoice(null)));
+    work.addSimpleDependentThresholdDecision("Go", 1, "numLefts", 1, 0, 1);
+    journal.recordEdit(Collections.singletonList(
+        StoryEdit.addSimpleThresholdDecision("Go", "1", "numLefts", 1, "0", "1")));
+    journal.compact();
+    File journalFile = new File(dir).listFiles((d, name) -> name.endsWith(".journal"))[0];
+    long compacted = journalFile.length();
+
+    // an undo of an edit before the snapshot compacts again
+    work.undo();
+    journal.recordUndo();
+    assertEquals(compacted, journalFile.length());
+    work.redo();
+    journal.recordRedo();
+    assertEquals(compacted, journalFile.length());
+    journal.close();
+
+    List<WorkJournal> restored = WorkJournal.restoreAll(dir, 10);
+    assertEquals(1, restored.size());
+    assertEquals("work", restored.get(0).getWorkName());
+    assertEquals(describe(work), describe(restored.get(0).getWork()));
+    assertFalse(restored.get(0).getWork().canUndo());
+    restored.get(0).close();
+  }
+
+  @Test
+  public void emptyBatch() throws IOException {
+    File journalFile = directory.toFile().listFiles((d, name) -> name.endsWith(".journal"))[0];
+    long length = journalFile.length();
+    model.edit(Collections.emptyList());
+    assertEquals(length, journalFile.length());
+
+    // an empty batch after compaction leaves the edits before it in the snapshot
+    String dir = directory.resolve("empty").toString();
+    StoryGameCreator work = new StoryGameCreator("Go Right!");
+    WorkJournal journal = WorkJournal.create(dir, "work", work, 10);
+    work.addChoice();
+    journal.recordEdit(Collections.singletonList(StoryEdit.addChoice(null)));
+    work.addChoice();
+    journal.recordEdit(Collections.singletonList(StoryEdit.addChoice(null)));
+    journal.compact();
+    work.edit(Collections.emptyList());
+    journal.recordEdit(Collections.emptyList());
+    work.undo();
+    journal.recordUndo();
+    journal.close();
+
+    List<WorkJournal> restored = WorkJournal.restoreAll(dir, 10);
+    assertEquals(describe(work), describe(restored.get(0).getWork()));
+    assertEquals(1, restored.get(0).getWork().getChoices().size());
+    restored.get(0).close();
+  }
+
+  @Test
+  public void staleJournal() throws IOException {
+    // a crash during compaction can leave the journal of the previous snapshot
+    File journalFile = directory.toFile().listFiles((d, name) -> name.endsWith(".journal"))[0];
+    byte[] stale = Files.readAllBytes(journalFile.toPath());
+    String expected = describe(model);
+    List<WorkJournal> journals = WorkJournal.restoreAll(directory.toString(), 10);
+    journals.get(0).compact();
+    journals.get(0).close();
+    Files.write(journalFile.toPath(), stale);
+
+    StoryWriterModel<StoryGame> restored = journaledModel();
+    restored.load("Go Right!");
+    assertEquals(expected, describe(restored));
+  }
+
+  @Test
+  public void recreate() {
+    StoryGameCreator work = new StoryGameCreator("Copy");
+    work.edit(StoryEdit.recreate(model));
+    assertEquals(describe(model), describe(work));
+  }
+
+  @Test
+  public void recreateSharedDecision() {
+    // an imported story can have a decision that is an option of two choices
+    List<Decision> first = new ArrayList<>();
+    List<Decision> second = new ArrayList<>();
+    Decision shared = new SimpleDecision("Stop", SimpleChoice.endChoice());
+    second.add(new SimpleDecision("Wait", SimpleChoice.endChoice()));
+    second.add(shared);
+    first.add(new SimpleDecision("Go", new SimpleChoice(second)));
+    first.add(shared);
+    StoryGameCreator imported = new StoryGameCreator(
+        new SimpleStoryGame("Shared", new SimpleChoice(first), new HashMap<>()));
+
+    StoryGameCreator work = new StoryGameCreator("Copy");
+    work.edit(StoryEdit.recreate(imported));
+    for (int i = 0; i < imported.getChoices().size(); i++) {
+      assertEquals(imported.getChoices().get(i).getOptions().toString(),
+          work.getChoices().get(i).getOptions().toString());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badSnapshot() throws IOException {
+    Files.write(directory.resolve("bad.snapshot"), "not a snapshot".getBytes());
+    journaledModel();
+  }
+
+  /**
+   * Creates a model that journals its works in the test directory.
+   *
+   * @return the model
+   */
+  private StoryWriterModel<StoryGame> journaledModel() {
+    return new SimpleStoryWriterModel(SimpleStoryWriterModel.createLibrary(),
+        StoryGameCreator.DEFAULT_HISTORY_DEPTH, directory.toString());
+  }
+
+  /**
+   * Describes everything about the given story that a restored story must have the same of.
+   *
+   * @param story the story
+   * @return the description
+   */
+  private static String describe(StoryCreatorState story) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(story.getStoryName()).append(new TreeMap<>(story.getStatuses()))
+        .append(story.getInitialChoice()).append('\n');
+    StoryNodes nodes = story.getNodes();
+    for (Choice choice : story.getChoices()) {
+      sb.append(choice.getOptions()).append('\n');
+    }
+    for (Decision decision : story.getDecisions()) {
+      sb.append(decision).append(decision.getDependencies());
+      for (Choice outcome : decision.getPossibleOutcomes()) {
+        sb.append(' ').append(nodes.idOf(outcome));
+      }
+      sb.append('\n');
+    }
+    return sb.toString();
+  }
+}
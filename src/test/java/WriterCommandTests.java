@@ -12,6 +12,7 @@ import controller.command.AddStatusToWork;
 import controller.command.ExportWork;
 import controller.command.LoadWork;
 import controller.command.QuitWork;
+import controller.command.RedoWork;
 import controller.command.RemoveChoice;
 import controller.command.RemoveDecision;
 import controller.command.RemoveWork;
@@ -19,6 +20,7 @@ import controller.command.RenameWork;
 import controller.command.SetInitialChoice;
 import controller.command.SetStoryName;
 import controller.command.StartWork;
+import controller.command.UndoWork;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -485,4 +487,22 @@ public class WriterCommandTests {
   public void testRemoveChoiceConstructor() {
     new RemoveChoice("0");
   }
+
+  @Test
+  public void undoRedo() {
+    model.load("Go Right!");
+    new AddChoice().execute(model);
+    new UndoWork().execute(model);
+    assertEquals(2, model.getChoices().size());
+    assertTrue(model.canRedo());
+    new RedoWork().execute(model);
+    assertEquals(3, model.getChoices().size());
+    assertFalse(model.canRedo());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void redoNothing() {
+    model.load("Go Right!");
+    new RedoWork().execute(model);
+  }
 }
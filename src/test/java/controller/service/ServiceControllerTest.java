@@ -1,26 +1,66 @@
 package controller.service;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.testng.Assert.assertEquals;
 
+import controller.service.request.AddSimpleDecisionRequest;
+import controller.service.request.ChooseAllRequest;
+import controller.service.request.EditRequest;
 import controller.service.response.ChoiceResponse;
+import controller.service.response.ChooseAllResponse;
+import controller.service.response.DecisionResponse;
+import controller.service.response.EditResponse;
+import controller.service.response.ExplorationResponse;
+import controller.service.response.NamePageResponse;
+import controller.service.response.StatusUpdateResponse;
+import controller.service.response.StoreStatusResponse;
 import controller.service.response.StoryResponse;
 import controller.service.response.StoryStatusResponse;
+import controller.service.response.StructureResponse;
+import io.StoryNodes;
+import io.TextExporter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import model.StoryWriterModel;
 import model.game.StoryGame;
+import model.game.decision.DecisionTypes;
+import model.game.statusUpdate.StatusUpdateTypes;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * Tests for {@link ServiceController}s.
  */
 public class ServiceControllerTest {
 
-  private final ServiceController controller = new ServiceController();
+  private static final String PLAYER_STORE = "store/playStore";
+  private static final String WRITER_STORE = "store/writeStore";
+
+  private Path journal;
+  private ServiceController controller;
 
   @Before
-  public void init() {
+  public void init() throws IOException {
+    journal = Files.createTempDirectory("writeJournal");
+    controller = new ServiceController(PLAYER_STORE, WRITER_STORE, journal.toString());
+    controller.awaitStores();
     StoryWriterModel<StoryGame> writerModel = controller.writerModel;
     writerModel.start("Go Right!");
     writerModel.load("Go Right!");
@@ -37,6 +77,13 @@ public class ServiceControllerTest {
     writerModel.quit();
   }
 
+  @After
+  public void deleteJournal() throws IOException {
+    try (Stream<Path> paths = Files.walk(journal)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
   @Test
   public void writerStoryResponse() {
     controller.loadWork("Go Right!");
@@ -53,4 +100,481 @@ public class ServiceControllerTest {
     List<ChoiceResponse> choices = response.getChoices();
     assertEquals(0, choices.get(0).getId());
   }
+
+  @Test
+  public void writeText() throws IOException {
+    controller.loadWork("Go Right!");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    controller.writeWork(out);
+    StoryGame work = controller.writerModel.create();
+    StringBuilder expected = new StringBuilder();
+    new TextExporter().export(work, StoryNodes.createNodes(work), expected);
+    assertEquals(out.toString(StandardCharsets.UTF_8.name()), expected.toString());
+
+    StoryGame story = controller.playerModel.getStory("Go Right!");
+    expected.setLength(0);
+    new TextExporter().export(story, controller.playerModel.getStoryNodes("Go Right!"), expected);
+    controller.loadStory("session", "Go Right!");
+    controller.choose("session", 1); // go left
+    out.reset();
+    controller.writeStory("session", "Go Right!", true, out);
+    assertEquals(out.toString(StandardCharsets.UTF_8.name()), expected.toString());
+    out.reset();
+    controller.writeStory("session", "Go Right!", false, out);
+    assertEquals(out.toString(StandardCharsets.UTF_8.name()),
+        expected.toString().replace("\"numLefts\" 0", "\"numLefts\" 1"));
+  }
+
+  @Test
+  public void writeTextType() throws Exception {
+    controller.loadWork("Go Right!");
+    MockMvc mvc = MockMvcBuilders.standaloneSetup(controller)
+        .addInterceptors(new ProducedTypeInterceptor()).build();
+    MockHttpServletResponse work = mvc.perform(get("/writer/current/text")).andReturn()
+        .getResponse();
+    assertEquals(work.getContentType(), "text/plain;charset=UTF-8");
+    MockHttpServletResponse story = mvc.perform(get("/player/text").param("name", "Go Right!"))
+        .andReturn().getResponse();
+    assertEquals(story.getContentType(), "text/plain;charset=UTF-8");
+    assertEquals(story.getContentAsString().startsWith("\"Go Right!\""), true);
+
+    // errors are still sent as JSON
+    MockHttpServletResponse error = mvc.perform(get("/player/text").param("name", "Nope"))
+        .andReturn().getResponse();
+    assertEquals(error.getStatus(), 400);
+    assertEquals(error.getContentType().startsWith("application/json"), true);
+  }
+
+  @Test
+  public void storeStatus() {
+    StoreStatusResponse player = controller.getPlayerStoreStatus();
+    assertEquals(player.isReady(), true);
+    assertEquals(player.getDirectory(), "store/playStore");
+    assertEquals(player.getImported(), player.getFiles());
+    assertEquals(player.getFailures().size(), 0);
+    StoreStatusResponse writer = controller.getWriterStoreStatus();
+    assertEquals(writer.isReady(), true);
+    assertEquals(writer.getImported(), writer.getFiles());
+  }
+
+  @Test
+  public void namePages() {
+    for (String name : new String[] {"Page c", "Page a", "Page b"}) {
+      controller.startNewWork(name);
+    }
+    NamePageResponse page = controller.getWorkNamePage("Page ", 1, 1);
+    assertEquals(page.getNames(), Collections.singletonList("Page b"));
+    assertEquals(page.getTotal(), 3);
+    assertEquals(page.getOffset(), 1);
+    assertEquals(page.getLimit(), 1);
+    assertEquals(controller.getWorkNamePage("", 0, 100).getNames(),
+        controller.getAllWorkNames());
+
+    page = controller.getStoryNamePage("Go", 0, 50);
+    assertEquals(page.getNames(), Arrays.asList("Go Left!", "Go Right!"));
+    assertEquals(page.getTotal(), 2);
+    assertEquals(controller.getStoryNamePage("Go R", 0, 50).getNames(),
+        Collections.singletonList("Go Right!"));
+    assertEquals(controller.getStoryNamePage("", 0, 50).getTotal(),
+        controller.getAllStoryNames().size());
+  }
+
+  @Test
+  public void writerDecisionResponses() {
+    controller.loadWork("Go Right!");
+    writerModel().addConsequentialThresholdDecision("Wander", 1, "numLefts", 2, 1, 0,
+        Collections.singletonList("SET 3 numStraights"));
+    List<DecisionResponse> decisions = controller.getCurrentWorkDecisions();
+
+    DecisionResponse right = decisions.get(0);
+    assertEquals(right.getId(), 0);
+    assertEquals(right.getType(), DecisionTypes.SIMPLE);
+    assertEquals(right.getDescription(), "Go right");
+    assertEquals(right.getOutcome1Id(), 1);
+    assertEquals(right.getConsequences().size(), 0);
+
+    DecisionResponse left = decisions.get(1);
+    assertEquals(left.getType(), DecisionTypes.CONSEQUENTIAL);
+    assertEquals(left.getDescription(), "Go left");
+    assertEquals(left.getOutcome1Id(), 0);
+    StatusUpdateResponse leftUpdate = left.getConsequences().get(0);
+    assertEquals(leftUpdate.getType(), StatusUpdateTypes.ADD);
+    assertEquals(leftUpdate.getVar(), 1);
+    assertEquals(leftUpdate.getStatus(), "numLefts");
+
+    int wanderId = decisions.size() - 1;
+    DecisionResponse wander = decisions.get(wanderId);
+    assertEquals(wander.getId(), wanderId);
+    assertEquals(wander.getType(), DecisionTypes.DEPENDENT);
+    assertEquals(wander.getDescription(), "Wander");
+    assertEquals(wander.getDependency(), "numLefts");
+    assertEquals(wander.getThreshold(), 2);
+    assertEquals(wander.getOutcome1Id(), 1);
+    assertEquals(wander.getOutcome2Id(), 0);
+    StatusUpdateResponse wanderUpdate = wander.getConsequences().get(0);
+    assertEquals(wanderUpdate.getType(), StatusUpdateTypes.SET);
+    assertEquals(wanderUpdate.getVar(), 3);
+    assertEquals(wanderUpdate.getStatus(), "numStraights");
+  }
+
+  @Test
+  public void playerSessions() {
+    StoryWriterModel<StoryGame> writerModel = writerModel();
+    writerModel.start("Sessions");
+    writerModel.load("Sessions");
+    writerModel.addStatus("steps", 0);
+    writerModel.addChoice(); // step/stop
+    writerModel.addChoice(); // end
+    writerModel.setInitialChoice(0);
+    writerModel.addConsequentialDecision("Step", 0, 0, Collections.singletonList("ADD 1 steps"));
+    writerModel.addSimpleDecision("Stop", 0, 1);
+    controller.exportToPlayer();
+
+    controller.loadStory("a", "Sessions");
+    controller.loadStory("b", "Sessions");
+    controller.choose("a", 0);
+    controller.choose("a", 0);
+    controller.choose("b", 1);
+    assertEquals(controller.getCurrentStoryName(ServiceController.DEFAULT_SESSION), null);
+
+    StoryResponse a = controller.getCurrentStory("a");
+    assertEquals(a.getChoice(), 0);
+    assertEquals(a.getStatuses().get(0).getValue(), 2);
+    StoryResponse b = controller.getCurrentStory("b");
+    assertEquals(b.getChoice(), 1);
+    assertEquals(b.getStatuses().get(0).getValue(), 0);
+
+    controller.restartStory("a");
+    assertEquals(controller.getCurrentStory("a").getStatuses().get(0).getValue(), 0);
+    assertEquals(controller.getCurrentChoice("b"), "Game over, no choices left.");
+  }
+
+  @Test
+  public void saveAndLoadSave() throws IOException {
+    Path savePath = Files.createTempFile("progress", ".save");
+    controller.loadStory("a", "Go Right!");
+    controller.choose("a", 1);
+    controller.choose("a", 1);
+    controller.saveStory("a", savePath.toString(), "Go Right!", false);
+
+    // the save can be loaded into another session
+    controller.loadStory("b", "Go Right!");
+    controller.loadSave("b", savePath.toString(), "Go Right!");
+    for (StoryStatusResponse status : controller.getCurrentStory("b").getStatuses()) {
+      assertEquals(status.getValue(), status.getName().equals("numLefts") ? 2 : 0);
+    }
+    Files.delete(savePath);
+  }
+
+  @Test
+  public void journaledWorks() {
+    controller.loadWork("Go Right!");
+    controller.addChoice();
+    controller.setStoryName("Go Down!");
+    List<String> names = controller.getAllWorkNames();
+    int choices = controller.getCurrentWork().getChoices().size();
+
+    // a restarted service restores its works from the journal rather than the writer store
+    ServiceController restarted =
+        new ServiceController(PLAYER_STORE, WRITER_STORE, journal.toString());
+    restarted.awaitStores();
+    assertEquals(restarted.getWriterStoreStatus().getImported(), 0);
+    assertEquals(restarted.getAllWorkNames(), names);
+    restarted.loadWork("Go Right!");
+    assertEquals(restarted.getCurrentWork().getName(), "Go Down!");
+    assertEquals(restarted.getCurrentWork().getChoices().size(), choices);
+  }
+
+  @Test(timeout = 60000) // unordered edits can leave the work's indexes looping forever
+  public void concurrentEdits() throws InterruptedException {
+    controller.loadWork("Go Right!");
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      String writer = "Writer " + t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 50; i++) {
+          controller.addSimpleDecision(new AddSimpleDecisionRequest(writer + " " + i, 0, 1));
+          if (i % 10 == 9) {
+            controller.removeOption(0, 3);
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    String options = controller.writerModel.getChoices().get(0).getOptions().toString();
+
+    // the journal holds the edits in the order they were made
+    ServiceController restarted =
+        new ServiceController(PLAYER_STORE, WRITER_STORE, journal.toString());
+    restarted.awaitStores();
+    restarted.loadWork("Go Right!");
+    assertEquals(restarted.writerModel.getChoices().get(0).getOptions().toString(), options);
+  }
+
+  @Test
+  public void simulateCurrentWork() {
+    controller.loadWork("Go Right!");
+    assertEquals(controller.simulateCurrentWork(100, 1, 10).getPlaythroughs(), 100);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void simulateTooMuch() {
+    controller.loadWork("Go Right!");
+    controller.simulateCurrentWork(Integer.MAX_VALUE, 1, Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void exploreClampsBudget() {
+    controller.loadWork("Go Right!");
+    ExplorationResponse response = controller.exploreCurrentWork(Integer.MAX_VALUE);
+    assertEquals(response.getMaxStates(), 1_000_000);
+    assertEquals(response.isComplete(), false); // the lefts and straights never stop counting
+  }
+
+  @Test(timeout = 60000)
+  public void analyzeWhileEditing() throws InterruptedException {
+    controller.loadWork("Go Right!");
+    AtomicBoolean done = new AtomicBoolean();
+    Thread writer = new Thread(() -> {
+      while (!done.get()) {
+        controller.addSimpleDecision(new AddSimpleDecisionRequest("Wait", 0, 0));
+        controller.addChoice();
+        controller.removeChoice(2);
+        controller.removeOption(0, 3);
+      }
+    });
+    writer.start();
+    try {
+      // the analyses run on copies, so edits made meanwhile don't disturb them
+      for (int i = 0; i < 20; i++) {
+        assertEquals(controller.simulateCurrentWork(100, i, 50).getPlaythroughs(), 100);
+        assertEquals(controller.exploreCurrentWork(1000).getMaxStates(), 1000);
+      }
+    } finally {
+      done.set(true);
+      writer.join();
+    }
+  }
+
+  @Test
+  public void unknownSessions() {
+    // reading a session that was never started doesn't start it
+    assertEquals(controller.getCurrentStoryName("unknown"), null);
+    assertEquals(controller.getCurrentStory("unknown"), null);
+    assertEquals(controller.getCurrentChoice("unknown"), null);
+    assertEquals(controller.sessions.size(), 0);
+
+    controller.loadStory("player", "Go Right!");
+    controller.choose("player", 1);
+    assertEquals(controller.sessions.size(), 1);
+    controller.endSession("player");
+    assertEquals(controller.sessions.size(), 0);
+    assertEquals(controller.getCurrentStoryName("player"), null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void chooseInUnknownSession() {
+    controller.choose("unknown", 0);
+  }
+
+  @Test
+  public void chooseAll() {
+    controller.loadStory("batch", "Go Right!");
+    List<Integer> decisions = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      decisions.add(1 + i % 2); // go left or straight
+    }
+    decisions.add(0); // go right, which ends the story
+    decisions.add(1);
+    ChooseAllResponse response = controller.chooseAll("batch", new ChooseAllRequest(decisions));
+    assertEquals(response.getApplied(), 1001);
+    assertEquals(response.isComplete(), true);
+    assertEquals(response.getChoice(), controller.getCurrentStory("batch").getChoice());
+    assertEquals(response.getStatuses().get(0).getName(), "numLefts");
+    assertEquals(response.getStatuses().get(0).getValue(), 500);
+    assertEquals(response.getStatuses().get(1).getValue(), 500);
+
+    controller.restartStory("batch");
+    response = controller.chooseAll("batch", new ChooseAllRequest(Arrays.asList(1, 7, 1)));
+    assertEquals(response.getApplied(), 1);
+    assertEquals(response.isComplete(), false);
+    assertEquals(response.getChoice(), 0);
+    assertEquals(response.getStatuses().get(0).getValue(), 1);
+  }
+
+  /**
+   * Creates a GET request for a conditional endpoint, with the given If-None-Match header.
+   *
+   * @param ifNoneMatch the ETag the client has, or null for none
+   * @return the request
+   */
+  private static ServletWebRequest conditionalGet(String ifNoneMatch) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    if (ifNoneMatch != null) {
+      request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    return new ServletWebRequest(request, new MockHttpServletResponse());
+  }
+
+  @Test
+  public void conditionalGets() {
+    controller.loadWork("Go Right!");
+    ServletWebRequest request = conditionalGet(null);
+    assertEquals(controller.getCurrentWork(request).getName(), "Go Right!");
+    String etag = request.getResponse().getHeader(HttpHeaders.ETAG);
+    assertEquals(etag, "\"" + controller.writerModel.getVersion() + "\"");
+
+    // unchanged works aren't sent again
+    request = conditionalGet(etag);
+    assertEquals(controller.getCurrentWork(request), null);
+    assertEquals(request.getResponse().getStatus(), 304);
+    assertEquals(controller.getCurrentWorkChoices(conditionalGet(etag)), null);
+    assertEquals(controller.getCurrentWorkDecisions(conditionalGet(etag)), null);
+
+    controller.addChoice();
+    request = conditionalGet(etag);
+    assertEquals(controller.getCurrentWorkChoices(request).size(),
+        controller.getCurrentWorkChoices().size());
+    assertEquals(request.getResponse().getStatus(), 200);
+    String changed = request.getResponse().getHeader(HttpHeaders.ETAG);
+    assertEquals(etag.equals(changed), false);
+    assertEquals(controller.getCurrentWorkDecisions(conditionalGet(changed)), null);
+
+    // each session's progress has its own versions
+    controller.loadStory("a", "Go Right!");
+    request = conditionalGet(null);
+    assertEquals(controller.getCurrentStory("a", request).getChoice(), 0);
+    etag = request.getResponse().getHeader(HttpHeaders.ETAG);
+    assertEquals(controller.getCurrentStory("a", conditionalGet(etag)), null);
+    controller.choose("a", 1);
+    request = conditionalGet(etag);
+    assertEquals(controller.getCurrentStory("a", request).getStatuses().size(), 2);
+    assertEquals(request.getResponse().getStatus(), 200);
+    controller.loadStory("b", "Go Right!");
+    assertEquals(controller.getCurrentStory("b", conditionalGet(etag)).getChoice(), 0);
+
+    // nothing loaded is never tagged
+    controller.quitWork();
+    request = conditionalGet(null);
+    assertEquals(controller.getCurrentWork(request), null);
+    assertEquals(request.getResponse().getHeader(HttpHeaders.ETAG), null);
+  }
+
+  @Test
+  public void exportedStoriesDontChangeWithWork() {
+    controller.loadWork("Go Right!");
+    controller.setStoryName("Exported");
+    controller.exportToPlayer();
+    controller.loadStory("a", "Exported");
+    ServletWebRequest request = conditionalGet(null);
+    StoryResponse exported = controller.getCurrentStory("a", request);
+    String etag = request.getResponse().getHeader(HttpHeaders.ETAG);
+    String choice = controller.getCurrentChoice("a");
+
+    // later edits to the work don't reach the story players have, so its tag still holds
+    controller.addSimpleDecision(new AddSimpleDecisionRequest("Wait", 0, 0));
+    controller.removeOption(0, 0);
+    assertEquals(controller.getCurrentStory("a", conditionalGet(etag)), null);
+    StoryResponse current = controller.getCurrentStory("a");
+    assertEquals(current.getChoices().size(), exported.getChoices().size());
+    for (int i = 0; i < current.getChoices().size(); i++) {
+      assertEquals(current.getChoices().get(i).getOptions().size(),
+          exported.getChoices().get(i).getOptions().size());
+    }
+    assertEquals(controller.getCurrentChoice("a"), choice);
+  }
+
+  @Test
+  public void analysis() {
+    controller.loadWork("Go Right!");
+    ServletWebRequest request = conditionalGet(null);
+    StructureResponse structure = controller.analyzeCurrentWork(request);
+    assertEquals(structure.getInitialChoice(), 0);
+    assertEquals(structure.getCycles().get(0), Collections.singletonList(0));
+    assertEquals(structure.getEndings().contains(1), true);
+    assertEquals(structure.getUnreachableChoices().contains(1), false);
+    String etag = request.getResponse().getHeader(HttpHeaders.ETAG);
+    assertEquals(controller.analyzeCurrentWork(conditionalGet(etag)), null);
+
+    // a new choice without options is an ending no one can reach
+    controller.addChoice();
+    int added = controller.getCurrentWorkChoices().size() - 1;
+    List<Integer> endings = new ArrayList<>(structure.getEndings());
+    endings.add(added);
+    structure = controller.analyzeCurrentWork(conditionalGet(etag));
+    assertEquals(structure.getEndings(), endings);
+    assertEquals(structure.getUnreachableChoices().contains(added), true);
+    assertEquals(structure.getChoicesWithoutEnding().contains(added), false);
+
+    controller.quitWork();
+    assertEquals(controller.analyzeCurrentWork(conditionalGet(null)), null);
+  }
+
+  @Test
+  public void edit() {
+    controller.loadWork("Go Right!");
+    int numChoices = controller.getCurrentWorkChoices().size();
+    EditRequest.Edit hall = new EditRequest.Edit("ADD_CHOICE");
+    hall.setLabel("hall");
+    EditRequest.Edit enter = new EditRequest.Edit("ADD_SIMPLE_DECISION");
+    enter.setDescription("Enter the hall");
+    enter.setChoice("0");
+    enter.setOutcome("hall");
+    EditResponse response = controller.edit(new EditRequest(Arrays.asList(hall, enter)));
+    assertEquals(response.getLabels(), Collections.singletonMap("hall", numChoices));
+    assertEquals(response.getVersion(), writerModel().getVersion());
+    assertEquals(controller.getCurrentWorkChoices().size(), numChoices + 1);
+
+    // nothing is applied if an edit fails
+    EditRequest.Edit another = new EditRequest.Edit("ADD_CHOICE");
+    EditRequest.Edit remove = new EditRequest.Edit("REMOVE_CHOICE");
+    remove.setChoice(String.valueOf(numChoices));
+    String msg = "No exception";
+    try {
+      controller.edit(new EditRequest(Arrays.asList(another, remove)));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals(msg, "Edit 2 failed: Choice is an outcome of an option or is the first choice");
+    assertEquals(controller.getCurrentWorkChoices().size(), numChoices + 1);
+    assertEquals(writerModel().getVersion(), response.getVersion());
+
+    msg = "No exception";
+    try {
+      controller.edit(new EditRequest(Arrays.asList(hall, new EditRequest.Edit("JUMP"))));
+    } catch (IllegalArgumentException e) {
+      msg = e.getMessage();
+    }
+    assertEquals(msg, "Edit 2 failed: Unknown edit type JUMP");
+    assertEquals(controller.getCurrentWorkChoices().size(), numChoices + 1);
+  }
+
+  @Test
+  public void undoRedo() {
+    controller.loadWork("Go Right!");
+    int numChoices = controller.getCurrentWorkChoices().size();
+    controller.addChoice();
+    long version = controller.undo();
+    assertEquals(version, writerModel().getVersion());
+    assertEquals(controller.getCurrentWorkChoices().size(), numChoices);
+    assertEquals(controller.redo(), writerModel().getVersion());
+    assertEquals(controller.getCurrentWorkChoices().size(), numChoices + 1);
+
+    String msg = "No exception";
+    try {
+      controller.redo();
+    } catch (IllegalStateException e) {
+      msg = e.getMessage();
+    }
+    assertEquals(msg, "Nothing to redo");
+  }
+
+  private StoryWriterModel<StoryGame> writerModel() {
+    return controller.writerModel;
+  }
 }
@@ -0,0 +1,68 @@
+package controller.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link SessionStore}s.
+ */
+public class SessionStoreTest {
+
+  private long now = 0;
+  private final SessionStore<Object> sessions =
+      new SessionStore<>(Object::new, 2, 100, () -> now);
+
+  @Test
+  public void findDoesNotStart() {
+    assertNull(sessions.find("a"));
+    assertEquals(0, sessions.size());
+    Object a = sessions.open("a");
+    assertSame(a, sessions.find("a"));
+    assertSame(a, sessions.open("a"));
+    assertEquals(1, sessions.size());
+  }
+
+  @Test
+  public void idleTimeout() {
+    Object a = sessions.open("a");
+    now = 60;
+    sessions.open("b");
+    now = 120;
+    // a has been idle too long, but b hasn't
+    assertNull(sessions.find("a"));
+    assertEquals(1, sessions.size());
+    now = 150;
+    assertSame(sessions.find("b"), sessions.open("b"));
+    assertNotSame(a, sessions.open("a"));
+  }
+
+  @Test
+  public void leastRecentlyUsedCap() {
+    Object a = sessions.open("a");
+    sessions.open("b");
+    sessions.find("a");
+    sessions.open("c");
+    assertEquals(2, sessions.size());
+    assertSame(a, sessions.find("a"));
+    assertNull(sessions.find("b"));
+  }
+
+  @Test
+  public void end() {
+    sessions.open("a");
+    assertTrue(sessions.end("a"));
+    assertFalse(sessions.end("a"));
+    assertNull(sessions.find("a"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badCap() {
+    new SessionStore<>(Object::new, 0, 100, () -> now);
+  }
+}
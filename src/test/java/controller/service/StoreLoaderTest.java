@@ -0,0 +1,77 @@
+package controller.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import controller.service.StoreLoader.Failure;
+import io.BinaryExporter;
+import io.TextExporter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import model.SimpleStoryPlayerModel;
+import model.StoryPlayerModel;
+import model.game.SimpleChoice;
+import model.game.SimpleStoryGame;
+import model.game.StoryGame;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StoreLoader}s.
+ */
+public class StoreLoaderTest {
+
+  @Test
+  public void load() throws IOException {
+    Path store = Files.createTempDirectory("store");
+    StoryGame story = new SimpleStoryGame("Story", SimpleChoice.endChoice(), new HashMap<>());
+    new TextExporter().export(story, store.resolve("a.txt").toString());
+    new BinaryExporter().export(story, store.resolve("b.story").toString());
+    new TextExporter().export(story, store.resolve("c.txt").toString());
+    Files.write(store.resolve("bad.txt"), "not a story".getBytes());
+
+    StoryPlayerModel<StoryGame> model = new SimpleStoryPlayerModel();
+    List<String> added = new ArrayList<>();
+    ExecutorService executor = StoreLoader.createExecutor();
+    StoreLoader loader = new StoreLoader(store.toString(), executor, s -> {
+      model.addStory(s);
+      added.add(s.getName());
+    });
+    loader.awaitReady();
+    executor.shutdown();
+
+    assertTrue(loader.isReady());
+    assertEquals(4, loader.getFileCount());
+    assertEquals(3, loader.getImportedCount());
+    assertEquals(Arrays.asList("Story", "Story", "Story"), added);
+    // the first file of each name keeps its name
+    assertEquals(Arrays.asList("Story", "Story(1)", "Story(2)"), model.getAllStoryNames());
+    List<Failure> failures = loader.getFailures();
+    assertEquals(1, failures.size());
+    assertEquals(store.resolve("bad.txt").toString(), failures.get(0).getPath());
+    assertEquals("Illegal format", failures.get(0).getMessage().substring(0, 14));
+
+    for (File file : store.toFile().listFiles()) {
+      assertTrue(file.delete());
+    }
+    assertTrue(store.toFile().delete());
+  }
+
+  @Test
+  public void missingDirectory() {
+    ExecutorService executor = StoreLoader.createExecutor();
+    StoreLoader loader = new StoreLoader("./no/such/store", executor, s -> {
+    });
+    loader.awaitReady();
+    executor.shutdown();
+    assertTrue(loader.isReady());
+    assertEquals(0, loader.getFileCount());
+    assertEquals(0, loader.getFailures().size());
+  }
+}